@@ -0,0 +1,208 @@
+package com.documents.tarefas.atribuicao;
+
+import com.documents.tarefas.model.PrioridadeTarefa;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Carga de trabalho aberta de cada usuário em memória, para escolher o responsável menos
+ * carregado de uma categoria sem consultar as tarefas.
+ * <p>
+ * Cada tarefa aberta contribui para o seu responsável com {@code horas x peso da prioridade};
+ * a contribuição é guardada por tarefa, então aplicar o mesmo estado duas vezes (na atribuição e
+ * de novo no evento da alteração) não conta em dobro. Os usuários elegíveis de cada categoria
+ * ficam num {@link ConcurrentSkipListSet} ordenado por carga: a escolha é o primeiro elemento e
+ * cada alteração reposiciona o usuário em O(log n) por categoria. Alterações e atribuições são
+ * serializadas; as listagens leem os conjuntos sem bloquear.
+ */
+public class MotorAtribuicao {
+
+    /**
+     * Parte de uma tarefa aberta na carga do seu responsável.
+     */
+    public record Contribuicao(String usuario, PrioridadeTarefa prioridade, int horas) {
+    }
+
+    /**
+     * Retrato da carga de um usuário.
+     */
+    public record CargaUsuario(String usuario, int tarefasAbertas, Map<PrioridadeTarefa, Integer> horasPorPrioridade,
+            long carga) {
+    }
+
+    private record Posicao(long carga, int abertas, String usuario) {
+    }
+
+    private static final Comparator<Posicao> MENOS_CARREGADO = Comparator.comparingLong(Posicao::carga)
+            .thenComparingInt(Posicao::abertas)
+            .thenComparing(Posicao::usuario);
+
+    private final Map<PrioridadeTarefa, Integer> pesos;
+    private final Map<String, Set<String>> categoriasDoUsuario = new HashMap<>();
+    private final Map<String, ConcurrentSkipListSet<Posicao>> filas = new HashMap<>();
+    private final ConcurrentSkipListSet<Posicao> filaPadrao = new ConcurrentSkipListSet<>(MENOS_CARREGADO);
+    private final Set<String> elegiveisPadrao;
+    private final Map<String, Carga> cargas = new ConcurrentHashMap<>();
+    private final Map<Long, Contribuicao> contribuicoes = new HashMap<>();
+
+    /**
+     * @param elegiveisPorCategoria usuários que podem receber tarefas de cada categoria
+     * @param elegiveisPadrao       usuários para tarefas sem categoria ou de categorias não listadas
+     * @param pesos                 peso das horas de cada prioridade na carga
+     */
+    public MotorAtribuicao(Map<String, ? extends Collection<String>> elegiveisPorCategoria,
+            Collection<String> elegiveisPadrao, Map<PrioridadeTarefa, Integer> pesos) {
+        this.pesos = new EnumMap<>(PrioridadeTarefa.class);
+        this.pesos.putAll(pesos);
+        this.elegiveisPadrao = new LinkedHashSet<>(elegiveisPadrao);
+        elegiveisPorCategoria.forEach((categoria, usuarios) -> {
+            filas.put(chave(categoria), new ConcurrentSkipListSet<>(MENOS_CARREGADO));
+            usuarios.forEach(usuario -> categoriasDoUsuario.computeIfAbsent(usuario, u -> new LinkedHashSet<>())
+                    .add(chave(categoria)));
+        });
+        categoriasDoUsuario.keySet().forEach(this::carga);
+        this.elegiveisPadrao.forEach(this::carga);
+    }
+
+    /**
+     * Registra o estado atual de uma tarefa: {@code null} se ela não está aberta ou não tem
+     * responsável.
+     *
+     * @return a contribuição anterior da tarefa, para desfazer a alteração
+     */
+    public synchronized Contribuicao aplicar(long tarefaId, Contribuicao nova) {
+        Contribuicao anterior = nova != null ? contribuicoes.put(tarefaId, nova) : contribuicoes.remove(tarefaId);
+        if (nova != null ? nova.equals(anterior) : anterior == null) {
+            return anterior;
+        }
+        if (anterior != null) {
+            somar(anterior, -1);
+        }
+        if (nova != null) {
+            somar(nova, 1);
+        }
+        return anterior;
+    }
+
+    /**
+     * Escolhe o usuário elegível menos carregado da categoria e já lhe atribui a tarefa, numa
+     * única operação: atribuições simultâneas veem a carga umas das outras.
+     *
+     * @return vazio se a categoria não tem usuários elegíveis
+     */
+    public synchronized Optional<String> atribuir(long tarefaId, String categoria, PrioridadeTarefa prioridade,
+            int horas) {
+        ConcurrentSkipListSet<Posicao> fila = fila(categoria);
+        if (fila.isEmpty()) {
+            return Optional.empty();
+        }
+        String usuario = fila.first().usuario();
+        aplicar(tarefaId, new Contribuicao(usuario, prioridade, horas));
+        return Optional.of(usuario);
+    }
+
+    /**
+     * Usuários elegíveis da categoria, do menos para o mais carregado.
+     */
+    public List<CargaUsuario> cargas(String categoria) {
+        List<CargaUsuario> resultado = new ArrayList<>();
+        for (Posicao posicao : fila(categoria)) {
+            resultado.add(cargas.get(posicao.usuario()).retrato());
+        }
+        return resultado;
+    }
+
+    public Optional<CargaUsuario> cargaDe(String usuario) {
+        return Optional.ofNullable(cargas.get(usuario)).map(Carga::retrato);
+    }
+
+    private void somar(Contribuicao contribuicao, int sinal) {
+        Carga carga = carga(contribuicao.usuario());
+        Set<String> categorias = categoriasDoUsuario.getOrDefault(contribuicao.usuario(), Set.of());
+        boolean padrao = elegiveisPadrao.contains(contribuicao.usuario());
+
+        Posicao antes = carga.posicao();
+        carga.somar(contribuicao.prioridade(), sinal * contribuicao.horas(),
+                sinal * (long) contribuicao.horas() * pesos.getOrDefault(contribuicao.prioridade(), 1), sinal);
+        Posicao depois = carga.posicao();
+
+        for (String categoria : categorias) {
+            reposicionar(filas.get(categoria), antes, depois);
+        }
+        if (padrao) {
+            reposicionar(filaPadrao, antes, depois);
+        }
+    }
+
+    private static void reposicionar(ConcurrentSkipListSet<Posicao> fila, Posicao antes, Posicao depois) {
+        // a listagem pode não ver o usuário entre as duas operações; a escolha é serializada
+        fila.remove(antes);
+        fila.add(depois);
+    }
+
+    private ConcurrentSkipListSet<Posicao> fila(String categoria) {
+        return categoria != null ? filas.getOrDefault(chave(categoria), filaPadrao) : filaPadrao;
+    }
+
+    // só o construtor e as alterações (serializadas) criam cargas
+    private Carga carga(String usuario) {
+        return cargas.computeIfAbsent(usuario, u -> {
+            Carga nova = new Carga(u);
+            categoriasDoUsuario.getOrDefault(u, Set.of()).forEach(categoria -> filas.get(categoria).add(nova.posicao()));
+            if (elegiveisPadrao.contains(u)) {
+                filaPadrao.add(nova.posicao());
+            }
+            return nova;
+        });
+    }
+
+    private static String chave(String categoria) {
+        return categoria.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Carga {
+
+        private final String usuario;
+        private final Map<PrioridadeTarefa, Integer> horasPorPrioridade = new EnumMap<>(PrioridadeTarefa.class);
+        private volatile Posicao posicao;
+
+        Carga(String usuario) {
+            this.usuario = usuario;
+            this.posicao = new Posicao(0, 0, usuario);
+        }
+
+        Posicao posicao() {
+            return posicao;
+        }
+
+        void somar(PrioridadeTarefa prioridade, int horas, long carga, int abertas) {
+            synchronized (horasPorPrioridade) {
+                horasPorPrioridade.merge(prioridade, horas, Integer::sum);
+            }
+            posicao = new Posicao(posicao.carga() + carga, posicao.abertas() + abertas, usuario);
+        }
+
+        CargaUsuario retrato() {
+            Posicao atual = posicao;
+            Map<PrioridadeTarefa, Integer> horas;
+            synchronized (horasPorPrioridade) {
+                horas = new EnumMap<>(PrioridadeTarefa.class);
+                horas.putAll(horasPorPrioridade);
+            }
+            horas.values().removeIf(valor -> valor == 0);
+            return new CargaUsuario(usuario, atual.abertas(), horas, atual.carga());
+        }
+    }
+}
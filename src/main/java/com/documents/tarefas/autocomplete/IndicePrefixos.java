@@ -0,0 +1,180 @@
+package com.documents.tarefas.autocomplete;
+
+import com.documents.tarefas.filtro.FiltroTitulos;
+import com.documents.tarefas.model.PrioridadeTarefa;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice de prefixos de títulos e categorias em memória. Cada tarefa entra com alguns termos
+ * normalizados como o banco compara (sem acentos e caixa): o título inteiro, cada palavra do
+ * título e a categoria. Os termos ficam ordenados num {@link ConcurrentSkipListMap}, separados
+ * por faixa de prioridade (a mais alta primeiro), então as tarefas de um prefixo numa faixa são
+ * um intervalo contíguo de chaves, achado em O(log n).
+ * <p>
+ * Uma busca percorre as faixas da mais para a menos prioritária, examina no máximo
+ * {@code maximoCandidatos} tarefas e devolve as mais bem colocadas por prioridade e, depois, pela
+ * alteração mais recente; prefixos muito curtos, com mais candidatos que isso, ainda vêm por
+ * prioridade, mas dentro da faixa só os primeiros na ordem dos termos são comparados.
+ * <p>
+ * {@link Item#atualizadaEm()} também serve de versão: um item mais antigo que o guardado para a
+ * tarefa, ou que a remoção dela, é ignorado, de modo que uma página lida do banco antes de uma
+ * alteração não desfaz a alteração já aplicada. Leituras não bloqueiam; a troca dos termos de uma
+ * tarefa é atômica por tarefa.
+ */
+public class IndicePrefixos {
+
+    /**
+     * O que o índice guarda de cada tarefa, além dos termos.
+     */
+    public record Item(long id, String titulo, String categoria, PrioridadeTarefa prioridade, long atualizadaEm) {
+    }
+
+    public static final Comparator<Item> RELEVANCIA = Comparator
+            .comparing((Item item) -> item.prioridade() != null ? item.prioridade().ordinal() : -1)
+            .thenComparingLong(Item::atualizadaEm)
+            .thenComparingLong(Item::id)
+            .reversed();
+
+    private static final PrioridadeTarefa[] PRIORIDADES = PrioridadeTarefa.values();
+    // separa o termo do id na chave; menor que qualquer caractere de um termo normalizado
+    private static final char SEPARADOR = '\u0000';
+    private static final char MAIOR_CARACTERE = '\uffff';
+    private static final int TAMANHO_MINIMO_PALAVRA = 2;
+
+    private final ConcurrentSkipListMap<String, Long> termos = new ConcurrentSkipListMap<>();
+    private final Map<Long, Item> itens = new ConcurrentHashMap<>();
+    // momento da remoção de cada tarefa removida desde a montagem do índice
+    private final Map<Long, Long> remocoes = new ConcurrentHashMap<>();
+    private final int maximoPalavrasPorItem;
+
+    public IndicePrefixos(int maximoPalavrasPorItem) {
+        this.maximoPalavrasPorItem = maximoPalavrasPorItem;
+    }
+
+    public void adicionar(Item item) {
+        itens.compute(item.id(), (id, anterior) -> {
+            if (anterior != null && anterior.atualizadaEm() > item.atualizadaEm()) {
+                return anterior;
+            }
+            Long removidaEm = remocoes.get(id);
+            if (removidaEm != null && removidaEm >= item.atualizadaEm()) {
+                return anterior;
+            }
+            Set<String> novas = chaves(item);
+            if (anterior != null) {
+                for (String chave : chaves(anterior)) {
+                    if (!novas.contains(chave)) {
+                        termos.remove(chave);
+                    }
+                }
+            }
+            novas.forEach(chave -> termos.put(chave, id));
+            return item;
+        });
+    }
+
+    public void remover(long id, long removidaEm) {
+        remocoes.merge(id, removidaEm, Math::max);
+        itens.computeIfPresent(id, (chaveId, anterior) -> {
+            chaves(anterior).forEach(termos::remove);
+            return null;
+        });
+    }
+
+    public int tamanho() {
+        return itens.size();
+    }
+
+    /**
+     * Até {@code limite} tarefas com algum termo começando por {@code prefixo}, da mais para a
+     * menos relevante.
+     */
+    public List<Item> buscar(String prefixo, int limite, int maximoCandidatos) {
+        String normalizado = normalizar(prefixo);
+        if (normalizado.isEmpty() || limite < 1) {
+            return List.of();
+        }
+
+        // os "limite" mais relevantes vistos até aqui, com o menos relevante no topo
+        PriorityQueue<Item> melhores = new PriorityQueue<>(limite + 1, RELEVANCIA.reversed());
+        Set<Long> vistos = new HashSet<>();
+        faixas:
+        for (int faixa = 0; faixa <= PRIORIDADES.length; faixa++) {
+            String inicio = (char) faixa + normalizado;
+            for (Long id : termos.subMap(inicio, true, inicio + MAIOR_CARACTERE, false).values()) {
+                if (!vistos.add(id)) {
+                    continue;
+                }
+                Item item = itens.get(id);
+                if (item != null) {
+                    melhores.add(item);
+                    if (melhores.size() > limite) {
+                        melhores.poll();
+                    }
+                }
+                if (vistos.size() >= maximoCandidatos) {
+                    break faixas;
+                }
+            }
+            // as faixas seguintes são todas menos prioritárias que as já encontradas
+            if (melhores.size() >= limite) {
+                break;
+            }
+        }
+
+        List<Item> resultado = new ArrayList<>(melhores);
+        resultado.sort(RELEVANCIA);
+        return resultado;
+    }
+
+    Set<String> termos(Item item) {
+        Set<String> resultado = new LinkedHashSet<>();
+        String titulo = normalizar(item.titulo());
+        if (!titulo.isEmpty()) {
+            resultado.add(titulo);
+        }
+        int palavras = 0;
+        for (String palavra : titulo.split(" ")) {
+            if (palavras >= maximoPalavrasPorItem) {
+                break;
+            }
+            if (palavra.length() >= TAMANHO_MINIMO_PALAVRA && resultado.add(palavra)) {
+                palavras++;
+            }
+        }
+        String categoria = normalizar(item.categoria());
+        if (!categoria.isEmpty()) {
+            resultado.add(categoria);
+        }
+        return resultado;
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        return FiltroTitulos.normalizar(texto).replace(SEPARADOR, ' ').trim().replaceAll("\\s+", " ");
+    }
+
+    private Set<String> chaves(Item item) {
+        char faixa = faixa(item.prioridade());
+        Set<String> chaves = new HashSet<>();
+        termos(item).forEach(termo -> chaves.add(faixa + termo + SEPARADOR + item.id()));
+        return chaves;
+    }
+
+    // URGENTE na faixa 0, BAIXA na 3 e tarefas sem prioridade por último, como em RELEVANCIA
+    private static char faixa(PrioridadeTarefa prioridade) {
+        return (char) (prioridade != null ? PRIORIDADES.length - 1 - prioridade.ordinal() : PRIORIDADES.length);
+    }
+}
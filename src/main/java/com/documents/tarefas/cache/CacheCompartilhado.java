@@ -0,0 +1,40 @@
+package com.documents.tarefas.cache;
+
+/**
+ * Camada de cache compartilhada entre as instâncias do serviço (Redis, Hazelcast, Memcached...),
+ * consultada quando o cache local da instância não tem a entrada. Os valores já chegam no
+ * formato de armazenamento do Spring, com {@code null} representado por
+ * {@link org.springframework.cache.support.NullValue}.
+ * <p>
+ * Um valor lido do banco num miss só é gravado se a chave não mudou desde o início da leitura
+ * ({@link #reservar} e {@link #putSeInalterado}, como os leases do Memcached ou um
+ * {@code WATCH} do Redis): sem isso, um carregamento lento gravaria por cima de uma remoção
+ * feita por uma escrita concorrente e a entrada velha ficaria no cache.
+ */
+public interface CacheCompartilhado {
+
+    /**
+     * @return o valor armazenado, ou {@code null} se não houver entrada
+     */
+    Object get(String cache, Object chave);
+
+    /**
+     * Marca o início de um carregamento da chave.
+     *
+     * @return a reserva a passar para {@link #putSeInalterado}
+     */
+    long reservar(String cache, Object chave);
+
+    /**
+     * Grava o valor só se a chave não foi gravada, removida nem limpa desde a reserva.
+     *
+     * @return {@code false} se o valor foi descartado
+     */
+    boolean putSeInalterado(String cache, Object chave, Object valor, long reserva);
+
+    void put(String cache, Object chave, Object valor);
+
+    void evict(String cache, Object chave);
+
+    void clear(String cache);
+}
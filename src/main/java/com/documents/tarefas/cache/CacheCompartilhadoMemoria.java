@@ -0,0 +1,86 @@
+package com.documents.tarefas.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link CacheCompartilhado} em memória. Só é compartilhado entre as instâncias que recebem o
+ * mesmo objeto: serve para testes e para uma instância única.
+ * <p>
+ * Cada cache é um Caffeine limitado em tamanho e tempo. Toda alteração recebe um número de um
+ * contador único; uma remoção deixa uma marca com esse número no lugar da entrada, e
+ * {@link #putSeInalterado} recusa o valor se a chave tiver número maior que a reserva.
+ */
+public class CacheCompartilhadoMemoria implements CacheCompartilhado {
+
+    private final Map<String, Cache<Object, Entrada>> caches = new ConcurrentHashMap<>();
+    private final Map<String, Long> limpezas = new ConcurrentHashMap<>();
+    private final AtomicLong versoes = new AtomicLong();
+    private final long tamanhoMaximo;
+    private final Duration expiracao;
+
+    public CacheCompartilhadoMemoria(long tamanhoMaximo, Duration expiracao) {
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.expiracao = expiracao;
+    }
+
+    @Override
+    public Object get(String cache, Object chave) {
+        Entrada entrada = entradas(cache).getIfPresent(chave);
+        return entrada != null ? entrada.valor() : null;
+    }
+
+    @Override
+    public long reservar(String cache, Object chave) {
+        return versoes.get();
+    }
+
+    @Override
+    public boolean putSeInalterado(String cache, Object chave, Object valor, long reserva) {
+        Entrada nova = new Entrada(valor, versoes.incrementAndGet());
+        Map<Object, Entrada> entradas = entradas(cache).asMap();
+        if (entradas.compute(chave, (c, atual) -> atual != null && atual.versao() > reserva ? atual : nova) != nova) {
+            return false;
+        }
+        // conferido depois de gravar: um clear() concorrente registra a limpeza antes de esvaziar
+        if (limpezas.getOrDefault(cache, 0L) > reserva) {
+            entradas.remove(chave, nova);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void put(String cache, Object chave, Object valor) {
+        entradas(cache).put(chave, new Entrada(valor, versoes.incrementAndGet()));
+    }
+
+    @Override
+    public void evict(String cache, Object chave) {
+        entradas(cache).put(chave, new Entrada(null, versoes.incrementAndGet()));
+    }
+
+    @Override
+    public void clear(String cache) {
+        limpezas.put(cache, versoes.incrementAndGet());
+        entradas(cache).invalidateAll();
+    }
+
+    private Cache<Object, Entrada> entradas(String cache) {
+        return caches.computeIfAbsent(cache, nome -> Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .build());
+    }
+
+    /**
+     * Valor e versão de uma chave; {@code valor} nulo marca uma remoção.
+     */
+    private record Entrada(Object valor, long versao) {
+    }
+}
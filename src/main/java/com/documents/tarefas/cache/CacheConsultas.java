@@ -0,0 +1,24 @@
+package com.documents.tarefas.cache;
+
+import com.documents.tarefas.datasource.ContextoRoteamento;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache local das páginas de listagem. Como em {@link CacheDoisNiveis}, a carga de um miss lê do
+ * primário: a chave já traz a versão nova da tabela, e uma página lida de uma réplica atrasada
+ * ficaria guardada sob ela até expirar. Só vale para {@code @Cacheable(sync = true)}.
+ */
+public class CacheConsultas extends CaffeineCache {
+
+    public CacheConsultas(String nome, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+            boolean permitirNulos) {
+        super(nome, cache, permitirNulos);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return super.get(key, () -> ContextoRoteamento.noPrimario(valueLoader));
+    }
+}
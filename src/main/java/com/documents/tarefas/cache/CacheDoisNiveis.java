@@ -0,0 +1,110 @@
+package com.documents.tarefas.cache;
+
+import com.documents.tarefas.datasource.ContextoRoteamento;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache local (Caffeine) na frente do {@link CacheCompartilhado}. Leituras tentam o local, depois
+ * o compartilhado e só então o carregador (banco), cujo valor só entra no compartilhado se a
+ * chave não mudou durante a carga. Com roteamento leitura/escrita, o carregador lê do primário
+ * ({@link ContextoRoteamento}). Remoções e limpezas vão para o compartilhado e são difundidas
+ * pelo {@link TransporteInvalidacao}, para que as outras instâncias descartem a cópia local.
+ * <p>
+ * {@link #put} só grava, sem difundir: no serviço ele apenas preenche um miss, e toda alteração
+ * de tarefa passa por {@code @CacheEvict}. Quem usar {@code @CachePut} para substituir um valor
+ * deve remover a entrada antes.
+ */
+public class CacheDoisNiveis extends AbstractValueAdaptingCache {
+
+    private final String nome;
+    private final String instancia;
+    private final Cache<Object, Object> local;
+    private final CacheCompartilhado compartilhado;
+    private final TransporteInvalidacao transporte;
+
+    public CacheDoisNiveis(String nome, String instancia, Cache<Object, Object> local,
+            CacheCompartilhado compartilhado, TransporteInvalidacao transporte) {
+        super(true);
+        this.nome = nome;
+        this.instancia = instancia;
+        this.local = local;
+        this.compartilhado = compartilhado;
+        this.transporte = transporte;
+    }
+
+    @Override
+    public String getName() {
+        return nome;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object valor = local.getIfPresent(key);
+        if (valor == null) {
+            valor = compartilhado.get(nome, key);
+            if (valor != null) {
+                local.put(key, valor);
+            }
+        }
+        return valor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) fromStoreValue(local.get(key, chave -> {
+            Object valor = compartilhado.get(nome, chave);
+            if (valor == null) {
+                long reserva = compartilhado.reservar(nome, chave);
+                try {
+                    // uma réplica atrasada deixaria a cópia antiga no cache muito além do atraso
+                    valor = toStoreValue(ContextoRoteamento.noPrimario(valueLoader));
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(chave, valueLoader, e);
+                }
+                compartilhado.putSeInalterado(nome, chave, valor, reserva);
+            }
+            return valor;
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object valor = toStoreValue(value);
+        compartilhado.put(nome, key, valor);
+        local.put(key, valor);
+    }
+
+    @Override
+    public void evict(Object key) {
+        compartilhado.evict(nome, key);
+        local.invalidate(key);
+        transporte.publicar(new MensagemInvalidacao(instancia, nome, key));
+    }
+
+    @Override
+    public void clear() {
+        compartilhado.clear(nome);
+        local.invalidateAll();
+        transporte.publicar(new MensagemInvalidacao(instancia, nome, null));
+    }
+
+    void receber(MensagemInvalidacao mensagem) {
+        if (instancia.equals(mensagem.origem())) {
+            return;
+        }
+        if (mensagem.limparTudo()) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(mensagem.chave());
+        }
+    }
+}
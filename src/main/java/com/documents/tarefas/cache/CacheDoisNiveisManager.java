@@ -0,0 +1,74 @@
+package com.documents.tarefas.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cria os {@link CacheDoisNiveis} e repassa a cada um as invalidações recebidas. Com
+ * {@code transactionAware}, escritas e remoções feitas dentro de uma transação só são aplicadas
+ * (e difundidas) depois do commit.
+ */
+public class CacheDoisNiveisManager extends AbstractTransactionSupportingCacheManager {
+
+    private final String instancia;
+    private final CacheCompartilhado compartilhado;
+    private final TransporteInvalidacao transporte;
+    private final Collection<String> nomes;
+    private final long tamanhoMaximoLocal;
+    private final Duration expiracaoLocal;
+
+    public CacheDoisNiveisManager(String instancia, CacheCompartilhado compartilhado, TransporteInvalidacao transporte,
+            Collection<String> nomes, long tamanhoMaximoLocal, Duration expiracaoLocal) {
+        this.instancia = instancia;
+        this.compartilhado = compartilhado;
+        this.transporte = transporte;
+        this.nomes = List.copyOf(nomes);
+        this.tamanhoMaximoLocal = tamanhoMaximoLocal;
+        this.expiracaoLocal = expiracaoLocal;
+        setTransactionAware(true);
+        transporte.assinar(this::receber);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        for (String nome : nomes) {
+            caches.add(criar(nome));
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return criar(name);
+    }
+
+    private CacheDoisNiveis criar(String nome) {
+        return new CacheDoisNiveis(nome, instancia,
+                Caffeine.newBuilder()
+                        .maximumSize(tamanhoMaximoLocal)
+                        .expireAfterWrite(expiracaoLocal)
+                        .build(),
+                compartilhado, transporte);
+    }
+
+    private void receber(MensagemInvalidacao mensagem) {
+        Cache cache = lookupCache(mensagem.cache());
+        if (cache == null) {
+            return;
+        }
+        Cache alvo = cache instanceof TransactionAwareCacheDecorator decorado
+                ? decorado.getTargetCache()
+                : cache;
+        if (alvo instanceof CacheDoisNiveis doisNiveis) {
+            doisNiveis.receber(mensagem);
+        }
+    }
+}
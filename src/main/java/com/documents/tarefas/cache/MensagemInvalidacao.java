@@ -0,0 +1,14 @@
+package com.documents.tarefas.cache;
+
+import java.io.Serializable;
+
+/**
+ * Aviso de que uma entrada (ou, com {@code chave} nula, todo o cache) mudou na instância
+ * {@code origem} e deve sair do cache local das demais.
+ */
+public record MensagemInvalidacao(String origem, String cache, Object chave) implements Serializable {
+
+    public boolean limparTudo() {
+        return chave == null;
+    }
+}
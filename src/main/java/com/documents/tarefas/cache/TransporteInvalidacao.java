@@ -0,0 +1,15 @@
+package com.documents.tarefas.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal de difusão das invalidações entre instâncias (Redis pub/sub, tópico Kafka, JMS...).
+ * Cada mensagem publicada é entregue a todos os assinantes, inclusive os da própria instância,
+ * que a ignoram pela {@link MensagemInvalidacao#origem()}.
+ */
+public interface TransporteInvalidacao {
+
+    void publicar(MensagemInvalidacao mensagem);
+
+    void assinar(Consumer<MensagemInvalidacao> assinante);
+}
@@ -0,0 +1,26 @@
+package com.documents.tarefas.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link TransporteInvalidacao} em memória que entrega as mensagens na própria thread a todos os
+ * assinantes. Várias instâncias de cache ligadas ao mesmo objeto simulam um cluster.
+ */
+public class TransporteInvalidacaoLoopback implements TransporteInvalidacao {
+
+    private final List<Consumer<MensagemInvalidacao>> assinantes = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publicar(MensagemInvalidacao mensagem) {
+        for (Consumer<MensagemInvalidacao> assinante : assinantes) {
+            assinante.accept(mensagem);
+        }
+    }
+
+    @Override
+    public void assinar(Consumer<MensagemInvalidacao> assinante) {
+        assinantes.add(assinante);
+    }
+}
@@ -0,0 +1,63 @@
+package com.documents.tarefas.cache;
+
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão de {@code tarefas_tb} usada nas chaves do cache de consultas. Cada escrita confirmada
+ * incrementa a versão, limpa o cache e avisa as outras instâncias para fazerem o mesmo.
+ * <p>
+ * A versão na chave cobre a corrida entre uma leitura e uma escrita simultâneas: a leitura
+ * calcula a chave antes de consultar o banco, então um resultado anterior ao commit fica
+ * guardado sob a versão antiga, que ninguém mais consulta.
+ */
+public class VersaoTabelaTarefas implements KeyGenerator {
+
+    private final AtomicLong versao = new AtomicLong();
+    private final Cache cache;
+    private final String instancia;
+    private final TransporteInvalidacao transporte;
+
+    public VersaoTabelaTarefas(Cache cache, String instancia, TransporteInvalidacao transporte) {
+        this.cache = cache;
+        this.instancia = instancia;
+        this.transporte = transporte;
+        transporte.assinar(this::receber);
+    }
+
+    public long atual() {
+        return versao.get();
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return new ChaveConsulta(versao.get(), method.getName(), Arrays.asList(params));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarTarefa(TarefaAlteradaEvent event) {
+        invalidar();
+        transporte.publicar(new MensagemInvalidacao(instancia, cache.getName(), null));
+    }
+
+    private void receber(MensagemInvalidacao mensagem) {
+        if (cache.getName().equals(mensagem.cache()) && !instancia.equals(mensagem.origem())) {
+            invalidar();
+        }
+    }
+
+    private void invalidar() {
+        versao.incrementAndGet();
+        cache.clear();
+    }
+
+    private record ChaveConsulta(long versao, String metodo, List<Object> argumentos) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.documents.tarefas.coalescencia;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Deduplicação de carregamentos em andamento (single-flight). A chamada que consegue registrar
+ * sua chave com {@code putIfAbsent} executa o carregamento; as que chegam enquanto ele está em
+ * andamento aguardam o mesmo {@link CompletableFuture}. A chave sai do mapa assim que o
+ * carregamento termina, então nada é guardado além da duração da consulta.
+ */
+public class CarregamentoUnico {
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> emAndamento = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface Carregador {
+        Object carregar() throws Throwable;
+    }
+
+    public Object carregar(Object chave, Carregador carregador) throws Throwable {
+        CompletableFuture<Object> proprio = new CompletableFuture<>();
+        CompletableFuture<Object> existente = emAndamento.putIfAbsent(chave, proprio);
+        if (existente != null) {
+            return aguardar(existente);
+        }
+
+        Object resultado;
+        try {
+            resultado = carregador.carregar();
+        } catch (Throwable e) {
+            emAndamento.remove(chave, proprio);
+            proprio.completeExceptionally(e);
+            throw e;
+        }
+        emAndamento.remove(chave, proprio);
+        proprio.complete(resultado);
+        return resultado;
+    }
+
+    int emAndamento() {
+        return emAndamento.size();
+    }
+
+    private Object aguardar(CompletableFuture<Object> carregamento) throws Throwable {
+        try {
+            return carregamento.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.documents.tarefas.coalescencia;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aplica {@link Coalescente}. Roda antes dos compartimentos e da transação, para que as
+ * chamadas que aguardam um carregamento em andamento não ocupem vaga nem conexão.
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 20)
+public class CoalescenciaAspect {
+
+    private final CarregamentoUnico carregamentoUnico;
+
+    public CoalescenciaAspect(CarregamentoUnico carregamentoUnico) {
+        this.carregamentoUnico = carregamentoUnico;
+    }
+
+    @Around("@annotation(com.documents.tarefas.coalescencia.Coalescente)")
+    public Object executar(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method metodo = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Chave chave = new Chave(metodo, Arrays.asList(joinPoint.getArgs()));
+        return carregamentoUnico.carregar(chave, joinPoint::proceed);
+    }
+
+    private record Chave(Method metodo, List<Object> argumentos) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.documents.tarefas.coalescencia;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Leitura cujas chamadas simultâneas com os mesmos argumentos compartilham uma única execução:
+ * a primeira consulta o banco e as demais recebem o mesmo resultado (ou a mesma exceção).
+ * Só deve ser usada em métodos somente leitura.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalescente {
+}
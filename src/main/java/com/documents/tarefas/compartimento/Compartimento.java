@@ -0,0 +1,32 @@
+package com.documents.tarefas.compartimento;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Classe de operação (bulkhead) do método ou de todos os métodos da classe. Cada compartimento
+ * tem seu próprio limite de concorrência, timeout de consulta e, opcionalmente, pool de conexões,
+ * configurados em {@code tarefas.compartimentos.operacoes.<nome>}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Compartimento {
+
+    /**
+     * Leituras por chave, páginas da listagem ({@code GET /api/tarefas}, com ou sem filtros) e
+     * escritas de uma única tarefa.
+     */
+    String CRUD = "crud";
+
+    /**
+     * Consultas que varrem muitas linhas: estatísticas, busca por texto, listas sem paginação e a
+     * listagem que inclui o arquivo.
+     */
+    String ANALITICO = "analitico";
+
+    String value();
+}
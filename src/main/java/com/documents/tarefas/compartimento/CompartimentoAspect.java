@@ -0,0 +1,118 @@
+package com.documents.tarefas.compartimento;
+
+import com.documents.tarefas.config.CompartimentosProperties;
+import com.documents.tarefas.exception.ServicoSobrecarregadoException;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplica o {@link Compartimento} de cada chamada: limita a concorrência por compartimento com um
+ * semáforo (esgotado o tempo de espera, responde 503), marca o compartimento para o roteamento
+ * de pool e abre a transação com o timeout do compartimento, que o Spring repassa como timeout
+ * de cada consulta. Roda antes do interceptor de {@code @Transactional}, para que a conexão
+ * ainda não tenha sido obtida.
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+@Slf4j
+public class CompartimentoAspect {
+
+    private final CompartimentosProperties properties;
+    private final PlatformTransactionManager transactionManager;
+    private final Map<String, Semaphore> semaforos = new HashMap<>();
+
+    public CompartimentoAspect(CompartimentosProperties properties, PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.transactionManager = transactionManager;
+        properties.getOperacoes().forEach((nome, limites) ->
+                semaforos.put(nome, new Semaphore(limites.getMaxConcorrencia(), true)));
+    }
+
+    @Around("@within(com.documents.tarefas.compartimento.Compartimento) || @annotation(com.documents.tarefas.compartimento.Compartimento)")
+    public Object executar(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method metodo = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> alvo = joinPoint.getTarget().getClass();
+        String nome = compartimento(metodo, alvo);
+
+        CompartimentosProperties.Operacao operacao = properties.getOperacoes().get(nome);
+        Semaphore semaforo = semaforos.get(nome);
+        if (operacao == null || semaforo == null) {
+            return joinPoint.proceed();
+        }
+
+        adquirir(nome, semaforo, operacao);
+        String anterior = ContextoCompartimento.atual();
+        ContextoCompartimento.definir(nome);
+        try {
+            return executarComTimeout(joinPoint, metodo, alvo, operacao.getTimeoutConsulta());
+        } finally {
+            ContextoCompartimento.definir(anterior);
+            semaforo.release();
+        }
+    }
+
+    private void adquirir(String nome, Semaphore semaforo, CompartimentosProperties.Operacao operacao) {
+        try {
+            if (semaforo.tryAcquire(operacao.getEsperaMaxima().toNanos(), TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("Compartimento '{}' sem vagas ({} operações em andamento)", nome, operacao.getMaxConcorrencia());
+        throw new ServicoSobrecarregadoException(
+                "Muitas operações do tipo '" + nome + "' em andamento. Tente novamente em instantes.",
+                operacao.getRetryAfter());
+    }
+
+    private Object executarComTimeout(ProceedingJoinPoint joinPoint, Method metodo, Class<?> alvo, Duration timeout)
+            throws Throwable {
+        if (timeout == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        Transactional transacional = AnnotatedElementUtils.findMergedAnnotation(metodo, Transactional.class);
+        if (transacional == null) {
+            transacional = AnnotatedElementUtils.findMergedAnnotation(alvo, Transactional.class);
+        }
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(transacional != null && transacional.readOnly());
+        template.setTimeout((int) Math.max(1, timeout.toSeconds()));
+        return template.execute(status -> {
+            try {
+                return joinPoint.proceed();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        });
+    }
+
+    private String compartimento(Method metodo, Class<?> alvo) {
+        Compartimento anotacao = AnnotatedElementUtils.findMergedAnnotation(metodo, Compartimento.class);
+        if (anotacao == null) {
+            anotacao = AnnotatedElementUtils.findMergedAnnotation(alvo, Compartimento.class);
+        }
+        return anotacao != null ? anotacao.value() : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.documents.tarefas.compartimento;
+
+/**
+ * Compartimento da operação em execução na thread corrente, usado para escolher o pool de
+ * conexões quando os pools dedicados estão habilitados.
+ */
+public final class ContextoCompartimento {
+
+    private static final ThreadLocal<String> COMPARTIMENTO = new ThreadLocal<>();
+
+    private ContextoCompartimento() {
+    }
+
+    public static void definir(String compartimento) {
+        if (compartimento == null) {
+            COMPARTIMENTO.remove();
+        } else {
+            COMPARTIMENTO.set(compartimento);
+        }
+    }
+
+    public static String atual() {
+        return COMPARTIMENTO.get();
+    }
+}
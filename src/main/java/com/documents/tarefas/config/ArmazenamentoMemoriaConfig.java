@@ -0,0 +1,29 @@
+package com.documents.tarefas.config;
+
+import com.documents.tarefas.repository.memoria.TarefaRepositoryMemoria;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Troca o {@code TarefaRepository} do banco pelo armazenamento em memória com diário em disco
+ * (perfil {@code memoria}). Só {@code tarefas_tb} sai do banco: histórico e arquivo continuam
+ * no datasource configurado. Não combinar com o sharding.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tarefas.armazenamento-memoria", name = "habilitado", havingValue = "true")
+@EnableConfigurationProperties(ArmazenamentoMemoriaProperties.class)
+public class ArmazenamentoMemoriaConfig {
+
+    @Bean
+    @Primary
+    public TarefaRepositoryMemoria tarefaRepositoryMemoria(ArmazenamentoMemoriaProperties properties) throws IOException {
+        return new TarefaRepositoryMemoria(Path.of(properties.getDiretorio()), properties.isSincronizarEscritas(),
+                properties.getEntradasPorSnapshot(), properties.getCapacidadeInicial());
+    }
+}
@@ -0,0 +1,33 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.armazenamento-memoria")
+public class ArmazenamentoMemoriaProperties {
+
+    private boolean habilitado;
+
+    /**
+     * Diretório do diário ({@code tarefas.wal}) e do snapshot ({@code tarefas.snapshot}).
+     */
+    private String diretorio = "dados-tarefas";
+
+    /**
+     * Força cada escrita do diário para o disco antes de responder. Desligar troca durabilidade
+     * das últimas escritas numa queda do sistema operacional por latência de escrita.
+     */
+    private boolean sincronizarEscritas = true;
+
+    /**
+     * Entradas no diário que disparam um snapshot imediato, limitando o tempo de recuperação.
+     */
+    private long entradasPorSnapshot = 100_000;
+
+    private Duration intervaloSnapshot = Duration.ofMinutes(5);
+
+    private int capacidadeInicial = 1024;
+}
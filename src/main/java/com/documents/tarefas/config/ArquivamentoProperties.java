@@ -0,0 +1,22 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.arquivamento")
+public class ArquivamentoProperties {
+
+    private boolean habilitado = true;
+
+    /**
+     * Tempo desde a conclusão/cancelamento a partir do qual a tarefa é arquivada.
+     */
+    private Duration retencao = Duration.ofDays(90);
+
+    private int tamanhoLote = 500;
+
+    private int maximoLotesPorExecucao = 200;
+}
@@ -0,0 +1,51 @@
+package com.documents.tarefas.config;
+
+import com.documents.tarefas.model.PrioridadeTarefa;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.atribuicao")
+public class AtribuicaoProperties {
+
+    /**
+     * Usuários que podem receber automaticamente tarefas de cada categoria.
+     */
+    private Map<String, List<String>> elegiveis = new LinkedHashMap<>();
+
+    /**
+     * Usuários para tarefas sem categoria ou de categorias fora de {@link #elegiveis}.
+     */
+    private List<String> padrao = new ArrayList<>();
+
+    /**
+     * Peso das horas estimadas de cada prioridade na carga de um usuário.
+     */
+    private Map<PrioridadeTarefa, Integer> pesosPrioridade = new EnumMap<>(Map.of(
+            PrioridadeTarefa.BAIXA, 1,
+            PrioridadeTarefa.MEDIA, 2,
+            PrioridadeTarefa.ALTA, 3,
+            PrioridadeTarefa.URGENTE, 4));
+
+    /**
+     * Horas consideradas para tarefas sem {@code estimativaHoras}.
+     */
+    private int horasSemEstimativa = 1;
+
+    private int tamanhoMaximoLote = 100;
+
+    /**
+     * Intervalo para recarregar as cargas do banco, trazendo alterações feitas por outras
+     * instâncias.
+     */
+    private Duration intervaloRecarga = Duration.ofMinutes(10);
+
+    private int tamanhoLoteCarga = 1000;
+}
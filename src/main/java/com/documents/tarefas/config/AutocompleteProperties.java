@@ -0,0 +1,33 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.autocomplete")
+public class AutocompleteProperties {
+
+    private boolean habilitado = true;
+
+    /**
+     * Tarefas que o índice aceita (cerca de 1 KB cada); acima disso as sugestões vêm do banco
+     * até uma reconstrução encontrar menos tarefas.
+     */
+    private int capacidade = 200_000;
+
+    /**
+     * Palavras do título indexadas por tarefa, além do título inteiro e da categoria.
+     */
+    private int maximoPalavrasPorTarefa = 8;
+
+    /**
+     * Tarefas examinadas por busca; limita o custo de prefixos curtos.
+     */
+    private int maximoCandidatos = 2_000;
+
+    private int limitePadrao = 10;
+
+    private int limiteMaximo = 50;
+
+    private int tamanhoLoteCarga = 1000;
+}
@@ -0,0 +1,95 @@
+package com.documents.tarefas.config;
+
+import com.documents.tarefas.cache.CacheCompartilhado;
+import com.documents.tarefas.cache.CacheCompartilhadoMemoria;
+import com.documents.tarefas.cache.CacheConsultas;
+import com.documents.tarefas.cache.CacheDoisNiveisManager;
+import com.documents.tarefas.cache.TransporteInvalidacao;
+import com.documents.tarefas.cache.TransporteInvalidacaoLoopback;
+import com.documents.tarefas.cache.VersaoTabelaTarefas;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+
+/**
+ * Cache em dois níveis: local por instância e compartilhado, com invalidação difundida entre as
+ * instâncias. Desligado por padrão. As implementações em memória de {@link CacheCompartilhado} e
+ * {@link TransporteInvalidacao} só valem para uma instância e são substituídas declarando outro
+ * bean desses tipos; com {@code tarefas.cache.multiplas-instancias=true} a subida falha se
+ * alguma delas continuar em uso.
+ * <p>
+ * Páginas de listagem ficam num cache local separado ({@code cacheConsultasManager}), cuja
+ * chave inclui a versão da tabela mantida por {@link VersaoTabelaTarefas}; a política de
+ * admissão W-TinyLFU do Caffeine evita que combinações de filtros raras expulsem as frequentes.
+ * Os misses dos dois caches são carregados do primário quando há réplicas de leitura.
+ * <p>
+ * O interceptor de cache roda depois do rastreamento e antes da coalescência, dos compartimentos
+ * e da transação: um acerto aparece no span, mas não chega a ocupar vaga nem conexão.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 30)
+@ConditionalOnProperty(prefix = "tarefas.cache", name = "habilitado", havingValue = "true")
+@EnableConfigurationProperties(CacheDoisNiveisProperties.class)
+public class CacheDoisNiveisConfig {
+
+    public static final String CACHE_CONSULTAS = "consultas-tarefas";
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CacheCompartilhado cacheCompartilhado(CacheDoisNiveisProperties properties) {
+        return new CacheCompartilhadoMemoria(properties.getCompartilhado().getTamanhoMaximo(),
+                properties.getCompartilhado().getExpiracao());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TransporteInvalidacao transporteInvalidacao() {
+        return new TransporteInvalidacaoLoopback();
+    }
+
+    @Bean
+    @Primary
+    public CacheManager cacheManager(CacheDoisNiveisProperties properties, CacheCompartilhado cacheCompartilhado,
+            TransporteInvalidacao transporteInvalidacao) {
+        if (properties.isMultiplasInstancias()
+                && (cacheCompartilhado instanceof CacheCompartilhadoMemoria
+                        || transporteInvalidacao instanceof TransporteInvalidacaoLoopback)) {
+            throw new IllegalStateException("tarefas.cache.multiplas-instancias=true exige beans de CacheCompartilhado "
+                    + "e TransporteInvalidacao compartilhados entre as instâncias (Redis, Kafka...); "
+                    + "os padrões em memória deixariam cópias desatualizadas nas outras instâncias");
+        }
+        return new CacheDoisNiveisManager(properties.getInstancia(), cacheCompartilhado, transporteInvalidacao,
+                properties.getNomes(), properties.getLocal().getTamanhoMaximo(), properties.getLocal().getExpiracao());
+    }
+
+    @Bean
+    public CacheManager cacheConsultasManager(CacheDoisNiveisProperties properties) {
+        CaffeineCacheManager manager = new CaffeineCacheManager(CACHE_CONSULTAS) {
+            @Override
+            protected Cache adaptCaffeineCache(String nome, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new CacheConsultas(nome, cache, isAllowNullValues());
+            }
+        };
+        manager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.getConsultas().getTamanhoMaximo())
+                .expireAfterWrite(properties.getConsultas().getExpiracao()));
+        return manager;
+    }
+
+    @Bean
+    public VersaoTabelaTarefas chaveConsultaTarefas(@Qualifier("cacheConsultasManager") CacheManager cacheConsultasManager,
+            CacheDoisNiveisProperties properties, TransporteInvalidacao transporteInvalidacao) {
+        return new VersaoTabelaTarefas(cacheConsultasManager.getCache(CACHE_CONSULTAS), properties.getInstancia(),
+                transporteInvalidacao);
+    }
+}
@@ -0,0 +1,62 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.cache")
+public class CacheDoisNiveisProperties {
+
+    private boolean habilitado = false;
+
+    /**
+     * Identifica esta instância nas mensagens de invalidação.
+     */
+    private String instancia = UUID.randomUUID().toString();
+
+    /**
+     * O serviço roda com mais de uma instância. Nesse caso a subida falha se a camada
+     * compartilhada ou o transporte de invalidações forem as implementações em memória.
+     */
+    private boolean multiplasInstancias = false;
+
+    private List<String> nomes = new ArrayList<>(List.of("tarefas"));
+
+    private Local local = new Local();
+
+    private Compartilhado compartilhado = new Compartilhado();
+
+    private Consultas consultas = new Consultas();
+
+    @Data
+    public static class Local {
+        private long tamanhoMaximo = 10_000;
+
+        /**
+         * Limite de tempo de uma cópia local caso uma invalidação se perca.
+         */
+        private Duration expiracao = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Limites da camada compartilhada em memória; implementações externas têm os seus.
+     */
+    @Data
+    public static class Compartilhado {
+        private long tamanhoMaximo = 100_000;
+
+        private Duration expiracao = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Consultas {
+        private long tamanhoMaximo = 1_000;
+
+        private Duration expiracao = Duration.ofMinutes(10);
+    }
+}
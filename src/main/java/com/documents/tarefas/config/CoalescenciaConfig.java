@@ -0,0 +1,20 @@
+package com.documents.tarefas.config;
+
+import com.documents.tarefas.coalescencia.CarregamentoUnico;
+import com.documents.tarefas.coalescencia.CoalescenciaAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Deduplicação de leituras idênticas simultâneas dos métodos {@code @Coalescente}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tarefas.coalescencia", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class CoalescenciaConfig {
+
+    @Bean
+    public CoalescenciaAspect coalescenciaAspect() {
+        return new CoalescenciaAspect(new CarregamentoUnico());
+    }
+}
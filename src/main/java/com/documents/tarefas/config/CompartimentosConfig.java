@@ -0,0 +1,73 @@
+package com.documents.tarefas.config;
+
+import com.documents.tarefas.compartimento.CompartimentoAspect;
+import com.documents.tarefas.datasource.CompartimentoDataSource;
+import com.documents.tarefas.datasource.PoolsHikari;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bulkheads por classe de operação do {@code TarefaService} ({@code tarefas.compartimentos}).
+ * Com {@code pools-dedicados=true}, compartimentos com {@code tamanho-pool} ganham um pool
+ * Hikari próprio sobre o mesmo banco de {@code spring.datasource}, com as configurações de
+ * {@code spring.datasource.hikari} e o tamanho do compartimento.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tarefas.compartimentos", name = "habilitado", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(CompartimentosProperties.class)
+public class CompartimentosConfig {
+
+    @Bean
+    public CompartimentoAspect compartimentoAspect(CompartimentosProperties properties,
+            PlatformTransactionManager transactionManager) {
+        return new CompartimentoAspect(properties, transactionManager);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "tarefas.compartimentos", name = "pools-dedicados", havingValue = "true")
+    static class PoolsDedicadosConfig {
+
+        @Bean
+        public CompartimentoDataSource compartimentoDataSource(DataSourceProperties dataSourceProperties,
+                CompartimentosProperties properties, Environment environment) {
+            Binder binder = Binder.get(environment);
+            HikariDataSource principal = PoolsHikari.configurar(binder, dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build(), "tarefas-principal");
+
+            Map<String, DataSource> pools = new LinkedHashMap<>();
+            properties.getOperacoes().forEach((nome, operacao) -> {
+                if (operacao.getTamanhoPool() > 0) {
+                    HikariDataSource pool = PoolsHikari.configurar(binder, dataSourceProperties.initializeDataSourceBuilder()
+                            .type(HikariDataSource.class)
+                            .build(), "tarefas-" + nome);
+                    // pool fixo do tamanho do compartimento, como o principal
+                    pool.setMaximumPoolSize(operacao.getTamanhoPool());
+                    pool.setMinimumIdle(operacao.getTamanhoPool());
+                    pools.put(nome, pool);
+                }
+            });
+
+            return new CompartimentoDataSource(principal, pools);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(CompartimentoDataSource compartimentoDataSource) {
+            return new LazyConnectionDataSourceProxy(compartimentoDataSource);
+        }
+    }
+}
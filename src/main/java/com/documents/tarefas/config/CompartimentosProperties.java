@@ -0,0 +1,42 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.compartimentos")
+public class CompartimentosProperties {
+
+    private boolean habilitado = true;
+
+    /**
+     * Cria um pool de conexões por compartimento com {@code tamanho-pool} > 0.
+     * Não combinar com o roteamento de réplicas nem com o sharding.
+     */
+    private boolean poolsDedicados;
+
+    private Map<String, Operacao> operacoes = new LinkedHashMap<>();
+
+    @Data
+    public static class Operacao {
+        private int maxConcorrencia = 50;
+
+        /**
+         * Quanto uma chamada espera por vaga no compartimento antes de receber 503.
+         */
+        private Duration esperaMaxima = Duration.ofMillis(100);
+
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        /**
+         * Timeout da transação, aplicado pelo Spring a cada consulta dentro dela.
+         */
+        private Duration timeoutConsulta;
+
+        private int tamanhoPool;
+    }
+}
@@ -0,0 +1,19 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.dependencias")
+public class DependenciasProperties {
+
+    /**
+     * Intervalo para recarregar o grafo em memória do banco, trazendo arestas gravadas por outras
+     * instâncias.
+     */
+    private Duration intervaloRecarga = Duration.ofMinutes(5);
+
+    private int tamanhoLoteCarga = 1000;
+}
@@ -0,0 +1,26 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.filtro-titulos")
+public class FiltroTitulosProperties {
+
+    private boolean habilitado = true;
+
+    /**
+     * Quantidade de títulos para a qual o filtro é dimensionado; se a tabela passar disso, o filtro
+     * é reconstruído com o dobro.
+     */
+    private long capacidade = 1_000_000;
+
+    private double taxaFalsosPositivos = 0.01;
+
+    /**
+     * Fração de títulos removidos/renomeados (em relação aos adicionados) que dispara a reconstrução.
+     */
+    private double limiteRemocoes = 0.2;
+
+    private int tamanhoLoteCarga = 10_000;
+}
@@ -0,0 +1,19 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.historico")
+public class HistoricoProperties {
+
+    private boolean habilitado = true;
+
+    /**
+     * A cada quantas entradas de uma tarefa o estado completo é gravado junto com o delta; é também
+     * o máximo de deltas lidos para reconstruir a tarefa num instante.
+     */
+    private int intervaloSnapshot = 20;
+
+    private int tamanhoMaximoPagina = 100;
+}
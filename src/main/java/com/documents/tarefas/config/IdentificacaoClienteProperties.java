@@ -0,0 +1,19 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.identificacao-cliente")
+public class IdentificacaoClienteProperties {
+
+    /**
+     * Endereços ou redes (CIDR) dos proxies e balanceadores à frente da aplicação. Só de conexões
+     * vindas deles valem {@code X-Forwarded-For} e {@code X-Cliente-Id}; vazio, o cliente é sempre
+     * o endereço da conexão.
+     */
+    private List<String> proxiesConfiaveis = new ArrayList<>();
+}
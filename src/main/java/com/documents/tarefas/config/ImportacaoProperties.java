@@ -0,0 +1,41 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.importacao")
+public class ImportacaoProperties {
+
+    private int maximoImportacoesSimultaneas = 2;
+
+    /**
+     * Importações aceitas aguardando vaga; além disso o upload é recusado com 503.
+     */
+    private int filaImportacoes = 8;
+
+    private int threadsValidacao = 4;
+
+    /**
+     * Capacidade de cada fila entre os estágios do pipeline.
+     */
+    private int capacidadeFila = 1000;
+
+    private int tamanhoLote = 500;
+
+    /**
+     * Tentativas de gravar um lote quando o compartimento CRUD está cheio.
+     */
+    private int tentativasLote = 10;
+
+    private int maximoErrosRegistrados = 1000;
+
+    /**
+     * Por quanto tempo uma importação encerrada continua consultável.
+     */
+    private Duration retencao = Duration.ofHours(24);
+
+    private Duration retryAfter = Duration.ofSeconds(30);
+}
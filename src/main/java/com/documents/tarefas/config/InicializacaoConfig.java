@@ -0,0 +1,29 @@
+package com.documents.tarefas.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Encerra a aplicação logo depois de pronta. Usado na execução de treino que gera o arquivo
+ * CDS ({@code ./gradlew cdsArchive}): a JVM grava o arquivo ao sair.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tarefas.inicializacao", name = "encerrar-apos-inicio", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class InicializacaoConfig {
+
+    private final ConfigurableApplicationContext context;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void encerrar() {
+        log.info("Aplicação pronta. Encerrando (tarefas.inicializacao.encerrar-apos-inicio=true)");
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,43 @@
+package com.documents.tarefas.config;
+
+import com.documents.tarefas.web.LimitadorRequisicoes;
+import com.documents.tarefas.web.LimiteRequisicoesInterceptor;
+import com.documents.tarefas.web.MonitorPoolConexoes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Limita a taxa de requisições por cliente/endpoint (429) e descarta carga quando o pool de
+ * conexões está saturado (503), ambos com Retry-After.
+ */
+@Configuration
+@EnableConfigurationProperties(LimiteRequisicoesProperties.class)
+@ConditionalOnProperty(prefix = "tarefas.limite-requisicoes", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class LimiteRequisicoesConfig implements WebMvcConfigurer {
+
+    private final LimitadorRequisicoes limitador;
+    private final MonitorPoolConexoes monitor;
+
+    public LimiteRequisicoesConfig(LimiteRequisicoesProperties properties, ObjectProvider<DataSource> dataSource) {
+        this.limitador = new LimitadorRequisicoes(properties);
+        this.monitor = new MonitorPoolConexoes(dataSource, properties.getDescarte());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new LimiteRequisicoesInterceptor(limitador, monitor))
+                .addPathPatterns("/api/**");
+    }
+
+    @Scheduled(fixedDelayString = "${tarefas.limite-requisicoes.intervalo-limpeza:PT1M}")
+    public void removerBaldesOciosos() {
+        limitador.removerBaldesOciosos();
+    }
+}
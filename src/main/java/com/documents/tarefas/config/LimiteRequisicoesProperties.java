@@ -0,0 +1,76 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.limite-requisicoes")
+public class LimiteRequisicoesProperties {
+
+    private boolean habilitado = true;
+
+    /**
+     * Limite padrão de cada cliente em cada endpoint, identificado pelo {@code IdentificacaoClienteFilter}.
+     */
+    private Limite porCliente = new Limite(20, 40);
+
+    /**
+     * Limite agregado de todos os clientes em cada endpoint. Desligado por padrão ({@code null}):
+     * um valor fixo recusaria tráfego legítimo em instâncias maiores; se usado, deve vir da
+     * capacidade medida da instância, pois vale para todo endpoint sem limite próprio.
+     */
+    private Limite porEndpoint;
+
+    /**
+     * Limite por cliente específico de um endpoint, pelo nome do método do controller
+     * (ex: buscarPorTexto). Substitui {@link #porCliente} para esse endpoint.
+     */
+    private Map<String, Limite> endpoints = new HashMap<>();
+
+    /**
+     * Limite agregado de todos os clientes de um endpoint, pelo nome do método do controller.
+     * Substitui {@link #porEndpoint} para esse endpoint; serve de teto para endpoints caros mesmo
+     * com o limite agregado geral desligado.
+     */
+    private Map<String, Limite> endpointsAgregados = new HashMap<>();
+
+    /**
+     * Máximo de baldes por cliente em memória; acima disso os clientes novos dividem um balde.
+     */
+    private int maximoBaldes = 100_000;
+
+    private Duration intervaloLimpeza = Duration.ofMinutes(1);
+
+    private Descarte descarte = new Descarte();
+
+    @Data
+    public static class Limite {
+        private double taxaPorSegundo;
+        private int capacidade;
+
+        public Limite() {
+        }
+
+        public Limite(double taxaPorSegundo, int capacidade) {
+            this.taxaPorSegundo = taxaPorSegundo;
+            this.capacidade = capacidade;
+        }
+    }
+
+    @Data
+    public static class Descarte {
+        private boolean habilitado = true;
+
+        /**
+         * Threads aguardando conexão no pool a partir das quais requisições começam a ser
+         * recusadas; com o dobro disso todas são recusadas.
+         */
+        private int limiarEspera = 5;
+
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,33 @@
+package com.documents.tarefas.config;
+
+import com.documents.tarefas.notificacao.DespachanteNotificacoes;
+import com.documents.tarefas.notificacao.NotificacoesTarefaListener;
+import com.documents.tarefas.notificacao.WebhookNotificacoesClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Webhooks de troca de responsável e conclusão de tarefas. Desligado por padrão: sem
+ * {@code tarefas.notificacoes.destinos} não há para onde enviar.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tarefas.notificacoes", name = "habilitado", havingValue = "true")
+@EnableConfigurationProperties(NotificacoesProperties.class)
+@EnableFeignClients(clients = WebhookNotificacoesClient.class)
+public class NotificacoesConfig {
+
+    @Bean
+    public DespachanteNotificacoes despachanteNotificacoes(WebhookNotificacoesClient cliente,
+            NotificacoesProperties properties) {
+        return new DespachanteNotificacoes(cliente, properties);
+    }
+
+    @Bean
+    public NotificacoesTarefaListener notificacoesTarefaListener(DespachanteNotificacoes despachante,
+            NotificacoesProperties properties) {
+        return new NotificacoesTarefaListener(despachante, properties);
+    }
+}
@@ -0,0 +1,68 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.notificacoes")
+public class NotificacoesProperties {
+
+    private boolean habilitado;
+
+    /**
+     * Notificações aguardando envio (na fila, em lote ou em retentativa). Acima disso as novas são
+     * descartadas, sem segurar a requisição que as gerou.
+     */
+    private int capacidadeFila = 10_000;
+
+    private int tamanhoLote = 50;
+
+    /**
+     * Quanto um lote incompleto espera por mais notificações do mesmo destino antes de ser enviado.
+     */
+    private Duration esperaLote = Duration.ofSeconds(1);
+
+    private int threadsEnvio = 4;
+
+    private int maximoTentativas = 6;
+
+    private Duration backoffInicial = Duration.ofMillis(500);
+
+    private Duration backoffMaximo = Duration.ofSeconds(30);
+
+    private Disjuntor disjuntor = new Disjuntor();
+
+    /**
+     * Destino dos usuários que não aparecem em nenhum {@code destinos.*.usuarios}; vazio para não
+     * notificar esses usuários.
+     */
+    private String destinoPadrao;
+
+    private Map<String, Destino> destinos = new LinkedHashMap<>();
+
+    @Data
+    public static class Disjuntor {
+        /**
+         * Falhas consecutivas de um destino que abrem o circuito.
+         */
+        private int falhasParaAbrir = 5;
+
+        /**
+         * Quanto o circuito fica aberto antes de liberar um envio de teste.
+         */
+        private Duration tempoAberto = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Destino {
+        private String url;
+
+        private List<String> usuarios = new ArrayList<>();
+    }
+}
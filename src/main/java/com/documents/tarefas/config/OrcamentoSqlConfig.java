@@ -0,0 +1,43 @@
+package com.documents.tarefas.config;
+
+import com.documents.tarefas.sql.ContadorEntidadesCarregadas;
+import com.documents.tarefas.sql.InspetorComandosSql;
+import com.documents.tarefas.sql.OrcamentoSqlFilter;
+import com.documents.tarefas.sql.OuvinteSessaoSql;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Orçamento de SQL por requisição: o Hibernate conta comandos, entidades carregadas e tempo em
+ * JDBC nas estatísticas da requisição corrente, e o filtro as publica por endpoint.
+ */
+@Configuration
+@EnableConfigurationProperties(OrcamentoSqlProperties.class)
+@ConditionalOnProperty(prefix = "tarefas.orcamento-sql", name = "habilitado", havingValue = "true", matchIfMissing = true)
+public class OrcamentoSqlConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer orcamentoSqlHibernatePropertiesCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new InspetorComandosSql());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, OuvinteSessaoSql.class.getName());
+        };
+    }
+
+    /**
+     * Registra também a contagem de entidades: filtros são criados na subida mesmo com a
+     * inicialização preguiçosa do perfil prod.
+     */
+    @Bean
+    public OrcamentoSqlFilter orcamentoSqlFilter(OrcamentoSqlProperties properties, MeterRegistry meterRegistry,
+            EntityManagerFactory entityManagerFactory) {
+        ContadorEntidadesCarregadas.registrar(entityManagerFactory);
+        return new OrcamentoSqlFilter(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,40 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.orcamento-sql")
+public class OrcamentoSqlProperties {
+
+    private boolean habilitado = true;
+
+    /**
+     * Publica as contagens da requisição no cabeçalho {@code X-Estatisticas-Sql}.
+     */
+    private boolean cabecalho;
+
+    /**
+     * Comandos SQL permitidos por requisição nos endpoints sem entrada em {@link #limites};
+     * 0 para não limitar.
+     */
+    private int limitePadrao;
+
+    /**
+     * Comandos SQL permitidos por requisição, por endpoint no formato {@code MÉTODO /padrao}
+     * (ex.: {@code "[DELETE /api/tarefas/{id}]": 4}).
+     */
+    private Map<String, Integer> limites = new LinkedHashMap<>();
+
+    /**
+     * Execuções do mesmo comando numa requisição a partir das quais o log aponta um possível N+1.
+     */
+    private int repeticoesSuspeitas = 10;
+
+    public int limiteDe(String endpoint) {
+        return limites.getOrDefault(endpoint, limitePadrao);
+    }
+}
@@ -0,0 +1,23 @@
+package com.documents.tarefas.config;
+
+import com.documents.tarefas.datasource.ValidadorPoolConexoes;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Validação da configuração do pool de conexões na subida (ligada no perfil prod).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tarefas.pool-conexoes.validacao", name = "habilitado", havingValue = "true")
+@EnableConfigurationProperties(PoolConexoesProperties.class)
+public class PoolConexoesConfig {
+
+    @Bean
+    public ValidadorPoolConexoes validadorPoolConexoes(DataSource dataSource, PoolConexoesProperties properties) {
+        return new ValidadorPoolConexoes(dataSource, properties);
+    }
+}
@@ -0,0 +1,35 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.pool-conexoes.validacao")
+public class PoolConexoesProperties {
+
+    private boolean habilitado;
+
+    /**
+     * Interrompe a subida quando alguma regra é violada; caso contrário apenas registra avisos.
+     */
+    private boolean falharSeInvalido = true;
+
+    /**
+     * Conexões por núcleo de CPU acima das quais o pool é considerado grande demais.
+     */
+    private int maximoConexoesPorNucleo = 4;
+
+    private Duration connectionTimeoutMaximo = Duration.ofSeconds(5);
+
+    /**
+     * Propriedades do driver que precisam estar presentes em {@code spring.datasource.hikari.data-source-properties}.
+     */
+    private Map<String, String> propriedadesDriverObrigatorias = new LinkedHashMap<>(Map.of(
+            "cachePrepStmts", "true",
+            "useServerPrepStmts", "true",
+            "rewriteBatchedStatements", "true"));
+}
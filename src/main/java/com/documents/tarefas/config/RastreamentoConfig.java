@@ -0,0 +1,45 @@
+package com.documents.tarefas.config;
+
+import com.documents.tarefas.rastreamento.ConversorJsonObservado;
+import com.documents.tarefas.rastreamento.ExportadorSpansArquivo;
+import com.documents.tarefas.rastreamento.RastreamentoAspect;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.nio.file.Path;
+
+/**
+ * Spans de cada camada da requisição. O span HTTP de entrada, a propagação do contexto
+ * ({@code traceparent}) e os spans das chamadas Feign vêm da auto-configuração do Spring Boot;
+ * aqui entram o aspecto das camadas, a serialização JSON observada e o exportador em arquivo.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tarefas.rastreamento", name = "habilitado", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RastreamentoProperties.class)
+public class RastreamentoConfig {
+
+    @Bean
+    public RastreamentoAspect rastreamentoAspect(ObservationRegistry observationRegistry) {
+        return new RastreamentoAspect(observationRegistry);
+    }
+
+    /**
+     * Substitui o conversor JSON padrão do Spring Boot, que só é criado quando não há outro.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        return new ConversorJsonObservado(objectMapper, observationRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tarefas.rastreamento.arquivo", name = "habilitado", havingValue = "true")
+    public ExportadorSpansArquivo exportadorSpansArquivo(RastreamentoProperties properties) {
+        return new ExportadorSpansArquivo(Path.of(properties.getArquivo().getCaminho()));
+    }
+}
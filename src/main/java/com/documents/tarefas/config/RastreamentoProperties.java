@@ -0,0 +1,27 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.rastreamento")
+public class RastreamentoProperties {
+
+    /**
+     * Spans por camada (controller, serviço, repositório) e da serialização JSON. A amostragem e
+     * o exportador OTLP ficam em {@code management.tracing} e {@code management.otlp.tracing}.
+     */
+    private boolean habilitado = true;
+
+    private Arquivo arquivo = new Arquivo();
+
+    @Data
+    public static class Arquivo {
+        /**
+         * Grava também cada span como uma linha JSON, para inspeção local sem coletor.
+         */
+        private boolean habilitado;
+
+        private String caminho = "spans.jsonl";
+    }
+}
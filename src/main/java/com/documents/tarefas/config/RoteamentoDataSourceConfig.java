@@ -0,0 +1,74 @@
+package com.documents.tarefas.config;
+
+import com.documents.tarefas.datasource.EscritasClienteListener;
+import com.documents.tarefas.datasource.PoolsHikari;
+import com.documents.tarefas.datasource.RoteamentoDataSource;
+import com.documents.tarefas.datasource.VerificadorAtrasoReplicas;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Roteamento leitura/escrita: o primário vem de {@code spring.datasource} e as réplicas
+ * de {@code tarefas.datasource.roteamento.replicas}; todos os pools recebem
+ * {@code spring.datasource.hikari}. Desligado por padrão.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tarefas.datasource.roteamento", name = "habilitado", havingValue = "true")
+@EnableConfigurationProperties(RoteamentoDataSourceProperties.class)
+public class RoteamentoDataSourceConfig {
+
+    @Bean
+    public RoteamentoDataSource roteamentoDataSource(DataSourceProperties dataSourceProperties,
+            RoteamentoDataSourceProperties properties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        DataSource primario = PoolsHikari.configurar(binder, dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build());
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<RoteamentoDataSourceProperties.Replica> configuradas = properties.getReplicas();
+        for (int i = 0; i < configuradas.size(); i++) {
+            RoteamentoDataSourceProperties.Replica replica = configuradas.get(i);
+            replicas.put("replica-" + i, PoolsHikari.configurar(binder, DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build(), "tarefas-replica-" + i));
+        }
+
+        return new RoteamentoDataSource(primario, replicas, properties.getJanelaLeituraPropriaEscrita());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoteamentoDataSource roteamentoDataSource) {
+        return new LazyConnectionDataSourceProxy(roteamentoDataSource);
+    }
+
+    @Bean
+    public EscritasClienteListener escritasClienteListener(RoteamentoDataSource roteamentoDataSource) {
+        return new EscritasClienteListener(roteamentoDataSource);
+    }
+
+    @Bean
+    public VerificadorAtrasoReplicas verificadorAtrasoReplicas(RoteamentoDataSource roteamentoDataSource,
+            RoteamentoDataSourceProperties properties) {
+        return new VerificadorAtrasoReplicas(roteamentoDataSource, properties);
+    }
+}
@@ -0,0 +1,32 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.datasource.roteamento")
+public class RoteamentoDataSourceProperties {
+
+    private boolean habilitado;
+
+    private Duration atrasoMaximo = Duration.ofSeconds(5);
+
+    private Duration janelaLeituraPropriaEscrita = Duration.ofSeconds(5);
+
+    private String consultaAtraso = "SHOW REPLICA STATUS";
+
+    private String colunaAtraso = "Seconds_Behind_Source";
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
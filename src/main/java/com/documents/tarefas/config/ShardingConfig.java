@@ -0,0 +1,112 @@
+package com.documents.tarefas.config;
+
+import com.documents.tarefas.datasource.PoolsHikari;
+import com.documents.tarefas.repository.TarefaRepositoryJpa;
+import com.documents.tarefas.repository.shard.ShardRoutingDataSource;
+import com.documents.tarefas.repository.shard.TarefaRepositoryShardeado;
+import com.documents.tarefas.sql.ContextoSql;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Particionamento de {@code tarefas_tb} em vários bancos ({@code tarefas.sharding.shards}), cada
+ * um com um pool configurado por {@code spring.datasource.hikari}.
+ * Desligado por padrão e incompatível com o roteamento para réplicas.
+ * <p>
+ * Como o {@code ddl-auto} do Hibernate só enxergaria o shard 0, o schema de cada shard é
+ * criado pelo script {@code tarefas.sharding.script-schema} na inicialização.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tarefas.sharding", name = "habilitado", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    private static final ContextSnapshotFactory CONTEXTO = ContextSnapshotFactory.builder()
+            .contextRegistry(ContextoSql.registro())
+            .build();
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties dataSourceProperties,
+            ShardingProperties properties, ResourceLoader resourceLoader, Environment environment) {
+        Binder binder = Binder.get(environment);
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(
+                resourceLoader.getResource(properties.getScriptSchema()));
+
+        List<DataSource> shards = new ArrayList<>();
+        List<ShardingProperties.Shard> configurados = properties.getShards();
+        for (int i = 0; i < configurados.size(); i++) {
+            ShardingProperties.Shard shard = configurados.get(i);
+            DataSource dataSource = PoolsHikari.configurar(binder, DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build(), "tarefas-shard-" + i);
+            schema.execute(dataSource);
+            shards.add(dataSource);
+        }
+
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernatePropertiesCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.HBM2DDL_AUTO, "none");
+            // ids locais se repetem entre shards: um cache de segundo nível único os misturaria
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false");
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, "false");
+        };
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService executorShards(ShardingProperties properties) {
+        // as consultas em paralelo aparecem como spans filhos da chamada ao repositório e somam
+        // seus comandos ao orçamento de SQL da requisição
+        return ContextExecutorService.wrap(Executors.newFixedThreadPool(properties.getThreadsConsulta()),
+                CONTEXTO::captureAll);
+    }
+
+    @Bean
+    @Primary
+    public TarefaRepositoryShardeado tarefaRepositoryShardeado(
+            TarefaRepositoryJpa tarefaRepositoryJpa,
+            PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory,
+            @Qualifier("executorShards") ExecutorService executorShards,
+            ShardRoutingDataSource shardRoutingDataSource) {
+        return new TarefaRepositoryShardeado(tarefaRepositoryJpa, transactionManager, entityManagerFactory,
+                executorShards, shardRoutingDataSource.getTotalShards());
+    }
+}
@@ -0,0 +1,27 @@
+package com.documents.tarefas.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "tarefas.sharding")
+public class ShardingProperties {
+
+    private boolean habilitado;
+
+    private String scriptSchema = "classpath:db_migration/tarefas_shard.sql";
+
+    private int threadsConsulta = 8;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
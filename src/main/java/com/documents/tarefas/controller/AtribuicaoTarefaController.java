@@ -0,0 +1,49 @@
+package com.documents.tarefas.controller;
+
+import com.documents.tarefas.dto.AtribuicaoLoteRequest;
+import com.documents.tarefas.dto.CargaUsuarioDTO;
+import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.service.AtribuicaoTarefaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tarefas")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Atribuição automática", description = "Escolha do responsável menos carregado da categoria")
+@CrossOrigin(origins = "*")
+public class AtribuicaoTarefaController {
+
+    private final AtribuicaoTarefaService atribuicaoService;
+
+    @PostMapping("/{id}/atribuir-automaticamente")
+    @Operation(summary = "Atribuir automaticamente", description = "Define como responsável o usuário elegível da categoria com menor carga aberta")
+    public ResponseEntity<TarefaDTO> atribuirAutomaticamente(@PathVariable Long id) {
+        log.info("Recebendo requisição para atribuir automaticamente a tarefa: {}", id);
+        return ResponseEntity.ok(atribuicaoService.atribuirAutomaticamente(id));
+    }
+
+    @PostMapping("/atribuir-automaticamente")
+    @Operation(summary = "Atribuir automaticamente em lote", description = "Atribui as tarefas na ordem recebida, cada escolha considerando as anteriores")
+    public ResponseEntity<List<TarefaDTO>> atribuirAutomaticamenteEmLote(@Valid @RequestBody AtribuicaoLoteRequest request) {
+        log.info("Recebendo requisição para atribuir automaticamente {} tarefas", request.getIds().size());
+        return ResponseEntity.ok(atribuicaoService.atribuirAutomaticamente(request.getIds()));
+    }
+
+    @GetMapping("/atribuicao/cargas")
+    @Operation(summary = "Cargas de trabalho", description = "Usuários elegíveis da categoria, do menos para o mais carregado")
+    public ResponseEntity<List<CargaUsuarioDTO>> listarCargas(
+            @Parameter(description = "Categoria; sem ela, os elegíveis padrão") @RequestParam(required = false) String categoria) {
+        log.info("Recebendo requisição para listar as cargas da categoria: {}", categoria);
+        return ResponseEntity.ok(atribuicaoService.listarCargas(categoria));
+    }
+}
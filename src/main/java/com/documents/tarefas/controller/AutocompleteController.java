@@ -0,0 +1,33 @@
+package com.documents.tarefas.controller;
+
+import com.documents.tarefas.dto.SugestaoTarefaDTO;
+import com.documents.tarefas.service.AutocompleteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tarefas")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Sugestões", description = "Autocompletar da caixa de busca")
+@CrossOrigin(origins = "*")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Sugerir tarefas", description = "Tarefas cujo título, palavra do título ou categoria começa pelo prefixo, ignorando acentos e caixa; as mais prioritárias e recentes primeiro")
+    public ResponseEntity<List<SugestaoTarefaDTO>> sugerir(
+            @Parameter(description = "Início do texto digitado") @RequestParam String prefixo,
+            @Parameter(description = "Quantidade máxima de sugestões") @RequestParam(required = false) Integer limite) {
+        log.debug("Recebendo requisição de sugestões para o prefixo: {}", prefixo);
+        return ResponseEntity.ok(autocompleteService.sugerir(prefixo, limite));
+    }
+}
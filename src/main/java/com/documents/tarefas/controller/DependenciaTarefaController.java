@@ -0,0 +1,80 @@
+package com.documents.tarefas.controller;
+
+import com.documents.tarefas.dto.CaminhoCriticoDTO;
+import com.documents.tarefas.dto.DependenciasTarefaDTO;
+import com.documents.tarefas.service.DependenciaTarefaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tarefas")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Dependências de tarefas", description = "Bloqueios entre tarefas, ordem de execução e caminho crítico")
+@CrossOrigin(origins = "*")
+public class DependenciaTarefaController {
+
+    private final DependenciaTarefaService dependenciaService;
+
+    @PostMapping("/{id}/bloqueadoras/{bloqueadoraId}")
+    @Operation(summary = "Adicionar bloqueadora", description = "Registra que a tarefa bloqueadoraId precisa terminar antes da tarefa id; 409 se criaria um ciclo")
+    public ResponseEntity<DependenciasTarefaDTO> adicionarBloqueadora(@PathVariable Long id, @PathVariable Long bloqueadoraId) {
+        log.info("Recebendo requisição para bloquear a tarefa {} pela tarefa {}", id, bloqueadoraId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(dependenciaService.adicionarBloqueadora(id, bloqueadoraId));
+    }
+
+    @DeleteMapping("/{id}/bloqueadoras/{bloqueadoraId}")
+    @Operation(summary = "Remover bloqueadora", description = "Remove o bloqueio da tarefa id pela tarefa bloqueadoraId")
+    public ResponseEntity<Void> removerBloqueadora(@PathVariable Long id, @PathVariable Long bloqueadoraId) {
+        log.info("Recebendo requisição para remover o bloqueio da tarefa {} pela tarefa {}", id, bloqueadoraId);
+        dependenciaService.removerBloqueadora(id, bloqueadoraId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{id}/bloqueadoras")
+    @Operation(summary = "Listar bloqueadoras", description = "Tarefas que precisam terminar antes desta, diretas ou transitivas")
+    public ResponseEntity<DependenciasTarefaDTO> listarBloqueadoras(
+            @PathVariable Long id,
+            @Parameter(description = "Incluir as bloqueadoras das bloqueadoras") @RequestParam(defaultValue = "false") boolean transitivas) {
+        log.info("Recebendo requisição para listar as bloqueadoras da tarefa: {}", id);
+        return ResponseEntity.ok(dependenciaService.listarBloqueadoras(id, transitivas));
+    }
+
+    @GetMapping("/{id}/dependentes")
+    @Operation(summary = "Listar dependentes", description = "Tarefas que esperam por esta, diretas ou transitivas")
+    public ResponseEntity<DependenciasTarefaDTO> listarDependentes(
+            @PathVariable Long id,
+            @Parameter(description = "Incluir as dependentes das dependentes") @RequestParam(defaultValue = "false") boolean transitivas) {
+        log.info("Recebendo requisição para listar as dependentes da tarefa: {}", id);
+        return ResponseEntity.ok(dependenciaService.listarDependentes(id, transitivas));
+    }
+
+    @GetMapping("/{id}/caminho-critico")
+    @Operation(summary = "Caminho crítico até a tarefa", description = "Cadeia de bloqueadoras com mais horas estimadas que termina nesta tarefa")
+    public ResponseEntity<CaminhoCriticoDTO> caminhoCritico(@PathVariable Long id) {
+        log.info("Recebendo requisição para calcular o caminho crítico da tarefa: {}", id);
+        return ResponseEntity.ok(dependenciaService.caminhoCritico(id));
+    }
+
+    @GetMapping("/dependencias/ordem")
+    @Operation(summary = "Ordem topológica", description = "Tarefas com dependências numa ordem de execução que respeita todos os bloqueios")
+    public ResponseEntity<List<Long>> ordemTopologica() {
+        log.info("Recebendo requisição para calcular a ordem topológica");
+        return ResponseEntity.ok(dependenciaService.ordemTopologica());
+    }
+
+    @GetMapping("/dependencias/caminho-critico")
+    @Operation(summary = "Caminho crítico", description = "Cadeia de dependências com mais horas estimadas entre todas as tarefas")
+    public ResponseEntity<CaminhoCriticoDTO> caminhoCriticoGeral() {
+        log.info("Recebendo requisição para calcular o caminho crítico geral");
+        return ResponseEntity.ok(dependenciaService.caminhoCritico(null));
+    }
+}
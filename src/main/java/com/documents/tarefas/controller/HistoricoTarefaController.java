@@ -0,0 +1,45 @@
+package com.documents.tarefas.controller;
+
+import com.documents.tarefas.dto.PaginaHistoricoDTO;
+import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.service.HistoricoTarefaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/tarefas/{id}/historico")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Histórico de tarefas", description = "Alterações de cada tarefa e seu estado em datas passadas")
+@CrossOrigin(origins = "*")
+public class HistoricoTarefaController {
+
+    private final HistoricoTarefaService historicoService;
+
+    @GetMapping
+    @Operation(summary = "Listar histórico", description = "Lista as alterações da tarefa, da mais recente para a mais antiga, paginadas por cursor")
+    public ResponseEntity<PaginaHistoricoDTO> listarHistorico(
+            @PathVariable Long id,
+            @Parameter(description = "proximoCursor da página anterior (omitir na primeira página)") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "20") int tamanho) {
+        log.info("Recebendo requisição para listar o histórico da tarefa: {}", id);
+        return ResponseEntity.ok(historicoService.listarHistorico(id, cursor, tamanho));
+    }
+
+    @GetMapping("/estado")
+    @Operation(summary = "Estado em uma data", description = "Retorna a tarefa como estava no instante informado")
+    public ResponseEntity<TarefaDTO> buscarEstadoEm(
+            @PathVariable Long id,
+            @Parameter(description = "Instante (ISO-8601, ex: 2024-05-01T12:00:00)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime em) {
+        log.info("Recebendo requisição para buscar a tarefa {} em {}", id, em);
+        return ResponseEntity.ok(historicoService.buscarEstadoEm(id, em));
+    }
+}
@@ -0,0 +1,47 @@
+package com.documents.tarefas.controller;
+
+import com.documents.tarefas.dto.ImportacaoDTO;
+import com.documents.tarefas.service.ImportacaoTarefasService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/tarefas/importacoes")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Importação de tarefas", description = "Importação assíncrona de tarefas a partir de arquivos CSV ou JSON")
+@CrossOrigin(origins = "*")
+public class ImportacaoTarefaController {
+
+    private final ImportacaoTarefasService importacaoService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Importar tarefas", description = "Recebe um arquivo CSV ou JSON e inicia a importação em segundo plano")
+    public ResponseEntity<ImportacaoDTO> importar(
+            @Parameter(description = "Arquivo CSV (com cabeçalho) ou JSON (array de tarefas)") @RequestParam("arquivo") MultipartFile arquivo) {
+        log.info("Recebendo requisição para importar o arquivo: {}", arquivo.getOriginalFilename());
+        ImportacaoDTO importacao = importacaoService.iniciarImportacao(arquivo);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(importacao.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(importacao);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Consultar importação", description = "Retorna progresso, vazão e erros por linha de uma importação")
+    public ResponseEntity<ImportacaoDTO> buscarImportacao(@PathVariable String id) {
+        log.info("Recebendo requisição para consultar a importação: {}", id);
+        return ResponseEntity.ok(importacaoService.buscarImportacao(id));
+    }
+}
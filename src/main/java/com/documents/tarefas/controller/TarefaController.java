@@ -2,6 +2,8 @@ package com.documents.tarefas.controller;
 
 import com.documents.tarefas.dto.AtualizarTarefaRequest;
 import com.documents.tarefas.dto.CriarTarefaRequest;
+import com.documents.tarefas.dto.LoteIdsRequest;
+import com.documents.tarefas.dto.LoteTarefasDTO;
 import com.documents.tarefas.dto.TarefaDTO;
 import com.documents.tarefas.model.PrioridadeTarefa;
 import com.documents.tarefas.model.StatusTarefa;
@@ -18,6 +20,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -42,15 +45,34 @@ public class TarefaController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar tarefa por ID", description = "Retorna uma tarefa específica pelo seu ID")
-    public ResponseEntity<TarefaDTO> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<TarefaDTO> buscarPorId(
+            @PathVariable Long id,
+            @Parameter(description = "Procurar também nas tarefas arquivadas") @RequestParam(defaultValue = "false") boolean incluirArquivadas) {
         log.info("Recebendo requisição para buscar tarefa com ID: {}", id);
-        TarefaDTO tarefa = tarefaService.buscarPorId(id);
+        TarefaDTO tarefa = incluirArquivadas
+                ? tarefaService.buscarPorIdIncluindoArquivadas(id)
+                : tarefaService.buscarPorId(id);
         return ResponseEntity.ok(tarefa);
     }
 
+    @GetMapping("/lote")
+    @Operation(summary = "Buscar tarefas por IDs", description = "Retorna as tarefas na ordem dos IDs informados e lista os não encontrados")
+    public ResponseEntity<LoteTarefasDTO> buscarPorIds(
+            @Parameter(description = "IDs separados por vírgula (ex: 3,1,2)") @RequestParam List<Long> ids) {
+        log.info("Recebendo requisição para buscar {} tarefas por ID", ids.size());
+        return ResponseEntity.ok(tarefaService.buscarPorIds(ids));
+    }
+
+    @PostMapping("/lote")
+    @Operation(summary = "Buscar tarefas por IDs (corpo)", description = "Mesmo que GET /lote, para listas longas demais para a URL")
+    public ResponseEntity<LoteTarefasDTO> buscarPorIdsNoCorpo(@Valid @RequestBody LoteIdsRequest request) {
+        log.info("Recebendo requisição para buscar {} tarefas por ID", request.getIds().size());
+        return ResponseEntity.ok(tarefaService.buscarPorIds(request.getIds()));
+    }
+
     @GetMapping
     @Operation(summary = "Listar tarefas", description = "Lista todas as tarefas com paginação e filtros")
-    public ResponseEntity<Page<TarefaDTO>> listarTarefas(
+    public ResponseEntity<Page<?>> listarTarefas(
             @Parameter(description = "Número da página (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Campo para ordenação") @RequestParam(defaultValue = "dataCriacao") String sortBy,
@@ -58,15 +80,26 @@ public class TarefaController {
             @Parameter(description = "Status da tarefa") @RequestParam(required = false) StatusTarefa status,
             @Parameter(description = "Prioridade da tarefa") @RequestParam(required = false) PrioridadeTarefa prioridade,
             @Parameter(description = "Usuário responsável") @RequestParam(required = false) String usuario,
-            @Parameter(description = "Categoria da tarefa") @RequestParam(required = false) String categoria) {
+            @Parameter(description = "Categoria da tarefa") @RequestParam(required = false) String categoria,
+            @Parameter(description = "Campos a retornar, separados por vírgula (ex: id,titulo,status)") @RequestParam(required = false) String fields,
+            @Parameter(description = "Incluir tarefas arquivadas") @RequestParam(defaultValue = "false") boolean incluirArquivadas) {
 
         log.info("Recebendo requisição para listar tarefas - Page: {}, Size: {}, Sort: {}", page, size, sortBy);
 
+        usuario = normalizarFiltro(usuario);
+        categoria = normalizarFiltro(categoria);
+
         Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
 
+        if (fields != null && !fields.isBlank()) {
+            return ResponseEntity.ok(tarefaService.listarCamposTarefas(fields, status, prioridade, usuario, categoria, pageable));
+        }
+
         Page<TarefaDTO> tarefas;
-        if (status != null || prioridade != null || usuario != null || categoria != null) {
+        if (incluirArquivadas) {
+            tarefas = tarefaService.listarTarefasIncluindoArquivadas(status, prioridade, usuario, categoria, pageable);
+        } else if (status != null || prioridade != null || usuario != null || categoria != null) {
             tarefas = tarefaService.listarTarefasComFiltros(status, prioridade, usuario, categoria, pageable);
         } else {
             tarefas = tarefaService.listarTarefas(pageable);
@@ -101,13 +134,17 @@ public class TarefaController {
 
     @GetMapping("/busca")
     @Operation(summary = "Buscar tarefas por texto", description = "Busca tarefas por texto no título ou descrição")
-    public ResponseEntity<Page<TarefaDTO>> buscarPorTexto(
+    public ResponseEntity<Page<?>> buscarPorTexto(
             @Parameter(description = "Texto para busca") @RequestParam String texto,
             @Parameter(description = "Número da página") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "10") int size) {
+            @Parameter(description = "Tamanho da página") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Campos a retornar, separados por vírgula (ex: id,titulo,status)") @RequestParam(required = false) String fields) {
 
         log.info("Recebendo requisição para buscar tarefas com texto: {}", texto);
         Pageable pageable = PageRequest.of(page, size);
+        if (fields != null && !fields.isBlank()) {
+            return ResponseEntity.ok(tarefaService.buscarCamposPorTexto(fields, texto, pageable));
+        }
         Page<TarefaDTO> tarefas = tarefaService.buscarPorTexto(texto, pageable);
         return ResponseEntity.ok(tarefas);
     }
@@ -170,4 +207,9 @@ public class TarefaController {
         Object estatisticas = tarefaService.obterEstatisticas();
         return ResponseEntity.ok(estatisticas);
     }
+
+    // mesma combinação de filtros -> mesma chave no cache de consultas
+    private String normalizarFiltro(String valor) {
+        return StringUtils.hasText(valor) ? valor.trim() : null;
+    }
 }
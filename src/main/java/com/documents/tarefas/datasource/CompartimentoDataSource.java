@@ -0,0 +1,48 @@
+package com.documents.tarefas.datasource;
+
+import com.documents.tarefas.compartimento.ContextoCompartimento;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entrega a conexão do pool dedicado ao compartimento corrente ({@link ContextoCompartimento}),
+ * ou do pool principal quando o compartimento não tem pool próprio. Assim consultas analíticas
+ * lentas esgotam apenas o seu pool.
+ */
+public class CompartimentoDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final DataSource principal;
+    private final Map<String, DataSource> pools;
+
+    public CompartimentoDataSource(DataSource principal, Map<String, DataSource> pools) {
+        this.principal = principal;
+        this.pools = new LinkedHashMap<>(pools);
+
+        setTargetDataSources(new HashMap<>(this.pools));
+        setDefaultTargetDataSource(principal);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ContextoCompartimento.atual();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        fechar(principal);
+        for (DataSource pool : pools.values()) {
+            fechar(pool);
+        }
+    }
+
+    private void fechar(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable fechavel) {
+            fechavel.close();
+        }
+    }
+}
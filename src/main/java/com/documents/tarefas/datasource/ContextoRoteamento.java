@@ -0,0 +1,50 @@
+package com.documents.tarefas.datasource;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Leituras da thread corrente que precisam ir ao primário mesmo em transações somente leitura.
+ * Lido pelo {@link RoteamentoDataSource}; sem roteamento, não tem efeito.
+ */
+public final class ContextoRoteamento {
+
+    private static final ThreadLocal<Boolean> PRIMARIO = new ThreadLocal<>();
+
+    private ContextoRoteamento() {
+    }
+
+    public static boolean primarioExigido() {
+        return PRIMARIO.get() != null;
+    }
+
+    /**
+     * Executa a operação com as leituras presas ao primário e restaura o estado anterior ao final.
+     */
+    public static <T> T noPrimario(Callable<T> operacao) throws Exception {
+        Boolean anterior = PRIMARIO.get();
+        PRIMARIO.set(Boolean.TRUE);
+        try {
+            return operacao.call();
+        } finally {
+            if (anterior == null) {
+                PRIMARIO.remove();
+            }
+        }
+    }
+
+    /**
+     * {@link #noPrimario} para operações sem exceções verificadas.
+     */
+    public static <T> T executarNoPrimario(Supplier<T> operacao) {
+        Boolean anterior = PRIMARIO.get();
+        PRIMARIO.set(Boolean.TRUE);
+        try {
+            return operacao.get();
+        } finally {
+            if (anterior == null) {
+                PRIMARIO.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.documents.tarefas.datasource;
+
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import com.documents.tarefas.web.ContextoCliente;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Registra no {@link RoteamentoDataSource} as escritas confirmadas do cliente da requisição,
+ * a partir das alterações de tarefas. Sem cliente (tarefas agendadas, importações em segundo
+ * plano) ou com um identificador compartilhado por vários clientes atrás do mesmo proxy nada é
+ * registrado: uma escrita prenderia todos eles ao primário.
+ */
+@RequiredArgsConstructor
+public class EscritasClienteListener {
+
+    private final RoteamentoDataSource roteamentoDataSource;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarTarefa(TarefaAlteradaEvent event) {
+        String cliente = ContextoCliente.individual();
+        if (cliente != null) {
+            roteamentoDataSource.registrarEscrita(cliente);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.documents.tarefas.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pools Hikari montados fora da autoconfiguração do Spring Boot (réplicas, shards, pools por
+ * compartimento). Recebem as mesmas configurações de {@code spring.datasource.hikari} que o pool
+ * padrão receberia; só o nome e o que o chamador ajustar depois ficam próprios de cada pool.
+ */
+public final class PoolsHikari {
+
+    public static final String PREFIXO = "spring.datasource.hikari";
+
+    private PoolsHikari() {
+    }
+
+    public static HikariDataSource configurar(Binder binder, HikariDataSource pool) {
+        binder.bind(PREFIXO, Bindable.ofInstance(pool));
+        return pool;
+    }
+
+    public static HikariDataSource configurar(Binder binder, HikariDataSource pool, String nome) {
+        configurar(binder, pool).setPoolName(nome);
+        return pool;
+    }
+
+    /**
+     * Pools Hikari por trás do DataSource: o próprio, ou todos os destinos de um roteamento.
+     */
+    public static List<HikariDataSource> listar(DataSource dataSource) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        try {
+            if (dataSource.isWrapperFor(AbstractRoutingDataSource.class)) {
+                AbstractRoutingDataSource roteamento = dataSource.unwrap(AbstractRoutingDataSource.class);
+                for (DataSource destino : roteamento.getResolvedDataSources().values()) {
+                    if (destino instanceof HikariDataSource hikari && !pools.contains(hikari)) {
+                        pools.add(hikari);
+                    }
+                }
+                if (roteamento.getResolvedDefaultDataSource() instanceof HikariDataSource hikari && !pools.contains(hikari)) {
+                    pools.add(hikari);
+                }
+            } else if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                pools.add(dataSource.unwrap(HikariDataSource.class));
+            }
+        } catch (SQLException e) {
+            // DataSource que não expõe o pool: nada a listar
+        }
+        return pools;
+    }
+}
@@ -0,0 +1,121 @@
+package com.documents.tarefas.datasource;
+
+import com.documents.tarefas.web.ContextoCliente;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envia transações somente leitura para as réplicas (round-robin entre as disponíveis)
+ * e as demais para o primário. Depois que um cliente escreve, suas leituras continuam
+ * no primário durante a janela configurada, para que ele veja a própria escrita. A escrita é
+ * informada por {@link #registrarEscrita} quando de fato acontece: uma transação que não é
+ * somente leitura, mas só lê, não prende o cliente ao primário. Leituras dentro de
+ * {@link ContextoRoteamento#noPrimario} também vão ao primário.
+ * <p>
+ * Deve ser usado atrás de um {@code LazyConnectionDataSourceProxy}, para que a conexão
+ * só seja escolhida depois que a transação já está marcada como somente leitura.
+ */
+@Slf4j
+public class RoteamentoDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARIO = "primario";
+
+    private final DataSource primario;
+    private final Map<String, DataSource> replicas;
+    private final List<String> nomesReplicas;
+    private final Set<String> replicasIndisponiveis = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> ultimasEscritas = new ConcurrentHashMap<>();
+    private final AtomicInteger proximaReplica = new AtomicInteger();
+    private final long janelaLeituraPropriaEscritaNanos;
+
+    public RoteamentoDataSource(DataSource primario, Map<String, DataSource> replicas,
+            Duration janelaLeituraPropriaEscrita) {
+        this.primario = primario;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.nomesReplicas = List.copyOf(this.replicas.keySet());
+        this.janelaLeituraPropriaEscritaNanos = janelaLeituraPropriaEscrita.toNanos();
+
+        Map<Object, Object> destinos = new HashMap<>(this.replicas);
+        destinos.put(PRIMARIO, primario);
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String cliente = ContextoCliente.individual();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARIO;
+        }
+
+        if (ContextoRoteamento.primarioExigido() || cliente != null && escreveuRecentemente(cliente)) {
+            return PRIMARIO;
+        }
+
+        return selecionarReplica();
+    }
+
+    public void registrarEscrita(String cliente) {
+        ultimasEscritas.put(cliente, System.nanoTime());
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    public void atualizarDisponibilidade(String replica, boolean disponivel) {
+        boolean alterou = disponivel ? replicasIndisponiveis.remove(replica) : replicasIndisponiveis.add(replica);
+        if (alterou) {
+            log.warn("Réplica {} {}", replica, disponivel ? "voltou a receber leituras" : "removida do roteamento de leituras");
+        }
+    }
+
+    public void removerEscritasExpiradas() {
+        long agora = System.nanoTime();
+        ultimasEscritas.values().removeIf(instante -> agora - instante > janelaLeituraPropriaEscritaNanos);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        fechar(primario);
+        for (DataSource replica : replicas.values()) {
+            fechar(replica);
+        }
+    }
+
+    private boolean escreveuRecentemente(String cliente) {
+        Long instante = ultimasEscritas.get(cliente);
+        return instante != null && System.nanoTime() - instante <= janelaLeituraPropriaEscritaNanos;
+    }
+
+    private String selecionarReplica() {
+        int total = nomesReplicas.size();
+        int inicio = Math.floorMod(proximaReplica.getAndIncrement(), Math.max(total, 1));
+        for (int i = 0; i < total; i++) {
+            String replica = nomesReplicas.get((inicio + i) % total);
+            if (!replicasIndisponiveis.contains(replica)) {
+                return replica;
+            }
+        }
+        return PRIMARIO;
+    }
+
+    private void fechar(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable fechavel) {
+            fechavel.close();
+        }
+    }
+}
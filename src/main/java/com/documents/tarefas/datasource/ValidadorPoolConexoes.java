@@ -0,0 +1,112 @@
+package com.documents.tarefas.datasource;
+
+import com.documents.tarefas.config.PoolConexoesProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Confere, na subida, a configuração do pool Hikari contra regras derivadas da máquina e do
+ * MySQL: tamanho do pool proporcional aos núcleos, timeout de aquisição curto, maxLifetime abaixo
+ * do {@code wait_timeout} do servidor e cache de statements/rewrite de lotes ligados no driver.
+ * Com roteamento (réplicas, shards, pools por compartimento) cada pool é conferido, e os
+ * problemas levam o nome do pool.
+ */
+@Slf4j
+public class ValidadorPoolConexoes {
+
+    private final DataSource dataSource;
+    private final PoolConexoesProperties properties;
+    private final int nucleos;
+
+    public ValidadorPoolConexoes(DataSource dataSource, PoolConexoesProperties properties) {
+        this(dataSource, properties, Runtime.getRuntime().availableProcessors());
+    }
+
+    ValidadorPoolConexoes(DataSource dataSource, PoolConexoesProperties properties, int nucleos) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.nucleos = nucleos;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validarNaSubida() {
+        List<String> problemas = validar();
+        if (problemas.isEmpty()) {
+            log.info("Configuração do pool de conexões validada");
+            return;
+        }
+        problemas.forEach(problema -> log.warn("Pool de conexões: {}", problema));
+        if (properties.isFalharSeInvalido()) {
+            throw new IllegalStateException("Configuração do pool de conexões inválida: " + problemas);
+        }
+    }
+
+    public List<String> validar() {
+        List<String> problemas = new ArrayList<>();
+        List<HikariDataSource> pools = PoolsHikari.listar(dataSource);
+        if (pools.isEmpty()) {
+            problemas.add("DataSource principal não é um pool Hikari");
+            return problemas;
+        }
+
+        for (HikariDataSource hikari : pools) {
+            String prefixo = pools.size() > 1 ? "[" + hikari.getPoolName() + "] " : "";
+            validar(hikari).forEach(problema -> problemas.add(prefixo + problema));
+        }
+        return problemas;
+    }
+
+    private List<String> validar(HikariDataSource hikari) {
+        List<String> problemas = new ArrayList<>();
+        int maximo = nucleos * properties.getMaximoConexoesPorNucleo();
+        if (hikari.getMaximumPoolSize() > maximo) {
+            problemas.add(String.format("maximum-pool-size=%d acima de %d (%d núcleos x %d)",
+                    hikari.getMaximumPoolSize(), maximo, nucleos, properties.getMaximoConexoesPorNucleo()));
+        }
+        if (hikari.getMinimumIdle() >= 0 && hikari.getMinimumIdle() < hikari.getMaximumPoolSize()) {
+            problemas.add(String.format("minimum-idle=%d menor que maximum-pool-size=%d: o pool encolhe e paga "
+                    + "abertura de conexões em picos", hikari.getMinimumIdle(), hikari.getMaximumPoolSize()));
+        }
+        if (hikari.getConnectionTimeout() > properties.getConnectionTimeoutMaximo().toMillis()) {
+            problemas.add(String.format("connection-timeout=%dms acima de %dms",
+                    hikari.getConnectionTimeout(), properties.getConnectionTimeoutMaximo().toMillis()));
+        }
+
+        Properties driver = hikari.getDataSourceProperties();
+        properties.getPropriedadesDriverObrigatorias().forEach((nome, valor) -> {
+            if (!valor.equalsIgnoreCase(driver.getProperty(nome))) {
+                problemas.add(String.format("propriedade do driver %s deveria ser %s (atual: %s)",
+                        nome, valor, driver.getProperty(nome)));
+            }
+        });
+
+        Long waitTimeout = waitTimeoutServidor(hikari);
+        if (waitTimeout != null && hikari.getMaxLifetime() >= waitTimeout * 1000) {
+            problemas.add(String.format("max-lifetime=%dms não é menor que o wait_timeout do MySQL (%ds)",
+                    hikari.getMaxLifetime(), waitTimeout));
+        }
+        return problemas;
+    }
+
+    private Long waitTimeoutServidor(HikariDataSource hikari) {
+        try (Connection conexao = hikari.getConnection();
+             Statement statement = conexao.createStatement();
+             ResultSet resultado = statement.executeQuery("SELECT @@wait_timeout")) {
+            return resultado.next() ? resultado.getLong(1) : null;
+        } catch (SQLException e) {
+            log.debug("Não foi possível consultar o wait_timeout: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.documents.tarefas.datasource;
+
+import com.documents.tarefas.config.RoteamentoDataSourceProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Mede periodicamente o atraso de replicação de cada réplica e retira do roteamento
+ * as que estiverem acima do limite, fora do ar ou com a replicação parada.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class VerificadorAtrasoReplicas {
+
+    private final RoteamentoDataSource roteamentoDataSource;
+    private final RoteamentoDataSourceProperties properties;
+
+    @Scheduled(fixedDelayString = "${tarefas.datasource.roteamento.intervalo-verificacao:PT5S}")
+    public void verificar() {
+        roteamentoDataSource.getReplicas().forEach((nome, replica) ->
+                roteamentoDataSource.atualizarDisponibilidade(nome, estaDisponivel(nome, replica)));
+        roteamentoDataSource.removerEscritasExpiradas();
+    }
+
+    private boolean estaDisponivel(String nome, DataSource replica) {
+        try {
+            List<Long> atrasos = new JdbcTemplate(replica).query(properties.getConsultaAtraso(), (rs, linha) -> {
+                long segundos = rs.getLong(properties.getColunaAtraso());
+                return rs.wasNull() ? null : segundos;
+            });
+
+            if (atrasos.isEmpty() || atrasos.get(0) == null) {
+                log.warn("Réplica {} sem informação de atraso (replicação parada?)", nome);
+                return false;
+            }
+
+            long atraso = atrasos.get(0);
+            if (atraso > properties.getAtrasoMaximo().toSeconds()) {
+                log.warn("Réplica {} com atraso de {}s acima do limite", nome, atraso);
+                return false;
+            }
+            return true;
+        } catch (DataAccessException ex) {
+            log.warn("Falha ao verificar réplica {}: {}", nome, ex.getMessage());
+            return false;
+        }
+    }
+}
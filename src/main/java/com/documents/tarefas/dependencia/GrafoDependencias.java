@@ -0,0 +1,373 @@
+package com.documents.tarefas.dependencia;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Grafo de dependências em memória: listas de adjacência nos dois sentidos e as horas estimadas
+ * de cada tarefa que tem alguma aresta. Fechos transitivos, ordem topológica e caminho crítico
+ * percorrem só as listas, em O(V + E) do subgrafo envolvido, sem consultas ao banco.
+ * <p>
+ * A detecção de ciclo na inserção é uma busca bidirecional (dependentes a partir da tarefa,
+ * bloqueadoras a partir da bloqueadora, sempre expandindo a menor fronteira), que em grafos
+ * grandes e rasos visita bem menos nós que uma busca num só sentido. Leituras rodam em paralelo;
+ * escritas são exclusivas.
+ */
+public class GrafoDependencias {
+
+    /**
+     * Cadeia de tarefas, da primeira a ser feita até a última, e a soma das horas estimadas.
+     */
+    public record Caminho(List<Long> tarefas, long horas) {
+    }
+
+    // tarefa -> tarefas que precisam terminar antes dela
+    private final Map<Long, Set<Long>> bloqueadoras = new HashMap<>();
+    // tarefa -> tarefas que esperam por ela
+    private final Map<Long, Set<Long>> dependentes = new HashMap<>();
+    private final Map<Long, Integer> horas = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long arestas;
+
+    /**
+     * Resultado de {@link #adicionar}.
+     */
+    public enum Insercao {
+        INSERIDA,
+        // a aresta já estava no grafo: quem chamou não deve desfazê-la
+        EXISTENTE,
+        // a aresta fecharia um ciclo e não foi inserida
+        CICLO
+    }
+
+    /**
+     * Registra que {@code bloqueadora} precisa terminar antes de {@code tarefa}, sem alterar o
+     * grafo se a aresta já existir ou fechar um ciclo.
+     */
+    public Insercao adicionar(long bloqueadora, long tarefa) {
+        lock.writeLock().lock();
+        try {
+            if (bloqueadoras.getOrDefault(tarefa, Set.of()).contains(bloqueadora)) {
+                return Insercao.EXISTENTE;
+            }
+            if (alcanca(tarefa, bloqueadora)) {
+                return Insercao.CICLO;
+            }
+            bloqueadoras.computeIfAbsent(tarefa, id -> new HashSet<>()).add(bloqueadora);
+            dependentes.computeIfAbsent(bloqueadora, id -> new HashSet<>()).add(tarefa);
+            arestas++;
+            return Insercao.INSERIDA;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(long bloqueadora, long tarefa) {
+        lock.writeLock().lock();
+        try {
+            if (removerDe(bloqueadoras, tarefa, bloqueadora)) {
+                removerDe(dependentes, bloqueadora, tarefa);
+                arestas--;
+                descartarSeIsolada(tarefa);
+                descartarSeIsolada(bloqueadora);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a tarefa e todas as suas arestas (exclusão da tarefa).
+     */
+    public void removerTarefa(long tarefa) {
+        lock.writeLock().lock();
+        try {
+            for (Long bloqueadora : List.copyOf(bloqueadoras.getOrDefault(tarefa, Set.of()))) {
+                removerDe(dependentes, bloqueadora, tarefa);
+                removerDe(bloqueadoras, tarefa, bloqueadora);
+                arestas--;
+                descartarSeIsolada(bloqueadora);
+            }
+            for (Long dependente : List.copyOf(dependentes.getOrDefault(tarefa, Set.of()))) {
+                removerDe(bloqueadoras, dependente, tarefa);
+                removerDe(dependentes, tarefa, dependente);
+                arestas--;
+                descartarSeIsolada(dependente);
+            }
+            descartarSeIsolada(tarefa);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Atualiza as horas estimadas de uma tarefa do grafo; tarefas sem arestas são ignoradas.
+     */
+    public void definirHoras(long tarefa, Integer estimativaHoras) {
+        lock.writeLock().lock();
+        try {
+            if (contem(tarefa)) {
+                if (estimativaHoras != null) {
+                    horas.put(tarefa, estimativaHoras);
+                } else {
+                    horas.remove(tarefa);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean criariaCiclo(long bloqueadora, long tarefa) {
+        lock.readLock().lock();
+        try {
+            return alcanca(tarefa, bloqueadora);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bloqueadoras diretas ou, com {@code transitivas}, todas as tarefas das quais esta depende,
+     * das mais próximas para as mais distantes.
+     */
+    public List<Long> bloqueadoras(long tarefa, boolean transitivas) {
+        return vizinhas(bloqueadoras, tarefa, transitivas);
+    }
+
+    /**
+     * Dependentes diretas ou, com {@code transitivas}, todas as tarefas que esperam por esta.
+     */
+    public List<Long> dependentes(long tarefa, boolean transitivas) {
+        return vizinhas(dependentes, tarefa, transitivas);
+    }
+
+    /**
+     * Tarefas do grafo em uma ordem de execução válida (cada uma depois das suas bloqueadoras);
+     * entre tarefas liberadas ao mesmo tempo, a de menor id primeiro.
+     */
+    public List<Long> ordemTopologica() {
+        lock.readLock().lock();
+        try {
+            return ordenar(todosNos());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cadeia de dependências com mais horas estimadas (tarefas sem estimativa contam zero). Com
+     * {@code ate}, só as cadeias que terminam nessa tarefa; sem, a maior do grafo inteiro.
+     */
+    public Caminho caminhoCritico(Long ate) {
+        lock.readLock().lock();
+        try {
+            Collection<Long> nos;
+            if (ate != null) {
+                Set<Long> ancestrais = new LinkedHashSet<>(percorrer(bloqueadoras, ate));
+                ancestrais.add(ate);
+                nos = ancestrais;
+            } else {
+                nos = todosNos();
+            }
+
+            // as bloqueadoras de um ancestral também são ancestrais: a ordem do subgrafo é completa
+            Map<Long, Long> total = new HashMap<>();
+            Map<Long, Long> anterior = new HashMap<>();
+            Long fim = null;
+            for (Long tarefa : ordenar(nos)) {
+                Long escolhida = null;
+                long melhor = 0;
+                for (Long bloqueadora : bloqueadoras.getOrDefault(tarefa, Set.of())) {
+                    Long candidato = total.get(bloqueadora);
+                    if (candidato != null && (escolhida == null || candidato > melhor
+                            || (candidato == melhor && bloqueadora < escolhida))) {
+                        escolhida = bloqueadora;
+                        melhor = candidato;
+                    }
+                }
+                if (escolhida != null) {
+                    anterior.put(tarefa, escolhida);
+                }
+                total.put(tarefa, melhor + horas.getOrDefault(tarefa, 0));
+                if (fim == null || total.get(tarefa) > total.get(fim)) {
+                    fim = tarefa;
+                }
+            }
+            if (ate != null) {
+                fim = ate;
+            }
+            if (fim == null) {
+                return new Caminho(List.of(), 0);
+            }
+
+            List<Long> caminho = new ArrayList<>();
+            for (Long tarefa = fim; tarefa != null; tarefa = anterior.get(tarefa)) {
+                caminho.add(0, tarefa);
+            }
+            return new Caminho(caminho, total.get(fim));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tarefas com pelo menos uma aresta.
+     */
+    public List<Long> nos() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(todosNos());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long arestas() {
+        lock.readLock().lock();
+        try {
+            return arestas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> vizinhas(Map<Long, Set<Long>> adjacencia, long tarefa, boolean transitivas) {
+        lock.readLock().lock();
+        try {
+            if (!transitivas) {
+                List<Long> diretas = new ArrayList<>(adjacencia.getOrDefault(tarefa, Set.of()));
+                diretas.sort(null);
+                return diretas;
+            }
+            return percorrer(adjacencia, tarefa);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca em largura a partir de {@code origem}, sem incluí-la.
+     */
+    private static List<Long> percorrer(Map<Long, Set<Long>> adjacencia, long origem) {
+        List<Long> alcancadas = new ArrayList<>();
+        Set<Long> vistas = new HashSet<>();
+        vistas.add(origem);
+        Deque<Long> fila = new ArrayDeque<>();
+        fila.add(origem);
+        while (!fila.isEmpty()) {
+            for (Long vizinha : adjacencia.getOrDefault(fila.poll(), Set.of())) {
+                if (vistas.add(vizinha)) {
+                    alcancadas.add(vizinha);
+                    fila.add(vizinha);
+                }
+            }
+        }
+        return alcancadas;
+    }
+
+    /**
+     * {@code destino} é alcançável a partir de {@code origem} seguindo dependentes?
+     */
+    private boolean alcanca(long origem, long destino) {
+        if (origem == destino) {
+            return true;
+        }
+        Set<Long> vistasFrente = new HashSet<>(List.of(origem));
+        Set<Long> vistasTras = new HashSet<>(List.of(destino));
+        Deque<Long> frente = new ArrayDeque<>(List.of(origem));
+        Deque<Long> tras = new ArrayDeque<>(List.of(destino));
+
+        while (!frente.isEmpty() && !tras.isEmpty()) {
+            boolean pelaFrente = frente.size() <= tras.size();
+            Deque<Long> fila = pelaFrente ? frente : tras;
+            Set<Long> vistas = pelaFrente ? vistasFrente : vistasTras;
+            Set<Long> outroLado = pelaFrente ? vistasTras : vistasFrente;
+            Map<Long, Set<Long>> adjacencia = pelaFrente ? dependentes : bloqueadoras;
+
+            // expande um nível inteiro da fronteira escolhida
+            for (int restantes = fila.size(); restantes > 0; restantes--) {
+                for (Long vizinha : adjacencia.getOrDefault(fila.poll(), Set.of())) {
+                    if (outroLado.contains(vizinha)) {
+                        return true;
+                    }
+                    if (vistas.add(vizinha)) {
+                        fila.add(vizinha);
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Kahn sobre {@code nos}, contando só as bloqueadoras que também estão em {@code nos}.
+     */
+    private List<Long> ordenar(Collection<Long> nos) {
+        Set<Long> incluidas = nos instanceof Set<Long> conjunto ? conjunto : new HashSet<>(nos);
+        Map<Long, Integer> pendentes = new HashMap<>();
+        PriorityQueue<Long> liberadas = new PriorityQueue<>();
+        for (Long tarefa : incluidas) {
+            int grau = 0;
+            for (Long bloqueadora : bloqueadoras.getOrDefault(tarefa, Set.of())) {
+                if (incluidas.contains(bloqueadora)) {
+                    grau++;
+                }
+            }
+            pendentes.put(tarefa, grau);
+            if (grau == 0) {
+                liberadas.add(tarefa);
+            }
+        }
+
+        List<Long> ordem = new ArrayList<>(incluidas.size());
+        while (!liberadas.isEmpty()) {
+            Long tarefa = liberadas.poll();
+            ordem.add(tarefa);
+            for (Long dependente : dependentes.getOrDefault(tarefa, Set.of())) {
+                if (incluidas.contains(dependente) && pendentes.merge(dependente, -1, Integer::sum) == 0) {
+                    liberadas.add(dependente);
+                }
+            }
+        }
+        return ordem;
+    }
+
+    private Set<Long> todosNos() {
+        Set<Long> nos = new HashSet<>(bloqueadoras.keySet());
+        nos.addAll(dependentes.keySet());
+        return nos;
+    }
+
+    private boolean contem(long tarefa) {
+        return bloqueadoras.containsKey(tarefa) || dependentes.containsKey(tarefa);
+    }
+
+    private void descartarSeIsolada(long tarefa) {
+        if (!contem(tarefa)) {
+            horas.remove(tarefa);
+        }
+    }
+
+    private static boolean removerDe(Map<Long, Set<Long>> adjacencia, long chave, long valor) {
+        Set<Long> vizinhas = adjacencia.get(chave);
+        if (vizinhas == null || !vizinhas.remove(valor)) {
+            return false;
+        }
+        if (vizinhas.isEmpty()) {
+            adjacencia.remove(chave);
+        }
+        return true;
+    }
+}
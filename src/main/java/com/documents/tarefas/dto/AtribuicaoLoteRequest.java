@@ -0,0 +1,17 @@
+package com.documents.tarefas.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtribuicaoLoteRequest {
+
+    @NotEmpty(message = "Informe ao menos uma tarefa")
+    private List<Long> ids;
+}
@@ -0,0 +1,20 @@
+package com.documents.tarefas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaminhoCriticoDTO {
+
+    /**
+     * Ids da cadeia, da primeira tarefa a ser feita até a última.
+     */
+    private List<Long> tarefas;
+
+    private long totalHoras;
+}
@@ -0,0 +1,25 @@
+package com.documents.tarefas.dto;
+
+import com.documents.tarefas.model.PrioridadeTarefa;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CargaUsuarioDTO {
+
+    private String usuario;
+
+    private int tarefasAbertas;
+
+    private Map<PrioridadeTarefa, Integer> horasPorPrioridade;
+
+    /**
+     * Soma das horas abertas ponderadas pela prioridade; a atribuição automática escolhe a menor.
+     */
+    private long carga;
+}
@@ -0,0 +1,22 @@
+package com.documents.tarefas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependenciasTarefaDTO {
+
+    private Long tarefaId;
+
+    private boolean transitivas;
+
+    /**
+     * Ids das tarefas relacionadas; nas transitivas, das mais próximas para as mais distantes.
+     */
+    private List<Long> tarefas;
+}
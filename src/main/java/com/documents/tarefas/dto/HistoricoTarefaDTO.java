@@ -0,0 +1,26 @@
+package com.documents.tarefas.dto;
+
+import com.documents.tarefas.event.TipoAlteracao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoricoTarefaDTO {
+
+    private Long id;
+    private Long tarefaId;
+    private TipoAlteracao tipo;
+    private LocalDateTime ocorridaEm;
+    private String autor;
+
+    /**
+     * Campos alterados, com o valor novo.
+     */
+    private Map<String, Object> alteracoes;
+}
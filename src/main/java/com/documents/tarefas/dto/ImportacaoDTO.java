@@ -0,0 +1,39 @@
+package com.documents.tarefas.dto;
+
+import com.documents.tarefas.importacao.ErroLinha;
+import com.documents.tarefas.importacao.FormatoImportacao;
+import com.documents.tarefas.importacao.StatusImportacao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoDTO {
+
+    private String id;
+    private String arquivo;
+    private FormatoImportacao formato;
+    private StatusImportacao status;
+    private String mensagem;
+
+    private long tamanhoBytes;
+    private double percentualLido;
+
+    private long linhasLidas;
+    private long linhasValidas;
+    private long linhasInseridas;
+    private long linhasDuplicadas;
+    private long linhasComErro;
+    private double linhasPorSegundo;
+
+    private LocalDateTime criadaEm;
+    private LocalDateTime iniciadaEm;
+    private LocalDateTime concluidaEm;
+
+    private List<ErroLinha> erros;
+}
@@ -0,0 +1,17 @@
+package com.documents.tarefas.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteIdsRequest {
+
+    @NotEmpty(message = "Informe ao menos um id")
+    private List<Long> ids;
+}
@@ -0,0 +1,20 @@
+package com.documents.tarefas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteTarefasDTO {
+
+    /**
+     * Tarefas encontradas, na ordem em que os ids foram pedidos.
+     */
+    private List<TarefaDTO> tarefas;
+
+    private List<Long> naoEncontradas;
+}
@@ -0,0 +1,20 @@
+package com.documents.tarefas.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaHistoricoDTO {
+
+    private List<HistoricoTarefaDTO> itens;
+
+    /**
+     * Valor de {@code cursor} para a próxima página; {@code null} na última.
+     */
+    private Long proximoCursor;
+}
@@ -0,0 +1,20 @@
+package com.documents.tarefas.dto;
+
+import com.documents.tarefas.model.PrioridadeTarefa;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SugestaoTarefaDTO {
+
+    private Long id;
+
+    private String titulo;
+
+    private String categoria;
+
+    private PrioridadeTarefa prioridade;
+}
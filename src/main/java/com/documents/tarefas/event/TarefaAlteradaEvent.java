@@ -0,0 +1,13 @@
+package com.documents.tarefas.event;
+
+import com.documents.tarefas.dto.TarefaDTO;
+
+/**
+ * Publicado a cada escrita em {@code tarefas_tb}, dentro da transação que a fez. Ouvintes que
+ * só devem agir com a escrita confirmada usam {@code @TransactionalEventListener}.
+ *
+ * @param anterior estado antes da alteração, quando conhecido ({@code null} na criação)
+ * @param atual    estado depois da alteração ({@code null} na exclusão e no arquivamento)
+ */
+public record TarefaAlteradaEvent(TipoAlteracao tipo, Long id, TarefaDTO anterior, TarefaDTO atual) {
+}
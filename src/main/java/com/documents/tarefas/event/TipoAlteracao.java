@@ -0,0 +1,8 @@
+package com.documents.tarefas.event;
+
+public enum TipoAlteracao {
+    CRIACAO,
+    ATUALIZACAO,
+    EXCLUSAO,
+    ARQUIVAMENTO
+}
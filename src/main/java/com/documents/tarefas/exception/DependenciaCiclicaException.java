@@ -0,0 +1,12 @@
+package com.documents.tarefas.exception;
+
+public class DependenciaCiclicaException extends RuntimeException {
+
+    public DependenciaCiclicaException(String message) {
+        super(message);
+    }
+
+    public DependenciaCiclicaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
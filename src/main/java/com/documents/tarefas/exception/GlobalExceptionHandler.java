@@ -1,6 +1,8 @@
 package com.documents.tarefas.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -9,6 +11,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -33,6 +36,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(ImportacaoNaoEncontradaException.class)
+    public ResponseEntity<ErrorResponse> handleImportacaoNaoEncontrada(
+            ImportacaoNaoEncontradaException ex, WebRequest request) {
+
+        log.error("Importação não encontrada: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                "Importação não encontrada",
+                ex.getMessage(),
+                request.getDescription(false),
+                LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(DependenciaCiclicaException.class)
+    public ResponseEntity<ErrorResponse> handleDependenciaCiclica(
+            DependenciaCiclicaException ex, WebRequest request) {
+
+        log.error("Dependência cíclica: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Dependência cíclica",
+                ex.getMessage(),
+                request.getDescription(false),
+                LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(TarefaJaExisteException.class)
     public ResponseEntity<ErrorResponse> handleTarefaJaExiste(
             TarefaJaExisteException ex, WebRequest request) {
@@ -49,6 +84,74 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleEdicaoConcorrente(
+            OptimisticLockingFailureException ex, WebRequest request) {
+
+        log.warn("Edição concorrente: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Edição concorrente",
+                "A tarefa foi alterada por outra requisição; recarregue-a e tente novamente",
+                request.getDescription(false),
+                LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(ParametroInvalidoException.class)
+    public ResponseEntity<ErrorResponse> handleParametroInvalido(
+            ParametroInvalidoException ex, WebRequest request) {
+
+        log.error("Parâmetro inválido: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Parâmetro inválido",
+                ex.getMessage(),
+                request.getDescription(false),
+                LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(LimiteRequisicoesExcedidoException.class)
+    public ResponseEntity<ErrorResponse> handleLimiteRequisicoesExcedido(
+            LimiteRequisicoesExcedidoException ex, WebRequest request) {
+
+        log.warn("Limite de requisições excedido: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Limite de requisições excedido",
+                ex.getMessage(),
+                request.getDescription(false),
+                LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, segundosRetryAfter(ex.getRetryAfter()))
+                .body(error);
+    }
+
+    @ExceptionHandler(ServicoSobrecarregadoException.class)
+    public ResponseEntity<ErrorResponse> handleServicoSobrecarregado(
+            ServicoSobrecarregadoException ex, WebRequest request) {
+
+        log.warn("Serviço sobrecarregado: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Serviço indisponível",
+                ex.getMessage(),
+                request.getDescription(false),
+                LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, segundosRetryAfter(ex.getRetryAfter()))
+                .body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(
             MethodArgumentNotValidException ex, WebRequest request) {
@@ -88,6 +191,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
+    private String segundosRetryAfter(Duration retryAfter) {
+        long millis = retryAfter != null ? retryAfter.toMillis() : 0;
+        return String.valueOf(Math.max(1, (millis + 999) / 1000));
+    }
+
     // Classe interna para representar a resposta de erro
     public static class ErrorResponse {
         private final int status;
@@ -0,0 +1,8 @@
+package com.documents.tarefas.exception;
+
+public class ImportacaoNaoEncontradaException extends RuntimeException {
+
+    public ImportacaoNaoEncontradaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.documents.tarefas.exception;
+
+import java.time.Duration;
+
+public class LimiteRequisicoesExcedidoException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public LimiteRequisicoesExcedidoException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
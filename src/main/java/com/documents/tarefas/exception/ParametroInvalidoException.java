@@ -0,0 +1,12 @@
+package com.documents.tarefas.exception;
+
+public class ParametroInvalidoException extends RuntimeException {
+
+    public ParametroInvalidoException(String message) {
+        super(message);
+    }
+
+    public ParametroInvalidoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.documents.tarefas.exception;
+
+import java.time.Duration;
+
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServicoSobrecarregadoException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,97 @@
+package com.documents.tarefas.filtro;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom concorrente (bits em {@link AtomicLongArray}, sem locks). {@link #podeConter}
+ * nunca dá falso negativo para uma chave adicionada; falsos positivos ocorrem na taxa para a qual
+ * o filtro foi dimensionado enquanto {@link #quantidade()} não passar da capacidade.
+ * Não há remoção: chaves removidas continuam "podendo existir" até o filtro ser reconstruído.
+ */
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long totalBits;
+    private final int funcoesHash;
+    private final long capacidade;
+    private final AtomicLong quantidade = new AtomicLong();
+
+    public FiltroBloom(long capacidade, double taxaFalsosPositivos) {
+        if (capacidade <= 0 || taxaFalsosPositivos <= 0 || taxaFalsosPositivos >= 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva e taxa de falsos positivos entre 0 e 1");
+        }
+        double ln2 = Math.log(2);
+        long bitsNecessarios = (long) Math.ceil(-capacidade * Math.log(taxaFalsosPositivos) / (ln2 * ln2));
+        int palavras = (int) Math.min(Integer.MAX_VALUE, (bitsNecessarios + 63) / 64);
+
+        this.bits = new AtomicLongArray(palavras);
+        this.totalBits = (long) palavras * 64;
+        this.funcoesHash = Math.max(1, (int) Math.round((double) totalBits / capacidade * ln2));
+        this.capacidade = capacidade;
+    }
+
+    public void adicionar(String chave) {
+        long h1 = hash(chave);
+        long h2 = misturar(h1);
+        boolean alterou = false;
+        for (int i = 0; i < funcoesHash; i++) {
+            long posicao = Math.floorMod(h1 + i * h2, totalBits);
+            long mascara = 1L << (posicao & 63);
+            long anterior = bits.getAndAccumulate((int) (posicao >>> 6), mascara, (atual, m) -> atual | m);
+            alterou |= (anterior & mascara) == 0;
+        }
+        if (alterou) {
+            quantidade.incrementAndGet();
+        }
+    }
+
+    public boolean podeConter(String chave) {
+        long h1 = hash(chave);
+        long h2 = misturar(h1);
+        for (int i = 0; i < funcoesHash; i++) {
+            long posicao = Math.floorMod(h1 + i * h2, totalBits);
+            if ((bits.get((int) (posicao >>> 6)) & (1L << (posicao & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Chaves distintas adicionadas (aproximado: uma chave nova cujos bits já estavam todos ligados
+     * não é contada).
+     */
+    public long quantidade() {
+        return quantidade.get();
+    }
+
+    public long capacidade() {
+        return capacidade;
+    }
+
+    public int funcoesHash() {
+        return funcoesHash;
+    }
+
+    // FNV-1a de 64 bits sobre os bytes UTF-8
+    private static long hash(String chave) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : chave.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // finalizador do MurmurHash3; o segundo hash do esquema de Kirsch-Mitzenmacher precisa ser ímpar
+    private static long misturar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h | 1;
+    }
+}
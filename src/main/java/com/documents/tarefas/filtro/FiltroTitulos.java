@@ -0,0 +1,128 @@
+package com.documents.tarefas.filtro;
+
+import com.documents.tarefas.config.FiltroTitulosProperties;
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import com.documents.tarefas.event.TipoAlteracao;
+import com.documents.tarefas.recarga.EstruturaRecarregavel;
+import com.documents.tarefas.repository.TarefaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Pré-filtro em memória dos títulos existentes em {@code tarefas_tb}: se
+ * {@link #podeExistir} responde {@code false}, o título certamente não está no banco e o
+ * {@code existsByTitulo} pode ser pulado. A garantia de unicidade continua sendo a constraint
+ * {@code uk_tarefas_titulo}.
+ * <p>
+ * Criações e renomeações entram no filtro na hora, pelo {@link TarefaAlteradaEvent}. Como um
+ * filtro de Bloom não remove chaves, exclusões, arquivamentos e renomeações só são contadas;
+ * passado {@code limiteRemocoes} (ou a capacidade), o filtro é reconstruído a partir do banco.
+ * Enquanto não há filtro carregado, todo título "pode existir".
+ */
+@Component
+@Slf4j
+@EnableConfigurationProperties(FiltroTitulosProperties.class)
+public class FiltroTitulos {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+
+    private final TarefaRepository tarefaRepository;
+    private final FiltroTitulosProperties properties;
+
+    private final EstruturaRecarregavel<FiltroBloom> filtros = new EstruturaRecarregavel<>();
+    private final AtomicLong remocoes = new AtomicLong();
+
+    public FiltroTitulos(TarefaRepository tarefaRepository, FiltroTitulosProperties properties) {
+        this.tarefaRepository = tarefaRepository;
+        this.properties = properties;
+    }
+
+    public boolean podeExistir(String titulo) {
+        FiltroBloom atual = filtros.atual();
+        return atual == null || atual.podeConter(normalizar(titulo));
+    }
+
+    public void adicionar(String titulo) {
+        String chave = normalizar(titulo);
+        filtros.aplicar(alvo -> alvo.adicionar(chave));
+    }
+
+    public void registrarRemocao() {
+        remocoes.incrementAndGet();
+    }
+
+    @EventListener
+    public void aoAlterarTarefa(TarefaAlteradaEvent evento) {
+        TipoAlteracao tipo = evento.tipo();
+        if (tipo == TipoAlteracao.CRIACAO) {
+            adicionar(evento.atual().getTitulo());
+        } else if (tipo == TipoAlteracao.ATUALIZACAO) {
+            if (!Objects.equals(evento.anterior().getTitulo(), evento.atual().getTitulo())) {
+                adicionar(evento.atual().getTitulo());
+                registrarRemocao();
+            }
+        } else {
+            registrarRemocao();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${tarefas.filtro-titulos.atraso-inicial:PT5S}",
+            fixedDelayString = "${tarefas.filtro-titulos.intervalo-verificacao:PT1M}")
+    public void verificarReconstrucao() {
+        if (!properties.isHabilitado()) {
+            return;
+        }
+        FiltroBloom atual = filtros.atual();
+        if (atual == null
+                || atual.quantidade() > atual.capacidade()
+                || remocoes.get() > atual.quantidade() * properties.getLimiteRemocoes()) {
+            reconstruir();
+        }
+    }
+
+    public void reconstruir() {
+        FiltroBloom atual = filtros.atual();
+        long capacidade = Math.max(properties.getCapacidade(), atual != null ? atual.quantidade() * 2 : 0);
+        log.info("Reconstruindo filtro de títulos (capacidade {})", capacidade);
+
+        try {
+            filtros.recarregar(new FiltroBloom(capacidade, properties.getTaxaFalsosPositivos()), novo -> {
+                long remocoesAntes = remocoes.get();
+                long total = 0;
+                String ultimo = "";
+                List<String> titulos;
+                do {
+                    titulos = tarefaRepository.findTitulosApos(ultimo, PageRequest.of(0, properties.getTamanhoLoteCarga()));
+                    titulos.forEach(titulo -> novo.adicionar(normalizar(titulo)));
+                    total += titulos.size();
+                    if (!titulos.isEmpty()) {
+                        ultimo = titulos.get(titulos.size() - 1);
+                    }
+                } while (titulos.size() == properties.getTamanhoLoteCarga());
+
+                remocoes.addAndGet(-remocoesAntes);
+                log.info("Filtro de títulos carregado com {} títulos", total);
+                return true;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível carregar o filtro de títulos; consultas de unicidade irão ao banco: {}", e.getMessage());
+        }
+    }
+
+    // a collation do MySQL ignora caixa e acentos: títulos iguais para o banco precisam da mesma chave
+    public static String normalizar(String titulo) {
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(titulo, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,8 @@
+package com.documents.tarefas.importacao;
+
+/**
+ * Linha rejeitada na importação. {@code linha} é a posição do registro no arquivo (1 = primeiro
+ * registro, sem contar o cabeçalho do CSV).
+ */
+public record ErroLinha(long linha, String mensagem) {
+}
@@ -0,0 +1,26 @@
+package com.documents.tarefas.importacao;
+
+import com.documents.tarefas.exception.ParametroInvalidoException;
+
+import java.util.Locale;
+
+public enum FormatoImportacao {
+    CSV,
+    JSON;
+
+    /**
+     * Escolhe o formato pela extensão do arquivo e, na falta dela, pelo Content-Type do upload.
+     */
+    public static FormatoImportacao de(String nomeArquivo, String contentType) {
+        String nome = nomeArquivo != null ? nomeArquivo.toLowerCase(Locale.ROOT) : "";
+        String tipo = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+
+        if (nome.endsWith(".csv") || tipo.startsWith("text/csv")) {
+            return CSV;
+        }
+        if (nome.endsWith(".json") || tipo.startsWith("application/json")) {
+            return JSON;
+        }
+        throw new ParametroInvalidoException("Formato de arquivo não suportado: use CSV ou JSON");
+    }
+}
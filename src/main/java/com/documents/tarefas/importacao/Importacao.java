@@ -0,0 +1,116 @@
+package com.documents.tarefas.importacao;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado de uma importação, atualizado concorrentemente pelos estágios do
+ * {@link PipelineImportacao} e lido pelas consultas de progresso.
+ */
+@Getter
+public class Importacao {
+
+    private final String id;
+    private final String arquivo;
+    private final FormatoImportacao formato;
+    private final long tamanhoBytes;
+    private final int maximoErros;
+    private final LocalDateTime criadaEm = LocalDateTime.now();
+
+    private final AtomicLong bytesLidos = new AtomicLong();
+    private final AtomicLong linhasLidas = new AtomicLong();
+    private final AtomicLong linhasValidas = new AtomicLong();
+    private final AtomicLong linhasInseridas = new AtomicLong();
+    private final AtomicLong linhasDuplicadas = new AtomicLong();
+    private final AtomicLong linhasComErro = new AtomicLong();
+
+    // apenas os primeiros maximoErros erros são guardados; os contadores seguem contando todos
+    private final Queue<ErroLinha> erros = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger errosRegistrados = new AtomicInteger();
+
+    private volatile StatusImportacao status = StatusImportacao.AGUARDANDO;
+    private volatile LocalDateTime iniciadaEm;
+    private volatile LocalDateTime concluidaEm;
+    private volatile String mensagem;
+    private volatile long inicioNanos;
+    private volatile long fimNanos;
+
+    public Importacao(String id, String arquivo, FormatoImportacao formato, long tamanhoBytes, int maximoErros) {
+        this.id = id;
+        this.arquivo = arquivo;
+        this.formato = formato;
+        this.tamanhoBytes = tamanhoBytes;
+        this.maximoErros = maximoErros;
+    }
+
+    public void iniciar() {
+        inicioNanos = System.nanoTime();
+        iniciadaEm = LocalDateTime.now();
+        status = StatusImportacao.EM_ANDAMENTO;
+    }
+
+    public void concluir() {
+        encerrar(StatusImportacao.CONCLUIDA, null);
+    }
+
+    public void falhar(String motivo) {
+        encerrar(StatusImportacao.FALHOU, motivo);
+    }
+
+    public void registrarErro(long linha, String mensagem) {
+        linhasComErro.incrementAndGet();
+        guardarErro(linha, mensagem);
+    }
+
+    public void registrarDuplicada(long linha, String mensagem) {
+        linhasDuplicadas.incrementAndGet();
+        guardarErro(linha, mensagem);
+    }
+
+    public boolean encerrada() {
+        return status == StatusImportacao.CONCLUIDA || status == StatusImportacao.FALHOU;
+    }
+
+    public double percentualLido() {
+        if (encerrada() || tamanhoBytes <= 0) {
+            return encerrada() ? 100.0 : 0.0;
+        }
+        return Math.min(100.0, bytesLidos.get() * 100.0 / tamanhoBytes);
+    }
+
+    public double linhasPorSegundo() {
+        if (inicioNanos == 0) {
+            return 0.0;
+        }
+        long fim = fimNanos != 0 ? fimNanos : System.nanoTime();
+        double segundos = (fim - inicioNanos) / 1_000_000_000.0;
+        return segundos > 0 ? linhasLidas.get() / segundos : 0.0;
+    }
+
+    public List<ErroLinha> errosOrdenados() {
+        List<ErroLinha> ordenados = new ArrayList<>(erros);
+        ordenados.sort(Comparator.comparingLong(ErroLinha::linha));
+        return ordenados;
+    }
+
+    private void guardarErro(long linha, String mensagem) {
+        if (errosRegistrados.getAndIncrement() < maximoErros) {
+            erros.add(new ErroLinha(linha, mensagem));
+        }
+    }
+
+    private void encerrar(StatusImportacao statusFinal, String motivo) {
+        fimNanos = System.nanoTime();
+        concluidaEm = LocalDateTime.now();
+        mensagem = motivo;
+        status = statusFinal;
+    }
+}
@@ -0,0 +1,86 @@
+package com.documents.tarefas.importacao;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Lê o arquivo registro a registro, sem carregá-lo inteiro em memória. Cada registro é
+ * entregue como {@link JsonNode}; a conversão para {@code CriarTarefaRequest} fica para o
+ * estágio de validação, que roda em paralelo.
+ * <p>
+ * CSV: primeira linha com os nomes dos campos de {@code CriarTarefaRequest}; células vazias
+ * são tratadas como ausentes. JSON: um array de objetos.
+ */
+public class LeitorImportacao {
+
+    private static final CsvSchema CABECALHO = CsvSchema.emptySchema().withHeader();
+
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .enable(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE)
+            .build();
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    @FunctionalInterface
+    public interface ConsumidorRegistro {
+        void aceitar(long numero, JsonNode registro) throws InterruptedException;
+    }
+
+    public void ler(InputStream entrada, FormatoImportacao formato, ConsumidorRegistro consumidor)
+            throws IOException, InterruptedException {
+        if (formato == FormatoImportacao.CSV) {
+            lerCsv(entrada, consumidor);
+        } else {
+            lerJson(entrada, consumidor);
+        }
+    }
+
+    private void lerCsv(InputStream entrada, ConsumidorRegistro consumidor) throws IOException, InterruptedException {
+        try (MappingIterator<JsonNode> registros = csvMapper.readerFor(JsonNode.class).with(CABECALHO).readValues(entrada)) {
+            long numero = 0;
+            while (registros.hasNextValue()) {
+                JsonNode registro = registros.nextValue();
+                removerCelulasVazias(registro);
+                consumidor.aceitar(++numero, registro);
+            }
+        }
+    }
+
+    private void lerJson(InputStream entrada, ConsumidorRegistro consumidor) throws IOException, InterruptedException {
+        try (JsonParser parser = jsonMapper.createParser(entrada)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("O arquivo JSON deve conter um array de tarefas");
+            }
+            long numero = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    throw new IOException("Fim inesperado do arquivo JSON");
+                }
+                consumidor.aceitar(++numero, jsonMapper.readTree(parser));
+            }
+        }
+    }
+
+    private void removerCelulasVazias(JsonNode registro) {
+        Iterator<Map.Entry<String, JsonNode>> campos = registro.fields();
+        while (campos.hasNext()) {
+            JsonNode valor = campos.next().getValue();
+            if (valor.isTextual() && valor.asText().isEmpty()) {
+                campos.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.documents.tarefas.importacao;
+
+import com.documents.tarefas.config.ImportacaoProperties;
+import com.documents.tarefas.dto.CriarTarefaRequest;
+import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.exception.ServicoSobrecarregadoException;
+import com.documents.tarefas.exception.TarefaJaExisteException;
+import com.documents.tarefas.filtro.FiltroTitulos;
+import com.documents.tarefas.service.TarefaService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Executa uma importação em três estágios ligados por filas limitadas:
+ * <ol>
+ *     <li>leitura: uma thread percorre o arquivo com {@link LeitorImportacao};</li>
+ *     <li>validação: {@code threadsValidacao} threads convertem cada registro em
+ *     {@link CriarTarefaRequest} e aplicam as mesmas restrições do {@code POST /api/tarefas};</li>
+ *     <li>gravação: a thread que chamou {@link #executar} descarta títulos repetidos e grava em
+ *     lotes de {@code tamanhoLote} via {@link TarefaService#importarLote}.</li>
+ * </ol>
+ * Filas cheias seguram o estágio anterior, então o consumo de memória não depende do tamanho do
+ * arquivo (exceto o conjunto de títulos já vistos). Linhas rejeitadas não interrompem a
+ * importação; uma falha de leitura ou de gravação interrompe, mantendo os lotes já gravados.
+ */
+@Slf4j
+public class PipelineImportacao {
+
+    private static final Registro FIM_LEITURA = new Registro(-1, null);
+    private static final LinhaValida FIM_VALIDACAO = new LinhaValida(-1, null);
+
+    private final Importacao importacao;
+    private final TarefaService tarefaService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ImportacaoProperties properties;
+    private final ExecutorService estagios;
+    private final LeitorImportacao leitor = new LeitorImportacao();
+
+    private final BlockingQueue<Registro> paraValidar;
+    private final BlockingQueue<LinhaValida> paraGravar;
+
+    public PipelineImportacao(Importacao importacao, TarefaService tarefaService, Validator validator,
+            ObjectMapper objectMapper, ImportacaoProperties properties, ExecutorService estagios) {
+        this.importacao = importacao;
+        this.tarefaService = tarefaService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.estagios = estagios;
+        this.paraValidar = new ArrayBlockingQueue<>(properties.getCapacidadeFila());
+        this.paraGravar = new ArrayBlockingQueue<>(properties.getCapacidadeFila());
+    }
+
+    public void executar(InputStream entrada) {
+        importacao.iniciar();
+        log.info("Iniciando importação {} ({})", importacao.getId(), importacao.getArquivo());
+
+        List<Future<?>> tarefas = new ArrayList<>();
+        try {
+            tarefas.add(estagios.submit(() -> {
+                ler(new EntradaContada(entrada, importacao));
+                return null;
+            }));
+            AtomicInteger validadoresAtivos = new AtomicInteger(properties.getThreadsValidacao());
+            for (int i = 0; i < properties.getThreadsValidacao(); i++) {
+                tarefas.add(estagios.submit(() -> {
+                    validar(validadoresAtivos);
+                    return null;
+                }));
+            }
+
+            gravar();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+
+            importacao.concluir();
+            log.info("Importação {} concluída. Lidas: {}, inseridas: {}, duplicadas: {}, com erro: {}",
+                    importacao.getId(), importacao.getLinhasLidas(), importacao.getLinhasInseridas(),
+                    importacao.getLinhasDuplicadas(), importacao.getLinhasComErro());
+        } catch (ExecutionException e) {
+            falhar(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            importacao.falhar("Importação interrompida");
+        } catch (RuntimeException e) {
+            falhar(e);
+        } finally {
+            tarefas.forEach(tarefa -> tarefa.cancel(true));
+        }
+    }
+
+    // Estágio 1: leitura
+
+    private void ler(InputStream entrada) throws IOException, InterruptedException {
+        try {
+            leitor.ler(entrada, importacao.getFormato(), (numero, registro) -> {
+                importacao.getLinhasLidas().incrementAndGet();
+                paraValidar.put(new Registro(numero, registro));
+            });
+        } catch (IOException | RuntimeException e) {
+            // deixa os validadores e o gravador terminarem o que já foi lido
+            sinalizarFimLeitura();
+            throw e;
+        }
+        sinalizarFimLeitura();
+    }
+
+    private void sinalizarFimLeitura() throws InterruptedException {
+        for (int i = 0; i < properties.getThreadsValidacao(); i++) {
+            paraValidar.put(FIM_LEITURA);
+        }
+    }
+
+    // Estágio 2: conversão e validação
+
+    private void validar(AtomicInteger validadoresAtivos) throws InterruptedException {
+        for (Registro registro = paraValidar.take(); registro != FIM_LEITURA; registro = paraValidar.take()) {
+            CriarTarefaRequest request = converter(registro);
+            if (request != null) {
+                paraGravar.put(new LinhaValida(registro.numero(), request));
+            }
+        }
+        if (validadoresAtivos.decrementAndGet() == 0) {
+            paraGravar.put(FIM_VALIDACAO);
+        }
+    }
+
+    private CriarTarefaRequest converter(Registro registro) {
+        CriarTarefaRequest request;
+        try {
+            request = objectMapper.treeToValue(registro.dados(), CriarTarefaRequest.class);
+        } catch (JsonProcessingException e) {
+            importacao.registrarErro(registro.numero(), "Registro inválido: " + e.getOriginalMessage());
+            return null;
+        } catch (IllegalArgumentException e) {
+            importacao.registrarErro(registro.numero(), "Registro inválido: " + e.getMessage());
+            return null;
+        }
+        if (request == null) {
+            importacao.registrarErro(registro.numero(), "Registro vazio");
+            return null;
+        }
+
+        Set<ConstraintViolation<CriarTarefaRequest>> violacoes = validator.validate(request);
+        if (!violacoes.isEmpty()) {
+            importacao.registrarErro(registro.numero(), violacoes.stream()
+                    .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+
+        importacao.getLinhasValidas().incrementAndGet();
+        return request;
+    }
+
+    // Estágio 3: deduplicação e gravação em lotes
+
+    private void gravar() throws InterruptedException {
+        Set<String> titulosVistos = new HashSet<>();
+        List<LinhaValida> lote = new ArrayList<>(properties.getTamanhoLote());
+
+        for (LinhaValida linha = paraGravar.take(); linha != FIM_VALIDACAO; linha = paraGravar.take()) {
+            String titulo = linha.request().getTitulo();
+            // repetido para a constraint única, que ignora caixa e acentos
+            if (!titulosVistos.add(FiltroTitulos.normalizar(titulo))) {
+                importacao.registrarDuplicada(linha.numero(), "Título repetido no arquivo: " + titulo);
+                continue;
+            }
+            lote.add(linha);
+            if (lote.size() >= properties.getTamanhoLote()) {
+                gravarLote(lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravarLote(lote);
+        }
+    }
+
+    private void gravarLote(List<LinhaValida> lote) throws InterruptedException {
+        List<CriarTarefaRequest> requests = lote.stream().map(LinhaValida::request).collect(Collectors.toList());
+        Set<String> criadas;
+        try {
+            criadas = importarComRetentativa(requests).stream()
+                    .map(TarefaDTO::getTitulo)
+                    .collect(Collectors.toSet());
+        } catch (TarefaJaExisteException e) {
+            // um título foi gravado por outra requisição entre a checagem e o INSERT: refaz linha a linha
+            criadas = gravarIndividualmente(requests);
+        }
+
+        for (LinhaValida linha : lote) {
+            if (!criadas.contains(linha.request().getTitulo())) {
+                importacao.registrarDuplicada(linha.numero(),
+                        "Já existe uma tarefa com o título: " + linha.request().getTitulo());
+            }
+        }
+        importacao.getLinhasInseridas().addAndGet(criadas.size());
+    }
+
+    private Set<String> gravarIndividualmente(List<CriarTarefaRequest> requests) throws InterruptedException {
+        Set<String> criadas = new HashSet<>();
+        for (CriarTarefaRequest request : requests) {
+            try {
+                importarComRetentativa(List.of(request)).forEach(criada -> criadas.add(criada.getTitulo()));
+            } catch (TarefaJaExisteException e) {
+                // fica de fora de "criadas" e é registrada como duplicada
+            }
+        }
+        return criadas;
+    }
+
+    private List<TarefaDTO> importarComRetentativa(List<CriarTarefaRequest> requests) throws InterruptedException {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return tarefaService.importarLote(requests);
+            } catch (ServicoSobrecarregadoException e) {
+                // o compartimento CRUD está cheio: espera a vaga em vez de perder a importação
+                if (tentativa >= properties.getTentativasLote()) {
+                    throw e;
+                }
+                log.debug("Importação {} aguardando vaga para gravar lote (tentativa {})", importacao.getId(), tentativa);
+                Thread.sleep(e.getRetryAfter().toMillis());
+            }
+        }
+    }
+
+    private void falhar(Throwable causa) {
+        log.error("Importação {} falhou: {}", importacao.getId(), causa.getMessage(), causa);
+        importacao.falhar(causa.getMessage());
+    }
+
+    private record Registro(long numero, JsonNode dados) {
+    }
+
+    private record LinhaValida(long numero, CriarTarefaRequest request) {
+    }
+
+    /**
+     * Conta os bytes consumidos pelo leitor, para o percentual de progresso.
+     */
+    private static class EntradaContada extends FilterInputStream {
+
+        private final Importacao importacao;
+
+        EntradaContada(InputStream entrada, Importacao importacao) {
+            super(entrada);
+            this.importacao = importacao;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int lido = super.read();
+            if (lido >= 0) {
+                importacao.getBytesLidos().incrementAndGet();
+            }
+            return lido;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int lidos = super.read(b, off, len);
+            if (lidos > 0) {
+                importacao.getBytesLidos().addAndGet(lidos);
+            }
+            return lidos;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.documents.tarefas.importacao;
+
+public enum StatusImportacao {
+    AGUARDANDO,
+    EM_ANDAMENTO,
+    CONCLUIDA,
+    FALHOU
+}
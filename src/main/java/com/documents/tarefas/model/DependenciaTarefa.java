@@ -0,0 +1,29 @@
+package com.documents.tarefas.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aresta do grafo de dependências: {@code bloqueadoraId} precisa terminar antes de {@code tarefaId}.
+ */
+@Entity
+@Table(name = "tarefas_dependencias_tb",
+        uniqueConstraints = @UniqueConstraint(name = "uk_dependencias_tarefa_bloqueadora", columnNames = {"tarefa_id", "bloqueadora_id"}),
+        indexes = @Index(name = "idx_dependencias_bloqueadora", columnList = "bloqueadora_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependenciaTarefa {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tarefa_id", nullable = false)
+    private Long tarefaId;
+
+    @Column(name = "bloqueadora_id", nullable = false)
+    private Long bloqueadoraId;
+}
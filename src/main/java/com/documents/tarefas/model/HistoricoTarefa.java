@@ -0,0 +1,55 @@
+package com.documents.tarefas.model;
+
+import com.documents.tarefas.event.TipoAlteracao;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada do histórico de uma tarefa, só inserida, nunca alterada. {@code alteracoes} guarda, em
+ * JSON, apenas os campos que mudaram (com o valor novo); a cada {@code tarefas.historico.intervalo-snapshot}
+ * entradas, {@code estado} guarda também a tarefa inteira, para que a reconstrução num instante
+ * leia um snapshot e no máximo esse número de deltas.
+ */
+@Entity
+@Table(name = "tarefas_historico_tb", indexes = @Index(name = "idx_historico_tarefa", columnList = "tarefa_id, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoricoTarefa {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tarefa_id", nullable = false)
+    private Long tarefaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoAlteracao tipo;
+
+    @Column(name = "ocorrida_em", nullable = false)
+    private LocalDateTime ocorridaEm;
+
+    /**
+     * Cliente que fez a alteração ({@code X-Cliente-Id} ou IP); vazio em jobs.
+     */
+    @Column(length = 100)
+    private String autor;
+
+    @Column(nullable = false, length = 4000)
+    private String alteracoes;
+
+    @Column(length = 4000)
+    private String estado;
+
+    /**
+     * Deltas gravados desde o último snapshot desta tarefa (0 numa entrada com snapshot).
+     */
+    @Column(name = "deltas_desde_snapshot", nullable = false)
+    private int deltasDesdeSnapshot;
+}
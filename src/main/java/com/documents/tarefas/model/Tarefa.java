@@ -7,6 +7,8 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,15 +17,27 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tarefas_tb")
+@Table(name = "tarefas_tb", uniqueConstraints = @UniqueConstraint(name = Tarefa.UK_TITULO, columnNames = "titulo"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tarefa")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Tarefa {
+
+    public static final String UK_TITULO = "uk_tarefas_titulo";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    /**
+     * Controle otimista: duas edições da mesma versão (inclusive a partir de cópias do cache de
+     * segundo nível em instâncias diferentes) não se sobrescrevem; a segunda falha no commit.
+     */
+    @Version
+    @Column(name = "versao", nullable = false)
+    private long versao;
     
     @NotBlank(message = "O título é obrigatório")
     @Size(min = 3, max = 100, message = "O título deve ter entre 3 e 100 caracteres")
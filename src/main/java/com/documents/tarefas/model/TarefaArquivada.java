@@ -0,0 +1,122 @@
+package com.documents.tarefas.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tarefa concluída ou cancelada movida para fora de {@code tarefas_tb} pelo arquivamento.
+ * Mantém o id original, por isso implementa {@link Persistable}: a inserção não precisa
+ * de um SELECT prévio para decidir entre persist e merge.
+ */
+@Entity
+@Table(name = "tarefas_arquivadas_tb")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TarefaArquivada implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String titulo;
+
+    @Column(length = 500)
+    private String descricao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusTarefa status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PrioridadeTarefa prioridade;
+
+    @Column(name = "data_criacao")
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @Column(name = "data_conclusao")
+    private LocalDateTime dataConclusao;
+
+    @Column(name = "data_arquivamento", nullable = false)
+    private LocalDateTime dataArquivamento;
+
+    @Column(name = "usuario_responsavel", length = 100)
+    private String usuarioResponsavel;
+
+    @Column(name = "categoria", length = 50)
+    private String categoria;
+
+    @Column(name = "tags", length = 200)
+    private String tags;
+
+    @Column(name = "estimativa_horas")
+    private Integer estimativaHoras;
+
+    @Column(name = "tempo_real_horas")
+    private Integer tempoRealHoras;
+
+    @Column(name = "observacoes", length = 1000)
+    private String observacoes;
+
+    @Transient
+    private boolean nova = true;
+
+    public static TarefaArquivada de(Tarefa tarefa, LocalDateTime dataArquivamento) {
+        TarefaArquivada arquivada = new TarefaArquivada();
+        arquivada.setId(tarefa.getId());
+        arquivada.setTitulo(tarefa.getTitulo());
+        arquivada.setDescricao(tarefa.getDescricao());
+        arquivada.setStatus(tarefa.getStatus());
+        arquivada.setPrioridade(tarefa.getPrioridade());
+        arquivada.setDataCriacao(tarefa.getDataCriacao());
+        arquivada.setDataAtualizacao(tarefa.getDataAtualizacao());
+        arquivada.setDataConclusao(tarefa.getDataConclusao());
+        arquivada.setDataArquivamento(dataArquivamento);
+        arquivada.setUsuarioResponsavel(tarefa.getUsuarioResponsavel());
+        arquivada.setCategoria(tarefa.getCategoria());
+        arquivada.setTags(tarefa.getTags());
+        arquivada.setEstimativaHoras(tarefa.getEstimativaHoras());
+        arquivada.setTempoRealHoras(tarefa.getTempoRealHoras());
+        arquivada.setObservacoes(tarefa.getObservacoes());
+        return arquivada;
+    }
+
+    public Tarefa paraTarefa() {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setId(id);
+        tarefa.setTitulo(titulo);
+        tarefa.setDescricao(descricao);
+        tarefa.setStatus(status);
+        tarefa.setPrioridade(prioridade);
+        tarefa.setDataCriacao(dataCriacao);
+        tarefa.setDataAtualizacao(dataAtualizacao);
+        tarefa.setDataConclusao(dataConclusao);
+        tarefa.setUsuarioResponsavel(usuarioResponsavel);
+        tarefa.setCategoria(categoria);
+        tarefa.setTags(tags);
+        tarefa.setEstimativaHoras(estimativaHoras);
+        tarefa.setTempoRealHoras(tempoRealHoras);
+        tarefa.setObservacoes(observacoes);
+        return tarefa;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarComoPersistida() {
+        this.nova = false;
+    }
+}
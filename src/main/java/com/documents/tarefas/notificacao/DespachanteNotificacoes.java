@@ -0,0 +1,254 @@
+package com.documents.tarefas.notificacao;
+
+import com.documents.tarefas.config.NotificacoesProperties;
+import feign.FeignException;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envia as notificações de tarefa aos webhooks fora da thread da requisição:
+ * <ol>
+ *     <li>{@link #enfileirar} só ocupa uma vaga da fila limitada; sem vaga, a notificação é
+ *     descartada na hora;</li>
+ *     <li>uma thread agrupa a fila por destino e fecha o lote ao atingir {@code tamanhoLote} ou
+ *     depois de {@code esperaLote};</li>
+ *     <li>{@code threadsEnvio} threads enviam os lotes pelo {@link WebhookNotificacoesClient}, com
+ *     retentativas em backoff exponencial e um {@link Disjuntor} por destino.</li>
+ * </ol>
+ * A vaga só é devolvida quando a notificação é entregue ou descartada, então lotes esperando
+ * retentativa também contam na capacidade. Cada lote é enviado no contexto (trace) da requisição
+ * que gerou a sua primeira notificação.
+ */
+@Slf4j
+public class DespachanteNotificacoes {
+
+    private static final long TEMPO_ENCERRAMENTO_MS = 5_000;
+    private static final ContextSnapshotFactory CONTEXTO = ContextSnapshotFactory.builder().build();
+
+    private final WebhookNotificacoesClient cliente;
+    private final NotificacoesProperties properties;
+    private final BlockingQueue<Pendente> fila;
+    private final Semaphore vagas;
+    private final Map<URI, Disjuntor> disjuntores = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor envios;
+    private final Thread agrupador;
+
+    private final AtomicLong entregues = new AtomicLong();
+    private final AtomicLong descartadas = new AtomicLong();
+    private volatile boolean ativo = true;
+
+    public DespachanteNotificacoes(WebhookNotificacoesClient cliente, NotificacoesProperties properties) {
+        this.cliente = cliente;
+        this.properties = properties;
+        this.fila = new ArrayBlockingQueue<>(properties.getCapacidadeFila());
+        this.vagas = new Semaphore(properties.getCapacidadeFila());
+
+        this.envios = new ScheduledThreadPoolExecutor(properties.getThreadsEnvio(),
+                new CustomizableThreadFactory("notificacoes-envio-"));
+        // retentativas ainda agendadas no encerramento são descartadas
+        envios.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        CustomizableThreadFactory fabricaAgrupador = new CustomizableThreadFactory("notificacoes-agrupador-");
+        fabricaAgrupador.setDaemon(true);
+        this.agrupador = fabricaAgrupador.newThread(this::agrupar);
+        agrupador.start();
+    }
+
+    /**
+     * Não bloqueia: sem vaga, a notificação é descartada e o método devolve {@code false}.
+     */
+    public boolean enfileirar(URI destino, NotificacaoTarefa notificacao) {
+        if (!ativo || !vagas.tryAcquire()) {
+            descartadas.incrementAndGet();
+            log.warn("Fila de notificações cheia; descartando {} da tarefa {} para {}",
+                    notificacao.tipo(), notificacao.tarefaId(), destino);
+            return false;
+        }
+        // a vaga do semáforo garante espaço na fila
+        fila.add(new Pendente(destino, notificacao, CONTEXTO.captureAll()));
+        return true;
+    }
+
+    public long getEntregues() {
+        return entregues.get();
+    }
+
+    public long getDescartadas() {
+        return descartadas.get();
+    }
+
+    public int getPendentes() {
+        return properties.getCapacidadeFila() - vagas.availablePermits();
+    }
+
+    /**
+     * Envia os lotes ainda abertos e espera os envios em andamento; retentativas agendadas são
+     * descartadas.
+     */
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        long tempoMaximo = properties.getEsperaLote().toMillis() + TEMPO_ENCERRAMENTO_MS;
+        ativo = false;
+        agrupador.join(tempoMaximo);
+        envios.shutdown();
+        if (!envios.awaitTermination(tempoMaximo, TimeUnit.MILLISECONDS)) {
+            envios.shutdownNow();
+        }
+        int perdidas = getPendentes();
+        if (perdidas > 0) {
+            log.warn("Encerrando com {} notificações não entregues", perdidas);
+        }
+    }
+
+    // Agrupamento por destino
+
+    private void agrupar() {
+        long esperaNanos = properties.getEsperaLote().toNanos();
+        Map<URI, Lote> abertos = new LinkedHashMap<>();
+        while (ativo || !fila.isEmpty()) {
+            Pendente pendente;
+            try {
+                pendente = fila.poll(nanosAteProximoPrazo(abertos, esperaNanos), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (pendente != null) {
+                Lote lote = abertos.computeIfAbsent(pendente.destino(),
+                        destino -> new Lote(destino, System.nanoTime() + esperaNanos, pendente.contexto()));
+                lote.notificacoes().add(pendente.notificacao());
+                if (lote.notificacoes().size() >= properties.getTamanhoLote()) {
+                    abertos.remove(lote.destino());
+                    despachar(lote);
+                }
+            }
+
+            long agora = System.nanoTime();
+            abertos.values().removeIf(lote -> {
+                if (agora - lote.prazo() < 0) {
+                    return false;
+                }
+                despachar(lote);
+                return true;
+            });
+        }
+        abertos.values().forEach(this::despachar);
+    }
+
+    private long nanosAteProximoPrazo(Map<URI, Lote> abertos, long esperaNanos) {
+        long agora = System.nanoTime();
+        long espera = esperaNanos;
+        for (Lote lote : abertos.values()) {
+            espera = Math.min(espera, lote.prazo() - agora);
+        }
+        return Math.max(0, espera);
+    }
+
+    private void despachar(Lote lote) {
+        agendar(lote.destino(), List.copyOf(lote.notificacoes()), lote.contexto(), 1, 0);
+    }
+
+    // Envio, retentativas e disjuntor
+
+    private void enviar(URI destino, List<NotificacaoTarefa> lote, ContextSnapshot contexto, int tentativa) {
+        Disjuntor disjuntor = disjuntores.computeIfAbsent(destino, d -> new Disjuntor(
+                properties.getDisjuntor().getFalhasParaAbrir(), properties.getDisjuntor().getTempoAberto(),
+                System::nanoTime));
+        if (!disjuntor.permite()) {
+            // o destino não foi chamado, então não conta como tentativa
+            agendar(destino, lote, contexto, tentativa,
+                    Math.max(disjuntor.nanosAteLiberar(), properties.getBackoffInicial().toNanos()));
+            return;
+        }
+
+        try {
+            cliente.enviar(destino, lote);
+            disjuntor.registrarSucesso();
+            entregues.addAndGet(lote.size());
+            vagas.release(lote.size());
+            log.debug("Lote de {} notificações entregue a {}", lote.size(), destino);
+        } catch (RuntimeException e) {
+            if (rejeitadoPeloDestino(e)) {
+                // o destino respondeu: não é falha de disponibilidade, mas repetir não adianta
+                disjuntor.registrarSucesso();
+                descartar(destino, lote, "rejeitado pelo destino: " + e.getMessage());
+                return;
+            }
+            disjuntor.registrarFalha();
+            if (tentativa >= properties.getMaximoTentativas()) {
+                descartar(destino, lote, "tentativas esgotadas: " + e.getMessage());
+                return;
+            }
+            log.debug("Falha ao enviar lote a {} (tentativa {}): {}", destino, tentativa, e.getMessage());
+            agendar(destino, lote, contexto, tentativa + 1, backoffNanos(tentativa));
+        }
+    }
+
+    private void agendar(URI destino, List<NotificacaoTarefa> lote, ContextSnapshot contexto, int tentativa,
+            long atrasoNanos) {
+        try {
+            envios.schedule(contexto.wrap(() -> enviar(destino, lote, contexto, tentativa)),
+                    atrasoNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            descartar(destino, lote, "despachante encerrado");
+        }
+    }
+
+    /**
+     * Backoff exponencial a partir de {@code backoffInicial}, limitado a {@code backoffMaximo}, com
+     * metade do valor sorteada para os lotes de vários destinos não voltarem todos juntos.
+     */
+    private long backoffNanos(int tentativa) {
+        long inicial = properties.getBackoffInicial().toNanos();
+        long maximo = properties.getBackoffMaximo().toNanos();
+        long backoff = inicial << Math.min(tentativa - 1, 30);
+        if (backoff <= 0 || backoff > maximo) {
+            backoff = maximo;
+        }
+        long metade = backoff / 2;
+        return metade + ThreadLocalRandom.current().nextLong(metade + 1);
+    }
+
+    private static boolean rejeitadoPeloDestino(RuntimeException e) {
+        if (e instanceof FeignException feign) {
+            int status = feign.status();
+            return status >= 400 && status < 500 && status != 408 && status != 429;
+        }
+        return false;
+    }
+
+    private void descartar(URI destino, List<NotificacaoTarefa> lote, String motivo) {
+        descartadas.addAndGet(lote.size());
+        vagas.release(lote.size());
+        log.error("Descartando lote de {} notificações para {}: {}", lote.size(), destino, motivo);
+    }
+
+    private record Pendente(URI destino, NotificacaoTarefa notificacao, ContextSnapshot contexto) {
+    }
+
+    private record Lote(URI destino, long prazo, ContextSnapshot contexto, List<NotificacaoTarefa> notificacoes) {
+
+        Lote(URI destino, long prazo, ContextSnapshot contexto) {
+            this(destino, prazo, contexto, new ArrayList<>());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.documents.tarefas.notificacao;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuito de um destino de webhook. Depois de {@code falhasParaAbrir} falhas consecutivas o
+ * circuito abre e os envios são adiados sem chamar o destino; passado {@code tempoAberto}, um
+ * único envio de teste é liberado (meio aberto) e o resultado dele fecha ou reabre o circuito.
+ */
+final class Disjuntor {
+
+    enum Estado {
+        FECHADO,
+        ABERTO,
+        MEIO_ABERTO
+    }
+
+    private final int falhasParaAbrir;
+    private final long tempoAbertoNanos;
+    private final LongSupplier relogio;
+
+    private Estado estado = Estado.FECHADO;
+    private int falhasConsecutivas;
+    private long abertoAte;
+
+    Disjuntor(int falhasParaAbrir, Duration tempoAberto, LongSupplier relogio) {
+        this.falhasParaAbrir = Math.max(1, falhasParaAbrir);
+        this.tempoAbertoNanos = tempoAberto.toNanos();
+        this.relogio = relogio;
+    }
+
+    /**
+     * @return se o envio pode ser feito agora; no fim do tempo aberto, só a primeira chamada recebe
+     * {@code true}
+     */
+    synchronized boolean permite() {
+        if (estado == Estado.ABERTO && relogio.getAsLong() - abertoAte >= 0) {
+            estado = Estado.MEIO_ABERTO;
+            return true;
+        }
+        return estado == Estado.FECHADO;
+    }
+
+    synchronized void registrarSucesso() {
+        estado = Estado.FECHADO;
+        falhasConsecutivas = 0;
+    }
+
+    synchronized void registrarFalha() {
+        if (estado == Estado.MEIO_ABERTO || ++falhasConsecutivas >= falhasParaAbrir) {
+            estado = Estado.ABERTO;
+            abertoAte = relogio.getAsLong() + tempoAbertoNanos;
+            falhasConsecutivas = 0;
+        }
+    }
+
+    /**
+     * @return nanos até o circuito liberar um envio; 0 se fechado
+     */
+    synchronized long nanosAteLiberar() {
+        return estado == Estado.ABERTO ? Math.max(0, abertoAte - relogio.getAsLong()) : 0;
+    }
+
+    synchronized Estado estado() {
+        return estado;
+    }
+}
@@ -0,0 +1,14 @@
+package com.documents.tarefas.notificacao;
+
+import com.documents.tarefas.model.StatusTarefa;
+
+import java.time.LocalDateTime;
+
+/**
+ * Corpo de cada item do lote enviado aos webhooks.
+ *
+ * @param responsavelAnterior preenchido em {@link TipoNotificacao#RESPONSAVEL_ALTERADO}
+ */
+public record NotificacaoTarefa(TipoNotificacao tipo, Long tarefaId, String titulo, StatusTarefa status,
+                                String usuarioResponsavel, String responsavelAnterior, LocalDateTime ocorridaEm) {
+}
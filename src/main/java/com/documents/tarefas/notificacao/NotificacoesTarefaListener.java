@@ -0,0 +1,75 @@
+package com.documents.tarefas.notificacao;
+
+import com.documents.tarefas.config.NotificacoesProperties;
+import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import com.documents.tarefas.event.TipoAlteracao;
+import com.documents.tarefas.model.StatusTarefa;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Transforma as alterações confirmadas de tarefas em notificações para o sistema do responsável:
+ * troca de {@code usuarioResponsavel} (inclusive na criação) e passagem para {@code CONCLUIDA}.
+ * Roda depois do commit, na thread da requisição, e só enfileira no {@link DespachanteNotificacoes}.
+ */
+@Slf4j
+public class NotificacoesTarefaListener {
+
+    private final DespachanteNotificacoes despachante;
+    private final Map<String, URI> destinosPorUsuario = new HashMap<>();
+    private final URI destinoPadrao;
+
+    public NotificacoesTarefaListener(DespachanteNotificacoes despachante, NotificacoesProperties properties) {
+        this.despachante = despachante;
+        properties.getDestinos().forEach((nome, destino) -> {
+            URI url = URI.create(destino.getUrl());
+            destino.getUsuarios().forEach(usuario -> destinosPorUsuario.put(usuario, url));
+        });
+        String padrao = properties.getDestinoPadrao();
+        if (padrao == null || padrao.isBlank()) {
+            this.destinoPadrao = null;
+        } else if (properties.getDestinos().containsKey(padrao)) {
+            this.destinoPadrao = URI.create(properties.getDestinos().get(padrao).getUrl());
+        } else {
+            throw new IllegalStateException("tarefas.notificacoes.destino-padrao não está em destinos: " + padrao);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarTarefa(TarefaAlteradaEvent event) {
+        TarefaDTO anterior = event.anterior();
+        TarefaDTO atual = event.atual();
+        if (atual == null || (event.tipo() != TipoAlteracao.CRIACAO && event.tipo() != TipoAlteracao.ATUALIZACAO)) {
+            return;
+        }
+
+        String responsavelAnterior = anterior != null ? anterior.getUsuarioResponsavel() : null;
+        if (atual.getUsuarioResponsavel() != null && !Objects.equals(responsavelAnterior, atual.getUsuarioResponsavel())) {
+            notificar(TipoNotificacao.RESPONSAVEL_ALTERADO, atual, responsavelAnterior);
+        }
+        StatusTarefa statusAnterior = anterior != null ? anterior.getStatus() : null;
+        if (atual.getStatus() == StatusTarefa.CONCLUIDA && statusAnterior != StatusTarefa.CONCLUIDA) {
+            notificar(TipoNotificacao.TAREFA_CONCLUIDA, atual, null);
+        }
+    }
+
+    private void notificar(TipoNotificacao tipo, TarefaDTO tarefa, String responsavelAnterior) {
+        if (tarefa.getUsuarioResponsavel() == null) {
+            return;
+        }
+        URI destino = destinosPorUsuario.getOrDefault(tarefa.getUsuarioResponsavel(), destinoPadrao);
+        if (destino == null) {
+            log.debug("Usuário {} sem destino de notificação", tarefa.getUsuarioResponsavel());
+            return;
+        }
+        despachante.enfileirar(destino, new NotificacaoTarefa(tipo, tarefa.getId(), tarefa.getTitulo(),
+                tarefa.getStatus(), tarefa.getUsuarioResponsavel(), responsavelAnterior, LocalDateTime.now()));
+    }
+}
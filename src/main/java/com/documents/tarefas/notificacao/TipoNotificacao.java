@@ -0,0 +1,6 @@
+package com.documents.tarefas.notificacao;
+
+public enum TipoNotificacao {
+    RESPONSAVEL_ALTERADO,
+    TAREFA_CONCLUIDA
+}
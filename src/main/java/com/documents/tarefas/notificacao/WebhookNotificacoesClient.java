@@ -0,0 +1,20 @@
+package com.documents.tarefas.notificacao;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Webhook dos sistemas externos. O {@link URI} recebido substitui a URL do cliente, então um único
+ * cliente (e um único pool de conexões) atende todos os destinos.
+ */
+@FeignClient(name = "notificacoes-webhook", url = "${tarefas.notificacoes.url-base:http://localhost}")
+public interface WebhookNotificacoesClient {
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    void enviar(URI destino, @RequestBody List<NotificacaoTarefa> notificacoes);
+}
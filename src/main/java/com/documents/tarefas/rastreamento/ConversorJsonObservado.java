@@ -0,0 +1,44 @@
+package com.documents.tarefas.rastreamento;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor JSON do Spring MVC com uma observação em volta da escrita da resposta, para separar
+ * no trace o tempo de serialização (e de envio do corpo) do tempo do controller.
+ */
+public class ConversorJsonObservado extends MappingJackson2HttpMessageConverter {
+
+    static final String OBSERVACAO_SERIALIZACAO = "tarefas.serializacao";
+
+    private final ObservationRegistry registry;
+
+    public ConversorJsonObservado(ObjectMapper objectMapper, ObservationRegistry registry) {
+        super(objectMapper);
+        this.registry = registry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Observation observacao = Observation.createNotStarted(OBSERVACAO_SERIALIZACAO, registry)
+                .contextualName("json#escrever")
+                .lowCardinalityKeyValue("tipo", object.getClass().getSimpleName())
+                .start();
+        try (Observation.Scope ignorado = observacao.openScope()) {
+            super.writeInternal(object, type, outputMessage);
+        } catch (IOException | RuntimeException e) {
+            observacao.error(e);
+            throw e;
+        } finally {
+            observacao.stop();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.documents.tarefas.rastreamento;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exportador local: acrescenta cada span como uma linha JSON num arquivo, para depuração e
+ * testes sem um coletor OTLP. Registrado como bean, soma-se aos demais exportadores.
+ */
+@Slf4j
+public class ExportadorSpansArquivo implements SpanExporter {
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final Path arquivo;
+
+    public ExportadorSpansArquivo(Path arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try (Writer saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (SpanData span : spans) {
+                saida.write(json.writeValueAsString(linha(span)));
+                saida.write('\n');
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Não foi possível gravar {} spans em {}: {}", spans.size(), arquivo, e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private static Map<String, Object> linha(SpanData span) {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("traceId", span.getTraceId());
+        linha.put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            linha.put("parentSpanId", span.getParentSpanId());
+        }
+        linha.put("nome", span.getName());
+        linha.put("tipo", span.getKind().name());
+        linha.put("inicio", Instant.EPOCH.plusNanos(span.getStartEpochNanos()).toString());
+        linha.put("duracaoMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        linha.put("status", span.getStatus().getStatusCode().name());
+
+        Map<String, Object> atributos = new LinkedHashMap<>();
+        span.getAttributes().forEach((chave, valor) -> atributos.put(chave.getKey(), valor));
+        linha.put("atributos", atributos);
+        return linha;
+    }
+}
@@ -0,0 +1,114 @@
+package com.documents.tarefas.rastreamento;
+
+import com.documents.tarefas.repository.TarefaRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Abre uma observação (um span, com o tracing ligado, e um timer) para cada chamada de
+ * controller, de serviço e de método do {@link TarefaRepository}, com o nome
+ * {@code Classe#metodo}. As do repositório levam também o nome da consulta e, no span, o número
+ * de linhas devolvidas.
+ * <p>
+ * É o mais externo dos interceptores do serviço: rastreamento ({@code LOWEST_PRECEDENCE - 40}),
+ * cache ({@code - 30}), coalescência ({@code - 20}), compartimento ({@code - 10}) e transação.
+ * Assim o span do serviço registra também os acertos de cache, a espera por vaga e a transação.
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 40)
+public class RastreamentoAspect {
+
+    static final String OBSERVACAO_CONTROLLER = "tarefas.controller";
+    static final String OBSERVACAO_SERVICO = "tarefas.servico";
+    static final String OBSERVACAO_REPOSITORIO = "tarefas.repositorio";
+
+    private final ObservationRegistry registry;
+    private final Map<Method, Boolean> metodosRepositorio = new ConcurrentHashMap<>();
+
+    public RastreamentoAspect(ObservationRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object controller(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observar(OBSERVACAO_CONTROLLER, joinPoint, false);
+    }
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object servico(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observar(OBSERVACAO_SERVICO, joinPoint, false);
+    }
+
+    /**
+     * Cobre o repositório do Spring Data e as implementações alternativas (sharding, memória);
+     * outros métodos públicos dessas classes passam direto.
+     */
+    @Around("this(com.documents.tarefas.repository.TarefaRepository)")
+    public Object repositorio(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method metodo = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        boolean doRepositorio = metodosRepositorio.computeIfAbsent(metodo,
+                m -> ClassUtils.hasMethod(TarefaRepository.class, m.getName(), m.getParameterTypes()));
+        if (!doRepositorio) {
+            return joinPoint.proceed();
+        }
+        return observar(OBSERVACAO_REPOSITORIO, joinPoint, true);
+    }
+
+    private Object observar(String nome, ProceedingJoinPoint joinPoint, boolean consulta) throws Throwable {
+        MethodSignature assinatura = (MethodSignature) joinPoint.getSignature();
+        String classe = consulta ? TarefaRepository.class.getSimpleName() : assinatura.getDeclaringType().getSimpleName();
+        String metodo = assinatura.getName();
+
+        Observation observacao = Observation.createNotStarted(nome, registry)
+                .contextualName(classe + "#" + metodo)
+                .lowCardinalityKeyValue("classe", classe)
+                .lowCardinalityKeyValue("metodo", metodo);
+        if (consulta) {
+            observacao.lowCardinalityKeyValue("db.consulta", metodo);
+        }
+        observacao.start();
+        try (Observation.Scope ignorado = observacao.openScope()) {
+            Object resultado = joinPoint.proceed();
+            Integer linhas = consulta ? linhas(resultado) : null;
+            if (linhas != null) {
+                observacao.highCardinalityKeyValue("db.linhas", String.valueOf(linhas));
+            }
+            return resultado;
+        } catch (Throwable e) {
+            observacao.error(e);
+            throw e;
+        } finally {
+            observacao.stop();
+        }
+    }
+
+    /**
+     * Linhas devolvidas por uma consulta; {@code null} para contagens e operações sem resultado.
+     */
+    static Integer linhas(Object resultado) {
+        if (resultado instanceof Slice<?> pagina) {
+            return pagina.getNumberOfElements();
+        }
+        if (resultado instanceof Collection<?> colecao) {
+            return colecao.size();
+        }
+        if (resultado instanceof Optional<?> opcional) {
+            return opcional.isPresent() ? 1 : 0;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,238 @@
+package com.documents.tarefas.recarga;
+
+import com.documents.tarefas.datasource.ContextoRoteamento;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Estrutura em memória derivada do banco (grafo, índice, filtro) que é montada por inteiro numa
+ * recarga e então trocada pela atual, sem bloquear as leituras. Alterações feitas enquanto uma
+ * recarga está em andamento são aplicadas também à estrutura em construção.
+ * <p>
+ * A carga pode ler uma linha antes do commit de uma alteração e gravá-la depois que a alteração
+ * já foi aplicada, desfazendo-a. Estruturas em que isso importa informam a chave de cada
+ * alteração e gravam cada lote lido por {@link #carregarLote}, que pula as chaves alteradas desde
+ * o início da recarga: o estado delas já veio das alterações. As variantes sem chave servem para
+ * estruturas em que a carga não desfaz nada (um filtro que só cresce, um índice com versões).
+ * A carga deve ler fora da transação do chamador, para que cada lote veja os commits recentes.
+ * <p>
+ * Alterações seguram a leitura de um {@link ReadWriteLock} e a troca, a escrita: uma alteração
+ * vê as duas estruturas antes da troca ou só a nova depois dela, nunca a antiga já descartada.
+ * A carga em si roda sem o lock.
+ */
+public class EstruturaRecarregavel<T> {
+
+    private volatile T atual;
+    // em recarga: recebe as alterações feitas durante a carga
+    private volatile T proximo;
+    private final ReadWriteLock troca = new ReentrantReadWriteLock();
+    // chaves alteradas desde o início da recarga; o monitor também separa os lotes da carga das alterações
+    private final Set<Object> alteradasNaRecarga = new HashSet<>();
+
+    /**
+     * Estrutura em uso; {@code null} antes da primeira carga ou depois de {@link #descartar()}.
+     */
+    public T atual() {
+        return atual;
+    }
+
+    /**
+     * Estrutura em uso, montada por {@code carregar} se ainda não houver nenhuma; chamadas
+     * simultâneas aguardam a mesma carga.
+     */
+    public T obter(Runnable carregar) {
+        T valor = atual;
+        if (valor == null) {
+            synchronized (this) {
+                if (atual == null) {
+                    carregar.run();
+                }
+                valor = atual;
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Preenche {@code nova} com {@code carga} e, se a carga devolver {@code true}, a coloca no
+     * lugar da atual. Uma recarga por vez; se a carga falhar, a estrutura atual continua em uso.
+     */
+    public synchronized boolean recarregar(T nova, Predicate<T> carga) {
+        publicar(() -> proximo = nova);
+        try {
+            if (!carga.test(nova)) {
+                return false;
+            }
+            publicar(() -> {
+                atual = nova;
+                proximo = null;
+            });
+            return true;
+        } finally {
+            if (proximo != null) {
+                publicar(() -> proximo = null);
+            }
+            synchronized (alteradasNaRecarga) {
+                alteradasNaRecarga.clear();
+            }
+        }
+    }
+
+    /**
+     * Envolve a carga para rodar fora da transação do chamador e com leituras no primário: cada
+     * lote vê os commits feitos até ele, e não o snapshot da primeira consulta da transação nem
+     * uma réplica atrasada.
+     */
+    public static <T> Predicate<T> foraDaTransacao(PlatformTransactionManager transactionManager, Predicate<T> carga) {
+        TransactionTemplate suspensa = new TransactionTemplate(transactionManager);
+        suspensa.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        return nova -> Boolean.TRUE.equals(ContextoRoteamento.executarNoPrimario(
+                () -> suspensa.execute(status -> carga.test(nova))));
+    }
+
+    public void descartar() {
+        atual = null;
+    }
+
+    /**
+     * Aplica a alteração à estrutura em uso e à que está em construção.
+     */
+    public void aplicar(Consumer<T> alteracao) {
+        aplicar(null, alteracao);
+    }
+
+    /**
+     * {@link #aplicar(Consumer)} de uma alteração que define o estado de {@code chave}: a carga em
+     * andamento deixa de gravar essa chave.
+     */
+    public void aplicar(Object chave, Consumer<T> alteracao) {
+        alterar(emUso -> {
+            if (emUso != null) {
+                alteracao.accept(emUso);
+            }
+            aplicarNaRecarga(chave, alteracao);
+            return null;
+        });
+    }
+
+    /**
+     * Executa {@code alteracao} sobre a estrutura em uso ({@code null} se não houver) sem que ela
+     * seja trocada no meio, para quem altera a atual e depois repassa a alteração com
+     * {@link #aplicarNaRecarga}. Não deve carregar a estrutura: chame {@link #obter} antes.
+     */
+    public <R> R alterar(Function<T, R> alteracao) {
+        troca.readLock().lock();
+        try {
+            return alteracao.apply(atual);
+        } finally {
+            troca.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica a alteração só à estrutura em construção, para quem já alterou a atual; chamada
+     * dentro de {@link #alterar}, não se perde numa troca concorrente.
+     */
+    public void aplicarNaRecarga(Consumer<T> alteracao) {
+        aplicarNaRecarga(null, alteracao);
+    }
+
+    /**
+     * {@link #aplicarNaRecarga(Consumer)} de uma alteração que define o estado de {@code chave}.
+     */
+    public void aplicarNaRecarga(Object chave, Consumer<T> alteracao) {
+        troca.readLock().lock();
+        try {
+            T emConstrucao = proximo;
+            if (emConstrucao != null) {
+                synchronized (alteradasNaRecarga) {
+                    if (chave != null) {
+                        alteradasNaRecarga.add(chave);
+                    }
+                    alteracao.accept(emConstrucao);
+                }
+            }
+        } finally {
+            troca.readLock().unlock();
+        }
+    }
+
+    /**
+     * Grava na estrutura em construção um lote lido pela carga. {@code lote} recebe o teste das
+     * chaves alteradas desde o início da recarga e deve pular as linhas delas; nenhuma alteração
+     * é aplicada enquanto o lote é gravado.
+     */
+    public void carregarLote(Consumer<Predicate<Object>> lote) {
+        synchronized (alteradasNaRecarga) {
+            lote.accept(alteradasNaRecarga::contains);
+        }
+    }
+
+    /**
+     * {@link #aplicar} depois do commit da transação corrente, ou na hora se não houver transação.
+     */
+    public void aplicarAposConfirmar(Consumer<T> alteracao) {
+        aplicarAposConfirmar(null, alteracao);
+    }
+
+    /**
+     * {@link #aplicarAposConfirmar(Consumer)} de uma alteração que define o estado de {@code chave}.
+     */
+    public void aplicarAposConfirmar(Object chave, Consumer<T> alteracao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aplicar(chave, alteracao);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                aplicar(chave, alteracao);
+            }
+        });
+    }
+
+    /**
+     * Se a transação corrente não confirmar, aplica {@code desfazer} à estrutura em uso e à que
+     * estiver em construção. Sem transação, não faz nada.
+     */
+    public void desfazerSeNaoConfirmar(Consumer<T> desfazer) {
+        desfazerSeNaoConfirmar(null, desfazer);
+    }
+
+    /**
+     * {@link #desfazerSeNaoConfirmar(Consumer)} de uma alteração que define o estado de {@code chave}.
+     */
+    public void desfazerSeNaoConfirmar(Object chave, Consumer<T> desfazer) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    aplicar(chave, desfazer);
+                }
+            }
+        });
+    }
+
+    private void publicar(Runnable mudanca) {
+        troca.writeLock().lock();
+        try {
+            mudanca.run();
+        } finally {
+            troca.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.documents.tarefas.repository;
+
+import com.documents.tarefas.model.DependenciaTarefa;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DependenciaTarefaRepository extends JpaRepository<DependenciaTarefa, Long> {
+
+       Optional<DependenciaTarefa> findByTarefaIdAndBloqueadoraId(Long tarefaId, Long bloqueadoraId);
+
+       /**
+        * Carga do grafo em memória por chave, sem {@code OFFSET}.
+        */
+       List<DependenciaTarefa> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+       @Modifying
+       @Query("DELETE FROM DependenciaTarefa d WHERE d.tarefaId = :tarefaId OR d.bloqueadoraId = :tarefaId")
+       int deleteAllByTarefa(@Param("tarefaId") Long tarefaId);
+}
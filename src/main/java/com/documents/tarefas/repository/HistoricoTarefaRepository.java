@@ -0,0 +1,47 @@
+package com.documents.tarefas.repository;
+
+import com.documents.tarefas.model.HistoricoTarefa;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface HistoricoTarefaRepository extends JpaRepository<HistoricoTarefa, Long> {
+
+       /**
+        * Leitura com lock: enxerga a última entrada confirmada mesmo que a transação tenha
+        * começado antes dela (o snapshot do REPEATABLE READ ainda não a mostraria).
+        */
+       @Lock(LockModeType.PESSIMISTIC_WRITE)
+       @Query("SELECT h FROM HistoricoTarefa h WHERE h.tarefaId = :tarefaId ORDER BY h.id DESC")
+       List<HistoricoTarefa> findUltimas(@Param("tarefaId") Long tarefaId, Pageable pageable);
+
+       /**
+        * Página do histórico, da entrada mais nova para a mais antiga, a partir de {@code cursor}
+        * (exclusivo; {@code null} para a primeira página).
+        */
+       @Query("SELECT h FROM HistoricoTarefa h WHERE h.tarefaId = :tarefaId AND " +
+                     "(:cursor IS NULL OR h.id < :cursor) ORDER BY h.id DESC")
+       List<HistoricoTarefa> findPagina(@Param("tarefaId") Long tarefaId,
+                     @Param("cursor") Long cursor,
+                     Pageable pageable);
+
+       @Query("SELECT h FROM HistoricoTarefa h WHERE h.tarefaId = :tarefaId AND h.estado IS NOT NULL " +
+                     "AND h.ocorridaEm <= :instante ORDER BY h.id DESC")
+       List<HistoricoTarefa> findSnapshotsAte(@Param("tarefaId") Long tarefaId,
+                     @Param("instante") LocalDateTime instante,
+                     Pageable pageable);
+
+       @Query("SELECT h FROM HistoricoTarefa h WHERE h.tarefaId = :tarefaId AND h.id > :aposId " +
+                     "AND h.ocorridaEm <= :instante ORDER BY h.id")
+       List<HistoricoTarefa> findEntradasApos(@Param("tarefaId") Long tarefaId,
+                     @Param("aposId") Long aposId,
+                     @Param("instante") LocalDateTime instante);
+}
@@ -0,0 +1,85 @@
+package com.documents.tarefas.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Combina páginas ordenadas vindas de várias fontes (shards, tabela quente + arquivo)
+ * em uma única página. Cada fonte deve ser consultada com {@link #paginaPorFonte}, que
+ * pede as primeiras {@code offset + size} linhas na mesma ordem; o resultado é um
+ * merge k-way que descarta o offset global.
+ */
+public final class MesclagemPaginas {
+
+       private MesclagemPaginas() {
+       }
+
+       public static Sort ordenacaoEfetiva(Pageable pageable, Sort ordemPadrao) {
+              return pageable.getSort().isSorted() ? pageable.getSort() : ordemPadrao;
+       }
+
+       public static Pageable paginaPorFonte(Pageable pageable, Sort ordemPadrao) {
+              if (pageable.isUnpaged()) {
+                     return pageable;
+              }
+              return PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()),
+                            ordenacaoEfetiva(pageable, ordemPadrao));
+       }
+
+       public static <T> Page<T> mesclar(List<? extends Page<T>> paginas, Pageable pageable,
+                     Comparator<? super T> comparador) {
+              long total = 0;
+              PriorityQueue<Cursor<T>> fila = new PriorityQueue<>(Math.max(paginas.size(), 1),
+                            (a, b) -> comparador.compare(a.atual, b.atual));
+              for (Page<T> pagina : paginas) {
+                     total += pagina.getTotalElements();
+                     Cursor<T> cursor = new Cursor<>(pagina.getContent().iterator());
+                     if (cursor.avancar()) {
+                            fila.add(cursor);
+                     }
+              }
+
+              long pular = pageable.isPaged() ? pageable.getOffset() : 0;
+              int limite = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+              List<T> conteudo = new ArrayList<>(pageable.isPaged() ? limite : 16);
+              while (!fila.isEmpty() && conteudo.size() < limite) {
+                     Cursor<T> cursor = fila.poll();
+                     if (pular > 0) {
+                            pular--;
+                     } else {
+                            conteudo.add(cursor.atual);
+                     }
+                     if (cursor.avancar()) {
+                            fila.add(cursor);
+                     }
+              }
+
+              return new PageImpl<>(conteudo, pageable, total);
+       }
+
+       private static final class Cursor<T> {
+              private final Iterator<T> iterator;
+              private T atual;
+
+              private Cursor(Iterator<T> iterator) {
+                     this.iterator = iterator;
+              }
+
+              private boolean avancar() {
+                     if (!iterator.hasNext()) {
+                            return false;
+                     }
+                     atual = iterator.next();
+                     return true;
+              }
+       }
+}
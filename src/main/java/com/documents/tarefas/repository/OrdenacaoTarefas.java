@@ -0,0 +1,58 @@
+package com.documents.tarefas.repository;
+
+import com.documents.tarefas.model.Tarefa;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Reproduz em memória a ordenação de um {@link Sort}, para combinar resultados que vieram
+ * de consultas separadas. Nulos ficam primeiro em ordem ascendente e por último em
+ * descendente, como no MySQL.
+ */
+public final class OrdenacaoTarefas {
+
+       private OrdenacaoTarefas() {
+       }
+
+       public static Comparator<Tarefa> comparador(Sort sort) {
+              return comparador(sort, (tarefa, propriedade) -> new BeanWrapperImpl(tarefa).getPropertyValue(propriedade));
+       }
+
+       public static Comparator<Map<String, Object>> comparadorDeCampos(Sort sort) {
+              return comparador(sort, Map::get);
+       }
+
+       public static <T> Comparator<T> comparador(Sort sort, BiFunction<T, String, Object> extrator) {
+              Comparator<T> comparador = (a, b) -> 0;
+              for (Sort.Order ordem : sort) {
+                     Comparator<Object> naoNulos = ordem.isIgnoreCase()
+                                   ? OrdenacaoTarefas::compararIgnorandoCaixa
+                                   : OrdenacaoTarefas::comparar;
+                     Comparator<Object> valores = Comparator.nullsFirst(naoNulos);
+                     if (ordem.isDescending()) {
+                            valores = valores.reversed();
+                     }
+                     Comparator<Object> porPropriedade = valores;
+                     comparador = comparador.thenComparing(
+                                   (a, b) -> porPropriedade.compare(extrator.apply(a, ordem.getProperty()),
+                                                 extrator.apply(b, ordem.getProperty())));
+              }
+              return comparador;
+       }
+
+       @SuppressWarnings({ "unchecked", "rawtypes" })
+       private static int comparar(Object a, Object b) {
+              return ((Comparable) a).compareTo(b);
+       }
+
+       private static int compararIgnorandoCaixa(Object a, Object b) {
+              if (a instanceof String textoA && b instanceof String textoB) {
+                     return textoA.compareToIgnoreCase(textoB);
+              }
+              return comparar(a, b);
+       }
+}
@@ -0,0 +1,26 @@
+package com.documents.tarefas.repository;
+
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.model.TarefaArquivada;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TarefaArquivadaRepository extends JpaRepository<TarefaArquivada, Long> {
+
+       @Query("SELECT t FROM TarefaArquivada t WHERE " +
+                     "(:status IS NULL OR t.status = :status) AND " +
+                     "(:prioridade IS NULL OR t.prioridade = :prioridade) AND " +
+                     "(:usuario IS NULL OR t.usuarioResponsavel = :usuario) AND " +
+                     "(:categoria IS NULL OR t.categoria = :categoria)")
+       Page<TarefaArquivada> findByFiltros(@Param("status") StatusTarefa status,
+                     @Param("prioridade") PrioridadeTarefa prioridade,
+                     @Param("usuario") String usuario,
+                     @Param("categoria") String categoria,
+                     Pageable pageable);
+}
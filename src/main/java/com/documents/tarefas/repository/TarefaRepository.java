@@ -5,68 +5,88 @@ import com.documents.tarefas.model.StatusTarefa;
 import com.documents.tarefas.model.Tarefa;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
-import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-@Repository
-public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
+/**
+ * Operações sobre {@code tarefas_tb} de que os serviços dependem. Implementada pelo repositório
+ * do Spring Data ({@link TarefaRepositoryJpa}), pelo particionado e pelo armazenamento em
+ * memória, e cada implementação atende a todas; operações do {@code JpaRepository} que não
+ * estão aqui ficam restritas ao repositório JPA.
+ */
+public interface TarefaRepository extends TarefaRepositoryCustom {
 
-       List<Tarefa> findByStatus(StatusTarefa status);
+       // Escrita
 
-       List<Tarefa> findByPrioridade(PrioridadeTarefa prioridade);
+       <S extends Tarefa> S save(S tarefa);
 
-       List<Tarefa> findByUsuarioResponsavel(String usuarioResponsavel);
+       <S extends Tarefa> List<S> saveAll(Iterable<S> tarefas);
+
+       void deleteById(Long id);
+
+       void deleteAllByIdInBatch(Iterable<Long> ids);
+
+       /**
+        * Envia as escritas pendentes, para que violações de constraint apareçam antes do commit.
+        */
+       void flush();
+
+       // Busca por chave
+
+       Optional<Tarefa> findById(Long id);
+
+       boolean existsById(Long id);
+
+       List<Tarefa> findAllById(Iterable<Long> ids);
 
-       List<Tarefa> findByCategoria(String categoria);
+       // Consultas
 
-       List<Tarefa> findByStatusAndPrioridade(StatusTarefa status, PrioridadeTarefa prioridade);
+       long count();
 
-       @Query("SELECT t FROM Tarefa t WHERE t.status = :status ORDER BY " +
-                     "CASE t.prioridade " +
-                     "WHEN 'URGENTE' THEN 1 " +
-                     "WHEN 'ALTA' THEN 2 " +
-                     "WHEN 'MEDIA' THEN 3 " +
-                     "WHEN 'BAIXA' THEN 4 " +
-                     "END, t.dataCriacao ASC")
-       List<Tarefa> findByStatusOrderByPrioridadeAndDataCriacao(@Param("status") StatusTarefa status);
+       Page<Tarefa> findAll(Pageable pageable);
 
-       @Query("SELECT t FROM Tarefa t WHERE t.dataCriacao BETWEEN :dataInicio AND :dataFim")
-       List<Tarefa> findByPeriodo(@Param("dataInicio") LocalDateTime dataInicio,
-                     @Param("dataFim") LocalDateTime dataFim);
+       List<Tarefa> findByStatus(StatusTarefa status);
+
+       List<Tarefa> findByPrioridade(PrioridadeTarefa prioridade);
+
+       List<Tarefa> findByUsuarioResponsavel(String usuarioResponsavel);
 
-       @Query("SELECT t FROM Tarefa t WHERE LOWER(t.titulo) LIKE LOWER(CONCAT('%', :texto, '%')) " +
-                     "OR LOWER(t.descricao) LIKE LOWER(CONCAT('%', :texto, '%'))")
-       Page<Tarefa> findByTexto(@Param("texto") String texto, Pageable pageable);
+       List<Tarefa> findByStatusOrderByPrioridadeAndDataCriacao(StatusTarefa status);
 
-       @Query("SELECT t FROM Tarefa t WHERE t.status = 'PENDENTE' " +
-                     "AND t.estimativaHoras IS NOT NULL " +
-                     "AND t.dataCriacao < :dataLimite")
-       List<Tarefa> findTarefasVencidas(@Param("dataLimite") LocalDateTime dataLimite);
+       Page<Tarefa> findByTexto(String texto, Pageable pageable);
+
+       List<Tarefa> findTarefasVencidas(LocalDateTime dataLimite);
 
-       @Query("SELECT t.status, COUNT(t) FROM Tarefa t GROUP BY t.status")
        List<Object[]> countByStatus();
 
-       @Query("SELECT t.prioridade, COUNT(t) FROM Tarefa t GROUP BY t.prioridade")
        List<Object[]> countByPrioridade();
 
-       @Query("SELECT t FROM Tarefa t WHERE " +
-                     "(:status IS NULL OR t.status = :status) AND " +
-                     "(:prioridade IS NULL OR t.prioridade = :prioridade) AND " +
-                     "(:usuario IS NULL OR t.usuarioResponsavel = :usuario) AND " +
-                     "(:categoria IS NULL OR t.categoria = :categoria)")
-       Page<Tarefa> findByFiltros(@Param("status") StatusTarefa status,
-                     @Param("prioridade") PrioridadeTarefa prioridade,
-                     @Param("usuario") String usuario,
-                     @Param("categoria") String categoria,
+       Page<Tarefa> findByFiltros(StatusTarefa status,
+                     PrioridadeTarefa prioridade,
+                     String usuario,
+                     String categoria,
                      Pageable pageable);
 
+       List<Tarefa> findArquivaveis(Collection<StatusTarefa> status, LocalDateTime dataLimite, Pageable pageable);
+
+       /**
+        * Tarefas com um dos status e id maior que {@code ultimo}, em ordem de id: percorre a tabela
+        * por chave (keyset), sem o custo crescente do OFFSET. Usa só o tamanho da página.
+        */
+       List<Tarefa> findTarefasApos(Collection<StatusTarefa> status, long ultimo, Pageable pageable);
+
        boolean existsByTitulo(String titulo);
 
-       Optional<Tarefa> findByTitulo(String titulo);
+       List<String> findTitulosExistentes(Collection<String> titulos);
+
+       List<String> findTitulosApos(String ultimo, Pageable pageable);
+
+       /**
+        * Tarefas cujo título começa com {@code prefixo}, em ordem de título: percorre só a faixa do
+        * índice único de {@code titulo}. Usa só o tamanho da página.
+        */
+       List<Tarefa> findByTituloStartingWithOrderByTitulo(String prefixo, Pageable pageable);
 }
@@ -0,0 +1,25 @@
+package com.documents.tarefas.repository;
+
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Consultas com projeção dinâmica: apenas os atributos pedidos em {@code campos}
+ * entram no SELECT. Cada linha é devolvida como mapa atributo → valor.
+ */
+public interface TarefaRepositoryCustom {
+
+       Page<Map<String, Object>> findCamposByFiltros(Set<String> campos,
+                     StatusTarefa status,
+                     PrioridadeTarefa prioridade,
+                     String usuario,
+                     String categoria,
+                     Pageable pageable);
+
+       Page<Map<String, Object>> findCamposByTexto(Set<String> campos, String texto, Pageable pageable);
+}
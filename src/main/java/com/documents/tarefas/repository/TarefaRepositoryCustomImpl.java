@@ -0,0 +1,106 @@
+package com.documents.tarefas.repository;
+
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.model.Tarefa;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+public class TarefaRepositoryCustomImpl implements TarefaRepositoryCustom {
+
+       @PersistenceContext
+       private EntityManager entityManager;
+
+       @Override
+       public Page<Map<String, Object>> findCamposByFiltros(Set<String> campos,
+                     StatusTarefa status,
+                     PrioridadeTarefa prioridade,
+                     String usuario,
+                     String categoria,
+                     Pageable pageable) {
+              return buscarCampos(campos, pageable, (cb, root) -> {
+                     List<Predicate> predicados = new ArrayList<>();
+                     if (status != null) {
+                            predicados.add(cb.equal(root.get("status"), status));
+                     }
+                     if (prioridade != null) {
+                            predicados.add(cb.equal(root.get("prioridade"), prioridade));
+                     }
+                     if (usuario != null) {
+                            predicados.add(cb.equal(root.get("usuarioResponsavel"), usuario));
+                     }
+                     if (categoria != null) {
+                            predicados.add(cb.equal(root.get("categoria"), categoria));
+                     }
+                     return cb.and(predicados.toArray(new Predicate[0]));
+              });
+       }
+
+       @Override
+       public Page<Map<String, Object>> findCamposByTexto(Set<String> campos, String texto, Pageable pageable) {
+              String padrao = "%" + texto.toLowerCase() + "%";
+              return buscarCampos(campos, pageable, (cb, root) -> cb.or(
+                            cb.like(cb.lower(root.<String>get("titulo")), padrao),
+                            cb.like(cb.lower(root.<String>get("descricao")), padrao)));
+       }
+
+       private Page<Map<String, Object>> buscarCampos(Set<String> campos,
+                     Pageable pageable,
+                     BiFunction<CriteriaBuilder, Root<Tarefa>, Predicate> filtro) {
+              CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+              CriteriaQuery<Tuple> query = cb.createTupleQuery();
+              Root<Tarefa> root = query.from(Tarefa.class);
+              List<Selection<?>> selecoes = new ArrayList<>(campos.size());
+              for (String campo : campos) {
+                     selecoes.add(root.get(campo).alias(campo));
+              }
+              query.multiselect(selecoes).where(filtro.apply(cb, root));
+              if (pageable.getSort().isSorted()) {
+                     query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+              }
+
+              TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+              if (pageable.isPaged()) {
+                     typedQuery.setFirstResult((int) pageable.getOffset());
+                     typedQuery.setMaxResults(pageable.getPageSize());
+              }
+
+              List<Map<String, Object>> linhas = new ArrayList<>();
+              for (Tuple tuple : typedQuery.getResultList()) {
+                     Map<String, Object> linha = new LinkedHashMap<>();
+                     for (String campo : campos) {
+                            linha.put(campo, tuple.get(campo));
+                     }
+                     linhas.add(linha);
+              }
+
+              return PageableExecutionUtils.getPage(linhas, pageable, () -> contar(filtro));
+       }
+
+       private long contar(BiFunction<CriteriaBuilder, Root<Tarefa>, Predicate> filtro) {
+              CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+              CriteriaQuery<Long> query = cb.createQuery(Long.class);
+              Root<Tarefa> root = query.from(Tarefa.class);
+              query.select(cb.count(root)).where(filtro.apply(cb, root));
+              return entityManager.createQuery(query).getSingleResult();
+       }
+}
@@ -0,0 +1,247 @@
+package com.documents.tarefas.repository.memoria;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Persistência do {@link TarefaRepositoryMemoria} em dois arquivos de linhas JSON:
+ * <ul>
+ *     <li>{@code tarefas.wal}: diário só de acréscimo, uma linha por tarefa gravada ou excluída,
+ *     escrito antes de a alteração valer em memória;</li>
+ *     <li>{@code tarefas.snapshot}: todas as tarefas num instante, escrito num arquivo temporário e
+ *     renomeado de forma atômica; depois dele o diário é esvaziado.</li>
+ * </ul>
+ * Cada linha do diário tem um número de sequência e o snapshot guarda o último incluído, então uma
+ * queda entre a renomeação e o esvaziamento do diário não reaplica nada. Uma última linha
+ * incompleta (queda no meio de uma escrita) é descartada na recuperação.
+ */
+@Slf4j
+final class DiarioTarefas implements Closeable {
+
+       static final String ARQUIVO_DIARIO = "tarefas.wal";
+       static final String ARQUIVO_SNAPSHOT = "tarefas.snapshot";
+
+       private final ObjectMapper json = new ObjectMapper()
+                     .registerModule(new JavaTimeModule())
+                     .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+       private final Path diretorio;
+       private final boolean sincronizarEscritas;
+       private FileChannel diario;
+       private long sequencia;
+       private long entradasDesdeSnapshot;
+
+       DiarioTarefas(Path diretorio, boolean sincronizarEscritas) {
+              this.diretorio = diretorio;
+              this.sincronizarEscritas = sincronizarEscritas;
+       }
+
+       enum Operacao {
+              GRAVAR,
+              EXCLUIR
+       }
+
+       record Entrada(long seq, Operacao op, RegistroTarefa tarefa, Long id) {
+       }
+
+       record Cabecalho(long seq, long proximoId) {
+       }
+
+       /**
+        * Lê o snapshot e reaplica o diário, abrindo-o para novas escritas.
+        *
+        * @return próximo id a ser gerado
+        */
+       long recuperar(Consumer<RegistroTarefa> gravar, LongConsumer excluir) throws IOException {
+              Files.createDirectories(diretorio);
+              long proximoId = 1;
+              long seqSnapshot = 0;
+
+              Path snapshot = diretorio.resolve(ARQUIVO_SNAPSHOT);
+              if (Files.exists(snapshot)) {
+                     try (var linhas = Files.newBufferedReader(snapshot, StandardCharsets.UTF_8)) {
+                            Cabecalho cabecalho = json.readValue(linhas.readLine(), Cabecalho.class);
+                            seqSnapshot = cabecalho.seq();
+                            proximoId = cabecalho.proximoId();
+                            for (String linha = linhas.readLine(); linha != null; linha = linhas.readLine()) {
+                                   gravar.accept(json.readValue(linha, RegistroTarefa.class));
+                            }
+                     }
+              }
+              sequencia = seqSnapshot;
+
+              Path arquivoDiario = diretorio.resolve(ARQUIVO_DIARIO);
+              byte[] conteudo = Files.exists(arquivoDiario) ? Files.readAllBytes(arquivoDiario) : new byte[0];
+              int inicio = 0;
+              int reaplicadas = 0;
+              for (int fim = indiceQuebra(conteudo, 0); fim >= 0; fim = indiceQuebra(conteudo, inicio)) {
+                     Entrada entrada = json.readValue(conteudo, inicio, fim - inicio, Entrada.class);
+                     inicio = fim + 1;
+                     if (entrada.seq() <= seqSnapshot) {
+                            continue;
+                     }
+                     if (entrada.op() == Operacao.GRAVAR) {
+                            gravar.accept(entrada.tarefa());
+                            proximoId = Math.max(proximoId, entrada.tarefa().id() + 1);
+                     } else {
+                            excluir.accept(entrada.id());
+                     }
+                     sequencia = entrada.seq();
+                     entradasDesdeSnapshot++;
+                     reaplicadas++;
+              }
+
+              diario = FileChannel.open(arquivoDiario, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+              if (inicio < conteudo.length) {
+                     log.warn("Descartando {} bytes incompletos no fim de {}", conteudo.length - inicio, arquivoDiario);
+                     diario.truncate(inicio);
+                     diario.force(false);
+              }
+              diario.position(inicio);
+
+              log.info("Armazenamento em memória recuperado de {}: snapshot até a entrada {}, {} entradas do diário reaplicadas",
+                            diretorio, seqSnapshot, reaplicadas);
+              return proximoId;
+       }
+
+       void gravar(Collection<RegistroTarefa> tarefas) {
+              long sequenciaAnterior = sequencia;
+              StringBuilder linhas = new StringBuilder();
+              for (RegistroTarefa tarefa : tarefas) {
+                     linhas.append(escrever(new Entrada(++sequencia, Operacao.GRAVAR, tarefa, null))).append('\n');
+              }
+              acrescentar(linhas, tarefas.size(), sequenciaAnterior);
+       }
+
+       void excluir(Collection<Long> ids) {
+              long sequenciaAnterior = sequencia;
+              StringBuilder linhas = new StringBuilder();
+              for (Long id : ids) {
+                     linhas.append(escrever(new Entrada(++sequencia, Operacao.EXCLUIR, null, id))).append('\n');
+              }
+              acrescentar(linhas, ids.size(), sequenciaAnterior);
+       }
+
+       long entradasDesdeSnapshot() {
+              return entradasDesdeSnapshot;
+       }
+
+       /**
+        * Grava todas as tarefas e esvazia o diário. Quem chama garante que nenhuma escrita acontece
+        * durante o snapshot.
+        */
+       synchronized void snapshot(MapaLongo<RegistroTarefa> tarefas, long proximoId) {
+              Path temporario = diretorio.resolve(ARQUIVO_SNAPSHOT + ".tmp");
+              try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                   Writer saida = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(canal),
+                                 StandardCharsets.UTF_8), 1 << 16)) {
+                     saida.write(escrever(new Cabecalho(sequencia, proximoId)));
+                     saida.write('\n');
+                     try {
+                            tarefas.forEach(tarefa -> {
+                                   try {
+                                          saida.write(escrever(tarefa));
+                                          saida.write('\n');
+                                   } catch (IOException e) {
+                                          throw new UncheckedIOException(e);
+                                   }
+                            });
+                     } catch (UncheckedIOException e) {
+                            throw e.getCause();
+                     }
+                     saida.flush();
+                     canal.force(true);
+              } catch (IOException e) {
+                     throw new UncheckedIOException("Falha ao gravar o snapshot em " + temporario, e);
+              }
+
+              try {
+                     Files.move(temporario, diretorio.resolve(ARQUIVO_SNAPSHOT),
+                                   StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                     diario.truncate(0);
+                     diario.position(0);
+                     diario.force(true);
+              } catch (IOException e) {
+                     throw new UncheckedIOException("Falha ao substituir o snapshot em " + diretorio, e);
+              }
+              log.info("Snapshot do armazenamento em memória gravado: {} tarefas, até a entrada {}", tarefas.size(), sequencia);
+              entradasDesdeSnapshot = 0;
+       }
+
+       @Override
+       public void close() throws IOException {
+              if (diario != null) {
+                     diario.close();
+              }
+       }
+
+       private void acrescentar(CharSequence linhas, int entradas, long sequenciaAnterior) {
+              ByteBuffer bytes = StandardCharsets.UTF_8.encode(linhas.toString());
+              long posicaoAnterior = -1;
+              try {
+                     posicaoAnterior = diario.position();
+                     while (bytes.hasRemaining()) {
+                            diario.write(bytes);
+                     }
+                     if (sincronizarEscritas) {
+                            diario.force(false);
+                     }
+              } catch (IOException e) {
+                     // a alteração não vale em memória, então também não pode ficar no diário
+                     sequencia = sequenciaAnterior;
+                     desfazer(posicaoAnterior);
+                     throw new UncheckedIOException("Falha ao gravar no diário de " + diretorio, e);
+              }
+              entradasDesdeSnapshot += entradas;
+       }
+
+       private void desfazer(long posicao) {
+              if (posicao < 0) {
+                     return;
+              }
+              try {
+                     diario.truncate(posicao);
+                     diario.position(posicao);
+              } catch (IOException e) {
+                     log.error("Não foi possível desfazer a escrita parcial no diário de {}", diretorio, e);
+              }
+       }
+
+       private String escrever(Object valor) {
+              try {
+                     return json.writeValueAsString(valor);
+              } catch (IOException e) {
+                     throw new UncheckedIOException(e);
+              }
+       }
+
+       private static int indiceQuebra(byte[] conteudo, int inicio) {
+              for (int i = inicio; i < conteudo.length; i++) {
+                     if (conteudo[i] == '\n') {
+                            return i;
+                     }
+              }
+              return -1;
+       }
+}
@@ -0,0 +1,143 @@
+package com.documents.tarefas.repository.memoria;
+
+import java.util.function.Consumer;
+
+/**
+ * Mapa de chave {@code long} com endereçamento aberto (sondagem linear), sem boxing das chaves
+ * nem um objeto de entrada por elemento. Não é thread-safe: o {@link TarefaRepositoryMemoria}
+ * protege as escritas com lock. Chaves precisam ser positivas (0 marca posição vazia).
+ * <p>
+ * {@link #get} copia os arrays para variáveis locais antes de percorrê-los, então uma leitura
+ * otimista concorrente com uma escrita pode devolver lixo ou lançar exceção, mas sempre termina;
+ * quem chama valida a leitura e a refaz com lock.
+ */
+final class MapaLongo<V> {
+
+       private static final long VAZIO = 0L;
+
+       private long[] chaves;
+       private Object[] valores;
+       private int tamanho;
+
+       MapaLongo(int capacidadeInicial) {
+              int capacidade = Integer.highestOneBit(Math.max(16, capacidadeInicial) * 2 - 1);
+              this.chaves = new long[capacidade];
+              this.valores = new Object[capacidade];
+       }
+
+       @SuppressWarnings("unchecked")
+       V get(long chave) {
+              if (chave <= 0) {
+                     return null;
+              }
+              long[] c = chaves;
+              Object[] v = valores;
+              int mascara = c.length - 1;
+              for (int i = indice(chave, mascara), sondagens = 0; sondagens <= mascara; i = (i + 1) & mascara, sondagens++) {
+                     long atual = c[i];
+                     if (atual == chave) {
+                            return (V) v[i];
+                     }
+                     if (atual == VAZIO) {
+                            return null;
+                     }
+              }
+              return null;
+       }
+
+       @SuppressWarnings("unchecked")
+       V put(long chave, V valor) {
+              if (chave <= 0) {
+                     throw new IllegalArgumentException("Chave deve ser positiva: " + chave);
+              }
+              if ((tamanho + 1) * 2 > chaves.length) {
+                     redimensionar(chaves.length * 2);
+              }
+              int mascara = chaves.length - 1;
+              int i = indice(chave, mascara);
+              while (chaves[i] != VAZIO) {
+                     if (chaves[i] == chave) {
+                            V anterior = (V) valores[i];
+                            valores[i] = valor;
+                            return anterior;
+                     }
+                     i = (i + 1) & mascara;
+              }
+              chaves[i] = chave;
+              valores[i] = valor;
+              tamanho++;
+              return null;
+       }
+
+       /**
+        * Remove sem deixar marcadores: as chaves seguintes do mesmo agrupamento são recuadas
+        * para que as buscas continuem parando na primeira posição vazia.
+        */
+       @SuppressWarnings("unchecked")
+       V remove(long chave) {
+              if (chave <= 0) {
+                     return null;
+              }
+              int mascara = chaves.length - 1;
+              int i = indice(chave, mascara);
+              while (chaves[i] != chave) {
+                     if (chaves[i] == VAZIO) {
+                            return null;
+                     }
+                     i = (i + 1) & mascara;
+              }
+              V anterior = (V) valores[i];
+
+              for (int j = (i + 1) & mascara; chaves[j] != VAZIO; j = (j + 1) & mascara) {
+                     int ideal = indice(chaves[j], mascara);
+                     boolean permanece = i <= j ? (i < ideal && ideal <= j) : (i < ideal || ideal <= j);
+                     if (!permanece) {
+                            chaves[i] = chaves[j];
+                            valores[i] = valores[j];
+                            i = j;
+                     }
+              }
+              chaves[i] = VAZIO;
+              valores[i] = null;
+              tamanho--;
+              return anterior;
+       }
+
+       int size() {
+              return tamanho;
+       }
+
+       @SuppressWarnings("unchecked")
+       void forEach(Consumer<? super V> acao) {
+              for (int i = 0; i < chaves.length; i++) {
+                     if (chaves[i] != VAZIO) {
+                            acao.accept((V) valores[i]);
+                     }
+              }
+       }
+
+       private void redimensionar(int capacidade) {
+              long[] chavesAntigas = chaves;
+              Object[] valoresAntigos = valores;
+              long[] novasChaves = new long[capacidade];
+              Object[] novosValores = new Object[capacidade];
+              int mascara = capacidade - 1;
+              for (int i = 0; i < chavesAntigas.length; i++) {
+                     if (chavesAntigas[i] != VAZIO) {
+                            int j = indice(chavesAntigas[i], mascara);
+                            while (novasChaves[j] != VAZIO) {
+                                   j = (j + 1) & mascara;
+                            }
+                            novasChaves[j] = chavesAntigas[i];
+                            novosValores[j] = valoresAntigos[i];
+                     }
+              }
+              valores = novosValores;
+              chaves = novasChaves;
+       }
+
+       private static int indice(long chave, int mascara) {
+              long h = chave * 0x9E3779B97F4A7C15L;
+              return (int) (h ^ (h >>> 32)) & mascara;
+       }
+}
@@ -0,0 +1,91 @@
+package com.documents.tarefas.repository.memoria;
+
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.model.Tarefa;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.util.TypeInformation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cópia imutável de uma {@link Tarefa} guardada pelo {@link TarefaRepositoryMemoria}. Por ser
+ * imutável, pode ser lida sem lock e entregue a quem chama convertida em uma entidade nova, como
+ * faria uma leitura do banco; é também o formato gravado no diário e no snapshot.
+ */
+record RegistroTarefa(long id,
+                      long versao,
+                      String titulo,
+                      String descricao,
+                      StatusTarefa status,
+                      PrioridadeTarefa prioridade,
+                      LocalDateTime dataCriacao,
+                      LocalDateTime dataAtualizacao,
+                      LocalDateTime dataConclusao,
+                      String usuarioResponsavel,
+                      String categoria,
+                      String tags,
+                      Integer estimativaHoras,
+                      Integer tempoRealHoras,
+                      String observacoes) {
+
+       /**
+        * @param id              id já atribuído (a entidade pode ainda não ter um)
+        * @param versao          como {@code @Version}: 0 na inserção, a anterior mais 1 nas seguintes
+        * @param dataCriacao     como {@code @CreationTimestamp}: a da primeira gravação
+        * @param dataAtualizacao como {@code @UpdateTimestamp}: a desta gravação
+        */
+       static RegistroTarefa de(Tarefa tarefa, long id, long versao, LocalDateTime dataCriacao,
+                     LocalDateTime dataAtualizacao) {
+              return new RegistroTarefa(id, versao, tarefa.getTitulo(), tarefa.getDescricao(), tarefa.getStatus(),
+                            tarefa.getPrioridade(), dataCriacao, dataAtualizacao, tarefa.getDataConclusao(),
+                            tarefa.getUsuarioResponsavel(), tarefa.getCategoria(), tarefa.getTags(),
+                            tarefa.getEstimativaHoras(), tarefa.getTempoRealHoras(), tarefa.getObservacoes());
+       }
+
+       Tarefa paraTarefa() {
+              Tarefa tarefa = new Tarefa();
+              tarefa.setId(id);
+              tarefa.setVersao(versao);
+              tarefa.setTitulo(titulo);
+              tarefa.setDescricao(descricao);
+              tarefa.setStatus(status);
+              tarefa.setPrioridade(prioridade);
+              tarefa.setDataCriacao(dataCriacao);
+              tarefa.setDataAtualizacao(dataAtualizacao);
+              tarefa.setDataConclusao(dataConclusao);
+              tarefa.setUsuarioResponsavel(usuarioResponsavel);
+              tarefa.setCategoria(categoria);
+              tarefa.setTags(tags);
+              tarefa.setEstimativaHoras(estimativaHoras);
+              tarefa.setTempoRealHoras(tempoRealHoras);
+              tarefa.setObservacoes(observacoes);
+              return tarefa;
+       }
+
+       /**
+        * Valor do atributo de {@link Tarefa} com o nome informado, para ordenação e projeções.
+        */
+       Object valor(String propriedade) {
+              return switch (propriedade) {
+                     case "id" -> id;
+                     case "versao" -> versao;
+                     case "titulo" -> titulo;
+                     case "descricao" -> descricao;
+                     case "status" -> status;
+                     case "prioridade" -> prioridade;
+                     case "dataCriacao" -> dataCriacao;
+                     case "dataAtualizacao" -> dataAtualizacao;
+                     case "dataConclusao" -> dataConclusao;
+                     case "usuarioResponsavel" -> usuarioResponsavel;
+                     case "categoria" -> categoria;
+                     case "tags" -> tags;
+                     case "estimativaHoras" -> estimativaHoras;
+                     case "tempoRealHoras" -> tempoRealHoras;
+                     case "observacoes" -> observacoes;
+                     // mesma exceção do Spring Data JPA para um atributo de ordenação inexistente
+                     default -> throw new PropertyReferenceException(propriedade, TypeInformation.of(Tarefa.class), List.of());
+              };
+       }
+}
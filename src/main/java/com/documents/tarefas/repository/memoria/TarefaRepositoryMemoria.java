@@ -0,0 +1,590 @@
+package com.documents.tarefas.repository.memoria;
+
+import com.documents.tarefas.filtro.FiltroTitulos;
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.model.Tarefa;
+import com.documents.tarefas.repository.MesclagemPaginas;
+import com.documents.tarefas.repository.OrdenacaoTarefas;
+import com.documents.tarefas.repository.TarefaRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * {@link TarefaRepository} inteiramente em memória, para
+ * instalações sem banco dedicado e leituras de baixa latência:
+ * <ul>
+ *     <li>as tarefas ficam num {@link MapaLongo} por id, como {@link RegistroTarefa} imutáveis;</li>
+ *     <li>status, prioridade, usuário, categoria e título têm índices secundários, e as consultas
+ *     com filtro partem do menor índice aplicável;</li>
+ *     <li>cada escrita vai para o {@link DiarioTarefas} antes de valer em memória, com snapshots
+ *     periódicos, e a subida reconstrói o estado a partir deles.</li>
+ * </ul>
+ * Escritas são serializadas por um {@link StampedLock}; {@link #findById} usa leitura otimista e
+ * só pega o lock se uma escrita acontecer no meio. Gravações valem na hora e não acompanham o
+ * rollback da transação do JPA; exclusões feitas numa transação só valem após o commit. O título
+ * é único, como na constraint {@link Tarefa#UK_TITULO}, e a versão é conferida como o
+ * {@code @Version} do JPA: gravar uma cópia desatualizada falha.
+ */
+public class TarefaRepositoryMemoria implements TarefaRepository, DisposableBean {
+
+       private static final Sort ORDEM_ID = Sort.by("id");
+
+       private static final List<PrioridadeTarefa> ORDEM_PRIORIDADE = List.of(
+                     PrioridadeTarefa.URGENTE, PrioridadeTarefa.ALTA, PrioridadeTarefa.MEDIA, PrioridadeTarefa.BAIXA);
+
+       private final StampedLock lock = new StampedLock();
+       private final MapaLongo<RegistroTarefa> tarefas;
+       private final Map<StatusTarefa, Set<Long>> porStatus = new EnumMap<>(StatusTarefa.class);
+       private final Map<PrioridadeTarefa, Set<Long>> porPrioridade = new EnumMap<>(PrioridadeTarefa.class);
+       private final Map<String, Set<Long>> porUsuario = new HashMap<>();
+       private final Map<String, Set<Long>> porCategoria = new HashMap<>();
+       // chave FiltroTitulos.normalizar: a collation do MySQL ignora caixa e acentos na unicidade
+       private final NavigableMap<String, Long> porTitulo = new TreeMap<>();
+       private final DiarioTarefas diario;
+       private final long entradasPorSnapshot;
+       private long proximoId;
+
+       public TarefaRepositoryMemoria(Path diretorio, boolean sincronizarEscritas, long entradasPorSnapshot,
+                     int capacidadeInicial) throws IOException {
+              this.tarefas = new MapaLongo<>(capacidadeInicial);
+              this.entradasPorSnapshot = entradasPorSnapshot;
+              this.diario = new DiarioTarefas(diretorio, sincronizarEscritas);
+              this.proximoId = diario.recuperar(this::aplicarGravacao, this::aplicarExclusao);
+       }
+
+       // Leituras por id
+
+       @Override
+       public Optional<Tarefa> findById(Long id) {
+              long carimbo = lock.tryOptimisticRead();
+              if (carimbo != 0) {
+                     try {
+                            RegistroTarefa registro = tarefas.get(id);
+                            if (lock.validate(carimbo)) {
+                                   return Optional.ofNullable(registro).map(RegistroTarefa::paraTarefa);
+                            }
+                     } catch (RuntimeException e) {
+                            // leitura concorrente com uma escrita: refeita abaixo com lock
+                     }
+              }
+              return ler(() -> Optional.ofNullable(tarefas.get(id)).map(RegistroTarefa::paraTarefa));
+       }
+
+       @Override
+       public boolean existsById(Long id) {
+              return ler(() -> tarefas.get(id) != null);
+       }
+
+       @Override
+       public List<Tarefa> findAllById(Iterable<Long> ids) {
+              List<Long> lista = new ArrayList<>();
+              ids.forEach(lista::add);
+              return paraTarefas(ler(() -> porIds(lista)));
+       }
+
+       @Override
+       public long count() {
+              return ler(tarefas::size);
+       }
+
+       // Consultas
+
+       @Override
+       public Page<Tarefa> findAll(Pageable pageable) {
+              return paginar(ler(this::todos), pageable, RegistroTarefa::paraTarefa);
+       }
+
+       @Override
+       public List<Tarefa> findByStatus(StatusTarefa status) {
+              return paraTarefas(ordenar(ler(() -> filtrar(status, null, null, null)), ORDEM_ID));
+       }
+
+       @Override
+       public List<Tarefa> findByPrioridade(PrioridadeTarefa prioridade) {
+              return paraTarefas(ordenar(ler(() -> filtrar(null, prioridade, null, null)), ORDEM_ID));
+       }
+
+       @Override
+       public List<Tarefa> findByUsuarioResponsavel(String usuarioResponsavel) {
+              return paraTarefas(ordenar(ler(() -> filtrar(null, null, usuarioResponsavel, null)), ORDEM_ID));
+       }
+
+       @Override
+       public List<Tarefa> findByStatusOrderByPrioridadeAndDataCriacao(StatusTarefa status) {
+              List<RegistroTarefa> registros = ler(() -> filtrar(status, null, null, null));
+              registros.sort(Comparator.<RegistroTarefa>comparingInt(registro -> ORDEM_PRIORIDADE.indexOf(registro.prioridade()))
+                            .thenComparing(RegistroTarefa::dataCriacao, Comparator.nullsFirst(Comparator.naturalOrder())));
+              return paraTarefas(registros);
+       }
+
+       @Override
+       public Page<Tarefa> findByTexto(String texto, Pageable pageable) {
+              return paginar(ler(() -> selecionar(contendo(texto))), pageable, RegistroTarefa::paraTarefa);
+       }
+
+       @Override
+       public List<Tarefa> findTarefasVencidas(LocalDateTime dataLimite) {
+              List<RegistroTarefa> pendentes = ler(() -> filtrar(StatusTarefa.PENDENTE, null, null, null));
+              pendentes.removeIf(registro -> registro.estimativaHoras() == null || registro.dataCriacao() == null
+                            || !registro.dataCriacao().isBefore(dataLimite));
+              return paraTarefas(ordenar(pendentes, ORDEM_ID));
+       }
+
+       @Override
+       public List<Object[]> countByStatus() {
+              return ler(() -> contar(porStatus));
+       }
+
+       @Override
+       public List<Object[]> countByPrioridade() {
+              return ler(() -> contar(porPrioridade));
+       }
+
+       @Override
+       public Page<Tarefa> findByFiltros(StatusTarefa status, PrioridadeTarefa prioridade, String usuario,
+                     String categoria, Pageable pageable) {
+              return paginar(ler(() -> filtrar(status, prioridade, usuario, categoria)), pageable, RegistroTarefa::paraTarefa);
+       }
+
+       @Override
+       public List<Tarefa> findArquivaveis(Collection<StatusTarefa> status, LocalDateTime dataLimite,
+                     Pageable pageable) {
+              List<RegistroTarefa> arquivaveis = ler(() -> {
+                     Set<Long> ids = new HashSet<>();
+                     status.forEach(s -> ids.addAll(porStatus.getOrDefault(s, Set.of())));
+                     return porIds(ids);
+              });
+              arquivaveis.removeIf(registro -> {
+                     LocalDateTime referencia = registro.dataConclusao() != null
+                                   ? registro.dataConclusao()
+                                   : registro.dataAtualizacao();
+                     return referencia == null || !referencia.isBefore(dataLimite);
+              });
+              return paginar(arquivaveis, pageable, RegistroTarefa::paraTarefa).getContent();
+       }
+
+       @Override
+       public List<Tarefa> findTarefasApos(Collection<StatusTarefa> status, long ultimo, Pageable pageable) {
+              return paraTarefas(ler(() -> {
+                     List<Long> ids = new ArrayList<>();
+                     status.forEach(s -> porStatus.getOrDefault(s, Set.of()).stream()
+                                   .filter(id -> id > ultimo)
+                                   .forEach(ids::add));
+                     return porIds(ids.stream()
+                                   .sorted()
+                                   .limit(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE)
+                                   .collect(Collectors.toList()));
+              }));
+       }
+
+       @Override
+       public boolean existsByTitulo(String titulo) {
+              return ler(() -> porTitulo.containsKey(FiltroTitulos.normalizar(titulo)));
+       }
+
+       @Override
+       public List<String> findTitulosExistentes(Collection<String> titulos) {
+              return ler(() -> titulos.stream()
+                            .filter(titulo -> porTitulo.containsKey(FiltroTitulos.normalizar(titulo)))
+                            .distinct()
+                            .collect(Collectors.toList()));
+       }
+
+       @Override
+       public List<String> findTitulosApos(String ultimo, Pageable pageable) {
+              return ler(() -> porTitulo.tailMap(FiltroTitulos.normalizar(ultimo), false).values().stream()
+                            .limit(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE)
+                            .map(id -> tarefas.get(id).titulo())
+                            .collect(Collectors.toList()));
+       }
+
+       @Override
+       public List<Tarefa> findByTituloStartingWithOrderByTitulo(String prefixo, Pageable pageable) {
+              String inicio = FiltroTitulos.normalizar(prefixo);
+              return paraTarefas(ler(() -> porIds(porTitulo.subMap(inicio, true, inicio + Character.MAX_VALUE, false).values().stream()
+                            .limit(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE)
+                            .collect(Collectors.toList()))));
+       }
+
+       @Override
+       public Page<Map<String, Object>> findCamposByFiltros(Set<String> campos, StatusTarefa status,
+                     PrioridadeTarefa prioridade, String usuario, String categoria, Pageable pageable) {
+              return paginar(ler(() -> filtrar(status, prioridade, usuario, categoria)), pageable,
+                            registro -> projetar(registro, campos));
+       }
+
+       @Override
+       public Page<Map<String, Object>> findCamposByTexto(Set<String> campos, String texto, Pageable pageable) {
+              return paginar(ler(() -> selecionar(contendo(texto))), pageable, registro -> projetar(registro, campos));
+       }
+
+       // Escritas
+
+       @Override
+       public <S extends Tarefa> S save(S entity) {
+              gravar(List.of(entity));
+              return entity;
+       }
+
+       @Override
+       public <S extends Tarefa> List<S> saveAll(Iterable<S> entities) {
+              List<S> lista = new ArrayList<>();
+              entities.forEach(lista::add);
+              gravar(lista);
+              return lista;
+       }
+
+       @Override
+       public void deleteById(Long id) {
+              excluirAposCommit(List.of(id));
+       }
+
+       @Override
+       public void deleteAllByIdInBatch(Iterable<Long> ids) {
+              List<Long> lista = new ArrayList<>();
+              ids.forEach(lista::add);
+              excluirAposCommit(lista);
+       }
+
+       @Override
+       public void flush() {
+              // cada escrita já está no diário quando o método que a fez retorna
+       }
+
+       /**
+        * Snapshot periódico, além do disparado por {@code entradasPorSnapshot}. Bloqueia as escritas
+        * (não as leituras) enquanto grava.
+        */
+       @Scheduled(fixedDelayString = "${tarefas.armazenamento-memoria.intervalo-snapshot:PT5M}")
+       public void gravarSnapshot() {
+              long carimbo = lock.readLock();
+              try {
+                     if (diario.entradasDesdeSnapshot() > 0) {
+                            diario.snapshot(tarefas, proximoId);
+                     }
+              } finally {
+                     lock.unlockRead(carimbo);
+              }
+       }
+
+       @Override
+       public void destroy() throws IOException {
+              gravarSnapshot();
+              diario.close();
+       }
+
+       /**
+        * Diário em uso; fechá-lo sem {@link #destroy()} simula uma queda nos testes.
+        */
+       DiarioTarefas diario() {
+              return diario;
+       }
+
+       private void gravar(List<? extends Tarefa> entidades) {
+              long carimbo = lock.writeLock();
+              try {
+                     long novoId = proximoId;
+                     long[] ids = new long[entidades.size()];
+                     long[] versoes = new long[entidades.size()];
+                     Map<String, Long> titulosDoLote = new HashMap<>();
+                     Map<Long, Long> versoesDoLote = new HashMap<>();
+                     for (int i = 0; i < ids.length; i++) {
+                            Tarefa entidade = entidades.get(i);
+                            validarObrigatorios(entidade);
+                            RegistroTarefa atual = entidade.getId() != null ? tarefas.get(entidade.getId()) : null;
+                            ids[i] = atual != null ? entidade.getId() : novoId++;
+                            if (atual != null) {
+                                   long versaoAtual = versoesDoLote.getOrDefault(ids[i], atual.versao());
+                                   if (entidade.getVersao() != versaoAtual) {
+                                          throw new ObjectOptimisticLockingFailureException(Tarefa.class, ids[i]);
+                                   }
+                                   versoes[i] = versaoAtual + 1;
+                                   versoesDoLote.put(ids[i], versoes[i]);
+                            }
+
+                            String chaveTitulo = FiltroTitulos.normalizar(entidade.getTitulo());
+                            Long dono = porTitulo.get(chaveTitulo);
+                            Long donoNoLote = titulosDoLote.put(chaveTitulo, ids[i]);
+                            if ((dono != null && dono != ids[i]) || (donoNoLote != null && donoNoLote != ids[i])) {
+                                   throw tituloDuplicado(entidade.getTitulo());
+                            }
+                     }
+
+                     LocalDateTime agora = LocalDateTime.now();
+                     List<RegistroTarefa> registros = new ArrayList<>(ids.length);
+                     for (int i = 0; i < ids.length; i++) {
+                            RegistroTarefa anterior = tarefas.get(ids[i]);
+                            registros.add(RegistroTarefa.de(entidades.get(i), ids[i], versoes[i],
+                                          anterior != null ? anterior.dataCriacao() : agora, agora));
+                     }
+
+                     diario.gravar(registros);
+                     registros.forEach(this::aplicarGravacao);
+                     proximoId = novoId;
+
+                     // como o persist do JPA: a própria entidade recebe id, versão e datas
+                     for (int i = 0; i < ids.length; i++) {
+                            Tarefa entidade = entidades.get(i);
+                            entidade.setId(ids[i]);
+                            entidade.setVersao(versoes[i]);
+                            entidade.setDataCriacao(registros.get(i).dataCriacao());
+                            entidade.setDataAtualizacao(agora);
+                     }
+                     snapshotSeNecessario();
+              } finally {
+                     lock.unlockWrite(carimbo);
+              }
+       }
+
+       /**
+        * Dentro de uma transação, a exclusão só vale depois do commit: o que foi gravado no banco
+        * na mesma transação (a cópia do arquivamento, o histórico) é confirmado antes, e um
+        * rollback mantém a tarefa.
+        */
+       private void excluirAposCommit(List<Long> ids) {
+              if (!TransactionSynchronizationManager.isSynchronizationActive()
+                            || !TransactionSynchronizationManager.isActualTransactionActive()) {
+                     excluir(ids);
+                     return;
+              }
+              TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                     @Override
+                     public int getOrder() {
+                            // antes dos listeners AFTER_COMMIT, que invalidam caches
+                            return Ordered.HIGHEST_PRECEDENCE;
+                     }
+
+                     @Override
+                     public void afterCommit() {
+                            excluir(ids);
+                     }
+              });
+       }
+
+       private void excluir(Collection<Long> ids) {
+              long carimbo = lock.writeLock();
+              try {
+                     List<Long> existentes = ids.stream()
+                                   .filter(id -> id != null && tarefas.get(id) != null)
+                                   .distinct()
+                                   .collect(Collectors.toList());
+                     if (existentes.isEmpty()) {
+                            return;
+                     }
+                     diario.excluir(existentes);
+                     existentes.forEach(this::aplicarExclusao);
+                     snapshotSeNecessario();
+              } finally {
+                     lock.unlockWrite(carimbo);
+              }
+       }
+
+       private void snapshotSeNecessario() {
+              if (diario.entradasDesdeSnapshot() >= entradasPorSnapshot) {
+                     diario.snapshot(tarefas, proximoId);
+              }
+       }
+
+       private void aplicarGravacao(RegistroTarefa registro) {
+              RegistroTarefa anterior = tarefas.put(registro.id(), registro);
+              if (anterior != null) {
+                     desindexar(anterior);
+              }
+              indexar(registro);
+       }
+
+       private void aplicarExclusao(long id) {
+              RegistroTarefa anterior = tarefas.remove(id);
+              if (anterior != null) {
+                     desindexar(anterior);
+              }
+       }
+
+       private void indexar(RegistroTarefa registro) {
+              adicionar(porStatus, registro.status(), registro.id());
+              adicionar(porPrioridade, registro.prioridade(), registro.id());
+              adicionar(porUsuario, registro.usuarioResponsavel(), registro.id());
+              adicionar(porCategoria, registro.categoria(), registro.id());
+              porTitulo.put(FiltroTitulos.normalizar(registro.titulo()), registro.id());
+       }
+
+       private void desindexar(RegistroTarefa registro) {
+              remover(porStatus, registro.status(), registro.id());
+              remover(porPrioridade, registro.prioridade(), registro.id());
+              remover(porUsuario, registro.usuarioResponsavel(), registro.id());
+              remover(porCategoria, registro.categoria(), registro.id());
+              porTitulo.remove(FiltroTitulos.normalizar(registro.titulo()), registro.id());
+       }
+
+       private static <K> void adicionar(Map<K, Set<Long>> indice, K chave, long id) {
+              if (chave != null) {
+                     indice.computeIfAbsent(chave, c -> new HashSet<>()).add(id);
+              }
+       }
+
+       private static <K> void remover(Map<K, Set<Long>> indice, K chave, long id) {
+              Set<Long> ids = chave != null ? indice.get(chave) : null;
+              if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                     indice.remove(chave);
+              }
+       }
+
+       /**
+        * Mesmas colunas NOT NULL de {@code tarefas_tb}.
+        */
+       private static void validarObrigatorios(Tarefa tarefa) {
+              if (tarefa.getTitulo() == null || tarefa.getStatus() == null || tarefa.getPrioridade() == null) {
+                     throw new DataIntegrityViolationException("titulo, status e prioridade são obrigatórios");
+              }
+       }
+
+       /**
+        * Mesma exceção que a constraint única do banco geraria, para o {@code TarefaService}
+        * traduzi-la em 409.
+        */
+       private static DataIntegrityViolationException tituloDuplicado(String titulo) {
+              String mensagem = "Título duplicado: " + titulo;
+              return new DataIntegrityViolationException(mensagem,
+                            new ConstraintViolationException(mensagem, null, Tarefa.UK_TITULO));
+       }
+
+       // Auxiliares de leitura: os métodos abaixo que acessam o estado rodam dentro de ler()
+
+       private <T> T ler(Supplier<T> leitura) {
+              long carimbo = lock.readLock();
+              try {
+                     return leitura.get();
+              } finally {
+                     lock.unlockRead(carimbo);
+              }
+       }
+
+       private List<RegistroTarefa> todos() {
+              List<RegistroTarefa> registros = new ArrayList<>(tarefas.size());
+              tarefas.forEach(registros::add);
+              return registros;
+       }
+
+       private List<RegistroTarefa> porIds(Collection<Long> ids) {
+              List<RegistroTarefa> registros = new ArrayList<>(ids.size());
+              for (Long id : ids) {
+                     RegistroTarefa registro = tarefas.get(id);
+                     if (registro != null) {
+                            registros.add(registro);
+                     }
+              }
+              return registros;
+       }
+
+       private List<RegistroTarefa> selecionar(Predicate<RegistroTarefa> filtro) {
+              List<RegistroTarefa> registros = new ArrayList<>();
+              tarefas.forEach(registro -> {
+                     if (filtro.test(registro)) {
+                            registros.add(registro);
+                     }
+              });
+              return registros;
+       }
+
+       /**
+        * Parte do menor índice entre os filtros informados e confere os demais em cada registro.
+        */
+       private List<RegistroTarefa> filtrar(StatusTarefa status, PrioridadeTarefa prioridade, String usuario,
+                     String categoria) {
+              Set<Long> menor = null;
+              for (Set<Long> indice : Arrays.asList(
+                            status != null ? porStatus.getOrDefault(status, Set.of()) : null,
+                            prioridade != null ? porPrioridade.getOrDefault(prioridade, Set.of()) : null,
+                            usuario != null ? porUsuario.getOrDefault(usuario, Set.of()) : null,
+                            categoria != null ? porCategoria.getOrDefault(categoria, Set.of()) : null)) {
+                     if (indice != null && (menor == null || indice.size() < menor.size())) {
+                            menor = indice;
+                     }
+              }
+
+              List<RegistroTarefa> registros = menor != null ? porIds(menor) : todos();
+              registros.removeIf(registro -> (status != null && registro.status() != status)
+                            || (prioridade != null && registro.prioridade() != prioridade)
+                            || (usuario != null && !usuario.equals(registro.usuarioResponsavel()))
+                            || (categoria != null && !categoria.equals(registro.categoria())));
+              return registros;
+       }
+
+       private static <K> List<Object[]> contar(Map<K, Set<Long>> indice) {
+              List<Object[]> contagem = new ArrayList<>(indice.size());
+              indice.forEach((chave, ids) -> contagem.add(new Object[] { chave, (long) ids.size() }));
+              return contagem;
+       }
+
+       private static Predicate<RegistroTarefa> contendo(String texto) {
+              String procurado = texto.toLowerCase(Locale.ROOT);
+              return registro -> (registro.titulo() != null && registro.titulo().toLowerCase(Locale.ROOT).contains(procurado))
+                            || (registro.descricao() != null && registro.descricao().toLowerCase(Locale.ROOT).contains(procurado));
+       }
+
+       // Ordenação, paginação e conversão: fora do lock, sobre registros imutáveis
+
+       private static List<RegistroTarefa> ordenar(List<RegistroTarefa> registros, Sort sort) {
+              registros.sort(OrdenacaoTarefas.comparador(sort, RegistroTarefa::valor));
+              return registros;
+       }
+
+       private static <T> Page<T> paginar(List<RegistroTarefa> registros, Pageable pageable,
+                     Function<RegistroTarefa, T> conversor) {
+              ordenar(registros, MesclagemPaginas.ordenacaoEfetiva(pageable, ORDEM_ID));
+              List<RegistroTarefa> pagina = registros;
+              if (pageable.isPaged()) {
+                     int inicio = (int) Math.min(pageable.getOffset(), registros.size());
+                     pagina = registros.subList(inicio, Math.min(inicio + pageable.getPageSize(), registros.size()));
+              }
+              return new PageImpl<>(pagina.stream().map(conversor).collect(Collectors.toList()), pageable,
+                            registros.size());
+       }
+
+       private static List<Tarefa> paraTarefas(List<RegistroTarefa> registros) {
+              return registros.stream().map(RegistroTarefa::paraTarefa).collect(Collectors.toList());
+       }
+
+       private static Map<String, Object> projetar(RegistroTarefa registro, Set<String> campos) {
+              Map<String, Object> linha = new LinkedHashMap<>();
+              for (String campo : campos) {
+                     linha.put(campo, registro.valor(campo));
+              }
+              return linha;
+       }
+}
@@ -0,0 +1,43 @@
+package com.documents.tarefas.repository.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard em que a thread corrente deve abrir conexões. Lido pelo {@link ShardRoutingDataSource}.
+ */
+public final class ContextoShard {
+
+       private static final ThreadLocal<Integer> SHARD = new ThreadLocal<>();
+
+       private ContextoShard() {
+       }
+
+       public static Integer atual() {
+              return SHARD.get();
+       }
+
+       public static void definir(Integer shard) {
+              SHARD.set(shard);
+       }
+
+       public static void limpar() {
+              SHARD.remove();
+       }
+
+       /**
+        * Executa a operação com a thread apontando para o shard e restaura o shard anterior ao final.
+        */
+       public static <R> R executar(int shard, Supplier<R> operacao) {
+              Integer anterior = SHARD.get();
+              SHARD.set(shard);
+              try {
+                     return operacao.get();
+              } finally {
+                     if (anterior != null) {
+                            SHARD.set(anterior);
+                     } else {
+                            SHARD.remove();
+                     }
+              }
+       }
+}
@@ -0,0 +1,50 @@
+package com.documents.tarefas.repository.shard;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entrega conexões do shard definido em {@link ContextoShard}; sem shard definido, usa o shard 0.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+       private final List<DataSource> shards;
+
+       public ShardRoutingDataSource(List<DataSource> shards) {
+              if (shards.isEmpty()) {
+                     throw new IllegalArgumentException("Informe ao menos um shard");
+              }
+              this.shards = List.copyOf(shards);
+
+              Map<Object, Object> destinos = new HashMap<>();
+              for (int i = 0; i < this.shards.size(); i++) {
+                     destinos.put(i, this.shards.get(i));
+              }
+              setTargetDataSources(destinos);
+              setDefaultTargetDataSource(this.shards.get(0));
+       }
+
+       @Override
+       protected Object determineCurrentLookupKey() {
+              Integer shard = ContextoShard.atual();
+              return shard != null ? shard : 0;
+       }
+
+       public int getTotalShards() {
+              return shards.size();
+       }
+
+       @Override
+       public void destroy() throws Exception {
+              for (DataSource shard : shards) {
+                     if (shard instanceof AutoCloseable fechavel) {
+                            fechavel.close();
+                     }
+              }
+       }
+}
@@ -0,0 +1,496 @@
+package com.documents.tarefas.repository.shard;
+
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.model.Tarefa;
+import com.documents.tarefas.repository.MesclagemPaginas;
+import com.documents.tarefas.repository.OrdenacaoTarefas;
+import com.documents.tarefas.repository.TarefaRepository;
+import com.documents.tarefas.repository.TarefaRepositoryJpa;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * {@link TarefaRepository} particionado por hash em N bancos.
+ * <p>
+ * Uma tarefa nova vai para o shard de {@code hash(usuarioResponsavel) % N} e recebe o id global
+ * {@code idLocal * N + shard}, de forma que buscas por id vão direto ao shard certo mesmo que o
+ * responsável mude depois. Consultas sem chave (filtros, texto, contagens) são executadas em
+ * paralelo em todos os shards e combinadas; páginas ordenadas são mescladas com
+ * {@link MesclagemPaginas}.
+ * <p>
+ * Escritas entram na transação Spring do chamador por meio de {@link TransacoesShards} (fora de
+ * transação, numa transação própria aberta para a chamada): são desfeitas junto com o chamador e
+ * só são confirmadas depois dele, sem 2PC entre os shards. Leituras sempre rodam em transações
+ * próprias e, portanto, não enxergam escritas da transação corrente ainda não confirmadas.
+ * <p>
+ * A constraint única de {@code titulo} de cada shard não enxerga os outros shards. Por isso todo
+ * título também é reservado em {@code tarefas_titulos_tb} do shard {@value #SHARD_TITULOS}, na
+ * mesma transação da escrita da tarefa: criações e renomeações concorrentes com o mesmo título
+ * disputam a mesma linha, e a segunda falha em {@code uk_tarefas_titulo_global}.
+ */
+public class TarefaRepositoryShardeado implements TarefaRepository {
+
+       static final int SHARD_TITULOS = 0;
+
+       private static final Sort ORDEM_PADRAO = Sort.by("id");
+
+       private static final Comparator<Tarefa> ORDEM_PRIORIDADE_E_CRIACAO = Comparator
+                     .<Tarefa, PrioridadeTarefa>comparing(Tarefa::getPrioridade, Comparator.reverseOrder())
+                     .thenComparing(Tarefa::getDataCriacao, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()));
+
+       private final TarefaRepositoryJpa delegado;
+       private final EntityManagerFactory entityManagerFactory;
+       private final EntityManager entityManager;
+       private final ExecutorService executor;
+       private final int totalShards;
+       private final TransactionTemplate escrita;
+       private final TransactionTemplate leitura;
+
+       public TarefaRepositoryShardeado(TarefaRepositoryJpa delegado, PlatformTransactionManager transactionManager,
+                     EntityManagerFactory entityManagerFactory, ExecutorService executor, int totalShards) {
+              this.delegado = delegado;
+              this.entityManagerFactory = entityManagerFactory;
+              this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+              this.executor = executor;
+              this.totalShards = totalShards;
+
+              this.escrita = new TransactionTemplate(transactionManager);
+              this.escrita.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+              this.leitura = new TransactionTemplate(transactionManager);
+              this.leitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+              this.leitura.setReadOnly(true);
+       }
+
+       public int shardDoUsuario(String usuario) {
+              return usuario == null ? 0 : Math.floorMod(usuario.hashCode(), totalShards);
+       }
+
+       public int shardDoId(Long id) {
+              return (int) Math.floorMod(id.longValue(), (long) totalShards);
+       }
+
+       // Escrita
+
+       @Override
+       public <S extends Tarefa> S save(S tarefa) {
+              return escrever(transacoes -> tarefa.getId() == null ? inserir(transacoes, tarefa) : atualizar(transacoes, tarefa));
+       }
+
+       private <S extends Tarefa> S inserir(TransacoesShards transacoes, S tarefa) {
+              reservarTitulo(transacoes, tarefa.getTitulo());
+              int shard = shardDoUsuario(tarefa.getUsuarioResponsavel());
+              S salva = transacoes.executar(shard, entityManager -> {
+                     entityManager.persist(tarefa);
+                     entityManager.flush();
+                     entityManager.detach(tarefa);
+                     return tarefa;
+              });
+              return paraGlobal(salva, shard);
+       }
+
+       private <S extends Tarefa> S atualizar(TransacoesShards transacoes, S tarefa) {
+              Long idGlobal = tarefa.getId();
+              int shard = shardDoId(idGlobal);
+              long local = idLocal(idGlobal);
+              String tituloAnterior = transacoes.executar(shard, entityManager -> entityManager
+                            .createQuery("SELECT t.titulo FROM Tarefa t WHERE t.id = :id", String.class)
+                            .setParameter("id", local)
+                            .getResultStream()
+                            .findFirst()
+                            .orElse(null));
+              if (tituloAnterior != null && !tituloAnterior.equals(tarefa.getTitulo())) {
+                     liberarTitulos(transacoes, List.of(tituloAnterior));
+                     reservarTitulo(transacoes, tarefa.getTitulo());
+              }
+
+              tarefa.setId(local);
+              try {
+                     S salva = transacoes.executar(shard, entityManager -> {
+                            S mesclada = entityManager.merge(tarefa);
+                            entityManager.flush();
+                            entityManager.detach(mesclada);
+                            return mesclada;
+                     });
+                     return paraGlobal(salva, shard);
+              } finally {
+                     tarefa.setId(idGlobal);
+              }
+       }
+
+       @Override
+       public <S extends Tarefa> List<S> saveAll(Iterable<S> tarefas) {
+              List<S> salvas = new ArrayList<>();
+              for (S tarefa : tarefas) {
+                     salvas.add(save(tarefa));
+              }
+              return salvas;
+       }
+
+       @Override
+       public void deleteById(Long id) {
+              deleteAllByIdInBatch(List.of(id));
+       }
+
+       @Override
+       public void deleteAllByIdInBatch(Iterable<Long> ids) {
+              Map<Integer, List<Long>> idsPorShard = new LinkedHashMap<>();
+              for (Long id : ids) {
+                     idsPorShard.computeIfAbsent(shardDoId(id), shard -> new ArrayList<>()).add(idLocal(id));
+              }
+              escrever(transacoes -> {
+                     idsPorShard.forEach((shard, locais) -> {
+                            List<String> titulos = transacoes.executar(shard, entityManager -> {
+                                   List<String> excluidos = entityManager
+                                                 .createQuery("SELECT t.titulo FROM Tarefa t WHERE t.id IN :ids", String.class)
+                                                 .setParameter("ids", locais)
+                                                 .getResultList();
+                                   entityManager.createQuery("DELETE FROM Tarefa t WHERE t.id IN :ids")
+                                                 .setParameter("ids", locais)
+                                                 .executeUpdate();
+                                   return excluidos;
+                            });
+                            liberarTitulos(transacoes, titulos);
+                     });
+                     return null;
+              });
+       }
+
+       @Override
+       public void flush() {
+              TransacoesShards transacoes = TransacoesShards.existente(this);
+              if (transacoes != null) {
+                     transacoes.flush();
+              }
+       }
+
+       // Busca por chave
+
+       @Override
+       public Optional<Tarefa> findById(Long id) {
+              int shard = shardDoId(id);
+              return noShard(shard, true, () -> delegado.findById(idLocal(id)))
+                            .map(tarefa -> paraGlobal(tarefa, shard));
+       }
+
+       @Override
+       public boolean existsById(Long id) {
+              return noShard(shardDoId(id), true, () -> delegado.existsById(idLocal(id)));
+       }
+
+       @Override
+       public List<Tarefa> findAllById(Iterable<Long> ids) {
+              Map<Integer, List<Long>> idsPorShard = new LinkedHashMap<>();
+              for (Long id : ids) {
+                     idsPorShard.computeIfAbsent(shardDoId(id), shard -> new ArrayList<>()).add(idLocal(id));
+              }
+
+              List<CompletableFuture<List<Tarefa>>> futuros = new ArrayList<>();
+              idsPorShard.forEach((shard, locais) -> futuros.add(CompletableFuture.supplyAsync(
+                            () -> paraGlobal(noShard(shard, true, () -> delegado.findAllById(locais)), shard), executor)));
+
+              List<Tarefa> tarefas = new ArrayList<>();
+              for (CompletableFuture<List<Tarefa>> futuro : futuros) {
+                     tarefas.addAll(aguardar(futuro));
+              }
+              return tarefas;
+       }
+
+       // Consultas distribuídas (scatter-gather)
+
+       @Override
+       public long count() {
+              return emTodos(shard -> delegado.count()).stream().mapToLong(Long::longValue).sum();
+       }
+
+       @Override
+       public Page<Tarefa> findAll(Pageable pageable) {
+              return mesclar(pageable, porShard -> delegado.findAll(porShard));
+       }
+
+       @Override
+       public List<Tarefa> findByStatus(StatusTarefa status) {
+              return concatenar(shard -> delegado.findByStatus(status));
+       }
+
+       @Override
+       public List<Tarefa> findByPrioridade(PrioridadeTarefa prioridade) {
+              return concatenar(shard -> delegado.findByPrioridade(prioridade));
+       }
+
+       @Override
+       public List<Tarefa> findByUsuarioResponsavel(String usuarioResponsavel) {
+              return concatenar(shard -> delegado.findByUsuarioResponsavel(usuarioResponsavel));
+       }
+
+       @Override
+       public List<Tarefa> findByStatusOrderByPrioridadeAndDataCriacao(StatusTarefa status) {
+              List<Tarefa> tarefas = concatenar(shard -> delegado.findByStatusOrderByPrioridadeAndDataCriacao(status));
+              tarefas.sort(ORDEM_PRIORIDADE_E_CRIACAO);
+              return tarefas;
+       }
+
+       @Override
+       public Page<Tarefa> findByTexto(String texto, Pageable pageable) {
+              return mesclar(pageable, porShard -> delegado.findByTexto(texto, porShard));
+       }
+
+       @Override
+       public List<Tarefa> findTarefasVencidas(LocalDateTime dataLimite) {
+              return concatenar(shard -> delegado.findTarefasVencidas(dataLimite));
+       }
+
+       @Override
+       public List<Object[]> countByStatus() {
+              return somarContagens(emTodos(shard -> delegado.countByStatus()));
+       }
+
+       @Override
+       public List<Object[]> countByPrioridade() {
+              return somarContagens(emTodos(shard -> delegado.countByPrioridade()));
+       }
+
+       @Override
+       public Page<Tarefa> findByFiltros(StatusTarefa status, PrioridadeTarefa prioridade, String usuario,
+                     String categoria, Pageable pageable) {
+              return mesclar(pageable,
+                            porShard -> delegado.findByFiltros(status, prioridade, usuario, categoria, porShard));
+       }
+
+       @Override
+       public List<Tarefa> findArquivaveis(Collection<StatusTarefa> status, LocalDateTime dataLimite,
+                     Pageable pageable) {
+              List<Tarefa> tarefas = concatenar(shard -> delegado.findArquivaveis(status, dataLimite, pageable));
+              tarefas.sort(OrdenacaoTarefas.comparador(ORDEM_PADRAO));
+              return pageable.isPaged() && tarefas.size() > pageable.getPageSize()
+                            ? new ArrayList<>(tarefas.subList(0, pageable.getPageSize()))
+                            : tarefas;
+       }
+
+       @Override
+       public List<Tarefa> findTarefasApos(Collection<StatusTarefa> status, long ultimo, Pageable pageable) {
+              // id global = id local x shards + shard: o maior id local de cada shard que não passa de ultimo
+              List<Tarefa> tarefas = concatenar(shard -> delegado.findTarefasApos(status,
+                            Math.floorDiv(ultimo - shard, (long) totalShards), pageable));
+              tarefas.sort(OrdenacaoTarefas.comparador(ORDEM_PADRAO));
+              return pageable.isPaged() && tarefas.size() > pageable.getPageSize()
+                            ? new ArrayList<>(tarefas.subList(0, pageable.getPageSize()))
+                            : tarefas;
+       }
+
+       @Override
+       public boolean existsByTitulo(String titulo) {
+              return !findTitulosExistentes(List.of(titulo)).isEmpty();
+       }
+
+       @Override
+       @SuppressWarnings("unchecked")
+       public List<String> findTitulosExistentes(Collection<String> titulos) {
+              if (titulos.isEmpty()) {
+                     return new ArrayList<>();
+              }
+              return noShard(SHARD_TITULOS, true, () -> (List<String>) entityManager
+                            .createNativeQuery("SELECT titulo FROM tarefas_titulos_tb WHERE titulo IN (:titulos)", String.class)
+                            .setParameter("titulos", titulos)
+                            .getResultList());
+       }
+
+       @Override
+       public List<String> findTitulosApos(String ultimo, Pageable pageable) {
+              // a mescla usa a ordem do Java, que pode divergir da collation dos shards em acentos/caixa
+              List<String> titulos = new ArrayList<>();
+              emTodos(shard -> delegado.findTitulosApos(ultimo, pageable)).forEach(titulos::addAll);
+              titulos.sort(null);
+              return pageable.isPaged() && titulos.size() > pageable.getPageSize()
+                            ? new ArrayList<>(titulos.subList(0, pageable.getPageSize()))
+                            : titulos;
+       }
+
+       @Override
+       public List<Tarefa> findByTituloStartingWithOrderByTitulo(String prefixo, Pageable pageable) {
+              List<Tarefa> tarefas = concatenar(shard -> delegado.findByTituloStartingWithOrderByTitulo(prefixo, pageable));
+              tarefas.sort(Comparator.comparing(Tarefa::getTitulo));
+              return pageable.isPaged() && tarefas.size() > pageable.getPageSize()
+                            ? new ArrayList<>(tarefas.subList(0, pageable.getPageSize()))
+                            : tarefas;
+       }
+
+       @Override
+       public Page<Map<String, Object>> findCamposByFiltros(Set<String> campos, StatusTarefa status,
+                     PrioridadeTarefa prioridade, String usuario, String categoria, Pageable pageable) {
+              return mesclarCampos(campos, pageable, (camposShard, porShard) ->
+                            delegado.findCamposByFiltros(camposShard, status, prioridade, usuario, categoria, porShard));
+       }
+
+       @Override
+       public Page<Map<String, Object>> findCamposByTexto(Set<String> campos, String texto, Pageable pageable) {
+              return mesclarCampos(campos, pageable, (camposShard, porShard) ->
+                            delegado.findCamposByTexto(camposShard, texto, porShard));
+       }
+
+       // Infraestrutura
+
+       private <R> R noShard(int shard, boolean somenteLeitura, Supplier<R> operacao) {
+              return ContextoShard.executar(shard,
+                            () -> (somenteLeitura ? leitura : escrita).execute(status -> operacao.get()));
+       }
+
+       /**
+        * Executa as escritas nas transações de shard da transação do chamador, se houver; senão, numa
+        * transação aberta só para elas.
+        */
+       private <R> R escrever(Function<TransacoesShards, R> operacao) {
+              TransacoesShards transacoes = TransacoesShards.daTransacaoAtual(this, entityManagerFactory);
+              return transacoes != null
+                            ? operacao.apply(transacoes)
+                            : escrita.execute(status -> operacao.apply(TransacoesShards.daTransacaoAtual(this, entityManagerFactory)));
+       }
+
+       private void reservarTitulo(TransacoesShards transacoes, String titulo) {
+              transacoes.executar(SHARD_TITULOS, entityManager -> entityManager
+                            .createNativeQuery("INSERT INTO tarefas_titulos_tb (titulo) VALUES (:titulo)")
+                            .setParameter("titulo", titulo)
+                            .executeUpdate());
+       }
+
+       private void liberarTitulos(TransacoesShards transacoes, List<String> titulos) {
+              if (titulos.isEmpty()) {
+                     return;
+              }
+              transacoes.executar(SHARD_TITULOS, entityManager -> entityManager
+                            .createNativeQuery("DELETE FROM tarefas_titulos_tb WHERE titulo IN (:titulos)")
+                            .setParameter("titulos", titulos)
+                            .executeUpdate());
+       }
+
+       private <R> List<R> emTodos(IntFunction<R> consulta) {
+              List<CompletableFuture<R>> futuros = new ArrayList<>(totalShards);
+              for (int shard = 0; shard < totalShards; shard++) {
+                     int alvo = shard;
+                     futuros.add(CompletableFuture.supplyAsync(
+                                   () -> noShard(alvo, true, () -> consulta.apply(alvo)), executor));
+              }
+
+              List<R> resultados = new ArrayList<>(totalShards);
+              for (CompletableFuture<R> futuro : futuros) {
+                     resultados.add(aguardar(futuro));
+              }
+              return resultados;
+       }
+
+       private List<Tarefa> concatenar(IntFunction<List<Tarefa>> consulta) {
+              List<List<Tarefa>> porShard = emTodos(consulta);
+              List<Tarefa> tarefas = new ArrayList<>();
+              for (int shard = 0; shard < porShard.size(); shard++) {
+                     tarefas.addAll(paraGlobal(porShard.get(shard), shard));
+              }
+              return tarefas;
+       }
+
+       private Page<Tarefa> mesclar(Pageable pageable, Function<Pageable, Page<Tarefa>> consulta) {
+              Pageable porShard = MesclagemPaginas.paginaPorFonte(pageable, ORDEM_PADRAO);
+              List<Page<Tarefa>> paginas = emTodos(shard -> consulta.apply(porShard));
+              for (int shard = 0; shard < paginas.size(); shard++) {
+                     paraGlobal(paginas.get(shard).getContent(), shard);
+              }
+              return MesclagemPaginas.mesclar(paginas, pageable,
+                            OrdenacaoTarefas.comparador(MesclagemPaginas.ordenacaoEfetiva(pageable, ORDEM_PADRAO)));
+       }
+
+       private Page<Map<String, Object>> mesclarCampos(Set<String> campos, Pageable pageable,
+                     ConsultaCampos consulta) {
+              Sort ordenacao = MesclagemPaginas.ordenacaoEfetiva(pageable, ORDEM_PADRAO);
+
+              // a mesclagem precisa das colunas de ordenação e do id, mesmo que não tenham sido pedidos
+              Set<String> camposShard = new LinkedHashSet<>(campos);
+              camposShard.add("id");
+              ordenacao.forEach(ordem -> camposShard.add(ordem.getProperty()));
+
+              Pageable porShard = MesclagemPaginas.paginaPorFonte(pageable, ORDEM_PADRAO);
+              List<Page<Map<String, Object>>> paginas = emTodos(shard -> consulta.executar(camposShard, porShard));
+              for (int shard = 0; shard < paginas.size(); shard++) {
+                     int origem = shard;
+                     for (Map<String, Object> linha : paginas.get(shard).getContent()) {
+                            linha.computeIfPresent("id", (campo, id) -> idGlobal(((Number) id).longValue(), origem));
+                     }
+              }
+
+              Page<Map<String, Object>> pagina = MesclagemPaginas.mesclar(paginas, pageable,
+                            OrdenacaoTarefas.comparadorDeCampos(ordenacao));
+              pagina.forEach(linha -> linha.keySet().retainAll(campos));
+              return new PageImpl<>(pagina.getContent(), pageable, pagina.getTotalElements());
+       }
+
+       private List<Object[]> somarContagens(List<List<Object[]>> porShard) {
+              Map<Object, Long> totais = new LinkedHashMap<>();
+              for (List<Object[]> linhas : porShard) {
+                     for (Object[] linha : linhas) {
+                            totais.merge(linha[0], ((Number) linha[1]).longValue(), Long::sum);
+                     }
+              }
+              List<Object[]> resultado = new ArrayList<>(totais.size());
+              totais.forEach((chave, total) -> resultado.add(new Object[] { chave, total }));
+              return resultado;
+       }
+
+       private <R> R aguardar(CompletableFuture<R> futuro) {
+              try {
+                     return futuro.join();
+              } catch (CompletionException ex) {
+                     if (ex.getCause() instanceof RuntimeException causa) {
+                            throw causa;
+                     }
+                     throw ex;
+              }
+       }
+
+       private long idLocal(Long idGlobal) {
+              return Math.floorDiv(idGlobal.longValue(), (long) totalShards);
+       }
+
+       private long idGlobal(long idLocal, int shard) {
+              return idLocal * totalShards + shard;
+       }
+
+       private <T extends Tarefa> T paraGlobal(T tarefa, int shard) {
+              if (tarefa != null && tarefa.getId() != null) {
+                     tarefa.setId(idGlobal(tarefa.getId(), shard));
+              }
+              return tarefa;
+       }
+
+       private <T extends Tarefa> List<T> paraGlobal(List<T> tarefas, int shard) {
+              tarefas.forEach(tarefa -> paraGlobal(tarefa, shard));
+              return tarefas;
+       }
+
+       @FunctionalInterface
+       private interface ConsultaCampos {
+              Page<Map<String, Object>> executar(Set<String> campos, Pageable pageable);
+       }
+}
@@ -0,0 +1,149 @@
+package com.documents.tarefas.repository.shard;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Transações de escrita nos shards presas à transação Spring do chamador.
+ * <p>
+ * Cada shard escrito ganha um {@link EntityManager} próprio com a sua transação local, aberta na
+ * primeira escrita. Antes do commit do chamador as escritas de todos os shards são enviadas, de
+ * modo que violações de constraint desfazem tudo; se o chamador desfizer, os shards também
+ * desfazem. Os shards só confirmam depois que o chamador confirmou: sem 2PC, uma falha nesse
+ * ponto deixa os shards restantes sem a escrita, mas nunca confirma uma escrita que o chamador
+ * desfez.
+ */
+@Slf4j
+class TransacoesShards implements TransactionSynchronization {
+
+       private static final HibernateJpaDialect DIALETO = new HibernateJpaDialect();
+
+       private final Object dono;
+       private final EntityManagerFactory entityManagerFactory;
+       private final Map<Integer, EntityManager> porShard = new TreeMap<>();
+
+       private TransacoesShards(Object dono, EntityManagerFactory entityManagerFactory) {
+              this.dono = dono;
+              this.entityManagerFactory = entityManagerFactory;
+       }
+
+       /**
+        * Transações de shard da transação corrente, criadas e registradas na primeira chamada;
+        * {@code null} se não houver transação do chamador.
+        */
+       static TransacoesShards daTransacaoAtual(Object dono, EntityManagerFactory entityManagerFactory) {
+              TransacoesShards existente = existente(dono);
+              if (existente != null || !TransactionSynchronizationManager.isSynchronizationActive()
+                            || !TransactionSynchronizationManager.isActualTransactionActive()) {
+                     return existente;
+              }
+
+              TransacoesShards transacoes = new TransacoesShards(dono, entityManagerFactory);
+              TransactionSynchronizationManager.registerSynchronization(transacoes);
+              return transacoes;
+       }
+
+       static TransacoesShards existente(Object dono) {
+              if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                     return null;
+              }
+              for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+                     if (sincronizacao instanceof TransacoesShards transacoes && transacoes.dono == dono) {
+                            return transacoes;
+                     }
+              }
+              return null;
+       }
+
+       /**
+        * Executa a operação no {@link EntityManager} do shard, dentro da transação local dele.
+        */
+       <R> R executar(int shard, Function<EntityManager, R> operacao) {
+              return ContextoShard.executar(shard, () -> {
+                     try {
+                            EntityManager entityManager = porShard.get(shard);
+                            if (entityManager == null) {
+                                   entityManager = entityManagerFactory.createEntityManager();
+                                   porShard.put(shard, entityManager);
+                                   entityManager.getTransaction().begin();
+                            }
+                            return operacao.apply(entityManager);
+                     } catch (RuntimeException ex) {
+                            throw traduzir(ex);
+                     }
+              });
+       }
+
+       @Override
+       public void flush() {
+              porShard.keySet().forEach(shard -> executar(shard, entityManager -> {
+                     entityManager.flush();
+                     return null;
+              }));
+       }
+
+       @Override
+       public int getOrder() {
+              return Ordered.HIGHEST_PRECEDENCE;
+       }
+
+       @Override
+       public void beforeCommit(boolean readOnly) {
+              flush();
+       }
+
+       @Override
+       public void afterCommit() {
+              List<RuntimeException> falhas = new ArrayList<>();
+              porShard.forEach((shard, entityManager) -> {
+                     try {
+                            ContextoShard.executar(shard, () -> {
+                                   entityManager.getTransaction().commit();
+                                   return null;
+                            });
+                     } catch (RuntimeException ex) {
+                            log.error("Falha ao confirmar a escrita no shard {} após o commit do chamador", shard, ex);
+                            falhas.add(traduzir(ex));
+                     }
+              });
+              if (!falhas.isEmpty()) {
+                     throw falhas.get(0);
+              }
+       }
+
+       @Override
+       public void afterCompletion(int status) {
+              porShard.forEach((shard, entityManager) -> ContextoShard.executar(shard, () -> {
+                     try {
+                            EntityTransaction transacao = entityManager.getTransaction();
+                            if (transacao.isActive()) {
+                                   transacao.rollback();
+                            }
+                     } catch (RuntimeException ex) {
+                            log.warn("Falha ao desfazer a escrita no shard {}", shard, ex);
+                     } finally {
+                            entityManager.close();
+                     }
+                     return null;
+              }));
+              porShard.clear();
+       }
+
+       private static RuntimeException traduzir(RuntimeException ex) {
+              DataAccessException traduzida = DIALETO.translateExceptionIfPossible(ex);
+              return traduzida != null ? traduzida : ex;
+       }
+}
@@ -0,0 +1,112 @@
+package com.documents.tarefas.service;
+
+import com.documents.tarefas.config.ArquivamentoProperties;
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import com.documents.tarefas.event.TipoAlteracao;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.model.Tarefa;
+import com.documents.tarefas.model.TarefaArquivada;
+import com.documents.tarefas.repository.TarefaArquivadaRepository;
+import com.documents.tarefas.repository.TarefaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Move tarefas concluídas/canceladas há mais de {@code tarefas.arquivamento.retencao} de
+ * {@code tarefas_tb} para {@code tarefas_arquivadas_tb}, em lotes com uma transação cada,
+ * para manter a tabela quente pequena.
+ * <p>
+ * Cópia e exclusão estão na mesma transação. Com sharding ou armazenamento em memória,
+ * {@code tarefas_tb} fica fora do banco do arquivo e a exclusão só é confirmada depois da cópia:
+ * uma falha entre os dois deixa a tarefa nas duas tabelas, nunca em nenhuma, e o próximo lote
+ * conclui a exclusão.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@EnableConfigurationProperties(ArquivamentoProperties.class)
+public class ArquivamentoTarefasService {
+
+    private static final Set<StatusTarefa> STATUS_ARQUIVAVEIS = EnumSet.of(StatusTarefa.CONCLUIDA, StatusTarefa.CANCELADA);
+
+    private final TarefaRepository tarefaRepository;
+    private final TarefaArquivadaRepository tarefaArquivadaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ArquivamentoProperties properties;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Scheduled(cron = "${tarefas.arquivamento.cron:0 0 3 * * *}")
+    public void executarArquivamentoAgendado() {
+        if (properties.isHabilitado()) {
+            arquivarTarefas();
+        }
+    }
+
+    public int arquivarTarefas() {
+        LocalDateTime dataLimite = LocalDateTime.now().minus(properties.getRetencao());
+        log.info("Arquivando tarefas encerradas antes de {}", dataLimite);
+
+        int total = 0;
+        for (int lote = 0; lote < properties.getMaximoLotesPorExecucao(); lote++) {
+            Integer arquivadas = transactionTemplate.execute(status -> arquivarLote(dataLimite));
+            if (arquivadas == null || arquivadas == 0) {
+                break;
+            }
+            total += arquivadas;
+        }
+
+        log.info("Arquivamento concluído. Tarefas arquivadas: {}", total);
+        return total;
+    }
+
+    private int arquivarLote(LocalDateTime dataLimite) {
+        List<Tarefa> tarefas = tarefaRepository.findArquivaveis(STATUS_ARQUIVAVEIS, dataLimite,
+                PageRequest.of(0, properties.getTamanhoLote()));
+        if (tarefas.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = tarefas.stream().map(Tarefa::getId).collect(Collectors.toList());
+
+        // um lote interrompido entre a cópia e a exclusão já está no arquivo
+        Set<Long> jaArquivadas = tarefaArquivadaRepository.findAllById(ids).stream()
+                .map(TarefaArquivada::getId)
+                .collect(Collectors.toSet());
+
+        LocalDateTime agora = LocalDateTime.now();
+        tarefaArquivadaRepository.saveAll(tarefas.stream()
+                .filter(tarefa -> !jaArquivadas.contains(tarefa.getId()))
+                .map(tarefa -> TarefaArquivada.de(tarefa, agora))
+                .collect(Collectors.toList()));
+        tarefaRepository.deleteAllByIdInBatch(ids);
+        removerDoCache(ids);
+        ids.forEach(id -> eventPublisher.publishEvent(new TarefaAlteradaEvent(TipoAlteracao.ARQUIVAMENTO, id, null, null)));
+
+        log.debug("Lote arquivado com {} tarefas", tarefas.size());
+        return tarefas.size();
+    }
+
+    private void removerDoCache(List<Long> ids) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        Cache cache = manager != null ? manager.getCache("tarefas") : null;
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.documents.tarefas.service;
+
+import com.documents.tarefas.atribuicao.MotorAtribuicao;
+import com.documents.tarefas.config.AtribuicaoProperties;
+import com.documents.tarefas.dto.AtualizarTarefaRequest;
+import com.documents.tarefas.dto.CargaUsuarioDTO;
+import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import com.documents.tarefas.exception.ParametroInvalidoException;
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.model.Tarefa;
+import com.documents.tarefas.recarga.EstruturaRecarregavel;
+import com.documents.tarefas.repository.TarefaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Atribuição automática de responsável: escolhe, entre os usuários elegíveis da categoria da
+ * tarefa, o de menor carga aberta, mantida em memória pelo {@link MotorAtribuicao} em vez de
+ * consultada tarefa a tarefa. As cargas são carregadas do banco no primeiro uso, atualizadas a
+ * cada alteração de tarefa e recarregadas a cada {@code tarefas.atribuicao.intervalo-recarga}.
+ * <p>
+ * A escolha já reserva a tarefa para o usuário, então atribuições simultâneas (ou as de um mesmo
+ * lote) se distribuem; se a transação não confirmar, a reserva é desfeita.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+@EnableConfigurationProperties(AtribuicaoProperties.class)
+public class AtribuicaoTarefaService {
+
+    private static final Set<StatusTarefa> STATUS_ABERTOS = Set.of(
+            StatusTarefa.PENDENTE, StatusTarefa.EM_ANDAMENTO, StatusTarefa.PAUSADA);
+
+    private final TarefaService tarefaService;
+    private final TarefaRepository tarefaRepository;
+    private final AtribuicaoProperties properties;
+    private final PlatformTransactionManager transactionManager;
+
+    private final EstruturaRecarregavel<MotorAtribuicao> motores = new EstruturaRecarregavel<>();
+
+    public TarefaDTO atribuirAutomaticamente(Long id) {
+        log.info("Atribuindo automaticamente a tarefa {}", id);
+        TarefaDTO tarefa = tarefaService.buscarPorId(id);
+        if (!STATUS_ABERTOS.contains(tarefa.getStatus())) {
+            throw new ParametroInvalidoException("A tarefa " + id + " não está em aberto (status "
+                    + tarefa.getStatus() + ")");
+        }
+
+        motores.obter(this::recarregar);
+        PrioridadeTarefa prioridade = prioridade(tarefa.getPrioridade());
+        int horas = horas(tarefa.getEstimativaHoras());
+        MotorAtribuicao.Contribuicao anterior = contribuicao(tarefa.getStatus(), tarefa.getUsuarioResponsavel(),
+                tarefa.getPrioridade(), tarefa.getEstimativaHoras());
+        String usuario = motores.alterar(atual -> {
+            Optional<String> escolhido = atual.atribuir(id, tarefa.getCategoria(), prioridade, horas);
+            escolhido.ifPresent(eleito -> motores.aplicarNaRecarga(id,
+                    novo -> novo.aplicar(id, new MotorAtribuicao.Contribuicao(eleito, prioridade, horas))));
+            return escolhido;
+        }).orElseThrow(() -> new ParametroInvalidoException("Nenhum usuário elegível para a categoria "
+                + (tarefa.getCategoria() != null ? tarefa.getCategoria() : "(sem categoria)")));
+        motores.desfazerSeNaoConfirmar(id, alvo -> alvo.aplicar(id, anterior));
+
+        if (usuario.equals(tarefa.getUsuarioResponsavel())) {
+            return tarefa;
+        }
+        AtualizarTarefaRequest atribuicao = new AtualizarTarefaRequest();
+        atribuicao.setUsuarioResponsavel(usuario);
+        return tarefaService.atualizarTarefa(id, atribuicao);
+    }
+
+    /**
+     * Atribui as tarefas na ordem recebida, numa única transação: cada escolha já considera as
+     * anteriores do lote.
+     */
+    public List<TarefaDTO> atribuirAutomaticamente(List<Long> ids) {
+        Set<Long> distintos = new LinkedHashSet<>(ids);
+        if (distintos.size() > properties.getTamanhoMaximoLote()) {
+            throw new ParametroInvalidoException("O lote deve ter no máximo "
+                    + properties.getTamanhoMaximoLote() + " tarefas");
+        }
+        log.info("Atribuindo automaticamente {} tarefas", distintos.size());
+        List<TarefaDTO> atribuidas = new ArrayList<>(distintos.size());
+        for (Long id : distintos) {
+            atribuidas.add(atribuirAutomaticamente(id));
+        }
+        return atribuidas;
+    }
+
+    @Transactional(readOnly = true)
+    public List<CargaUsuarioDTO> listarCargas(String categoria) {
+        log.info("Listando cargas dos usuários elegíveis para a categoria {}", categoria);
+        return motores.obter(this::recarregar).cargas(categoria).stream()
+                .map(carga -> new CargaUsuarioDTO(carga.usuario(), carga.tarefasAbertas(),
+                        carga.horasPorPrioridade(), carga.carga()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Mantém as cargas junto com as tarefas: cada alteração confirmada substitui a contribuição
+     * da tarefa pela do seu novo estado.
+     */
+    @EventListener
+    public void aoAlterarTarefa(TarefaAlteradaEvent event) {
+        if (motores.atual() == null) {
+            return;
+        }
+        TarefaDTO atual = event.atual();
+        MotorAtribuicao.Contribuicao contribuicao = atual == null ? null : contribuicao(atual.getStatus(),
+                atual.getUsuarioResponsavel(), atual.getPrioridade(), atual.getEstimativaHoras());
+        motores.aplicarAposConfirmar(event.id(), alvo -> alvo.aplicar(event.id(), contribuicao));
+    }
+
+    @Scheduled(initialDelayString = "${tarefas.atribuicao.intervalo-recarga:PT10M}",
+            fixedDelayString = "${tarefas.atribuicao.intervalo-recarga:PT10M}")
+    public void recarregarPeriodicamente() {
+        if (motores.atual() != null) {
+            recarregar();
+        }
+    }
+
+    /**
+     * Monta as cargas a partir das tarefas abertas do banco, percorridas por id fora da transação
+     * corrente, e as troca pelas atuais. Tarefas alteradas durante a carga entram no novo motor
+     * pela própria alteração, e não pela leitura, que pode ser anterior ao commit dela.
+     */
+    public void recarregar() {
+        log.info("Carregando as cargas de trabalho dos usuários");
+        MotorAtribuicao novo = new MotorAtribuicao(properties.getElegiveis(), properties.getPadrao(),
+                properties.getPesosPrioridade());
+        motores.recarregar(novo, EstruturaRecarregavel.foraDaTransacao(transactionManager, motor -> {
+            int tamanhoLote = properties.getTamanhoLoteCarga();
+            int tarefas = 0;
+            long ultimo = 0;
+            List<Tarefa> lote;
+            do {
+                lote = tarefaRepository.findTarefasApos(STATUS_ABERTOS, ultimo, PageRequest.of(0, tamanhoLote));
+                List<Tarefa> lidas = lote;
+                motores.carregarLote(alterada -> lidas.stream()
+                        .filter(tarefa -> !alterada.test(tarefa.getId()))
+                        .forEach(tarefa -> motor.aplicar(tarefa.getId(), contribuicao(tarefa.getStatus(),
+                                tarefa.getUsuarioResponsavel(), tarefa.getPrioridade(), tarefa.getEstimativaHoras()))));
+                if (!lote.isEmpty()) {
+                    ultimo = lote.get(lote.size() - 1).getId();
+                }
+                tarefas += lote.size();
+            } while (lote.size() == tamanhoLote);
+            log.info("Cargas de trabalho carregadas a partir de {} tarefas abertas", tarefas);
+            return true;
+        }));
+    }
+
+    private MotorAtribuicao.Contribuicao contribuicao(StatusTarefa status, String usuario, PrioridadeTarefa prioridade,
+            Integer horas) {
+        if (!STATUS_ABERTOS.contains(status) || usuario == null || usuario.isBlank()) {
+            return null;
+        }
+        return new MotorAtribuicao.Contribuicao(usuario, prioridade(prioridade), horas(horas));
+    }
+
+    private static PrioridadeTarefa prioridade(PrioridadeTarefa prioridade) {
+        return prioridade != null ? prioridade : PrioridadeTarefa.MEDIA;
+    }
+
+    private int horas(Integer estimativa) {
+        return estimativa != null && estimativa > 0 ? estimativa : properties.getHorasSemEstimativa();
+    }
+}
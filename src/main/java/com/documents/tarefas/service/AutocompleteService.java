@@ -0,0 +1,135 @@
+package com.documents.tarefas.service;
+
+import com.documents.tarefas.autocomplete.IndicePrefixos;
+import com.documents.tarefas.config.AutocompleteProperties;
+import com.documents.tarefas.dto.SugestaoTarefaDTO;
+import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import com.documents.tarefas.exception.ParametroInvalidoException;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.model.Tarefa;
+import com.documents.tarefas.recarga.EstruturaRecarregavel;
+import com.documents.tarefas.repository.TarefaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sugestões de tarefas para a caixa de busca, por prefixo do título, de uma palavra do título ou
+ * da categoria, servidas pelo {@link IndicePrefixos} em memória em vez da busca com LIKE. O índice
+ * é montado na subida, segue as alterações confirmadas de tarefas e é reconstruído a cada
+ * {@code tarefas.autocomplete.intervalo-recarga}, trazendo alterações de outras instâncias.
+ * Enquanto não há índice (na subida ou acima da capacidade), as sugestões vêm do banco, só por
+ * prefixo do título, numa consulta pelo índice de {@code titulo}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@EnableConfigurationProperties(AutocompleteProperties.class)
+public class AutocompleteService {
+
+    private static final Set<StatusTarefa> TODOS_OS_STATUS = EnumSet.allOf(StatusTarefa.class);
+
+    private final TarefaRepository tarefaRepository;
+    private final TarefaService tarefaService;
+    private final AutocompleteProperties properties;
+
+    private final EstruturaRecarregavel<IndicePrefixos> indices = new EstruturaRecarregavel<>();
+
+    public List<SugestaoTarefaDTO> sugerir(String prefixo, Integer limite) {
+        if (prefixo == null || prefixo.isBlank()) {
+            throw new ParametroInvalidoException("Informe o prefixo para as sugestões");
+        }
+        int quantidade = limite != null ? limite : properties.getLimitePadrao();
+        if (quantidade < 1 || quantidade > properties.getLimiteMaximo()) {
+            throw new ParametroInvalidoException("O limite deve estar entre 1 e " + properties.getLimiteMaximo());
+        }
+
+        IndicePrefixos atual = indices.atual();
+        if (atual == null) {
+            log.debug("Índice de sugestões indisponível; buscando títulos iniciados por '{}' no banco", prefixo);
+            return tarefaService.buscarPorInicioDoTitulo(prefixo.trim(), quantidade).stream()
+                    .map(tarefa -> new SugestaoTarefaDTO(tarefa.getId(), tarefa.getTitulo(), tarefa.getCategoria(),
+                            tarefa.getPrioridade()))
+                    .collect(Collectors.toList());
+        }
+        return atual.buscar(prefixo, quantidade, properties.getMaximoCandidatos()).stream()
+                .map(item -> new SugestaoTarefaDTO(item.id(), item.titulo(), item.categoria(), item.prioridade()))
+                .collect(Collectors.toList());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarTarefa(TarefaAlteradaEvent event) {
+        // o instante do evento é a versão do item: páginas da reconstrução lidas antes dele não o desfazem
+        long agora = System.currentTimeMillis();
+        TarefaDTO atual = event.atual();
+        if (atual == null) {
+            indices.aplicar(alvo -> alvo.remover(event.id(), agora));
+            return;
+        }
+        IndicePrefixos.Item item = new IndicePrefixos.Item(event.id(), atual.getTitulo(), atual.getCategoria(),
+                atual.getPrioridade(), agora);
+        indices.aplicar(alvo -> alvo.adicionar(item));
+
+        IndicePrefixos emUso = indices.atual();
+        if (emUso != null && emUso.tamanho() > properties.getCapacidade()) {
+            log.warn("Índice de sugestões acima da capacidade ({} tarefas); sugestões passam a vir do banco",
+                    properties.getCapacidade());
+            indices.descartar();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${tarefas.autocomplete.atraso-inicial:PT5S}",
+            fixedDelayString = "${tarefas.autocomplete.intervalo-recarga:PT30M}")
+    public void reconstruirPeriodicamente() {
+        if (properties.isHabilitado()) {
+            reconstruir();
+        }
+    }
+
+    public void reconstruir() {
+        log.info("Montando o índice de sugestões de tarefas");
+        try {
+            indices.recarregar(new IndicePrefixos(properties.getMaximoPalavrasPorTarefa()), novo -> {
+                int tamanhoLote = properties.getTamanhoLoteCarga();
+                long ultimo = 0;
+                List<Tarefa> lote;
+                do {
+                    lote = tarefaRepository.findTarefasApos(TODOS_OS_STATUS, ultimo, PageRequest.of(0, tamanhoLote));
+                    for (Tarefa tarefa : lote) {
+                        novo.adicionar(new IndicePrefixos.Item(tarefa.getId(), tarefa.getTitulo(), tarefa.getCategoria(),
+                                tarefa.getPrioridade(), epochMillis(tarefa)));
+                        ultimo = tarefa.getId();
+                    }
+                    if (novo.tamanho() > properties.getCapacidade()) {
+                        log.warn("Mais de {} tarefas: índice de sugestões desligado, sugestões vêm do banco",
+                                properties.getCapacidade());
+                        indices.descartar();
+                        return false;
+                    }
+                } while (lote.size() == tamanhoLote);
+
+                log.info("Índice de sugestões montado com {} tarefas", novo.tamanho());
+                return true;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível montar o índice de sugestões: {}", e.getMessage());
+        }
+    }
+
+    private static long epochMillis(Tarefa tarefa) {
+        LocalDateTime data = tarefa.getDataAtualizacao() != null ? tarefa.getDataAtualizacao() : tarefa.getDataCriacao();
+        return data != null ? data.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
+}
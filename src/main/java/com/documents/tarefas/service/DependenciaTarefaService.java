@@ -0,0 +1,238 @@
+package com.documents.tarefas.service;
+
+import com.documents.tarefas.config.DependenciasProperties;
+import com.documents.tarefas.dependencia.GrafoDependencias;
+import com.documents.tarefas.dto.CaminhoCriticoDTO;
+import com.documents.tarefas.dto.DependenciasTarefaDTO;
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import com.documents.tarefas.event.TipoAlteracao;
+import com.documents.tarefas.exception.DependenciaCiclicaException;
+import com.documents.tarefas.exception.ParametroInvalidoException;
+import com.documents.tarefas.exception.TarefaNaoEncontradaException;
+import com.documents.tarefas.model.DependenciaTarefa;
+import com.documents.tarefas.model.Tarefa;
+import com.documents.tarefas.recarga.EstruturaRecarregavel;
+import com.documents.tarefas.repository.DependenciaTarefaRepository;
+import com.documents.tarefas.repository.TarefaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Dependências entre tarefas ("B bloqueia C"). As arestas ficam em {@code tarefas_dependencias_tb};
+ * as consultas (bloqueadoras e dependentes transitivas, ordem topológica, caminho crítico) são
+ * respondidas pelo {@link GrafoDependencias} em memória, carregado do banco no primeiro uso e
+ * recarregado a cada {@code tarefas.dependencias.intervalo-recarga}.
+ * <p>
+ * Uma nova aresta é checada e aplicada ao grafo de forma atômica, o que impede ciclos entre
+ * requisições desta instância; se a transação não confirmar, a alteração é desfeita no grafo.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+@EnableConfigurationProperties(DependenciasProperties.class)
+public class DependenciaTarefaService {
+
+    private final DependenciaTarefaRepository dependenciaRepository;
+    private final TarefaRepository tarefaRepository;
+    private final DependenciasProperties properties;
+    private final PlatformTransactionManager transactionManager;
+
+    private final EstruturaRecarregavel<GrafoDependencias> grafos = new EstruturaRecarregavel<>();
+
+    public DependenciasTarefaDTO adicionarBloqueadora(Long tarefaId, Long bloqueadoraId) {
+        log.info("Registrando que a tarefa {} bloqueia a tarefa {}", bloqueadoraId, tarefaId);
+        if (tarefaId.equals(bloqueadoraId)) {
+            throw new ParametroInvalidoException("Uma tarefa não pode bloquear a si mesma");
+        }
+        Tarefa tarefa = buscarTarefa(tarefaId);
+        Tarefa bloqueadora = buscarTarefa(bloqueadoraId);
+
+        grafo();
+        if (dependenciaRepository.findByTarefaIdAndBloqueadoraId(tarefaId, bloqueadoraId).isEmpty()) {
+            GrafoDependencias.Insercao insercao = grafos.alterar(emUso -> {
+                GrafoDependencias.Insercao resultado = emUso.adicionar(bloqueadoraId, tarefaId);
+                if (resultado == GrafoDependencias.Insercao.INSERIDA) {
+                    grafos.aplicarNaRecarga(new Aresta(bloqueadoraId, tarefaId),
+                            novo -> novo.adicionar(bloqueadoraId, tarefaId));
+                }
+                return resultado;
+            });
+            if (insercao == GrafoDependencias.Insercao.CICLO) {
+                throw new DependenciaCiclicaException("A tarefa " + bloqueadoraId
+                        + " já depende, direta ou indiretamente, da tarefa " + tarefaId);
+            }
+            if (insercao == GrafoDependencias.Insercao.INSERIDA) {
+                // se já estava no grafo, é de outra requisição ainda não confirmada: desfazer aqui
+                // apagaria a aresta dela caso esta perca na constraint única
+                grafos.desfazerSeNaoConfirmar(new Aresta(bloqueadoraId, tarefaId),
+                        alvo -> alvo.remover(bloqueadoraId, tarefaId));
+            }
+
+            dependenciaRepository.save(new DependenciaTarefa(null, tarefaId, bloqueadoraId));
+        }
+        grafos.aplicar(new Horas(tarefaId), alvo -> alvo.definirHoras(tarefaId, tarefa.getEstimativaHoras()));
+        grafos.aplicar(new Horas(bloqueadoraId), alvo -> alvo.definirHoras(bloqueadoraId, bloqueadora.getEstimativaHoras()));
+
+        return new DependenciasTarefaDTO(tarefaId, false, grafo().bloqueadoras(tarefaId, false));
+    }
+
+    public void removerBloqueadora(Long tarefaId, Long bloqueadoraId) {
+        log.info("Removendo o bloqueio da tarefa {} pela tarefa {}", tarefaId, bloqueadoraId);
+        DependenciaTarefa dependencia = dependenciaRepository.findByTarefaIdAndBloqueadoraId(tarefaId, bloqueadoraId)
+                .orElseThrow(() -> new TarefaNaoEncontradaException(
+                        "A tarefa " + tarefaId + " não é bloqueada pela tarefa " + bloqueadoraId));
+
+        dependenciaRepository.delete(dependencia);
+        grafo();
+        grafos.aplicar(new Aresta(bloqueadoraId, tarefaId), alvo -> alvo.remover(bloqueadoraId, tarefaId));
+        grafos.desfazerSeNaoConfirmar(new Aresta(bloqueadoraId, tarefaId), alvo -> alvo.adicionar(bloqueadoraId, tarefaId));
+    }
+
+    @Transactional(readOnly = true)
+    public DependenciasTarefaDTO listarBloqueadoras(Long tarefaId, boolean transitivas) {
+        log.info("Buscando bloqueadoras da tarefa {} (transitivas: {})", tarefaId, transitivas);
+        verificarExistencia(tarefaId);
+        return new DependenciasTarefaDTO(tarefaId, transitivas, grafo().bloqueadoras(tarefaId, transitivas));
+    }
+
+    @Transactional(readOnly = true)
+    public DependenciasTarefaDTO listarDependentes(Long tarefaId, boolean transitivas) {
+        log.info("Buscando dependentes da tarefa {} (transitivas: {})", tarefaId, transitivas);
+        verificarExistencia(tarefaId);
+        return new DependenciasTarefaDTO(tarefaId, transitivas, grafo().dependentes(tarefaId, transitivas));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> ordemTopologica() {
+        log.info("Calculando a ordem topológica das tarefas com dependências");
+        return grafo().ordemTopologica();
+    }
+
+    /**
+     * Caminho crítico até {@code tarefaId} ou, com {@code null}, o do grafo inteiro.
+     */
+    @Transactional(readOnly = true)
+    public CaminhoCriticoDTO caminhoCritico(Long tarefaId) {
+        log.info("Calculando o caminho crítico {}", tarefaId != null ? "até a tarefa " + tarefaId : "do grafo");
+        if (tarefaId == null) {
+            GrafoDependencias.Caminho caminho = grafo().caminhoCritico(null);
+            return new CaminhoCriticoDTO(caminho.tarefas(), caminho.horas());
+        }
+
+        Tarefa tarefa = buscarTarefa(tarefaId);
+        GrafoDependencias.Caminho caminho = grafo().caminhoCritico(tarefaId);
+        if (caminho.tarefas().size() == 1) {
+            // sem bloqueadoras a tarefa pode nem estar no grafo, que só guarda horas de quem tem arestas
+            int horas = tarefa.getEstimativaHoras() != null ? tarefa.getEstimativaHoras() : 0;
+            return new CaminhoCriticoDTO(List.of(tarefaId), horas);
+        }
+        return new CaminhoCriticoDTO(caminho.tarefas(), caminho.horas());
+    }
+
+    /**
+     * Mantém o grafo junto com as tarefas: exclusões e arquivamentos levam as arestas (na mesma
+     * transação), já que a tarefa sai de {@code tarefas_tb}, e mudanças de estimativa atualizam os
+     * pesos do caminho crítico.
+     */
+    @EventListener
+    public void aoAlterarTarefa(TarefaAlteradaEvent event) {
+        if (event.tipo() == TipoAlteracao.EXCLUSAO || event.tipo() == TipoAlteracao.ARQUIVAMENTO) {
+            if (dependenciaRepository.deleteAllByTarefa(event.id()) > 0 && grafos.atual() != null) {
+                grafos.aplicarAposConfirmar(new Remocao(event.id()), alvo -> alvo.removerTarefa(event.id()));
+            }
+        } else if (event.atual() != null && grafos.atual() != null) {
+            Integer horas = event.atual().getEstimativaHoras();
+            grafos.aplicarAposConfirmar(new Horas(event.id()), alvo -> alvo.definirHoras(event.id(), horas));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${tarefas.dependencias.intervalo-recarga:PT5M}",
+            fixedDelayString = "${tarefas.dependencias.intervalo-recarga:PT5M}")
+    public void recarregarPeriodicamente() {
+        if (grafos.atual() != null) {
+            recarregar();
+        }
+    }
+
+    /**
+     * Monta um grafo novo a partir do banco e o troca pelo atual. A carga lê fora da transação
+     * corrente; arestas e estimativas alteradas durante ela vêm das próprias alterações, e não da
+     * leitura, que pode ser anterior ao commit delas.
+     */
+    public void recarregar() {
+        log.info("Carregando o grafo de dependências");
+        grafos.recarregar(new GrafoDependencias(), EstruturaRecarregavel.foraDaTransacao(transactionManager, novo -> {
+            int tamanhoLote = properties.getTamanhoLoteCarga();
+            long ultimo = 0;
+            List<DependenciaTarefa> lote;
+            do {
+                lote = dependenciaRepository.findByIdGreaterThanOrderById(ultimo, PageRequest.of(0, tamanhoLote));
+                List<DependenciaTarefa> lidas = lote;
+                grafos.carregarLote(alterada -> {
+                    for (DependenciaTarefa dependencia : lidas) {
+                        long bloqueadora = dependencia.getBloqueadoraId();
+                        long tarefa = dependencia.getTarefaId();
+                        if (alterada.test(new Aresta(bloqueadora, tarefa)) || alterada.test(new Remocao(bloqueadora))
+                                || alterada.test(new Remocao(tarefa))) {
+                            continue;
+                        }
+                        if (novo.adicionar(bloqueadora, tarefa) == GrafoDependencias.Insercao.CICLO) {
+                            // só acontece com arestas gravadas ao mesmo tempo por instâncias diferentes
+                            log.warn("Dependência {} ignorada: fecharia um ciclo", dependencia.getId());
+                        }
+                    }
+                });
+                if (!lote.isEmpty()) {
+                    ultimo = lote.get(lote.size() - 1).getId();
+                }
+            } while (lote.size() == tamanhoLote);
+
+            List<Long> nos = novo.nos();
+            for (int inicio = 0; inicio < nos.size(); inicio += tamanhoLote) {
+                List<Tarefa> tarefas = tarefaRepository.findAllById(
+                        nos.subList(inicio, Math.min(inicio + tamanhoLote, nos.size())));
+                grafos.carregarLote(alterada -> tarefas.stream()
+                        .filter(tarefa -> !alterada.test(new Horas(tarefa.getId())) && !alterada.test(new Remocao(tarefa.getId())))
+                        .forEach(tarefa -> novo.definirHoras(tarefa.getId(), tarefa.getEstimativaHoras())));
+            }
+
+            log.info("Grafo de dependências carregado: {} tarefas, {} dependências", nos.size(), novo.arestas());
+            return true;
+        }));
+    }
+
+    private GrafoDependencias grafo() {
+        return grafos.obter(this::recarregar);
+    }
+
+    private Tarefa buscarTarefa(Long id) {
+        return tarefaRepository.findById(id)
+                .orElseThrow(() -> new TarefaNaoEncontradaException("Tarefa não encontrada com ID: " + id));
+    }
+
+    private void verificarExistencia(Long id) {
+        if (!tarefaRepository.existsById(id)) {
+            throw new TarefaNaoEncontradaException("Tarefa não encontrada com ID: " + id);
+        }
+    }
+
+    // chaves das alterações no grafo, para que a recarga não as desfaça
+    private record Aresta(long bloqueadora, long tarefa) {
+    }
+
+    private record Horas(long tarefa) {
+    }
+
+    private record Remocao(long tarefa) {
+    }
+}
@@ -0,0 +1,184 @@
+package com.documents.tarefas.service;
+
+import com.documents.tarefas.config.HistoricoProperties;
+import com.documents.tarefas.dto.HistoricoTarefaDTO;
+import com.documents.tarefas.dto.PaginaHistoricoDTO;
+import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import com.documents.tarefas.event.TipoAlteracao;
+import com.documents.tarefas.exception.ParametroInvalidoException;
+import com.documents.tarefas.exception.TarefaNaoEncontradaException;
+import com.documents.tarefas.model.HistoricoTarefa;
+import com.documents.tarefas.repository.HistoricoTarefaRepository;
+import com.documents.tarefas.web.ContextoCliente;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Histórico das tarefas em {@code tarefas_historico_tb}. Cada {@link TarefaAlteradaEvent} vira uma
+ * entrada gravada na mesma transação da alteração, com o delta dos campos e, periodicamente, o
+ * estado completo ({@link HistoricoTarefa}).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+@EnableConfigurationProperties(HistoricoProperties.class)
+public class HistoricoTarefaService {
+
+    // campos removidos de TarefaDTO não impedem a leitura de entradas antigas
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final TypeReference<Map<String, Object>> CAMPOS = new TypeReference<>() {
+    };
+
+    private final HistoricoTarefaRepository historicoRepository;
+    private final HistoricoProperties properties;
+
+    @EventListener
+    public void aoAlterarTarefa(TarefaAlteradaEvent event) {
+        if (properties.isHabilitado()) {
+            registrar(event);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaHistoricoDTO listarHistorico(Long tarefaId, Long cursor, int tamanho) {
+        if (tamanho < 1 || tamanho > properties.getTamanhoMaximoPagina()) {
+            throw new ParametroInvalidoException("O tamanho da página deve estar entre 1 e "
+                    + properties.getTamanhoMaximoPagina());
+        }
+        log.info("Buscando histórico da tarefa {} (cursor: {}, tamanho: {})", tarefaId, cursor, tamanho);
+
+        // uma entrada a mais só para saber se existe próxima página
+        List<HistoricoTarefa> entradas = historicoRepository.findPagina(tarefaId, cursor, PageRequest.of(0, tamanho + 1));
+        boolean haMais = entradas.size() > tamanho;
+        List<HistoricoTarefaDTO> itens = entradas.stream()
+                .limit(tamanho)
+                .map(this::converterParaDTO)
+                .collect(Collectors.toList());
+
+        return new PaginaHistoricoDTO(itens, haMais ? itens.get(itens.size() - 1).getId() : null);
+    }
+
+    /**
+     * Reconstrói a tarefa como estava em {@code instante}: o último snapshot até lá mais os deltas
+     * seguintes, que são no máximo {@code intervalo-snapshot}.
+     */
+    @Transactional(readOnly = true)
+    public TarefaDTO buscarEstadoEm(Long tarefaId, LocalDateTime instante) {
+        log.info("Reconstruindo tarefa {} em {}", tarefaId, instante);
+
+        HistoricoTarefa snapshot = historicoRepository.findSnapshotsAte(tarefaId, instante, PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new TarefaNaoEncontradaException(
+                        "Não há histórico da tarefa " + tarefaId + " em " + instante));
+
+        ObjectNode estado = lerJson(snapshot.getEstado());
+        for (HistoricoTarefa entrada : historicoRepository.findEntradasApos(tarefaId, snapshot.getId(), instante)) {
+            if (entrada.getTipo() == TipoAlteracao.EXCLUSAO) {
+                throw new TarefaNaoEncontradaException("A tarefa " + tarefaId + " foi excluída em " + entrada.getOcorridaEm());
+            }
+            estado.setAll(lerJson(entrada.getAlteracoes()));
+        }
+
+        try {
+            return JSON.treeToValue(estado, TarefaDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Histórico inválido da tarefa " + tarefaId, e);
+        }
+    }
+
+    private void registrar(TarefaAlteradaEvent event) {
+        HistoricoTarefa entrada = new HistoricoTarefa();
+        entrada.setTarefaId(event.id());
+        entrada.setTipo(event.tipo());
+        entrada.setOcorridaEm(LocalDateTime.now());
+        entrada.setAutor(ContextoCliente.atual());
+        entrada.setAlteracoes(escreverJson(diferencas(event.anterior(), event.atual())));
+
+        if (event.tipo() == TipoAlteracao.CRIACAO) {
+            // id recém-gerado: não há entradas anteriores para consultar
+            entrada.setEstado(escreverJson(event.atual()));
+            historicoRepository.save(entrada);
+            return;
+        }
+
+        // envia ao banco o UPDATE/DELETE pendente da tarefa: com a linha dela travada, as entradas
+        // da mesma tarefa são gravadas na ordem dos commits
+        historicoRepository.flush();
+        HistoricoTarefa ultima = historicoRepository.findUltimas(event.id(), PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .orElse(null);
+
+        if (event.atual() == null) {
+            // exclusão/arquivamento: só marca o evento, sem delta
+            entrada.setDeltasDesdeSnapshot(ultima != null ? ultima.getDeltasDesdeSnapshot() : 0);
+        } else if (ultima == null || ultima.getDeltasDesdeSnapshot() + 1 >= properties.getIntervaloSnapshot()) {
+            // tarefas anteriores ao histórico começam com um snapshot
+            entrada.setEstado(escreverJson(event.atual()));
+        } else {
+            if ("{}".equals(entrada.getAlteracoes())) {
+                return;
+            }
+            entrada.setDeltasDesdeSnapshot(ultima.getDeltasDesdeSnapshot() + 1);
+        }
+        historicoRepository.save(entrada);
+    }
+
+    private static Map<String, Object> diferencas(TarefaDTO anterior, TarefaDTO atual) {
+        if (atual == null) {
+            return Map.of();
+        }
+        Map<String, Object> antes = anterior != null ? JSON.convertValue(anterior, CAMPOS) : Map.of();
+        Map<String, Object> depois = JSON.convertValue(atual, CAMPOS);
+
+        Map<String, Object> delta = new LinkedHashMap<>();
+        depois.forEach((campo, valor) -> {
+            if (!Objects.equals(antes.get(campo), valor)) {
+                delta.put(campo, valor);
+            }
+        });
+        return delta;
+    }
+
+    private HistoricoTarefaDTO converterParaDTO(HistoricoTarefa entrada) {
+        return new HistoricoTarefaDTO(entrada.getId(), entrada.getTarefaId(), entrada.getTipo(),
+                entrada.getOcorridaEm(), entrada.getAutor(), JSON.convertValue(lerJson(entrada.getAlteracoes()), CAMPOS));
+    }
+
+    private static String escreverJson(Object valor) {
+        try {
+            return JSON.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Falha ao serializar o histórico", e);
+        }
+    }
+
+    private static ObjectNode lerJson(String json) {
+        try {
+            return (ObjectNode) JSON.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Histórico inválido", e);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.documents.tarefas.service;
+
+import com.documents.tarefas.config.ImportacaoProperties;
+import com.documents.tarefas.dto.ImportacaoDTO;
+import com.documents.tarefas.exception.ImportacaoNaoEncontradaException;
+import com.documents.tarefas.exception.ParametroInvalidoException;
+import com.documents.tarefas.exception.ServicoSobrecarregadoException;
+import com.documents.tarefas.importacao.FormatoImportacao;
+import com.documents.tarefas.importacao.Importacao;
+import com.documents.tarefas.importacao.PipelineImportacao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Link;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recebe arquivos de importação, devolve o id da importação na hora e processa o arquivo em
+ * segundo plano com um {@link PipelineImportacao}. O progresso fica em memória, nesta instância,
+ * por {@code tarefas.importacao.retencao} depois do encerramento.
+ */
+@Service
+@Slf4j
+@EnableConfigurationProperties(ImportacaoProperties.class)
+public class ImportacaoTarefasService {
+
+    private static final ContextSnapshotFactory CONTEXTO = ContextSnapshotFactory.builder().build();
+
+    private final TarefaService tarefaService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ImportacaoProperties properties;
+
+    private final Map<String, Importacao> importacoes = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executorImportacoes;
+    private final ExecutorService executorEstagios;
+
+    private Tracer tracer = Tracer.NOOP;
+
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+    public ImportacaoTarefasService(TarefaService tarefaService, Validator validator, ObjectMapper objectMapper,
+            ImportacaoProperties properties) {
+        this.tarefaService = tarefaService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+
+        this.executorImportacoes = new ThreadPoolExecutor(
+                properties.getMaximoImportacoesSimultaneas(), properties.getMaximoImportacoesSimultaneas(),
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(properties.getFilaImportacoes()),
+                new CustomizableThreadFactory("importacao-"));
+        this.executorEstagios = ContextExecutorService.wrap(
+                Executors.newCachedThreadPool(new CustomizableThreadFactory("importacao-estagio-")),
+                CONTEXTO::captureAll);
+    }
+
+    /**
+     * Opcional: sem tracer (testes que montam o serviço à mão) as importações não geram traces.
+     */
+    @Autowired(required = false)
+    public void setTracer(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Autowired(required = false)
+    public void setObservationRegistry(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    public ImportacaoDTO iniciarImportacao(MultipartFile arquivo) {
+        if (arquivo.isEmpty()) {
+            throw new ParametroInvalidoException("O arquivo de importação está vazio");
+        }
+        FormatoImportacao formato = FormatoImportacao.de(arquivo.getOriginalFilename(), arquivo.getContentType());
+        log.info("Recebendo importação do arquivo {} ({} bytes, {})", arquivo.getOriginalFilename(), arquivo.getSize(), formato);
+
+        // o upload é descartado ao fim da requisição; o pipeline lê de uma cópia
+        Path copia = copiarParaTemporario(arquivo);
+        Importacao importacao = new Importacao(UUID.randomUUID().toString(), arquivo.getOriginalFilename(), formato,
+                arquivo.getSize(), properties.getMaximoErrosRegistrados());
+        importacoes.put(importacao.getId(), importacao);
+
+        try {
+            Span requisicao = tracer.currentSpan();
+            executorImportacoes.execute(() -> processarEmNovoTrace(importacao, copia, requisicao));
+        } catch (RejectedExecutionException e) {
+            importacoes.remove(importacao.getId());
+            apagar(copia);
+            throw new ServicoSobrecarregadoException("Muitas importações em andamento. Tente novamente mais tarde.",
+                    properties.getRetryAfter());
+        }
+
+        return converterParaDTO(importacao);
+    }
+
+    public ImportacaoDTO buscarImportacao(String id) {
+        Importacao importacao = importacoes.get(id);
+        if (importacao == null) {
+            throw new ImportacaoNaoEncontradaException("Importação não encontrada com ID: " + id);
+        }
+        return converterParaDTO(importacao);
+    }
+
+    @Scheduled(fixedDelayString = "${tarefas.importacao.intervalo-limpeza:PT10M}")
+    public void removerImportacoesEncerradas() {
+        LocalDateTime limite = LocalDateTime.now().minus(properties.getRetencao());
+        importacoes.values().removeIf(importacao -> importacao.encerrada() && importacao.getConcluidaEm().isBefore(limite));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executorImportacoes.shutdownNow();
+        executorEstagios.shutdownNow();
+    }
+
+    /**
+     * O processamento dura muito mais que a requisição do upload, cujo span já terminou: ele
+     * abre um trace próprio, ligado ao da requisição por um link, em vez de virar seu filho.
+     * A observação dentro dele leva o trace para os estágios do pipeline.
+     */
+    private void processarEmNovoTrace(Importacao importacao, Path copia, Span requisicao) {
+        Span.Builder construtor = tracer.spanBuilder().setNoParent().name("importacao");
+        if (requisicao != null) {
+            construtor.addLink(new Link(requisicao));
+        }
+        Span span = construtor.start().tag("importacao.id", importacao.getId());
+        try (Tracer.SpanInScope escopo = tracer.withSpan(span)) {
+            Observation.createNotStarted("tarefas.importacao", observationRegistry)
+                    .contextualName("ImportacaoTarefasService#processar")
+                    .highCardinalityKeyValue("importacao.id", importacao.getId())
+                    .observe(() -> processar(importacao, copia));
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private void processar(Importacao importacao, Path copia) {
+        try (InputStream entrada = Files.newInputStream(copia)) {
+            new PipelineImportacao(importacao, tarefaService, validator, objectMapper, properties, executorEstagios)
+                    .executar(entrada);
+        } catch (IOException e) {
+            log.error("Não foi possível ler o arquivo da importação {}", importacao.getId(), e);
+            importacao.falhar(e.getMessage());
+        } finally {
+            apagar(copia);
+        }
+    }
+
+    private Path copiarParaTemporario(MultipartFile arquivo) {
+        try {
+            Path copia = Files.createTempFile("importacao-", ".tmp");
+            arquivo.transferTo(copia);
+            return copia;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao armazenar o arquivo de importação", e);
+        }
+    }
+
+    private void apagar(Path copia) {
+        try {
+            Files.deleteIfExists(copia);
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar o arquivo temporário {}", copia, e);
+        }
+    }
+
+    private ImportacaoDTO converterParaDTO(Importacao importacao) {
+        ImportacaoDTO dto = new ImportacaoDTO();
+        dto.setId(importacao.getId());
+        dto.setArquivo(importacao.getArquivo());
+        dto.setFormato(importacao.getFormato());
+        dto.setStatus(importacao.getStatus());
+        dto.setMensagem(importacao.getMensagem());
+        dto.setTamanhoBytes(importacao.getTamanhoBytes());
+        dto.setPercentualLido(importacao.percentualLido());
+        dto.setLinhasLidas(importacao.getLinhasLidas().get());
+        dto.setLinhasValidas(importacao.getLinhasValidas().get());
+        dto.setLinhasInseridas(importacao.getLinhasInseridas().get());
+        dto.setLinhasDuplicadas(importacao.getLinhasDuplicadas().get());
+        dto.setLinhasComErro(importacao.getLinhasComErro().get());
+        dto.setLinhasPorSegundo(importacao.linhasPorSegundo());
+        dto.setCriadaEm(importacao.getCriadaEm());
+        dto.setIniciadaEm(importacao.getIniciadaEm());
+        dto.setConcluidaEm(importacao.getConcluidaEm());
+        dto.setErros(importacao.errosOrdenados());
+        return dto;
+    }
+}
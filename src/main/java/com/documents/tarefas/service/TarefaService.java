@@ -1,52 +1,162 @@
 package com.documents.tarefas.service;
 
+import com.documents.tarefas.coalescencia.Coalescente;
+import com.documents.tarefas.compartimento.Compartimento;
 import com.documents.tarefas.dto.AtualizarTarefaRequest;
 import com.documents.tarefas.dto.CriarTarefaRequest;
+import com.documents.tarefas.dto.LoteTarefasDTO;
 import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import com.documents.tarefas.event.TipoAlteracao;
+import com.documents.tarefas.exception.ParametroInvalidoException;
 import com.documents.tarefas.exception.TarefaNaoEncontradaException;
 import com.documents.tarefas.exception.TarefaJaExisteException;
+import com.documents.tarefas.filtro.FiltroTitulos;
 import com.documents.tarefas.model.PrioridadeTarefa;
 import com.documents.tarefas.model.StatusTarefa;
 import com.documents.tarefas.model.Tarefa;
+import com.documents.tarefas.model.TarefaArquivada;
+import com.documents.tarefas.repository.MesclagemPaginas;
+import com.documents.tarefas.repository.OrdenacaoTarefas;
+import com.documents.tarefas.repository.TarefaArquivadaRepository;
 import com.documents.tarefas.repository.TarefaRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-
+import org.hibernate.exception.ConstraintViolationException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Compartimento(Compartimento.CRUD)
+@CacheConfig(cacheNames = "tarefas")
 public class TarefaService {
 
+    private static final Set<String> CAMPOS_PERMITIDOS = Set.of(
+            "id", "titulo", "descricao", "status", "prioridade", "dataCriacao", "dataAtualizacao",
+            "dataConclusao", "usuarioResponsavel", "categoria", "tags", "estimativaHoras",
+            "tempoRealHoras", "observacoes");
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final Sort ORDEM_PADRAO = Sort.by("id");
+
+    private static final String CACHE_TAREFAS = "tarefas";
+
+    private static final int MAXIMO_IDS_LOTE = 1000;
+
+    // ids por consulta IN; abaixo do limite de parâmetros dos bancos mais restritivos
+    private static final int TAMANHO_CONSULTA_LOTE = 500;
+
     private final TarefaRepository tarefaRepository;
+    private final TarefaArquivadaRepository tarefaArquivadaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FiltroTitulos filtroTitulos;
+
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+    private CacheManager cacheManager;
+
+    /**
+     * Opcional: sem registro (testes que montam o serviço à mão) a conversão não é observada.
+     */
+    @Autowired(required = false)
+    public void setObservationRegistry(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Opcional: com o cache desligado, {@link #buscarPorIds} lê tudo do banco.
+     */
+    @Autowired(required = false)
+    public void setCacheManager(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
 
     public TarefaDTO criarTarefa(CriarTarefaRequest request) {
         log.info("Criando nova tarefa: {}", request.getTitulo());
 
-        if (tarefaRepository.existsByTitulo(request.getTitulo())) {
+        // o filtro descarta a consulta para títulos certamente novos; a constraint única cobre a corrida
+        if (filtroTitulos.podeExistir(request.getTitulo()) && tarefaRepository.existsByTitulo(request.getTitulo())) {
             throw new TarefaJaExisteException("Já existe uma tarefa com o título: " + request.getTitulo());
         }
 
         Tarefa tarefa = getTarefa(request);
 
-        Tarefa tarefaSalva = tarefaRepository.save(tarefa);
+        Tarefa tarefaSalva = salvarComTituloUnico(tarefa);
         log.info("Tarefa criada com sucesso. ID: {}", tarefaSalva.getId());
 
-        return converterParaDTO(tarefaSalva);
+        TarefaDTO criada = converterParaDTO(tarefaSalva);
+        publicarAlteracao(TipoAlteracao.CRIACAO, null, criada);
+        return criada;
+    }
+
+    /**
+     * Grava um lote da importação numa única transação. Títulos que já existem no banco, ou que se
+     * repetem no lote, são ignorados, comparados sem caixa e acentos como a constraint única;
+     * devolve apenas as tarefas criadas. Se outro processo gravar um dos títulos ao
+     * mesmo tempo, o lote inteiro falha com {@link TarefaJaExisteException}.
+     */
+    public List<TarefaDTO> importarLote(List<CriarTarefaRequest> requests) {
+        log.info("Importando lote com {} tarefas", requests.size());
+
+        List<String> talvezExistentes = requests.stream()
+                .map(CriarTarefaRequest::getTitulo)
+                .filter(filtroTitulos::podeExistir)
+                .collect(Collectors.toList());
+        // chaves como a collation do banco, que devolve a grafia gravada e não a do lote
+        Set<String> existentes = new HashSet<>();
+        if (!talvezExistentes.isEmpty()) {
+            tarefaRepository.findTitulosExistentes(talvezExistentes)
+                    .forEach(titulo -> existentes.add(FiltroTitulos.normalizar(titulo)));
+        }
+
+        List<Tarefa> novas = requests.stream()
+                .filter(request -> existentes.add(FiltroTitulos.normalizar(request.getTitulo())))
+                .map(this::getTarefa)
+                .collect(Collectors.toList());
+
+        List<TarefaDTO> criadas = converterParaDTOs(salvarLoteComTituloUnico(novas));
+        criadas.forEach(criada -> publicarAlteracao(TipoAlteracao.CRIACAO, null, criada));
+
+        log.info("Lote importado. Criadas: {}, já existentes: {}", criadas.size(), requests.size() - novas.size());
+        return criadas;
     }
 
     @Transactional(readOnly = true)
+    @Coalescente
+    @Cacheable(key = "#id", sync = true)
     public TarefaDTO buscarPorId(Long id) {
         log.info("Buscando tarefa com ID: {}", id);
 
@@ -56,15 +166,82 @@ public class TarefaService {
         return converterParaDTO(tarefa);
     }
 
+    /**
+     * Várias tarefas de uma vez, na ordem pedida e sem repetições. As que estão no cache de
+     * {@link #buscarPorId} vêm dele; as demais são lidas com consultas {@code IN} de até
+     * {@value #TAMANHO_CONSULTA_LOTE} ids. Ids inexistentes vão para {@code naoEncontradas}, sem
+     * exceção. As lidas do banco não são gravadas no cache: cada gravação difunde uma invalidação
+     * para as outras instâncias.
+     */
+    @Transactional(readOnly = true)
+    public LoteTarefasDTO buscarPorIds(List<Long> ids) {
+        log.info("Buscando lote de {} tarefas", ids.size());
+
+        Set<Long> distintos = new LinkedHashSet<>(ids);
+        if (distintos.isEmpty() || distintos.contains(null)) {
+            throw new ParametroInvalidoException("Informe ao menos um id, sem valores vazios");
+        }
+        if (distintos.size() > MAXIMO_IDS_LOTE) {
+            throw new ParametroInvalidoException("Informe no máximo " + MAXIMO_IDS_LOTE + " ids por lote");
+        }
+
+        Map<Long, TarefaDTO> encontradas = new HashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+        Cache cache = cacheManager != null ? cacheManager.getCache(CACHE_TAREFAS) : null;
+        for (Long id : distintos) {
+            TarefaDTO emCache = cache != null ? cache.get(id, TarefaDTO.class) : null;
+            if (emCache != null) {
+                encontradas.put(id, emCache);
+            } else {
+                faltantes.add(id);
+            }
+        }
+        List<Tarefa> lidas = new ArrayList<>(faltantes.size());
+        for (int inicio = 0; inicio < faltantes.size(); inicio += TAMANHO_CONSULTA_LOTE) {
+            lidas.addAll(tarefaRepository.findAllById(faltantes.subList(inicio, Math.min(inicio + TAMANHO_CONSULTA_LOTE, faltantes.size()))));
+        }
+        converterParaDTOs(lidas).forEach(tarefa -> encontradas.put(tarefa.getId(), tarefa));
+
+        List<TarefaDTO> tarefas = new ArrayList<>(encontradas.size());
+        List<Long> naoEncontradas = new ArrayList<>();
+        for (Long id : distintos) {
+            TarefaDTO tarefa = encontradas.get(id);
+            if (tarefa != null) {
+                tarefas.add(tarefa);
+            } else {
+                naoEncontradas.add(id);
+            }
+        }
+        log.info("Lote buscado. Do cache: {}, do banco: {}, não encontradas: {}",
+                distintos.size() - faltantes.size(), faltantes.size() - naoEncontradas.size(), naoEncontradas.size());
+        return new LoteTarefasDTO(tarefas, naoEncontradas);
+    }
+
+    @Transactional(readOnly = true)
+    public TarefaDTO buscarPorIdIncluindoArquivadas(Long id) {
+        log.info("Buscando tarefa com ID: {} (incluindo arquivadas)", id);
+
+        Tarefa tarefa = tarefaRepository.findById(id)
+                .or(() -> tarefaArquivadaRepository.findById(id).map(TarefaArquivada::paraTarefa))
+                .orElseThrow(() -> new TarefaNaoEncontradaException("Tarefa não encontrada com ID: " + id));
+
+        return converterParaDTO(tarefa);
+    }
+
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = "consultas-tarefas", cacheManager = "cacheConsultasManager", keyGenerator = "chaveConsultaTarefas",
+            sync = true)
     public Page<TarefaDTO> listarTarefas(Pageable pageable) {
         log.info("Listando tarefas com paginação: {}", pageable);
 
         Page<Tarefa> tarefas = tarefaRepository.findAll(pageable);
-        return tarefas.map(this::converterParaDTO);
+        return converterParaDTOs(tarefas);
     }
 
+    // leitura principal de GET /api/tarefas: fica no CRUD, pois a página é limitada (2000 linhas no máximo)
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = "consultas-tarefas", cacheManager = "cacheConsultasManager", keyGenerator = "chaveConsultaTarefas",
+            sync = true)
     public Page<TarefaDTO> listarTarefasComFiltros(StatusTarefa status,
             PrioridadeTarefa prioridade,
             String usuario,
@@ -74,46 +251,103 @@ public class TarefaService {
                 status, prioridade, usuario, categoria);
 
         Page<Tarefa> tarefas = tarefaRepository.findByFiltros(status, prioridade, usuario, categoria, pageable);
-        return tarefas.map(this::converterParaDTO);
+        return converterParaDTOs(tarefas);
+    }
+
+    @Transactional(readOnly = true)
+    @Compartimento(Compartimento.ANALITICO)
+    public Page<TarefaDTO> listarTarefasIncluindoArquivadas(StatusTarefa status,
+            PrioridadeTarefa prioridade,
+            String usuario,
+            String categoria,
+            Pageable pageable) {
+        log.info("Listando tarefas (incluindo arquivadas) com filtros - Status: {}, Prioridade: {}, Usuário: {}, Categoria: {}",
+                status, prioridade, usuario, categoria);
+
+        Pageable porFonte = MesclagemPaginas.paginaPorFonte(pageable, ORDEM_PADRAO);
+        Page<Tarefa> ativas = tarefaRepository.findByFiltros(status, prioridade, usuario, categoria, porFonte);
+        Page<Tarefa> arquivadas = tarefaArquivadaRepository.findByFiltros(status, prioridade, usuario, categoria, porFonte)
+                .map(TarefaArquivada::paraTarefa);
+
+        return converterParaDTOs(MesclagemPaginas.mesclar(List.of(ativas, arquivadas), pageable,
+                OrdenacaoTarefas.comparador(MesclagemPaginas.ordenacaoEfetiva(pageable, ORDEM_PADRAO))));
     }
 
     @Transactional(readOnly = true)
+    public Page<Map<String, Object>> listarCamposTarefas(String campos,
+            StatusTarefa status,
+            PrioridadeTarefa prioridade,
+            String usuario,
+            String categoria,
+            Pageable pageable) {
+        log.info("Listando campos {} das tarefas - Status: {}, Prioridade: {}, Usuário: {}, Categoria: {}",
+                campos, status, prioridade, usuario, categoria);
+
+        return tarefaRepository.findCamposByFiltros(parseCampos(campos), status, prioridade, usuario, categoria, pageable)
+                .map(this::formatarCampos);
+    }
+
+    @Transactional(readOnly = true)
+    @Compartimento(Compartimento.ANALITICO)
     public List<TarefaDTO> buscarPorStatus(StatusTarefa status) {
         log.info("Buscando tarefas com status: {}", status);
 
         List<Tarefa> tarefas = tarefaRepository.findByStatusOrderByPrioridadeAndDataCriacao(status);
-        return tarefas.stream().map(this::converterParaDTO).collect(Collectors.toList());
+        return converterParaDTOs(tarefas);
     }
 
     @Transactional(readOnly = true)
+    @Compartimento(Compartimento.ANALITICO)
     public List<TarefaDTO> buscarPorPrioridade(PrioridadeTarefa prioridade) {
         log.info("Buscando tarefas com prioridade: {}", prioridade);
 
         List<Tarefa> tarefas = tarefaRepository.findByPrioridade(prioridade);
-        return tarefas.stream().map(this::converterParaDTO).collect(Collectors.toList());
+        return converterParaDTOs(tarefas);
     }
 
     @Transactional(readOnly = true)
+    @Compartimento(Compartimento.ANALITICO)
     public List<TarefaDTO> buscarPorUsuario(String usuario) {
         log.info("Buscando tarefas do usuário: {}", usuario);
 
         List<Tarefa> tarefas = tarefaRepository.findByUsuarioResponsavel(usuario);
-        return tarefas.stream().map(this::converterParaDTO).collect(Collectors.toList());
+        return converterParaDTOs(tarefas);
     }
 
     @Transactional(readOnly = true)
+    @Compartimento(Compartimento.ANALITICO)
     public Page<TarefaDTO> buscarPorTexto(String texto, Pageable pageable) {
         log.info("Buscando tarefas com texto: {}", texto);
 
         Page<Tarefa> tarefas = tarefaRepository.findByTexto(texto, pageable);
-        return tarefas.map(this::converterParaDTO);
+        return converterParaDTOs(tarefas);
+    }
+
+    // sugestões sem o índice em memória: a faixa do índice de titulo é barata e fica no CRUD
+    @Transactional(readOnly = true)
+    public List<TarefaDTO> buscarPorInicioDoTitulo(String prefixo, int limite) {
+        log.debug("Buscando tarefas com título iniciado por: {}", prefixo);
+
+        List<Tarefa> tarefas = tarefaRepository.findByTituloStartingWithOrderByTitulo(prefixo, PageRequest.of(0, limite));
+        return converterParaDTOs(tarefas);
     }
 
+    @Transactional(readOnly = true)
+    @Compartimento(Compartimento.ANALITICO)
+    public Page<Map<String, Object>> buscarCamposPorTexto(String campos, String texto, Pageable pageable) {
+        log.info("Buscando campos {} das tarefas com texto: {}", campos, texto);
+
+        return tarefaRepository.findCamposByTexto(parseCampos(campos), texto, pageable)
+                .map(this::formatarCampos);
+    }
+
+    @CacheEvict(key = "#id")
     public TarefaDTO atualizarTarefa(Long id, AtualizarTarefaRequest request) {
         log.info("Atualizando tarefa com ID: {}", id);
 
         Tarefa tarefa = tarefaRepository.findById(id)
                 .orElseThrow(() -> new TarefaNaoEncontradaException("Tarefa não encontrada com ID: " + id));
+        TarefaDTO anterior = converterParaDTO(tarefa);
 
         if (request.getTitulo() != null) {
             tarefa.setTitulo(request.getTitulo());
@@ -150,51 +384,70 @@ public class TarefaService {
             tarefa.setObservacoes(request.getObservacoes());
         }
 
-        Tarefa tarefaAtualizada = tarefaRepository.save(tarefa);
+        Tarefa tarefaAtualizada = salvarComTituloUnico(tarefa);
+        if (!Objects.equals(tarefa.getTitulo(), anterior.getTitulo())) {
+            // antecipa o UPDATE para que um título repetido vire 409 aqui, e não no commit
+            flushComTituloUnico(tarefa.getTitulo());
+        }
         log.info("Tarefa atualizada com sucesso. ID: {}", tarefaAtualizada.getId());
 
-        return converterParaDTO(tarefaAtualizada);
+        TarefaDTO atual = converterParaDTO(tarefaAtualizada);
+        publicarAlteracao(TipoAlteracao.ATUALIZACAO, anterior, atual);
+        return atual;
     }
 
+    @CacheEvict(key = "#id")
     public TarefaDTO marcarComoConcluida(Long id) {
         log.info("Marcando tarefa como concluída. ID: {}", id);
 
         Tarefa tarefa = tarefaRepository.findById(id)
                 .orElseThrow(() -> new TarefaNaoEncontradaException("Tarefa não encontrada com ID: " + id));
+        TarefaDTO anterior = converterParaDTO(tarefa);
 
         tarefa.marcarComoConcluida();
         Tarefa tarefaSalva = tarefaRepository.save(tarefa);
 
         log.info("Tarefa marcada como concluída. ID: {}", tarefaSalva.getId());
-        return converterParaDTO(tarefaSalva);
+        TarefaDTO atual = converterParaDTO(tarefaSalva);
+        publicarAlteracao(TipoAlteracao.ATUALIZACAO, anterior, atual);
+        return atual;
     }
 
+    @CacheEvict(key = "#id")
     public TarefaDTO marcarComoEmAndamento(Long id) {
         log.info("Marcando tarefa como em andamento. ID: {}", id);
 
         Tarefa tarefa = tarefaRepository.findById(id)
                 .orElseThrow(() -> new TarefaNaoEncontradaException("Tarefa não encontrada com ID: " + id));
+        TarefaDTO anterior = converterParaDTO(tarefa);
 
         tarefa.marcarComoEmAndamento();
         Tarefa tarefaSalva = tarefaRepository.save(tarefa);
 
         log.info("Tarefa marcada como em andamento. ID: {}", tarefaSalva.getId());
-        return converterParaDTO(tarefaSalva);
+        TarefaDTO atual = converterParaDTO(tarefaSalva);
+        publicarAlteracao(TipoAlteracao.ATUALIZACAO, anterior, atual);
+        return atual;
     }
 
+    @CacheEvict(key = "#id")
     public TarefaDTO marcarComoPendente(Long id) {
         log.info("Marcando tarefa como pendente. ID: {}", id);
 
         Tarefa tarefa = tarefaRepository.findById(id)
                 .orElseThrow(() -> new TarefaNaoEncontradaException("Tarefa não encontrada com ID: " + id));
+        TarefaDTO anterior = converterParaDTO(tarefa);
 
         tarefa.marcarComoPendente();
         Tarefa tarefaSalva = tarefaRepository.save(tarefa);
 
         log.info("Tarefa marcada como pendente. ID: {}", tarefaSalva.getId());
-        return converterParaDTO(tarefaSalva);
+        TarefaDTO atual = converterParaDTO(tarefaSalva);
+        publicarAlteracao(TipoAlteracao.ATUALIZACAO, anterior, atual);
+        return atual;
     }
 
+    @CacheEvict(key = "#id")
     public void excluirTarefa(Long id) {
         log.info("Excluindo tarefa com ID: {}", id);
 
@@ -203,20 +456,24 @@ public class TarefaService {
         }
 
         tarefaRepository.deleteById(id);
+        eventPublisher.publishEvent(new TarefaAlteradaEvent(TipoAlteracao.EXCLUSAO, id, null, null));
         log.info("Tarefa excluída com sucesso. ID: {}", id);
     }
 
     @Transactional(readOnly = true)
+    @Compartimento(Compartimento.ANALITICO)
     public List<TarefaDTO> buscarTarefasVencidas() {
         log.info("Buscando tarefas vencidas");
 
         LocalDateTime dataLimite = LocalDateTime.now().minusDays(7);
         List<Tarefa> tarefas = tarefaRepository.findTarefasVencidas(dataLimite);
 
-        return tarefas.stream().map(this::converterParaDTO).collect(Collectors.toList());
+        return converterParaDTOs(tarefas);
     }
 
     @Transactional(readOnly = true)
+    @Compartimento(Compartimento.ANALITICO)
+    @Coalescente
     public Map<String, Object> obterEstatisticas() {
         log.info("Obtendo estatísticas das tarefas");
 
@@ -242,7 +499,88 @@ public class TarefaService {
         return tarefa;
     }
 
+    private Tarefa salvarComTituloUnico(Tarefa tarefa) {
+        try {
+            return tarefaRepository.save(tarefa);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirTituloDuplicado(e, tarefa.getTitulo());
+        }
+    }
+
+    private List<Tarefa> salvarLoteComTituloUnico(List<Tarefa> tarefas) {
+        try {
+            return tarefaRepository.saveAll(tarefas);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirTituloDuplicado(e, tarefas.size() == 1 ? tarefas.get(0).getTitulo() : "(lote)");
+        }
+    }
+
+    private void flushComTituloUnico(String titulo) {
+        try {
+            tarefaRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirTituloDuplicado(e, titulo);
+        }
+    }
+
+    private RuntimeException traduzirTituloDuplicado(DataIntegrityViolationException e, String titulo) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null
+                    && violacao.getConstraintName().toLowerCase(Locale.ROOT).contains(Tarefa.UK_TITULO)) {
+                return new TarefaJaExisteException("Já existe uma tarefa com o título: " + titulo);
+            }
+        }
+        return e;
+    }
+
+    private Set<String> parseCampos(String campos) {
+        Set<String> selecionados = new LinkedHashSet<>();
+        for (String campo : campos.split(",")) {
+            String nome = campo.trim();
+            if (nome.isEmpty()) {
+                continue;
+            }
+            if (!CAMPOS_PERMITIDOS.contains(nome)) {
+                throw new ParametroInvalidoException("Campo inválido em fields: " + nome);
+            }
+            selecionados.add(nome);
+        }
+        if (selecionados.isEmpty()) {
+            throw new ParametroInvalidoException("Informe ao menos um campo em fields");
+        }
+        return selecionados;
+    }
+
+    private Map<String, Object> formatarCampos(Map<String, Object> linha) {
+        linha.replaceAll((campo, valor) -> valor instanceof LocalDateTime data ? data.format(FORMATO_DATA) : valor);
+        return linha;
+    }
+
+    private void publicarAlteracao(TipoAlteracao tipo, TarefaDTO anterior, TarefaDTO atual) {
+        eventPublisher.publishEvent(new TarefaAlteradaEvent(tipo, atual.getId(), anterior, atual));
+    }
+
     private TarefaDTO converterParaDTO(Tarefa tarefa) {
+        return observarConversao(1, () -> montarDTO(tarefa));
+    }
+
+    private List<TarefaDTO> converterParaDTOs(List<Tarefa> tarefas) {
+        return observarConversao(tarefas.size(), () -> tarefas.stream().map(this::montarDTO).collect(Collectors.toList()));
+    }
+
+    private Page<TarefaDTO> converterParaDTOs(Page<Tarefa> tarefas) {
+        return observarConversao(tarefas.getNumberOfElements(), () -> tarefas.map(this::montarDTO));
+    }
+
+    // um span por conversão, não por linha: listas sem paginação e lotes de importação têm milhares delas
+    private <T> T observarConversao(int linhas, Supplier<T> conversao) {
+        return Observation.createNotStarted("tarefas.conversao", observationRegistry)
+                .contextualName("TarefaService#converterParaDTO")
+                .highCardinalityKeyValue("linhas", String.valueOf(linhas))
+                .observe(conversao);
+    }
+
+    private TarefaDTO montarDTO(Tarefa tarefa) {
         TarefaDTO dto = new TarefaDTO();
         dto.setId(tarefa.getId());
         dto.setTitulo(tarefa.getTitulo());
@@ -250,16 +588,14 @@ public class TarefaService {
         dto.setStatus(tarefa.getStatus());
         dto.setPrioridade(tarefa.getPrioridade());
         
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        
         if (tarefa.getDataCriacao() != null) {
-            dto.setDataCriacao(tarefa.getDataCriacao().format(formatter));
+            dto.setDataCriacao(tarefa.getDataCriacao().format(FORMATO_DATA));
         }
         if (tarefa.getDataAtualizacao() != null) {
-            dto.setDataAtualizacao(tarefa.getDataAtualizacao().format(formatter));
+            dto.setDataAtualizacao(tarefa.getDataAtualizacao().format(FORMATO_DATA));
         }
         if (tarefa.getDataConclusao() != null) {
-            dto.setDataConclusao(tarefa.getDataConclusao().format(formatter));
+            dto.setDataConclusao(tarefa.getDataConclusao().format(FORMATO_DATA));
         }
         
         dto.setUsuarioResponsavel(tarefa.getUsuarioResponsavel());
@@ -0,0 +1,37 @@
+package com.documents.tarefas.sql;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Com {@code tarefas.orcamento-sql.cabecalho=true}, informa no cabeçalho
+ * {@value #CABECALHO} o acesso ao banco da requisição até a escrita da resposta.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "tarefas.orcamento-sql", name = "cabecalho", havingValue = "true")
+public class CabecalhoEstatisticasSqlAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String CABECALHO = "X-Estatisticas-Sql";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        EstatisticasSql estatisticas = ContextoSql.atual();
+        if (estatisticas != null) {
+            response.getHeaders().set(CABECALHO, estatisticas.toString());
+        }
+        return body;
+    }
+}
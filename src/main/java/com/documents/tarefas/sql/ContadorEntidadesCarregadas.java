@@ -0,0 +1,30 @@
+package com.documents.tarefas.sql;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Conta as entidades montadas pelo Hibernate (do banco ou do cache de segundo nível) nas
+ * estatísticas da requisição corrente.
+ */
+public class ContadorEntidadesCarregadas implements PostLoadEventListener {
+
+    public static void registrar(EntityManagerFactory entityManagerFactory) {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, new ContadorEntidadesCarregadas());
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        EstatisticasSql estatisticas = ContextoSql.atual();
+        if (estatisticas != null) {
+            estatisticas.registrarEntidadeCarregada();
+        }
+    }
+}
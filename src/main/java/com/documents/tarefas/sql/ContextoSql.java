@@ -0,0 +1,43 @@
+package com.documents.tarefas.sql;
+
+import io.micrometer.context.ContextRegistry;
+
+/**
+ * Estatísticas de SQL da requisição corrente, abertas pelo {@link OrcamentoSqlFilter} e
+ * alimentadas pelos ouvintes do Hibernate. Ficam fora do {@link ContextRegistry} global: só os
+ * executores criados a partir de {@link #registro()} (consultas paralelas entre shards) as
+ * levam junto; importações e notificações, que sobrevivem à requisição, não.
+ */
+public final class ContextoSql {
+
+    private static final ThreadLocal<EstatisticasSql> ESTATISTICAS = new ThreadLocal<>();
+
+    private ContextoSql() {
+    }
+
+    /**
+     * Cópia do registro global que também propaga as estatísticas da requisição.
+     */
+    public static ContextRegistry registro() {
+        ContextRegistry global = ContextRegistry.getInstance();
+        ContextRegistry registro = new ContextRegistry();
+        global.getContextAccessors().forEach(registro::registerContextAccessor);
+        global.getThreadLocalAccessors().forEach(registro::registerThreadLocalAccessor);
+        return registro.registerThreadLocalAccessor("tarefas.sql",
+                ESTATISTICAS::get, ESTATISTICAS::set, ESTATISTICAS::remove);
+    }
+
+    public static EstatisticasSql iniciar() {
+        EstatisticasSql estatisticas = new EstatisticasSql();
+        ESTATISTICAS.set(estatisticas);
+        return estatisticas;
+    }
+
+    public static EstatisticasSql atual() {
+        return ESTATISTICAS.get();
+    }
+
+    public static void encerrar() {
+        ESTATISTICAS.remove();
+    }
+}
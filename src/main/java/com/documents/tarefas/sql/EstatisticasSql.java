@@ -0,0 +1,71 @@
+package com.documents.tarefas.sql;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de acesso ao banco de uma requisição: comandos SQL preparados, entidades
+ * carregadas e tempo gasto executando comandos no JDBC. Seguros para as threads que trabalham
+ * para a mesma requisição (consultas paralelas entre shards).
+ */
+public class EstatisticasSql {
+
+    // comandos distintos guardados para a detecção de N+1; o resto só entra na contagem
+    static final int MAXIMO_COMANDOS_DISTINTOS = 256;
+
+    private final LongAdder comandos = new LongAdder();
+    private final LongAdder entidadesCarregadas = new LongAdder();
+    private final LongAdder nanosJdbc = new LongAdder();
+    private final Map<String, LongAdder> repeticoes = new ConcurrentHashMap<>();
+
+    public void registrarComando(String sql) {
+        comandos.increment();
+        LongAdder contador = repeticoes.get(sql);
+        if (contador == null && repeticoes.size() < MAXIMO_COMANDOS_DISTINTOS) {
+            contador = repeticoes.computeIfAbsent(sql, s -> new LongAdder());
+        }
+        if (contador != null) {
+            contador.increment();
+        }
+    }
+
+    public void registrarEntidadeCarregada() {
+        entidadesCarregadas.increment();
+    }
+
+    public void registrarTempoJdbc(long nanos) {
+        nanosJdbc.add(nanos);
+    }
+
+    public long getComandos() {
+        return comandos.sum();
+    }
+
+    public long getEntidadesCarregadas() {
+        return entidadesCarregadas.sum();
+    }
+
+    public Duration getTempoJdbc() {
+        return Duration.ofNanos(nanosJdbc.sum());
+    }
+
+    /**
+     * O comando que mais se repetiu, com o número de execuções: muitas execuções do mesmo SQL
+     * numa requisição costumam ser uma consulta por item de uma lista (N+1).
+     */
+    public Optional<Map.Entry<String, Long>> getComandoMaisRepetido() {
+        return repeticoes.entrySet().stream()
+                .map(entrada -> Map.entry(entrada.getKey(), entrada.getValue().sum()))
+                .max(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+    }
+
+    @Override
+    public String toString() {
+        return "comandos=" + getComandos() + ", entidades=" + getEntidadesCarregadas()
+                + ", tempo-jdbc-ms=" + getTempoJdbc().toMillis();
+    }
+}
@@ -0,0 +1,19 @@
+package com.documents.tarefas.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta cada comando que o Hibernate prepara (um lote JDBC conta uma vez) nas estatísticas da
+ * requisição corrente. Não altera o SQL.
+ */
+public class InspetorComandosSql implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        EstatisticasSql estatisticas = ContextoSql.atual();
+        if (estatisticas != null) {
+            estatisticas.registrarComando(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,83 @@
+package com.documents.tarefas.sql;
+
+import com.documents.tarefas.config.OrcamentoSqlProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Abre as {@link EstatisticasSql} de cada requisição da API e, ao final, as publica por endpoint
+ * ({@code MÉTODO /padrao}): métricas {@code tarefas.sql.*}, alerta no log quando o endpoint passa
+ * do seu orçamento de comandos e quando um mesmo SQL se repete a ponto de sugerir N+1.
+ */
+@Slf4j
+public class OrcamentoSqlFilter extends OncePerRequestFilter {
+
+    private final OrcamentoSqlProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public OrcamentoSqlFilter(OrcamentoSqlProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EstatisticasSql estatisticas = ContextoSql.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ContextoSql.encerrar();
+            Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (padrao != null) {
+                publicar(request.getMethod() + " " + padrao, estatisticas);
+            }
+        }
+    }
+
+    void publicar(String endpoint, EstatisticasSql estatisticas) {
+        long comandos = estatisticas.getComandos();
+        DistributionSummary.builder("tarefas.sql.comandos").tag("endpoint", endpoint)
+                .register(meterRegistry).record(comandos);
+        DistributionSummary.builder("tarefas.sql.entidades").tag("endpoint", endpoint)
+                .register(meterRegistry).record(estatisticas.getEntidadesCarregadas());
+        Timer.builder("tarefas.sql.tempo").tag("endpoint", endpoint)
+                .register(meterRegistry).record(estatisticas.getTempoJdbc());
+        log.debug("SQL em {}: {}", endpoint, estatisticas);
+
+        int limite = properties.limiteDe(endpoint);
+        if (limite > 0 && comandos > limite) {
+            Counter.builder("tarefas.sql.orcamento.excedido").tag("endpoint", endpoint)
+                    .register(meterRegistry).increment();
+            log.warn("Orçamento de SQL excedido em {}: {} comandos (limite {}), {} entidades carregadas, {} ms em JDBC",
+                    endpoint, comandos, limite, estatisticas.getEntidadesCarregadas(),
+                    estatisticas.getTempoJdbc().toMillis());
+        }
+
+        estatisticas.getComandoMaisRepetido()
+                .filter(maisRepetido -> maisRepetido.getValue() >= properties.getRepeticoesSuspeitas())
+                .ifPresent(maisRepetido -> avisarNMaisUm(endpoint, maisRepetido));
+    }
+
+    private static void avisarNMaisUm(String endpoint, Map.Entry<String, Long> maisRepetido) {
+        log.warn("Possível N+1 em {}: o mesmo comando foi executado {} vezes: {}",
+                endpoint, maisRepetido.getValue(), maisRepetido.getKey());
+    }
+}
@@ -0,0 +1,40 @@
+package com.documents.tarefas.sql;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Mede o tempo de execução dos comandos JDBC de cada sessão do Hibernate. Criado pelo Hibernate
+ * para cada sessão ({@code hibernate.session.events.auto}); uma sessão é usada por uma thread
+ * por vez, então o início guardado aqui não é disputado.
+ */
+public class OuvinteSessaoSql extends BaseSessionEventListener {
+
+    private long inicio;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        registrar();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        registrar();
+    }
+
+    private void registrar() {
+        EstatisticasSql estatisticas = ContextoSql.atual();
+        if (estatisticas != null) {
+            estatisticas.registrarTempoJdbc(System.nanoTime() - inicio);
+        }
+    }
+}
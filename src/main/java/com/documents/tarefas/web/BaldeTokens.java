@@ -0,0 +1,46 @@
+package com.documents.tarefas.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens sem lock. Em vez de guardar a quantidade de tokens e o instante da última
+ * reposição (dois valores que precisariam mudar juntos), guarda só o instante teórico em que
+ * o balde estará cheio de novo: consumir um token é avançá-lo de um intervalo com um único
+ * compareAndSet.
+ */
+final class BaldeTokens {
+
+    private final long intervaloNanos;
+    private final long capacidadeNanos;
+    private final AtomicLong instanteCheio;
+
+    BaldeTokens(double taxaPorSegundo, int capacidade, long agora) {
+        this.intervaloNanos = Math.max(1L, (long) (1_000_000_000L / taxaPorSegundo));
+        this.capacidadeNanos = intervaloNanos * Math.max(1, capacidade);
+        this.instanteCheio = new AtomicLong(agora);
+    }
+
+    /**
+     * @return 0 se um token foi consumido; caso contrário, nanos até haver um token disponível
+     */
+    long consumir(long agora) {
+        while (true) {
+            long atual = instanteCheio.get();
+            long novo = (atual - agora > 0 ? atual : agora) + intervaloNanos;
+            long espera = novo - agora - capacidadeNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (instanteCheio.compareAndSet(atual, novo)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Um balde cheio é indistinguível de um recém-criado e pode ser descartado.
+     */
+    boolean cheio(long agora) {
+        return instanteCheio.get() - agora <= 0;
+    }
+}
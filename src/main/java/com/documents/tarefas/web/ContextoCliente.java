@@ -0,0 +1,47 @@
+package com.documents.tarefas.web;
+
+/**
+ * Identificador do cliente da requisição corrente, preenchido pelo
+ * {@link IdentificacaoClienteFilter} e disponível para as camadas inferiores.
+ * <p>
+ * Um identificador compartilhado (o endereço de um proxy confiável que não informou o cliente
+ * original) ainda serve para limitar requisições, mas não distingue um cliente dos outros atrás do
+ * mesmo proxy; {@link #individual()} o omite.
+ */
+public final class ContextoCliente {
+
+    private static final ThreadLocal<String> CLIENTE = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> COMPARTILHADO = new ThreadLocal<>();
+
+    private ContextoCliente() {
+    }
+
+    public static void definir(String cliente) {
+        definir(cliente, false);
+    }
+
+    public static void definir(String cliente, boolean compartilhado) {
+        CLIENTE.set(cliente);
+        if (compartilhado) {
+            COMPARTILHADO.set(Boolean.TRUE);
+        } else {
+            COMPARTILHADO.remove();
+        }
+    }
+
+    public static String atual() {
+        return CLIENTE.get();
+    }
+
+    /**
+     * Cliente corrente, ou {@code null} se não houver um ou se o identificador for compartilhado.
+     */
+    public static String individual() {
+        return COMPARTILHADO.get() == null ? CLIENTE.get() : null;
+    }
+
+    public static void limpar() {
+        CLIENTE.remove();
+        COMPARTILHADO.remove();
+    }
+}
@@ -0,0 +1,89 @@
+package com.documents.tarefas.web;
+
+import com.documents.tarefas.config.IdentificacaoClienteProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Identifica o cliente da requisição em {@link ContextoCliente}. Conexões diretas são identificadas
+ * pelo endereço da conexão. Conexões vindas de um proxy confiável
+ * ({@code tarefas.identificacao-cliente.proxies-confiaveis}) usam o {@code X-Cliente-Id} repassado
+ * por ele ou, sem esse cabeçalho, o primeiro endereço não confiável do {@code X-Forwarded-For},
+ * lido da direita para a esquerda. Os dois cabeçalhos vindos de qualquer outra origem são ignorados,
+ * pois o cliente poderia trocá-los a cada requisição. Quando só resta o endereço de um proxy, o
+ * identificador é marcado como compartilhado.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@EnableConfigurationProperties(IdentificacaoClienteProperties.class)
+public class IdentificacaoClienteFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO_CLIENTE = "X-Cliente-Id";
+    public static final String CABECALHO_ENCAMINHADO = "X-Forwarded-For";
+
+    private final RedesConfiaveis proxies;
+
+    public IdentificacaoClienteFilter(IdentificacaoClienteProperties properties) {
+        this.proxies = new RedesConfiaveis(properties.getProxiesConfiaveis());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String cliente = identificar(request);
+        ContextoCliente.definir(cliente, proxies.contem(cliente));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ContextoCliente.limpar();
+        }
+    }
+
+    String identificar(HttpServletRequest request) {
+        String conexao = request.getRemoteAddr();
+        if (!proxies.contem(conexao)) {
+            return conexao;
+        }
+
+        String cliente = request.getHeader(CABECALHO_CLIENTE);
+        if (cliente != null && !cliente.isBlank()) {
+            return cliente;
+        }
+        return enderecoOriginal(request, conexao);
+    }
+
+    private String enderecoOriginal(HttpServletRequest request, String conexao) {
+        List<String> saltos = new ArrayList<>();
+        for (String valor : Collections.list(request.getHeaders(CABECALHO_ENCAMINHADO))) {
+            for (String salto : valor.split(",")) {
+                saltos.add(salto.trim());
+            }
+        }
+
+        String endereco = conexao;
+        for (int i = saltos.size() - 1; i >= 0; i--) {
+            String salto = saltos.get(i);
+            if (RedesConfiaveis.literal(salto) == null) {
+                // lixo antes do último proxy: fica com o último endereço conhecido
+                break;
+            }
+            endereco = salto;
+            if (!proxies.contem(salto)) {
+                break;
+            }
+        }
+        return endereco;
+    }
+}
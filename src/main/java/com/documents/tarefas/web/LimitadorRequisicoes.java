@@ -0,0 +1,83 @@
+package com.documents.tarefas.web;
+
+import com.documents.tarefas.config.LimiteRequisicoesProperties;
+import com.documents.tarefas.config.LimiteRequisicoesProperties.Limite;
+import com.documents.tarefas.exception.LimiteRequisicoesExcedidoException;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Baldes de tokens por cliente e endpoint e, se configurado, por endpoint. Os baldes ficam em
+ * {@link ConcurrentHashMap}s (leitura sem lock, escrita por segmento) e cada um é um único
+ * contador atômico, então clientes diferentes não disputam nada entre si.
+ * <p>
+ * Os baldes por cliente são limitados a {@code maximo-baldes}: acima disso, clientes novos dividem
+ * um balde por endpoint até a próxima limpeza, para que identidades trocadas a cada requisição não
+ * cresçam o mapa nem escapem do limite.
+ */
+public class LimitadorRequisicoes {
+
+    private static final String EXCEDENTE = "*";
+
+    private final LimiteRequisicoesProperties properties;
+    private final LongSupplier relogio;
+
+    private final ConcurrentMap<String, BaldeTokens> baldesPorCliente = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, BaldeTokens> baldesPorEndpoint = new ConcurrentHashMap<>();
+
+    public LimitadorRequisicoes(LimiteRequisicoesProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    LimitadorRequisicoes(LimiteRequisicoesProperties properties, LongSupplier relogio) {
+        this.properties = properties;
+        this.relogio = relogio;
+    }
+
+    public void adquirir(String cliente, String endpoint) {
+        long agora = relogio.getAsLong();
+
+        Limite limiteCliente = properties.getEndpoints().getOrDefault(endpoint, properties.getPorCliente());
+        String chave = endpoint + '|' + cliente;
+        if (!baldesPorCliente.containsKey(chave) && baldesPorCliente.size() >= properties.getMaximoBaldes()) {
+            chave = endpoint + '|' + EXCEDENTE;
+        }
+        long espera = balde(baldesPorCliente, chave, limiteCliente, agora).consumir(agora);
+        if (espera > 0) {
+            throw new LimiteRequisicoesExcedidoException(
+                    "Limite de requisições excedido para o cliente em " + endpoint, Duration.ofNanos(espera));
+        }
+
+        Limite limiteEndpoint = properties.getEndpointsAgregados().getOrDefault(endpoint, properties.getPorEndpoint());
+        if (limiteEndpoint == null) {
+            return;
+        }
+        espera = balde(baldesPorEndpoint, endpoint, limiteEndpoint, agora).consumir(agora);
+        if (espera > 0) {
+            throw new LimiteRequisicoesExcedidoException(
+                    "Limite de requisições excedido em " + endpoint, Duration.ofNanos(espera));
+        }
+    }
+
+    public void removerBaldesOciosos() {
+        long agora = relogio.getAsLong();
+        baldesPorCliente.values().removeIf(balde -> balde.cheio(agora));
+        baldesPorEndpoint.values().removeIf(balde -> balde.cheio(agora));
+    }
+
+    int totalBaldes() {
+        return baldesPorCliente.size() + baldesPorEndpoint.size();
+    }
+
+    private BaldeTokens balde(ConcurrentMap<String, BaldeTokens> baldes, String chave, Limite limite, long agora) {
+        BaldeTokens balde = baldes.get(chave);
+        if (balde == null) {
+            balde = baldes.computeIfAbsent(chave,
+                    c -> new BaldeTokens(limite.getTaxaPorSegundo(), limite.getCapacidade(), agora));
+        }
+        return balde;
+    }
+}
@@ -0,0 +1,26 @@
+package com.documents.tarefas.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@RequiredArgsConstructor
+public class LimiteRequisicoesInterceptor implements HandlerInterceptor {
+
+    private final LimitadorRequisicoes limitador;
+    private final MonitorPoolConexoes monitor;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod metodo)) {
+            return true;
+        }
+
+        String cliente = ContextoCliente.atual();
+        limitador.adquirir(cliente != null ? cliente : request.getRemoteAddr(), metodo.getMethod().getName());
+        monitor.verificar();
+        return true;
+    }
+}
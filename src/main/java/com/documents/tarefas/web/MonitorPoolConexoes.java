@@ -0,0 +1,83 @@
+package com.documents.tarefas.web;
+
+import com.documents.tarefas.config.LimiteRequisicoesProperties.Descarte;
+import com.documents.tarefas.datasource.PoolsHikari;
+import com.documents.tarefas.exception.ServicoSobrecarregadoException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Recusa requisições quando o pool Hikari está saturado, em vez de deixá-las esperar por uma
+ * conexão até o connectionTimeout. A partir de {@code limiarEspera} threads aguardando, uma
+ * fração crescente das requisições é recusada, chegando a todas com o dobro do limiar.
+ * <p>
+ * Com roteamento (réplicas, shards, compartimentos) vale o pool mais saturado entre todos os
+ * destinos, listados por {@link PoolsHikari#listar}.
+ */
+@Slf4j
+public class MonitorPoolConexoes {
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final Descarte descarte;
+
+    private volatile List<HikariDataSource> pools;
+
+    public MonitorPoolConexoes(ObjectProvider<DataSource> dataSource, Descarte descarte) {
+        this.dataSource = dataSource;
+        this.descarte = descarte;
+    }
+
+    public void verificar() {
+        if (!descarte.isHabilitado()) {
+            return;
+        }
+
+        HikariDataSource maisSaturado = null;
+        int aguardando = 0;
+        for (HikariDataSource candidato : pools()) {
+            // o MXBean só existe depois que o pool é iniciado na primeira conexão
+            HikariPoolMXBean pool = candidato.getHikariPoolMXBean();
+            if (pool == null) {
+                continue;
+            }
+            int espera = pool.getThreadsAwaitingConnection();
+            if (maisSaturado == null || espera > aguardando) {
+                maisSaturado = candidato;
+                aguardando = espera;
+            }
+        }
+
+        int limiar = Math.max(1, descarte.getLimiarEspera());
+        if (maisSaturado == null || aguardando < limiar) {
+            return;
+        }
+
+        double fracaoDescartada = Math.min(1.0, (double) (aguardando - limiar + 1) / limiar);
+        if (ThreadLocalRandom.current().nextDouble() < fracaoDescartada) {
+            log.warn("Pool de conexões {} saturado ({} threads aguardando). Requisição recusada",
+                    maisSaturado.getPoolName(), aguardando);
+            throw new ServicoSobrecarregadoException(
+                    "Serviço sobrecarregado. Tente novamente em instantes.", descarte.getRetryAfter());
+        }
+    }
+
+    private List<HikariDataSource> pools() {
+        List<HikariDataSource> atuais = pools;
+        if (atuais == null) {
+            DataSource ds = dataSource.getIfAvailable();
+            if (ds == null) {
+                return List.of();
+            }
+            // os destinos do roteamento são fixos depois da inicialização
+            atuais = PoolsHikari.listar(ds);
+            pools = atuais;
+        }
+        return atuais;
+    }
+}
@@ -0,0 +1,92 @@
+package com.documents.tarefas.web;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Conjunto de endereços e redes CIDR (IPv4 ou IPv6). Só aceita endereços literais: um nome nunca
+ * dispara consulta ao DNS, já que os valores vêm de cabeçalhos escolhidos pelo cliente.
+ */
+class RedesConfiaveis {
+
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Pattern IPV6 = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    private final List<Rede> redes = new ArrayList<>();
+
+    RedesConfiaveis(List<String> enderecos) {
+        for (String endereco : enderecos) {
+            if (endereco == null || endereco.isBlank()) {
+                continue;
+            }
+            String[] partes = endereco.trim().split("/", 2);
+            byte[] base = literal(partes[0]);
+            if (base == null) {
+                throw new IllegalArgumentException("Endereço de proxy inválido: " + endereco);
+            }
+            int prefixo = partes.length == 2 ? Integer.parseInt(partes[1]) : base.length * 8;
+            if (prefixo < 0 || prefixo > base.length * 8) {
+                throw new IllegalArgumentException("Prefixo de rede inválido: " + endereco);
+            }
+            redes.add(new Rede(base, prefixo));
+        }
+    }
+
+    boolean contem(String endereco) {
+        byte[] bytes = literal(endereco);
+        if (bytes == null) {
+            return false;
+        }
+        for (Rede rede : redes) {
+            if (rede.contem(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bytes do endereço literal, ou {@code null} se o texto não for um IPv4/IPv6.
+     */
+    static byte[] literal(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String endereco = texto.trim();
+        if (endereco.startsWith("[") && endereco.endsWith("]")) {
+            endereco = endereco.substring(1, endereco.length() - 1);
+        }
+        if (!IPV4.matcher(endereco).matches() && !IPV6.matcher(endereco).matches()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(endereco).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private record Rede(byte[] base, int prefixo) {
+
+        boolean contem(byte[] endereco) {
+            if (endereco.length != base.length) {
+                return false;
+            }
+            int bytesInteiros = prefixo / 8;
+            for (int i = 0; i < bytesInteiros; i++) {
+                if (endereco[i] != base[i]) {
+                    return false;
+                }
+            }
+            int bitsRestantes = prefixo % 8;
+            if (bitsRestantes == 0) {
+                return true;
+            }
+            int mascara = 0xFF << (8 - bitsRestantes);
+            return (endereco[bytesInteiros] & mascara) == (base[bytesInteiros] & mascara);
+        }
+    }
+}
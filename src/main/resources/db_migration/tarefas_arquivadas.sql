@@ -0,0 +1,19 @@
+-- Arquivo de tarefas encerradas (o Hibernate cria a tabela com ddl-auto=update; use este script com ddl-auto=none/validate)
+CREATE TABLE IF NOT EXISTS tarefas_arquivadas_tb (
+    id BIGINT NOT NULL,
+    titulo VARCHAR(100) NOT NULL,
+    descricao VARCHAR(500),
+    status VARCHAR(20) NOT NULL,
+    prioridade VARCHAR(20) NOT NULL,
+    data_criacao DATETIME(6),
+    data_atualizacao DATETIME(6),
+    data_conclusao DATETIME(6),
+    data_arquivamento DATETIME(6) NOT NULL,
+    usuario_responsavel VARCHAR(100),
+    categoria VARCHAR(50),
+    tags VARCHAR(200),
+    estimativa_horas INT,
+    tempo_real_horas INT,
+    observacoes VARCHAR(1000),
+    PRIMARY KEY (id)
+);
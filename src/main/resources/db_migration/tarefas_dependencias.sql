@@ -0,0 +1,9 @@
+-- Dependências entre tarefas (o Hibernate cria a tabela com ddl-auto=update; use este script com ddl-auto=none)
+CREATE TABLE IF NOT EXISTS tarefas_dependencias_tb (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    tarefa_id BIGINT NOT NULL,
+    bloqueadora_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_dependencias_tarefa_bloqueadora (tarefa_id, bloqueadora_id),
+    KEY idx_dependencias_bloqueadora (bloqueadora_id)
+);
@@ -0,0 +1,13 @@
+-- Histórico das tarefas (o Hibernate cria a tabela com ddl-auto=update; use este script com ddl-auto=none)
+CREATE TABLE IF NOT EXISTS tarefas_historico_tb (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    tarefa_id BIGINT NOT NULL,
+    tipo VARCHAR(20) NOT NULL,
+    ocorrida_em DATETIME(6) NOT NULL,
+    autor VARCHAR(100),
+    alteracoes VARCHAR(4000) NOT NULL,
+    estado VARCHAR(4000),
+    deltas_desde_snapshot INT NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_historico_tarefa (tarefa_id, id)
+);
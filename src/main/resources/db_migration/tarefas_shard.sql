@@ -0,0 +1,66 @@
+CREATE TABLE IF NOT EXISTS tarefas_tb (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    titulo VARCHAR(100) NOT NULL,
+    descricao VARCHAR(500),
+    status VARCHAR(20) NOT NULL,
+    prioridade VARCHAR(20) NOT NULL,
+    data_criacao DATETIME(6),
+    data_atualizacao DATETIME(6),
+    data_conclusao DATETIME(6),
+    usuario_responsavel VARCHAR(100),
+    categoria VARCHAR(50),
+    tags VARCHAR(200),
+    estimativa_horas INT,
+    tempo_real_horas INT,
+    observacoes VARCHAR(1000),
+    versao BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_tarefas_titulo (titulo)
+);
+
+-- títulos de todos os shards; só a tabela do shard 0 é usada
+CREATE TABLE IF NOT EXISTS tarefas_titulos_tb (
+    titulo VARCHAR(100) NOT NULL,
+    UNIQUE KEY uk_tarefas_titulo_global (titulo)
+);
+
+CREATE TABLE IF NOT EXISTS tarefas_arquivadas_tb (
+    id BIGINT NOT NULL,
+    titulo VARCHAR(100) NOT NULL,
+    descricao VARCHAR(500),
+    status VARCHAR(20) NOT NULL,
+    prioridade VARCHAR(20) NOT NULL,
+    data_criacao DATETIME(6),
+    data_atualizacao DATETIME(6),
+    data_conclusao DATETIME(6),
+    data_arquivamento DATETIME(6) NOT NULL,
+    usuario_responsavel VARCHAR(100),
+    categoria VARCHAR(50),
+    tags VARCHAR(200),
+    estimativa_horas INT,
+    tempo_real_horas INT,
+    observacoes VARCHAR(1000),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tarefas_historico_tb (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    tarefa_id BIGINT NOT NULL,
+    tipo VARCHAR(20) NOT NULL,
+    ocorrida_em DATETIME(6) NOT NULL,
+    autor VARCHAR(100),
+    alteracoes VARCHAR(4000) NOT NULL,
+    estado VARCHAR(4000),
+    deltas_desde_snapshot INT NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_historico_tarefa (tarefa_id, id)
+);
+
+CREATE TABLE IF NOT EXISTS tarefas_dependencias_tb (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    tarefa_id BIGINT NOT NULL,
+    bloqueadora_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_dependencias_tarefa_bloqueadora (tarefa_id, bloqueadora_id),
+    KEY idx_dependencias_bloqueadora (bloqueadora_id)
+);
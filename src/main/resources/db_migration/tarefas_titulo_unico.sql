@@ -0,0 +1,3 @@
+-- Títulos repetidos impedem a criação da constraint; liste-os e resolva antes do ALTER:
+-- SELECT titulo, COUNT(*) FROM tarefas_tb GROUP BY titulo HAVING COUNT(*) > 1;
+ALTER TABLE tarefas_tb ADD CONSTRAINT uk_tarefas_titulo UNIQUE (titulo);
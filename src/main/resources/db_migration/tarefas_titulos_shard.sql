@@ -0,0 +1,6 @@
+-- Reserva global de títulos com sharding, para shards que já têm tarefas. O script de schema cria a
+-- tabela; rode no shard 0 uma cópia por shard (aqui, shards no mesmo servidor MySQL).
+-- Títulos repetidos entre shards fazem a cópia falhar; liste-os e resolva antes:
+-- SELECT titulo FROM tarefas_shard0.tarefas_tb INNER JOIN tarefas_shard1.tarefas_tb USING (titulo);
+INSERT INTO tarefas_titulos_tb (titulo) SELECT titulo FROM tarefas_shard0.tarefas_tb;
+INSERT INTO tarefas_titulos_tb (titulo) SELECT titulo FROM tarefas_shard1.tarefas_tb;
@@ -0,0 +1,2 @@
+-- Coluna do controle otimista de Tarefa (@Version); linhas existentes começam na versão 0
+ALTER TABLE tarefas_tb ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,104 @@
+package com.documents.tarefas.atribuicao;
+
+import com.documents.tarefas.model.PrioridadeTarefa;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MotorAtribuicaoTest {
+
+    private MotorAtribuicao motor;
+
+    @BeforeEach
+    void setUp() {
+        motor = new MotorAtribuicao(
+                Map.of("Suporte", List.of("ana", "bruno"), "financeiro", List.of("carla")),
+                List.of("ana", "davi"),
+                Map.of(PrioridadeTarefa.BAIXA, 1, PrioridadeTarefa.MEDIA, 2,
+                        PrioridadeTarefa.ALTA, 3, PrioridadeTarefa.URGENTE, 4));
+    }
+
+    @Test
+    void atribuir_DeveEscolherOMenosCarregadoDaCategoria() {
+        motor.aplicar(1, contribuicao("ana", PrioridadeTarefa.BAIXA, 3));
+        motor.aplicar(2, contribuicao("bruno", PrioridadeTarefa.URGENTE, 1));
+
+        // ana: 3h x 1 = 3; bruno: 1h x 4 = 4
+        assertEquals("ana", motor.atribuir(3, "suporte", PrioridadeTarefa.MEDIA, 1).orElseThrow());
+        // ana agora tem 5
+        assertEquals("bruno", motor.atribuir(4, " SUPORTE ", PrioridadeTarefa.BAIXA, 1).orElseThrow());
+
+        assertEquals("carla", motor.atribuir(5, "financeiro", PrioridadeTarefa.ALTA, 8).orElseThrow());
+        assertEquals("davi", motor.atribuir(6, null, PrioridadeTarefa.ALTA, 1).orElseThrow());
+        assertEquals("davi", motor.atribuir(7, "inexistente", PrioridadeTarefa.BAIXA, 1).orElseThrow());
+    }
+
+    @Test
+    void aplicar_DeveSubstituirAContribuicaoDaTarefaSemContarEmDobro() {
+        MotorAtribuicao.Contribuicao contribuicao = contribuicao("ana", PrioridadeTarefa.ALTA, 2);
+        assertNull(motor.aplicar(1, contribuicao));
+        assertEquals(contribuicao, motor.aplicar(1, contribuicao));
+
+        MotorAtribuicao.CargaUsuario ana = motor.cargaDe("ana").orElseThrow();
+        assertEquals(1, ana.tarefasAbertas());
+        assertEquals(6, ana.carga());
+        assertEquals(Map.of(PrioridadeTarefa.ALTA, 2), ana.horasPorPrioridade());
+
+        // reatribuída para bruno e depois concluída
+        motor.aplicar(1, contribuicao("bruno", PrioridadeTarefa.ALTA, 2));
+        assertEquals(0, motor.cargaDe("ana").orElseThrow().carga());
+        assertEquals(List.of("ana", "bruno"), usuarios("suporte"));
+        motor.aplicar(1, null);
+        assertEquals(0, motor.cargaDe("bruno").orElseThrow().tarefasAbertas());
+        assertTrue(motor.cargaDe("bruno").orElseThrow().horasPorPrioridade().isEmpty());
+    }
+
+    @Test
+    void aplicar_DeveContarUsuariosNaoElegiveisSemColocaLosNasFilas() {
+        motor.aplicar(1, contribuicao("externo", PrioridadeTarefa.MEDIA, 5));
+
+        assertEquals(10, motor.cargaDe("externo").orElseThrow().carga());
+        assertFalse(usuarios("suporte").contains("externo"));
+        assertEquals(List.of("ana", "davi"), usuarios(null));
+        assertTrue(new MotorAtribuicao(Map.of(), List.of(), Map.of()).atribuir(1, "suporte", PrioridadeTarefa.MEDIA, 1)
+                .isEmpty());
+    }
+
+    @Test
+    void atribuir_DeveDistribuirAtribuicoesSimultaneas() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> escolhas = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                long tarefa = i;
+                escolhas.add(executor.submit(() ->
+                        motor.atribuir(tarefa, "suporte", PrioridadeTarefa.MEDIA, 1).orElseThrow()));
+            }
+            List<String> usuarios = new ArrayList<>();
+            for (Future<String> escolha : escolhas) {
+                usuarios.add(escolha.get());
+            }
+            assertEquals(50, Collections.frequency(usuarios, "ana"));
+            assertEquals(50, Collections.frequency(usuarios, "bruno"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<String> usuarios(String categoria) {
+        return motor.cargas(categoria).stream().map(MotorAtribuicao.CargaUsuario::usuario).toList();
+    }
+
+    private static MotorAtribuicao.Contribuicao contribuicao(String usuario, PrioridadeTarefa prioridade, int horas) {
+        return new MotorAtribuicao.Contribuicao(usuario, prioridade, horas);
+    }
+}
@@ -0,0 +1,100 @@
+package com.documents.tarefas.autocomplete;
+
+import com.documents.tarefas.model.PrioridadeTarefa;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndicePrefixosTest {
+
+    private IndicePrefixos indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndicePrefixos(8);
+        indice.adicionar(item(1, "Revisão do relatório", "Financeiro", PrioridadeTarefa.MEDIA, 100));
+        indice.adicionar(item(2, "Relatório mensal", "Financeiro", PrioridadeTarefa.URGENTE, 50));
+        indice.adicionar(item(3, "Reunião de planejamento", "Gestão", PrioridadeTarefa.MEDIA, 200));
+        indice.adicionar(item(4, "Atualizar servidor", "Infra", PrioridadeTarefa.BAIXA, 300));
+    }
+
+    @Test
+    void buscar_DeveIgnorarAcentosECaixaEOrdenarPorPrioridadeERecencia() {
+        assertEquals(List.of(2L, 3L, 1L), ids(indice.buscar("RE", 10, 100)));
+        assertEquals(List.of(2L, 1L), ids(indice.buscar("relatorio", 10, 100)));
+        assertEquals(List.of(1L), ids(indice.buscar("revisao do rel", 10, 100)));
+        assertEquals(List.of(3L), ids(indice.buscar("gestão", 10, 100)));
+        assertEquals(List.of(2L, 1L), ids(indice.buscar("fin", 10, 100)));
+        assertTrue(indice.buscar("xyz", 10, 100).isEmpty());
+        assertTrue(indice.buscar("  ", 10, 100).isEmpty());
+    }
+
+    @Test
+    void buscar_DeveRespeitarLimiteECandidatos() {
+        assertEquals(List.of(2L), ids(indice.buscar("re", 1, 100)));
+        // com um candidato só, ele vem da faixa mais prioritária, não do primeiro termo ("relatorio" da tarefa 1)
+        assertEquals(List.of(2L), ids(indice.buscar("re", 10, 1)));
+        assertEquals(List.of(2L, 1L), ids(indice.buscar("re", 10, 2)));
+    }
+
+    @Test
+    void buscar_PrefixoCurto_DeveTrazerAsMaisPrioritariasMesmoForaDosPrimeirosTermos() {
+        for (int i = 0; i < 50; i++) {
+            indice.adicionar(item(100 + i, "Aaa " + i, null, PrioridadeTarefa.BAIXA, i));
+        }
+        indice.adicionar(item(200, "Azul", null, PrioridadeTarefa.URGENTE, 0));
+
+        List<Long> sugeridas = ids(indice.buscar("a", 2, 10));
+
+        assertEquals(2, sugeridas.size());
+        assertEquals(200L, sugeridas.get(0));
+    }
+
+    @Test
+    void adicionar_ItemMaisAntigoQueOGuardado_DeveSerIgnorado() {
+        indice.adicionar(item(3, "Reunião de diretoria", "Gestão", PrioridadeTarefa.ALTA, 500));
+        indice.adicionar(item(3, "Reunião de planejamento", "Gestão", PrioridadeTarefa.MEDIA, 200));
+
+        assertEquals(List.of(3L), ids(indice.buscar("diretoria", 10, 100)));
+        assertTrue(indice.buscar("planejamento", 10, 100).isEmpty());
+
+        indice.remover(1, 600);
+        indice.adicionar(item(1, "Revisão do relatório", "Financeiro", PrioridadeTarefa.MEDIA, 100));
+        assertEquals(List.of(2L), ids(indice.buscar("relatorio", 10, 100)));
+    }
+
+    @Test
+    void adicionarERemover_DevemTrocarOsTermosDaTarefa() {
+        indice.adicionar(item(4, "Migrar banco", "Infra", PrioridadeTarefa.ALTA, 400));
+
+        assertTrue(indice.buscar("atualizar", 10, 100).isEmpty());
+        assertEquals(List.of(4L), ids(indice.buscar("migr", 10, 100)));
+        assertEquals(4, indice.tamanho());
+
+        indice.remover(4, 500);
+        assertTrue(indice.buscar("infra", 10, 100).isEmpty());
+        assertEquals(3, indice.tamanho());
+    }
+
+    @Test
+    void termos_DevemLimitarAsPalavrasPorTarefa() {
+        IndicePrefixos pequeno = new IndicePrefixos(2);
+
+        Set<String> termos = pequeno.termos(item(1, "Um dois três quatro", "Área", PrioridadeTarefa.MEDIA, 0));
+
+        assertEquals(Set.of("um dois tres quatro", "um", "dois", "area"), termos);
+    }
+
+    private static IndicePrefixos.Item item(long id, String titulo, String categoria, PrioridadeTarefa prioridade,
+            long atualizadaEm) {
+        return new IndicePrefixos.Item(id, titulo, categoria, prioridade, atualizadaEm);
+    }
+
+    private static List<Long> ids(List<IndicePrefixos.Item> itens) {
+        return itens.stream().map(IndicePrefixos.Item::id).toList();
+    }
+}
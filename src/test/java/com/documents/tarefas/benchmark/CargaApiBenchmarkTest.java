@@ -0,0 +1,414 @@
+package com.documents.tarefas.benchmark;
+
+import com.documents.tarefas.TarefasApplication;
+import com.documents.tarefas.filtro.FiltroTitulos;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Teste de carga ponta a ponta com o mix de requisições do {@code test-api.http}: sobe a
+ * {@link TarefasApplication} com um H2 embutido (modo MySQL), popula {@code tarefas_tb} e dispara
+ * requisições em modelo aberto (chegadas de Poisson a uma taxa fixa, independentes das respostas),
+ * com a latência medida a partir do instante planejado de cada chegada. Executar com
+ * {@code ./gradlew testeCarga}; o relatório por endpoint (vazão, p50/p99/p999) vai para o console e
+ * para {@code build/reports/carga}.
+ * <p>
+ * Parâmetros ({@code -Dtarefas.benchmark.carga.*}): {@code tarefas} (1000000), {@code taxa}
+ * (requisições/s, 500), {@code duracao} (PT60S), {@code aquecimento} (PT15S), {@code pesos}
+ * ({@code cenario:peso,...}) e {@code url}/{@code usuario}/{@code senha} para usar um MySQL em vez do H2.
+ * Os endpoints sem paginação ({@code /status}, {@code /prioridade}, {@code /vencidas}) ficam de fora:
+ * com esse volume eles devolvem boa parte da tabela e dominariam qualquer medida.
+ */
+@Tag("benchmark")
+class CargaApiBenchmarkTest {
+
+    private static final String PREFIXO = "tarefas.benchmark.carga.";
+
+    private static final String[] CATEGORIAS = {"Desenvolvimento", "Suporte", "Documentação", "Infraestrutura",
+            "Testes", "Design", "Reunião", "Pesquisa", "Comercial", "Financeiro"};
+    private static final String[] STATUS = {"PENDENTE", "EM_ANDAMENTO", "CONCLUIDA", "CANCELADA"};
+    private static final double[] PESOS_STATUS = {0.45, 0.20, 0.30, 0.05};
+    private static final String[] PRIORIDADES = {"BAIXA", "MEDIA", "ALTA", "URGENTE"};
+    private static final double[] PESOS_PRIORIDADE = {0.25, 0.45, 0.22, 0.08};
+    private static final String[] TEXTOS = {"API", "relatório", "cliente", "deploy", "revisão"};
+    private static final int USUARIOS = 2_000;
+    private static final int TAMANHO_LOTE_CARGA = 5_000;
+
+    private static final String PESOS_PADRAO = "criarTarefa:10,buscarPorId:35,listarComFiltros:15,listarCampos:5,"
+            + "buscarPorTexto:5,marcarAndamento:5,marcarConcluida:5,atualizarTarefa:5,estatisticas:5,"
+            + "buscarPorUsuarioPaginado:8,excluirTarefa:2";
+
+    private static final AtomicLong SEQUENCIA_TITULOS = new AtomicLong();
+
+    @Test
+    void executarCarga() throws Exception {
+        assumeTrue(Boolean.getBoolean(PREFIXO + "habilitado"), "Executar com ./gradlew testeCarga");
+
+        int totalTarefas = Integer.getInteger(PREFIXO + "tarefas", 1_000_000);
+        int taxa = Integer.getInteger(PREFIXO + "taxa", 500);
+        Duration duracao = Duration.parse(System.getProperty(PREFIXO + "duracao", "PT60S"));
+        Duration aquecimento = Duration.parse(System.getProperty(PREFIXO + "aquecimento", "PT15S"));
+
+        try (ConfigurableApplicationContext contexto = iniciarAplicacao()) {
+            long inicioCarga = System.nanoTime();
+            popular(contexto.getBean(DataSource.class), totalTarefas);
+            contexto.getBean(FiltroTitulos.class).reconstruir();
+            System.out.printf("Base populada com %d tarefas em %.1f s%n", totalTarefas, (System.nanoTime() - inicioCarga) / 1e9);
+
+            String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port") + "/api/tarefas";
+            List<Cenario> cenarios = cenarios(base, totalTarefas, System.getProperty(PREFIXO + "pesos", PESOS_PADRAO));
+
+            executar(cenarios, taxa, aquecimento, null);
+            Map<String, Metricas> metricas = new LinkedHashMap<>();
+            cenarios.forEach(cenario -> metricas.put(cenario.nome(), new Metricas()));
+            Execucao execucao = executar(cenarios, taxa, duracao, metricas);
+
+            String relatorio = relatorio(metricas, execucao, taxa, totalTarefas);
+            System.out.println(relatorio);
+            salvar(relatorio);
+
+            long respostas = metricas.values().stream().mapToLong(Metricas::total).sum();
+            long erros5xx = metricas.values().stream().mapToLong(m -> m.erros5xx.get()).sum();
+            assertTrue(respostas > 0, "Nenhuma resposta recebida");
+            assertTrue(erros5xx <= respostas / 100, "Mais de 1% de respostas 5xx: " + erros5xx);
+        }
+    }
+
+    private ConfigurableApplicationContext iniciarAplicacao() {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                // o limite por cliente recusaria a própria carga; a medida é da capacidade da aplicação
+                "--tarefas.limite-requisicoes.habilitado=false",
+                "--tarefas.arquivamento.habilitado=false",
+                // um log INFO por requisição mediria o console, não a API
+                "--logging.level.com.documents.tarefas=WARN"));
+
+        String url = System.getProperty(PREFIXO + "url");
+        if (url == null) {
+            argumentos.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:carga;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"));
+        } else {
+            argumentos.addAll(List.of(
+                    "--spring.datasource.url=" + url,
+                    "--spring.datasource.username=" + System.getProperty(PREFIXO + "usuario", "root"),
+                    "--spring.datasource.password=" + System.getProperty(PREFIXO + "senha", "root")));
+        }
+
+        return new SpringApplicationBuilder(TarefasApplication.class).run(argumentos.toArray(String[]::new));
+    }
+
+    // Massa de dados: usuários e categorias com distribuição concentrada (poucos usuários com muitas tarefas)
+
+    private void popular(DataSource dataSource, int totalTarefas) throws SQLException {
+        String insert = "INSERT INTO tarefas_tb (titulo, descricao, status, prioridade, data_criacao, data_atualizacao, "
+                + "data_conclusao, usuario_responsavel, categoria, tags, estimativa_horas, tempo_real_horas, observacoes) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        Random aleatorio = new Random(42);
+        LocalDateTime agora = LocalDateTime.now();
+
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement statement = conexao.prepareStatement(insert)) {
+            conexao.setAutoCommit(false);
+            for (int i = 1; i <= totalTarefas; i++) {
+                String status = sortear(STATUS, PESOS_STATUS, aleatorio);
+                LocalDateTime criacao = agora.minusMinutes(aleatorio.nextInt(365 * 24 * 60));
+                LocalDateTime atualizacao = criacao.plusMinutes(aleatorio.nextInt(30 * 24 * 60));
+                int estimativa = 1 + aleatorio.nextInt(40);
+
+                statement.setString(1, "Tarefa " + i + " - " + TEXTOS[i % TEXTOS.length]);
+                statement.setString(2, "Descrição da tarefa " + i + " sobre " + TEXTOS[aleatorio.nextInt(TEXTOS.length)]);
+                statement.setString(3, status);
+                statement.setString(4, sortear(PRIORIDADES, PESOS_PRIORIDADE, aleatorio));
+                statement.setTimestamp(5, Timestamp.valueOf(criacao));
+                statement.setTimestamp(6, Timestamp.valueOf(atualizacao));
+                statement.setTimestamp(7, "CONCLUIDA".equals(status) ? Timestamp.valueOf(atualizacao) : null);
+                statement.setString(8, usuario(zipf(USUARIOS, aleatorio)));
+                statement.setString(9, CATEGORIAS[zipf(CATEGORIAS.length, aleatorio)]);
+                statement.setString(10, "carga," + TEXTOS[i % TEXTOS.length].toLowerCase(Locale.ROOT));
+                statement.setInt(11, estimativa);
+                statement.setObject(12, "CONCLUIDA".equals(status) ? estimativa + aleatorio.nextInt(10) - 5 : null);
+                statement.setString(13, null);
+                statement.addBatch();
+
+                if (i % TAMANHO_LOTE_CARGA == 0 || i == totalTarefas) {
+                    statement.executeBatch();
+                    conexao.commit();
+                }
+            }
+        }
+    }
+
+    private static String sortear(String[] valores, double[] pesos, Random aleatorio) {
+        double sorteio = aleatorio.nextDouble();
+        for (int i = 0; i < valores.length - 1; i++) {
+            sorteio -= pesos[i];
+            if (sorteio < 0) {
+                return valores[i];
+            }
+        }
+        return valores[valores.length - 1];
+    }
+
+    // índice em [0, n) com probabilidade ~ 1/(i+1): aproximação contínua da distribuição de Zipf
+    private static int zipf(int n, Random aleatorio) {
+        return Math.min(n - 1, (int) Math.floor(Math.pow(n + 1, aleatorio.nextDouble())) - 1);
+    }
+
+    private static String usuario(int indice) {
+        return String.format("usuario-%04d", indice);
+    }
+
+    // Cenários do test-api.http
+
+    private List<Cenario> cenarios(String base, int totalTarefas, String pesos) {
+        Map<String, Function<ThreadLocalRandom, HttpRequest>> requisicoes = new LinkedHashMap<>();
+        requisicoes.put("criarTarefa", aleatorio -> HttpRequest.newBuilder(URI.create(base))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"titulo": "Carga %d-%d", "descricao": "Criada pelo teste de carga", "prioridade": "ALTA",
+                         "usuarioResponsavel": "%s", "categoria": "%s", "estimativaHoras": 8}
+                        """.formatted(System.nanoTime(), SEQUENCIA_TITULOS.incrementAndGet(),
+                        usuario(aleatorio.nextInt(USUARIOS)), CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)])))
+                .build());
+        requisicoes.put("buscarPorId", aleatorio -> get(base + "/" + id(aleatorio, totalTarefas)));
+        requisicoes.put("listarComFiltros", aleatorio -> get(base + "?page=" + aleatorio.nextInt(5) + "&size=10&status="
+                + STATUS[aleatorio.nextInt(STATUS.length)] + "&categoria="
+                + URLEncoder.encode(CATEGORIAS[zipf(CATEGORIAS.length, aleatorio)], StandardCharsets.UTF_8)));
+        requisicoes.put("listarCampos", aleatorio -> get(base + "?page=" + aleatorio.nextInt(5)
+                + "&size=10&fields=id,titulo,status,prioridade"));
+        requisicoes.put("buscarPorTexto", aleatorio -> get(base + "/busca?texto="
+                + TEXTOS[aleatorio.nextInt(2)] + "&page=0&size=10"));
+        requisicoes.put("marcarAndamento", aleatorio -> patch(base + "/" + id(aleatorio, totalTarefas) + "/andamento"));
+        requisicoes.put("marcarConcluida", aleatorio -> patch(base + "/" + id(aleatorio, totalTarefas) + "/concluir"));
+        requisicoes.put("atualizarTarefa", aleatorio -> HttpRequest.newBuilder(URI.create(base + "/" + id(aleatorio, totalTarefas)))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(
+                        "{\"descricao\": \"Atualizada pelo teste de carga\", \"prioridade\": \"ALTA\", \"estimativaHoras\": 6}"))
+                .build());
+        requisicoes.put("estatisticas", aleatorio -> get(base + "/estatisticas"));
+        requisicoes.put("buscarPorUsuarioPaginado", aleatorio -> get(base + "?page=0&size=10&usuario="
+                + usuario(zipf(USUARIOS, aleatorio))));
+        requisicoes.put("excluirTarefa", aleatorio -> HttpRequest.newBuilder(URI.create(base + "/" + id(aleatorio, totalTarefas)))
+                .DELETE()
+                .build());
+
+        List<Cenario> cenarios = new ArrayList<>();
+        for (String item : pesos.split(",")) {
+            String[] partes = item.trim().split(":");
+            Function<ThreadLocalRandom, HttpRequest> requisicao = requisicoes.get(partes[0]);
+            if (requisicao == null) {
+                throw new IllegalArgumentException("Cenário desconhecido: " + partes[0] + " (disponíveis: " + requisicoes.keySet() + ")");
+            }
+            int peso = Integer.parseInt(partes[1]);
+            if (peso > 0) {
+                cenarios.add(new Cenario(partes[0], peso, requisicao));
+            }
+        }
+        return cenarios;
+    }
+
+    private static long id(ThreadLocalRandom aleatorio, int totalTarefas) {
+        return aleatorio.nextLong(1, totalTarefas + 1L);
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest patch(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    // Gerador em modelo aberto
+
+    private Execucao executar(List<Cenario> cenarios, int taxa, Duration duracao, Map<String, Metricas> metricas)
+            throws InterruptedException {
+        int pesoTotal = cenarios.stream().mapToInt(Cenario::peso).sum();
+        int maximoEmVoo = Integer.getInteger(PREFIXO + "maximo-em-voo", 10_000);
+        Semaphore emVoo = new Semaphore(maximoEmVoo);
+        AtomicLong descartadas = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+        long proximaChegada = inicio;
+        long enviadas = 0;
+        try {
+            while (proximaChegada < fim) {
+                long espera = proximaChegada - System.nanoTime();
+                if (espera > 0) {
+                    TimeUnit.NANOSECONDS.sleep(espera);
+                }
+
+                Cenario cenario = sortear(cenarios, pesoTotal, aleatorio);
+                long planejada = proximaChegada;
+                // intervalo exponencial: chegadas de Poisson com média "taxa" por segundo
+                proximaChegada += (long) (-Math.log(1 - aleatorio.nextDouble()) / taxa * 1e9);
+
+                if (!emVoo.tryAcquire()) {
+                    descartadas.incrementAndGet();
+                    continue;
+                }
+                enviadas++;
+                cliente.sendAsync(cenario.requisicao().apply(aleatorio), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((resposta, erro) -> {
+                            emVoo.release();
+                            if (metricas != null) {
+                                metricas.get(cenario.nome()).registrar(System.nanoTime() - planejada,
+                                        erro != null ? -1 : resposta.statusCode());
+                            }
+                        });
+            }
+            // espera as respostas pendentes
+            if (!emVoo.tryAcquire(maximoEmVoo, 60, TimeUnit.SECONDS)) {
+                System.out.println("Requisições sem resposta após 60 s: " + (maximoEmVoo - emVoo.availablePermits()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Execucao(enviadas, descartadas.get(), (System.nanoTime() - inicio) / 1e9);
+    }
+
+    private static Cenario sortear(List<Cenario> cenarios, int pesoTotal, ThreadLocalRandom aleatorio) {
+        int sorteio = aleatorio.nextInt(pesoTotal);
+        for (Cenario cenario : cenarios) {
+            sorteio -= cenario.peso();
+            if (sorteio < 0) {
+                return cenario;
+            }
+        }
+        return cenarios.get(cenarios.size() - 1);
+    }
+
+    // Relatório
+
+    private String relatorio(Map<String, Metricas> metricas, Execucao execucao, int taxa, int totalTarefas) {
+        StringBuilder texto = new StringBuilder();
+        texto.append(String.format("Carga: %d tarefas, %d req/s planejadas, %.0f s, %d enviadas, %d descartadas no cliente%n",
+                totalTarefas, taxa, execucao.segundos(), execucao.enviadas(), execucao.descartadas()));
+        texto.append(String.format("%-26s %9s %9s %9s %9s %9s %7s %7s %7s%n",
+                "endpoint", "respostas", "req/s", "p50 ms", "p99 ms", "p999 ms", "4xx", "5xx", "falhas"));
+        metricas.forEach((nome, m) -> {
+            long[] latencias = m.latenciasOrdenadas();
+            texto.append(String.format(Locale.ROOT, "%-26s %9d %9.1f %9.2f %9.2f %9.2f %7d %7d %7d%n",
+                    nome, latencias.length, latencias.length / execucao.segundos(),
+                    percentil(latencias, 0.50), percentil(latencias, 0.99), percentil(latencias, 0.999),
+                    m.erros4xx.get(), m.erros5xx.get(), m.falhas.get()));
+        });
+        return texto.toString();
+    }
+
+    private static double percentil(long[] ordenados, double percentil) {
+        if (ordenados.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(percentil * ordenados.length) - 1;
+        return ordenados[Math.max(0, indice)] / 1e6;
+    }
+
+    private void salvar(String relatorio) throws IOException {
+        String diretorio = System.getProperty(PREFIXO + "relatorio");
+        if (diretorio == null) {
+            return;
+        }
+        Path arquivo = Path.of(diretorio, "carga-" + System.currentTimeMillis() + ".txt");
+        Files.createDirectories(arquivo.getParent());
+        Files.writeString(arquivo, relatorio, StandardCharsets.UTF_8);
+        System.out.println("Relatório salvo em " + arquivo);
+    }
+
+    private record Cenario(String nome, int peso, Function<ThreadLocalRandom, HttpRequest> requisicao) {
+    }
+
+    private record Execucao(long enviadas, long descartadas, double segundos) {
+    }
+
+    /**
+     * Latências (ns) e códigos de resposta de um endpoint. As amostras ficam num array que cresce
+     * sob lock; com algumas dezenas de milhares de requisições por execução isso é desprezível.
+     */
+    private static class Metricas {
+
+        private long[] latencias = new long[1024];
+        private int quantidade;
+        private final AtomicLong erros4xx = new AtomicLong();
+        private final AtomicLong erros5xx = new AtomicLong();
+        private final AtomicLong falhas = new AtomicLong();
+
+        void registrar(long nanos, int status) {
+            if (status < 0) {
+                falhas.incrementAndGet();
+                return;
+            }
+            if (status >= 500) {
+                erros5xx.incrementAndGet();
+            } else if (status >= 400) {
+                erros4xx.incrementAndGet();
+            }
+            synchronized (this) {
+                if (quantidade == latencias.length) {
+                    latencias = Arrays.copyOf(latencias, quantidade * 2);
+                }
+                latencias[quantidade++] = nanos;
+            }
+        }
+
+        synchronized long[] latenciasOrdenadas() {
+            long[] ordenadas = Arrays.copyOf(latencias, quantidade);
+            Arrays.sort(ordenadas);
+            return ordenadas;
+        }
+
+        synchronized long total() {
+            return quantidade + falhas.get();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.documents.tarefas.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Sobe a aplicação extraída em {@code build/aplicacao} em processos separados e mede o tempo até
+ * "Started" e o RSS nesse momento, sem lazy init, com lazy init e com lazy init + CDS.
+ * Executar com {@code ./gradlew benchmarkInicializacao}. Usa os perfis prod e cds, que não
+ * acessam o banco, para que a medida não dependa do MySQL.
+ */
+@Tag("benchmark")
+class InicializacaoBenchmarkTest {
+
+    private static final Pattern INICIADA = Pattern.compile("Started TarefasApplication in ([0-9.]+) seconds");
+
+    @Test
+    void medirInicializacao() throws Exception {
+        String diretorio = System.getProperty("tarefas.benchmark.aplicacao");
+        assumeTrue(diretorio != null, "Executar com ./gradlew benchmarkInicializacao");
+        Path aplicacao = Path.of(diretorio);
+        int execucoes = Integer.getInteger("tarefas.benchmark.execucoes", 5);
+
+        Resultado semLazy = medir("sem lazy init", aplicacao, execucoes, List.of(),
+                "--spring.main.lazy-initialization=false");
+        Resultado lazy = medir("lazy init", aplicacao, execucoes, List.of(),
+                "--spring.main.lazy-initialization=true");
+        Resultado lazyCds = medir("lazy init + CDS", aplicacao, execucoes, List.of("-XX:SharedArchiveFile=tarefas.jsa"),
+                "--spring.main.lazy-initialization=true");
+
+        System.out.println(semLazy);
+        System.out.println(lazy);
+        System.out.println(lazyCds);
+
+        assertTrue(Files.exists(aplicacao.resolve("tarefas.jsa")), "Arquivo CDS não foi gerado");
+    }
+
+    private Resultado medir(String nome, Path aplicacao, int execucoes, List<String> opcoesJvm, String opcaoSpring)
+            throws IOException, InterruptedException {
+        List<Double> segundos = new ArrayList<>();
+        List<Long> rssKb = new ArrayList<>();
+        for (int i = 0; i < execucoes; i++) {
+            List<String> comando = new ArrayList<>();
+            comando.add(ProcessHandle.current().info().command().orElse("java"));
+            comando.addAll(opcoesJvm);
+            comando.addAll(List.of("-jar", "tarefas.jar", "--spring.profiles.active=prod,cds", "--server.port=0",
+                    "--tarefas.inicializacao.encerrar-apos-inicio=false", opcaoSpring));
+
+            Process processo = new ProcessBuilder(comando)
+                    .directory(aplicacao.toFile())
+                    .redirectErrorStream(true)
+                    .start();
+            try {
+                segundos.add(aguardarInicio(processo));
+                rssKb.add(rss(processo.pid()));
+            } finally {
+                processo.destroy();
+                if (!processo.waitFor(30, TimeUnit.SECONDS)) {
+                    processo.destroyForcibly();
+                }
+            }
+        }
+        return new Resultado(nome, mediana(segundos), mediana(rssKb));
+    }
+
+    private double aguardarInicio(Process processo) throws IOException, InterruptedException {
+        BufferedReader saida = new BufferedReader(new InputStreamReader(processo.getInputStream(), StandardCharsets.UTF_8));
+        String linha;
+        while ((linha = saida.readLine()) != null) {
+            Matcher iniciada = INICIADA.matcher(linha);
+            if (iniciada.find()) {
+                Thread consumidor = new Thread(() -> saida.lines().forEach(l -> { }));
+                consumidor.setDaemon(true);
+                consumidor.start();
+                return Double.parseDouble(iniciada.group(1));
+            }
+        }
+        throw new IllegalStateException("A aplicação terminou sem iniciar (código " + processo.waitFor() + ")");
+    }
+
+    private long rss(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String linha : Files.readAllLines(status)) {
+            if (linha.startsWith("VmRSS:")) {
+                return Long.parseLong(linha.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+
+    private <T extends Comparable<T>> T mediana(List<T> valores) {
+        List<T> ordenados = new ArrayList<>(valores);
+        Collections.sort(ordenados);
+        return ordenados.get(ordenados.size() / 2);
+    }
+
+    private record Resultado(String nome, double segundos, long rssKb) {
+
+        @Override
+        public String toString() {
+            return String.format("%s: início em %.2f s (mediana), RSS %d MB", nome, segundos, rssKb / 1024);
+        }
+    }
+}
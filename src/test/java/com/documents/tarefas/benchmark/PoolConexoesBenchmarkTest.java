@@ -0,0 +1,191 @@
+package com.documents.tarefas.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compara a vazão dos caminhos de {@code criarTarefa} (INSERT) e {@code buscarPorId} (SELECT por
+ * id) com o Hikari e o Connector/J nos valores padrão e com as propriedades do perfil prod.
+ * Executa os mesmos SQLs que o Hibernate gera, direto no JDBC, para isolar o efeito do pool e do
+ * driver. Precisa de um MySQL descartável:
+ * {@code ./gradlew benchmark -Dtarefas.benchmark.mysql.url=jdbc:mysql://localhost:3306/Tarefas -Dtarefas.benchmark.mysql.usuario=root -Dtarefas.benchmark.mysql.senha=root}
+ */
+@Tag("benchmark")
+class PoolConexoesBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERACOES_POR_THREAD = 2_000;
+
+    private static final String INSERT = "insert into tarefas_benchmark_tb (categoria,data_atualizacao,data_conclusao,"
+            + "data_criacao,descricao,estimativa_horas,observacoes,prioridade,status,tags,tempo_real_horas,titulo,"
+            + "usuario_responsavel) values (?,?,?,?,?,?,?,?,?,?,?,?,?)";
+    private static final String SELECT = "select t1_0.id,t1_0.categoria,t1_0.data_atualizacao,t1_0.data_conclusao,"
+            + "t1_0.data_criacao,t1_0.descricao,t1_0.estimativa_horas,t1_0.observacoes,t1_0.prioridade,t1_0.status,"
+            + "t1_0.tags,t1_0.tempo_real_horas,t1_0.titulo,t1_0.usuario_responsavel from tarefas_benchmark_tb t1_0 "
+            + "where t1_0.id=?";
+
+    private static final Map<String, String> PROPRIEDADES_PROD = Map.of(
+            "cachePrepStmts", "true",
+            "prepStmtCacheSize", "250",
+            "prepStmtCacheSqlLimit", "2048",
+            "useServerPrepStmts", "true",
+            "rewriteBatchedStatements", "true",
+            "useLocalSessionState", "true",
+            "cacheResultSetMetadata", "true",
+            "cacheServerConfiguration", "true",
+            "elideSetAutoCommits", "true",
+            "maintainTimeStats", "false");
+
+    @Test
+    void compararConfiguracaoPadraoComProd() throws Exception {
+        String url = System.getProperty("tarefas.benchmark.mysql.url");
+        assumeTrue(url != null, "Informe -Dtarefas.benchmark.mysql.url para executar");
+
+        HikariConfig padrao = configuracaoBase(url);
+
+        HikariConfig prod = configuracaoBase(url);
+        prod.setMaximumPoolSize(Runtime.getRuntime().availableProcessors() * 2);
+        prod.setMinimumIdle(prod.getMaximumPoolSize());
+        PROPRIEDADES_PROD.forEach(prod::addDataSourceProperty);
+
+        criarTabela(url);
+
+        Resultado resultadoPadrao = medir("padrão", padrao);
+        Resultado resultadoProd = medir("prod", prod);
+
+        System.out.println(resultadoPadrao);
+        System.out.println(resultadoProd);
+
+        assertTrue(resultadoProd.selectsPorSegundo() > 0 && resultadoPadrao.selectsPorSegundo() > 0);
+    }
+
+    private HikariConfig configuracaoBase(String url) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(System.getProperty("tarefas.benchmark.mysql.usuario", "root"));
+        config.setPassword(System.getProperty("tarefas.benchmark.mysql.senha", "root"));
+        return config;
+    }
+
+    private void criarTabela(String url) throws SQLException {
+        try (HikariDataSource dataSource = new HikariDataSource(configuracaoBase(url));
+             Connection conexao = dataSource.getConnection();
+             Statement statement = conexao.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS tarefas_benchmark_tb");
+            statement.execute("CREATE TABLE tarefas_benchmark_tb LIKE tarefas_tb");
+        }
+    }
+
+    private Resultado medir(String nome, HikariConfig config) throws Exception {
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            AtomicLong maiorId = new AtomicLong();
+
+            // aquecimento: pool cheio e caches de statements populados
+            executar(dataSource, OPERACOES_POR_THREAD / 10, (conexao, i) -> maiorId.accumulateAndGet(inserir(conexao, i), Math::max));
+
+            long inicio = System.nanoTime();
+            executar(dataSource, OPERACOES_POR_THREAD, (conexao, i) -> maiorId.accumulateAndGet(inserir(conexao, i), Math::max));
+            double segundosInsert = (System.nanoTime() - inicio) / 1e9;
+
+            long ids = maiorId.get();
+            inicio = System.nanoTime();
+            executar(dataSource, OPERACOES_POR_THREAD, (conexao, i) -> buscar(conexao, ThreadLocalRandom.current().nextLong(1, ids + 1)));
+            double segundosSelect = (System.nanoTime() - inicio) / 1e9;
+
+            int total = THREADS * OPERACOES_POR_THREAD;
+            return new Resultado(nome, config.getMaximumPoolSize(), total / segundosInsert, total / segundosSelect);
+        }
+    }
+
+    private void executar(HikariDataSource dataSource, int operacoes, Operacao operacao) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                tarefas.add(executor.submit(() -> {
+                    for (int i = 0; i < operacoes; i++) {
+                        // uma conexão por operação, como uma requisição com transação própria
+                        try (Connection conexao = dataSource.getConnection()) {
+                            operacao.executar(conexao, i);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long inserir(Connection conexao, int i) throws SQLException {
+        try (PreparedStatement insert = conexao.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+            insert.setString(1, "Benchmark");
+            insert.setTimestamp(2, agora);
+            insert.setTimestamp(3, null);
+            insert.setTimestamp(4, agora);
+            insert.setString(5, "Tarefa criada pelo benchmark de pool");
+            insert.setInt(6, 4);
+            insert.setString(7, null);
+            insert.setString(8, "MEDIA");
+            insert.setString(9, "PENDENTE");
+            insert.setString(10, "benchmark");
+            insert.setObject(11, null);
+            insert.setString(12, "Tarefa " + Thread.currentThread().getId() + "-" + i + "-" + System.nanoTime());
+            insert.setString(13, "usuario" + (i % 50));
+            insert.executeUpdate();
+            try (ResultSet chaves = insert.getGeneratedKeys()) {
+                return chaves.next() ? chaves.getLong(1) : 0;
+            }
+        }
+    }
+
+    private void buscar(Connection conexao, long id) throws SQLException {
+        try (PreparedStatement select = conexao.prepareStatement(SELECT)) {
+            select.setLong(1, id);
+            try (ResultSet resultado = select.executeQuery()) {
+                while (resultado.next()) {
+                    resultado.getString(13);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operacao {
+        void executar(Connection conexao, int i) throws SQLException;
+    }
+
+    private record Resultado(String nome, int tamanhoPool, double insertsPorSegundo, double selectsPorSegundo) {
+
+        @Override
+        public String toString() {
+            return String.format("%s (pool %d): criarTarefa %.0f ops/s, buscarPorId %.0f ops/s",
+                    nome, tamanhoPool, insertsPorSegundo, selectsPorSegundo);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.documents.tarefas.benchmark;
+
+import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara tamanho do payload e tempo de codificação/decodificação de uma página
+ * de {@link TarefaDTO} em JSON e em CBOR. Executar com {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class SerializacaoTarefaBenchmarkTest {
+
+    private static final int TAMANHO_PAGINA = 100;
+    private static final int AQUECIMENTO = 2_000;
+    private static final int ITERACOES = 5_000;
+
+    private static final TypeReference<List<TarefaDTO>> LISTA_TAREFAS = new TypeReference<>() {
+    };
+
+    @Test
+    void compararJsonComCbor() throws IOException {
+        List<TarefaDTO> pagina = criarPagina();
+        ObjectMapper json = new ObjectMapper();
+        ObjectMapper cbor = new CBORMapper();
+
+        Resultado resultadoJson = medir("JSON", json, pagina);
+        Resultado resultadoCbor = medir("CBOR", cbor, pagina);
+
+        System.out.println(resultadoJson);
+        System.out.println(resultadoCbor);
+
+        assertEquals(pagina, cbor.readValue(cbor.writeValueAsBytes(pagina), LISTA_TAREFAS));
+        assertTrue(resultadoCbor.bytes < resultadoJson.bytes, "CBOR deveria gerar payload menor que JSON");
+    }
+
+    private Resultado medir(String formato, ObjectMapper mapper, List<TarefaDTO> pagina) throws IOException {
+        byte[] payload = mapper.writeValueAsBytes(pagina);
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(pagina), LISTA_TAREFAS);
+        }
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            payload = mapper.writeValueAsBytes(pagina);
+        }
+        long nanosCodificacao = (System.nanoTime() - inicio) / ITERACOES;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            mapper.readValue(payload, LISTA_TAREFAS);
+        }
+        long nanosDecodificacao = (System.nanoTime() - inicio) / ITERACOES;
+
+        return new Resultado(formato, payload.length, gzip(payload).length, nanosCodificacao, nanosDecodificacao);
+    }
+
+    private byte[] gzip(byte[] dados) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        }
+        return saida.toByteArray();
+    }
+
+    private List<TarefaDTO> criarPagina() {
+        List<TarefaDTO> pagina = new ArrayList<>(TAMANHO_PAGINA);
+        for (int i = 0; i < TAMANHO_PAGINA; i++) {
+            TarefaDTO dto = new TarefaDTO();
+            dto.setId((long) i + 1);
+            dto.setTitulo("Tarefa de benchmark " + i);
+            dto.setDescricao("Descrição da tarefa " + i + " usada para medir a serialização");
+            dto.setStatus(StatusTarefa.values()[i % StatusTarefa.values().length]);
+            dto.setPrioridade(PrioridadeTarefa.values()[i % PrioridadeTarefa.values().length]);
+            dto.setDataCriacao("01/01/2024");
+            dto.setDataAtualizacao("02/01/2024");
+            dto.setUsuarioResponsavel("usuario" + (i % 10));
+            dto.setCategoria("Categoria " + (i % 5));
+            dto.setTags("backend,api,performance");
+            dto.setEstimativaHoras(i % 16);
+            dto.setTempoRealHoras(i % 8);
+            dto.setObservacoes("x".repeat(1000));
+            pagina.add(dto);
+        }
+        return pagina;
+    }
+
+    private record Resultado(String formato, int bytes, int bytesGzip, long nanosCodificacao, long nanosDecodificacao) {
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d bytes (%d com gzip), codificação %d ns/página, decodificação %d ns/página",
+                    formato, bytes, bytesGzip, nanosCodificacao, nanosDecodificacao);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.documents.tarefas.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheDoisNiveisTest {
+
+    private CacheCompartilhadoMemoria compartilhado;
+    private Cache noA;
+    private Cache noB;
+
+    @BeforeEach
+    void setUp() {
+        compartilhado = new CacheCompartilhadoMemoria(100, Duration.ofMinutes(5));
+        TransporteInvalidacao transporte = new TransporteInvalidacaoLoopback();
+        noA = criarNo("a", transporte).getCache("tarefas");
+        noB = criarNo("b", transporte).getCache("tarefas");
+    }
+
+    @Test
+    void get_DeveCarregarUmaVezEServirDosCaches() {
+        AtomicInteger carregamentos = new AtomicInteger();
+
+        assertEquals("tarefa 1", noA.get(1L, () -> "tarefa " + carregamentos.incrementAndGet()));
+        assertEquals("tarefa 1", noA.get(1L, () -> "tarefa " + carregamentos.incrementAndGet()));
+        assertEquals("tarefa 1", noB.get(1L, () -> "tarefa " + carregamentos.incrementAndGet()));
+
+        assertEquals(1, carregamentos.get());
+    }
+
+    @Test
+    void evict_DeveInvalidarCopiaLocalDasOutrasInstancias() {
+        noA.put(1L, "versão 1");
+        assertEquals("versão 1", noB.get(1L, String.class));
+
+        noA.evict(1L);
+
+        assertNull(noB.get(1L));
+        assertNull(compartilhado.get("tarefas", 1L));
+    }
+
+    @Test
+    void put_NaoDeveDifundirInvalidacao() {
+        noA.put(1L, "versão 1");
+        assertEquals("versão 1", noB.get(1L, String.class));
+
+        noA.put(1L, "versão 2");
+
+        // put só preenche misses; alterações passam por evict
+        assertEquals("versão 1", noB.get(1L, String.class));
+        noA.evict(1L);
+        assertNull(noB.get(1L));
+    }
+
+    @Test
+    void get_RemocaoDuranteACarga_NaoDeveGravarValorAntigoNoCompartilhado() {
+        assertEquals("versão 1", noA.get(1L, () -> {
+            // outra instância confirmou uma escrita enquanto esta ainda lia a versão anterior
+            compartilhado.evict("tarefas", 1L);
+            return "versão 1";
+        }));
+
+        assertNull(compartilhado.get("tarefas", 1L));
+        assertNull(noB.get(1L));
+        assertEquals("versão 2", noB.get(1L, () -> "versão 2"));
+        assertEquals("versão 2", compartilhado.get("tarefas", 1L));
+    }
+
+    @Test
+    void clear_DeveLimparTodasAsInstancias() {
+        noA.put(1L, "tarefa 1");
+        noB.put(2L, "tarefa 2");
+        assertNotNull(noA.get(2L));
+
+        noB.clear();
+
+        assertNull(noA.get(1L));
+        assertNull(noA.get(2L));
+    }
+
+    private CacheDoisNiveisManager criarNo(String instancia, TransporteInvalidacao transporte) {
+        CacheDoisNiveisManager manager = new CacheDoisNiveisManager(instancia, compartilhado, transporte,
+                List.of("tarefas"), 100, Duration.ofMinutes(5));
+        manager.afterPropertiesSet();
+        return manager;
+    }
+}
@@ -0,0 +1,52 @@
+package com.documents.tarefas.cache;
+
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import com.documents.tarefas.event.TipoAlteracao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersaoTabelaTarefasTest {
+
+    private Cache cacheA;
+    private Cache cacheB;
+    private VersaoTabelaTarefas versaoA;
+    private VersaoTabelaTarefas versaoB;
+    private Method metodo;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        TransporteInvalidacao transporte = new TransporteInvalidacaoLoopback();
+        cacheA = new ConcurrentMapCache("consultas-tarefas");
+        cacheB = new ConcurrentMapCache("consultas-tarefas");
+        versaoA = new VersaoTabelaTarefas(cacheA, "a", transporte);
+        versaoB = new VersaoTabelaTarefas(cacheB, "b", transporte);
+        metodo = Object.class.getMethod("toString");
+    }
+
+    @Test
+    void generate_DeveGerarMesmaChaveParaMesmosArgumentos() {
+        assertEquals(versaoA.generate(this, metodo, "PENDENTE", 0), versaoA.generate(this, metodo, "PENDENTE", 0));
+        assertNotEquals(versaoA.generate(this, metodo, "PENDENTE", 0), versaoA.generate(this, metodo, "PENDENTE", 1));
+    }
+
+    @Test
+    void aoAlterarTarefa_DeveMudarAChaveELimparOsCachesDeTodasAsInstancias() {
+        Object chaveAntes = versaoA.generate(this, metodo, "PENDENTE");
+        cacheA.put(chaveAntes, "página");
+        cacheB.put(versaoB.generate(this, metodo, "PENDENTE"), "página");
+
+        versaoA.aoAlterarTarefa(new TarefaAlteradaEvent(TipoAlteracao.CRIACAO, 1L, null, null));
+
+        assertNotEquals(chaveAntes, versaoA.generate(this, metodo, "PENDENTE"));
+        assertNull(cacheA.get(chaveAntes));
+        assertEquals(1, versaoB.atual());
+        assertTrue(((Map<?, ?>) cacheB.getNativeCache()).isEmpty());
+    }
+}
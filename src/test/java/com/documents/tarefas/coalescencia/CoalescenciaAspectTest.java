@@ -0,0 +1,156 @@
+package com.documents.tarefas.coalescencia;
+
+import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.exception.TarefaNaoEncontradaException;
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.model.Tarefa;
+import com.documents.tarefas.filtro.FiltroTitulos;
+import com.documents.tarefas.repository.TarefaArquivadaRepository;
+import com.documents.tarefas.repository.TarefaRepository;
+import com.documents.tarefas.service.TarefaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CoalescenciaAspectTest {
+
+    private static final int CLIENTES = 100;
+
+    private TarefaRepository tarefaRepository;
+    private CarregamentoUnico carregamentoUnico;
+    private TarefaService tarefaService;
+    private CountDownLatch liberarConsulta;
+
+    @BeforeEach
+    void setUp() {
+        tarefaRepository = mock(TarefaRepository.class);
+        carregamentoUnico = new CarregamentoUnico();
+        liberarConsulta = new CountDownLatch(1);
+
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(
+                new TarefaService(tarefaRepository, mock(TarefaArquivadaRepository.class),
+                        mock(ApplicationEventPublisher.class), mock(FiltroTitulos.class)));
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new CoalescenciaAspect(carregamentoUnico));
+        tarefaService = fabrica.getProxy();
+    }
+
+    @Test
+    void buscarPorId_DeveExecutarUmaUnicaConsultaParaChamadasSimultaneas() throws Exception {
+        when(tarefaRepository.findById(1L)).thenAnswer(invocacao -> {
+            liberarConsulta.await(5, TimeUnit.SECONDS);
+            return Optional.of(criarTarefa());
+        });
+
+        List<Object> resultados = manada(() -> tarefaService.buscarPorId(1L));
+
+        verify(tarefaRepository, times(1)).findById(1L);
+        assertEquals(CLIENTES, resultados.size());
+        resultados.forEach(resultado -> assertEquals(1L, ((TarefaDTO) resultado).getId()));
+        assertEquals(0, carregamentoUnico.emAndamento());
+    }
+
+    @Test
+    void buscarPorId_DevePropagarAMesmaExcecaoParaTodasAsChamadas() throws Exception {
+        when(tarefaRepository.findById(2L)).thenAnswer(invocacao -> {
+            liberarConsulta.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+
+        List<Object> resultados = manada(() -> tarefaService.buscarPorId(2L));
+
+        verify(tarefaRepository, times(1)).findById(2L);
+        resultados.forEach(resultado -> assertInstanceOf(TarefaNaoEncontradaException.class, resultado));
+    }
+
+    @Test
+    void obterEstatisticas_DeveExecutarUmaUnicaConsultaParaChamadasSimultaneas() throws Exception {
+        when(tarefaRepository.countByStatus()).thenAnswer(invocacao -> {
+            liberarConsulta.await(5, TimeUnit.SECONDS);
+            return List.<Object[]>of();
+        });
+        when(tarefaRepository.countByPrioridade()).thenReturn(List.of());
+        when(tarefaRepository.count()).thenReturn(0L);
+
+        List<Object> resultados = manada(() -> tarefaService.obterEstatisticas());
+
+        verify(tarefaRepository, times(1)).countByStatus();
+        verify(tarefaRepository, times(1)).count();
+        resultados.forEach(resultado -> assertEquals(0L, ((Map<?, ?>) resultado).get("total")));
+    }
+
+    @Test
+    void buscarPorId_DeveConsultarNovamenteDepoisQueACargaTermina() {
+        liberarConsulta.countDown();
+        when(tarefaRepository.findById(1L)).thenReturn(Optional.of(criarTarefa()));
+
+        tarefaService.buscarPorId(1L);
+        tarefaService.buscarPorId(1L);
+
+        verify(tarefaRepository, times(2)).findById(1L);
+    }
+
+    /**
+     * Dispara {@link #CLIENTES} chamadas simultâneas e só libera a consulta quando todas as
+     * threads estão bloqueadas, isto é, quando a primeira está no banco e as demais aguardando.
+     */
+    private List<Object> manada(ChamadaServico chamada) throws InterruptedException {
+        List<Object> resultados = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < CLIENTES; i++) {
+            threads.add(new Thread(() -> {
+                try {
+                    resultados.add(chamada.executar());
+                } catch (RuntimeException e) {
+                    resultados.add(e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!threads.stream().allMatch(this::bloqueada) && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        liberarConsulta.countDown();
+
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        return resultados;
+    }
+
+    private boolean bloqueada(Thread thread) {
+        Thread.State estado = thread.getState();
+        return estado == Thread.State.WAITING || estado == Thread.State.TIMED_WAITING;
+    }
+
+    private Tarefa criarTarefa() {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setId(1L);
+        tarefa.setTitulo("Teste de Tarefa");
+        tarefa.setStatus(StatusTarefa.PENDENTE);
+        tarefa.setPrioridade(PrioridadeTarefa.MEDIA);
+        tarefa.setDataCriacao(LocalDateTime.now());
+        return tarefa;
+    }
+
+    @FunctionalInterface
+    private interface ChamadaServico {
+        Object executar();
+    }
+}
@@ -0,0 +1,102 @@
+package com.documents.tarefas.compartimento;
+
+import com.documents.tarefas.config.CompartimentosProperties;
+import com.documents.tarefas.exception.ServicoSobrecarregadoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CompartimentoAspectTest {
+
+    private PlatformTransactionManager transactionManager;
+    private CompartimentosProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        CompartimentosProperties.Operacao analitico = new CompartimentosProperties.Operacao();
+        analitico.setMaxConcorrencia(1);
+        analitico.setEsperaMaxima(Duration.ofMillis(10));
+
+        CompartimentosProperties.Operacao crud = new CompartimentosProperties.Operacao();
+        crud.setTimeoutConsulta(Duration.ofSeconds(3));
+
+        properties = new CompartimentosProperties();
+        properties.getOperacoes().put(Compartimento.ANALITICO, analitico);
+        properties.getOperacoes().put(Compartimento.CRUD, crud);
+    }
+
+    @Test
+    void deveRecusarQuandoCompartimentoEstaCheioSemAfetarOsDemais() throws Exception {
+        ServicoExemplo alvo = new ServicoExemplo();
+        ServicoExemplo servico = proxy(alvo);
+
+        CompletableFuture<String> primeira = CompletableFuture.supplyAsync(servico::analitico);
+        assertTrue(alvo.dentro.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ServicoSobrecarregadoException.class, servico::analitico);
+        assertEquals(Compartimento.CRUD, servico.crud());
+
+        alvo.liberar.countDown();
+        assertEquals(Compartimento.ANALITICO, primeira.get(5, TimeUnit.SECONDS));
+        assertNull(ContextoCompartimento.atual());
+    }
+
+    @Test
+    void deveAbrirTransacaoComTimeoutDoCompartimento() {
+        ServicoExemplo servico = proxy(new ServicoExemplo());
+
+        servico.crud();
+
+        ArgumentCaptor<TransactionDefinition> definicao = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definicao.capture());
+        assertEquals(3, definicao.getValue().getTimeout());
+        assertTrue(definicao.getValue().isReadOnly());
+    }
+
+    private ServicoExemplo proxy(ServicoExemplo alvo) {
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(alvo);
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new CompartimentoAspect(properties, transactionManager));
+        return fabrica.getProxy();
+    }
+
+    @Compartimento(Compartimento.CRUD)
+    static class ServicoExemplo {
+
+        final CountDownLatch dentro = new CountDownLatch(1);
+        final CountDownLatch liberar = new CountDownLatch(1);
+
+        @Compartimento(Compartimento.ANALITICO)
+        public String analitico() {
+            dentro.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ContextoCompartimento.atual();
+        }
+
+        @Transactional(readOnly = true)
+        public String crud() {
+            return ContextoCompartimento.atual();
+        }
+    }
+}
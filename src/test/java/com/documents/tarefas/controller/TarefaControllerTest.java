@@ -1,6 +1,8 @@
 package com.documents.tarefas.controller;
 
 import com.documents.tarefas.dto.CriarTarefaRequest;
+import com.documents.tarefas.dto.LoteIdsRequest;
+import com.documents.tarefas.dto.LoteTarefasDTO;
 import com.documents.tarefas.dto.TarefaDTO;
 import com.documents.tarefas.model.PrioridadeTarefa;
 import com.documents.tarefas.model.StatusTarefa;
@@ -11,10 +13,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -91,6 +100,23 @@ class TarefaControllerTest {
                 .andExpect(jsonPath("$.titulo").value("Nova Tarefa"));
     }
     
+    @Test
+    void buscarPorIds_DeveRetornar200ComEncontradasENaoEncontradas() throws Exception {
+
+        when(tarefaService.buscarPorIds(List.of(1L, 7L))).thenReturn(new LoteTarefasDTO(List.of(tarefaDTO), List.of(7L)));
+
+        mockMvc.perform(get("/api/tarefas/lote").param("ids", "1,7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tarefas[0].id").value(1))
+                .andExpect(jsonPath("$.naoEncontradas[0]").value(7));
+
+        mockMvc.perform(post("/api/tarefas/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoteIdsRequest(List.of(1L, 7L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tarefas[0].titulo").value("Nova Tarefa"));
+    }
+
     @Test
     void listarTarefas_DeveRetornar200ComPaginaVazia() throws Exception {
 
@@ -100,6 +126,23 @@ class TarefaControllerTest {
                 .andExpect(status().isOk());
     }
     
+    @Test
+    void listarTarefas_DeveRetornarApenasCamposPedidos() throws Exception {
+
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("id", 1L);
+        linha.put("titulo", "Nova Tarefa");
+        when(tarefaService.listarCamposTarefas(eq("id,titulo"), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(linha)));
+
+        mockMvc.perform(get("/api/tarefas")
+                        .param("fields", "id,titulo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].titulo").value("Nova Tarefa"))
+                .andExpect(jsonPath("$.content[0].descricao").doesNotExist());
+    }
+    
     @Test
     void marcarComoConcluida_DeveRetornar200QuandoSucesso() throws Exception {
 
@@ -0,0 +1,73 @@
+package com.documents.tarefas.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolsHikariTest {
+
+    private Binder binder;
+    private HikariDataSource primario;
+    private HikariDataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        binder = new Binder(new MapConfigurationPropertySource(Map.of(
+                "spring.datasource.hikari.pool-name", "tarefas",
+                "spring.datasource.hikari.maximum-pool-size", "7",
+                "spring.datasource.hikari.minimum-idle", "7",
+                "spring.datasource.hikari.connection-timeout", "1500",
+                "spring.datasource.hikari.data-source-properties.cachePrepStmts", "true")));
+        primario = new HikariDataSource();
+        primario.setJdbcUrl("jdbc:h2:mem:pools_primario");
+        replica = new HikariDataSource();
+        replica.setJdbcUrl("jdbc:h2:mem:pools_replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        primario.close();
+        replica.close();
+    }
+
+    @Test
+    void configurar_DeveAplicarAsConfiguracoesDoPoolPadrao() {
+        PoolsHikari.configurar(binder, replica, "tarefas-replica-0");
+
+        assertEquals(7, replica.getMaximumPoolSize());
+        assertEquals(7, replica.getMinimumIdle());
+        assertEquals(1500, replica.getConnectionTimeout());
+        assertEquals("true", replica.getDataSourceProperties().getProperty("cachePrepStmts"));
+        assertEquals("tarefas-replica-0", replica.getPoolName());
+        assertEquals("jdbc:h2:mem:pools_replica", replica.getJdbcUrl());
+    }
+
+    @Test
+    void configurar_SemNome_DeveManterONomeConfigurado() {
+        PoolsHikari.configurar(binder, primario);
+
+        assertEquals("tarefas", primario.getPoolName());
+    }
+
+    @Test
+    void listar_DeveEncontrarTodosOsPoolsDoRoteamento() {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primario, Map.of("replica-0", replica),
+                Duration.ofSeconds(5));
+        roteamento.afterPropertiesSet();
+
+        var pools = PoolsHikari.listar(new LazyConnectionDataSourceProxy(roteamento));
+
+        assertEquals(2, pools.size());
+        assertTrue(pools.contains(primario));
+        assertTrue(pools.contains(replica));
+    }
+}
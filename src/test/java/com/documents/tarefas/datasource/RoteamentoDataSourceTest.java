@@ -0,0 +1,141 @@
+package com.documents.tarefas.datasource;
+
+import com.documents.tarefas.cache.CacheCompartilhadoMemoria;
+import com.documents.tarefas.cache.CacheDoisNiveisManager;
+import com.documents.tarefas.cache.TransporteInvalidacaoLoopback;
+import com.documents.tarefas.config.CacheDoisNiveisConfig;
+import com.documents.tarefas.config.CacheDoisNiveisProperties;
+import com.documents.tarefas.web.ContextoCliente;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoteamentoDataSourceTest {
+
+    private RoteamentoDataSource roteamento;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate escrita;
+    private TransactionTemplate leitura;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primario = criarBanco("primario");
+        DataSource replica = criarBanco("replica");
+
+        roteamento = new RoteamentoDataSource(primario, Map.of("replica-0", replica), Duration.ofSeconds(5));
+        roteamento.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(roteamento);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        escrita = new TransactionTemplate(transactionManager);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ContextoCliente.limpar();
+    }
+
+    @Test
+    void transacaoSomenteLeitura_DeveIrParaReplica() {
+        assertEquals("replica", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    void transacaoDeEscrita_DeveIrParaPrimario() {
+        assertEquals("primario", escrita.execute(status -> origem()));
+    }
+
+    @Test
+    void leituraAposEscrita_DeveFicarNoPrimarioParaOMesmoCliente() {
+        ContextoCliente.definir("cliente-1");
+        escrita.execute(status -> origem());
+        roteamento.registrarEscrita("cliente-1");
+
+        assertEquals("primario", leitura.execute(status -> origem()));
+
+        ContextoCliente.definir("cliente-2");
+        assertEquals("replica", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    void escritaComIdentificadorCompartilhado_NaoDevePrenderOsClientesDoProxyAoPrimario() {
+        EscritasClienteListener listener = new EscritasClienteListener(roteamento);
+        ContextoCliente.definir("10.0.0.1", true);
+        listener.aoAlterarTarefa(null);
+
+        assertEquals("replica", leitura.execute(status -> origem()));
+
+        ContextoCliente.definir("203.0.113.7");
+        listener.aoAlterarTarefa(null);
+        assertEquals("primario", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    void transacaoDeEscritaSemAlteracao_NaoDevePrenderOClienteAoPrimario() {
+        ContextoCliente.definir("cliente-1");
+        escrita.execute(status -> origem());
+
+        assertEquals("replica", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    void replicaIndisponivel_DeveCairParaPrimario() {
+        roteamento.atualizarDisponibilidade("replica-0", false);
+        assertEquals("primario", leitura.execute(status -> origem()));
+
+        roteamento.atualizarDisponibilidade("replica-0", true);
+        assertEquals("replica", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    void missDoCacheDoisNiveis_DeveCarregarDoPrimario() {
+        CacheDoisNiveisManager manager = new CacheDoisNiveisManager("a",
+                new CacheCompartilhadoMemoria(100, Duration.ofMinutes(5)), new TransporteInvalidacaoLoopback(),
+                List.of("tarefas"), 100, Duration.ofMinutes(5));
+        manager.afterPropertiesSet();
+        Cache cache = manager.getCache("tarefas");
+
+        // a réplica pode estar atrasada em relação ao commit que acabou de remover a entrada
+        assertEquals("primario", cache.get(1L, () -> leitura.execute(status -> origem())));
+        assertEquals("replica", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    void missDoCacheDeConsultas_DeveCarregarDoPrimario() {
+        Cache cache = new CacheDoisNiveisConfig().cacheConsultasManager(new CacheDoisNiveisProperties())
+                .getCache(CacheDoisNiveisConfig.CACHE_CONSULTAS);
+
+        assertEquals("primario", cache.get("pagina-0", () -> leitura.execute(status -> origem())));
+        assertEquals("replica", leitura.execute(status -> origem()));
+    }
+
+    private String origem() {
+        return jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class);
+    }
+
+    private DataSource criarBanco(String nome) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:roteamento_" + nome + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS origem");
+        jdbc.execute("CREATE TABLE origem (nome VARCHAR(20))");
+        jdbc.update("INSERT INTO origem (nome) VALUES (?)", nome);
+        return dataSource;
+    }
+}
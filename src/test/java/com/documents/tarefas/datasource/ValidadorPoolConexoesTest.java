@@ -0,0 +1,94 @@
+package com.documents.tarefas.datasource;
+
+import com.documents.tarefas.config.PoolConexoesProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidadorPoolConexoesTest {
+
+    private HikariDataSource dataSource;
+    private PoolConexoesProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:validador_pool");
+        dataSource.setMaximumPoolSize(8);
+        dataSource.setMinimumIdle(8);
+        dataSource.setConnectionTimeout(2000);
+        dataSource.addDataSourceProperty("cachePrepStmts", "true");
+        dataSource.addDataSourceProperty("useServerPrepStmts", "true");
+        dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+
+        properties = new PoolConexoesProperties();
+        properties.setHabilitado(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void validar_DeveAceitarConfiguracaoRecomendada() {
+        assertEquals(List.of(), new ValidadorPoolConexoes(dataSource, properties, 4).validar());
+    }
+
+    @Test
+    void validar_DeveApontarPoolGrandeTimeoutLongoEDriverSemCache() {
+        dataSource.setMaximumPoolSize(64);
+        dataSource.setConnectionTimeout(30_000);
+        dataSource.getDataSourceProperties().remove("cachePrepStmts");
+
+        List<String> problemas = new ValidadorPoolConexoes(dataSource, properties, 4).validar();
+
+        assertEquals(4, problemas.size(), problemas.toString());
+        assertTrue(problemas.stream().anyMatch(problema -> problema.startsWith("maximum-pool-size=64")));
+        assertTrue(problemas.stream().anyMatch(problema -> problema.startsWith("minimum-idle=8")));
+        assertTrue(problemas.stream().anyMatch(problema -> problema.startsWith("connection-timeout=30000ms")));
+        assertTrue(problemas.stream().anyMatch(problema -> problema.contains("cachePrepStmts")));
+    }
+
+    @Test
+    void validarNaSubida_DeveFalharQuandoConfiguradoParaIsso() {
+        dataSource.setMaximumPoolSize(64);
+        dataSource.setMinimumIdle(64);
+
+        ValidadorPoolConexoes validador = new ValidadorPoolConexoes(dataSource, properties, 4);
+
+        assertThrows(IllegalStateException.class, validador::validarNaSubida);
+        properties.setFalharSeInvalido(false);
+        assertDoesNotThrow(validador::validarNaSubida);
+    }
+
+    @Test
+    void validar_ComRoteamento_DeveApontarOPoolComProblema() {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setJdbcUrl("jdbc:h2:mem:validador_pool_replica");
+        replica.setPoolName("tarefas-replica-0");
+        replica.setMaximumPoolSize(8);
+        replica.setMinimumIdle(8);
+        dataSource.setPoolName("tarefas");
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(dataSource, Map.of("replica-0", replica),
+                Duration.ofSeconds(5));
+        roteamento.afterPropertiesSet();
+
+        try {
+            List<String> problemas = new ValidadorPoolConexoes(roteamento, properties, 4).validar();
+
+            assertFalse(problemas.isEmpty());
+            assertTrue(problemas.stream().allMatch(problema -> problema.startsWith("[tarefas-replica-0] ")),
+                    problemas.toString());
+        } finally {
+            replica.close();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.documents.tarefas.dependencia;
+
+import com.documents.tarefas.dependencia.GrafoDependencias.Insercao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrafoDependenciasTest {
+
+    private GrafoDependencias grafo;
+
+    /**
+     * 1 -> 2 -> 4 e 1 -> 3 -> 4 -> 5 ("a -> b": a bloqueia b), com 3 mais longa que 2.
+     */
+    @BeforeEach
+    void setUp() {
+        grafo = new GrafoDependencias();
+        assertEquals(Insercao.INSERIDA, grafo.adicionar(1, 2));
+        assertEquals(Insercao.INSERIDA, grafo.adicionar(1, 3));
+        assertEquals(Insercao.INSERIDA, grafo.adicionar(2, 4));
+        assertEquals(Insercao.INSERIDA, grafo.adicionar(3, 4));
+        assertEquals(Insercao.INSERIDA, grafo.adicionar(4, 5));
+        grafo.definirHoras(1, 2);
+        grafo.definirHoras(2, 1);
+        grafo.definirHoras(3, 5);
+        grafo.definirHoras(4, 3);
+        grafo.definirHoras(5, 1);
+    }
+
+    @Test
+    void adicionar_DeveRecusarArestasQueFechamCiclo() {
+        assertEquals(Insercao.CICLO, grafo.adicionar(5, 1));
+        assertEquals(Insercao.CICLO, grafo.adicionar(4, 3));
+        assertEquals(Insercao.CICLO, grafo.adicionar(2, 2));
+        assertTrue(grafo.criariaCiclo(5, 2));
+        assertFalse(grafo.criariaCiclo(2, 3));
+
+        assertEquals(Insercao.INSERIDA, grafo.adicionar(2, 3));
+        assertEquals(Insercao.EXISTENTE, grafo.adicionar(2, 3));
+        assertEquals(6, grafo.arestas());
+    }
+
+    @Test
+    void bloqueadorasEDependentes_DevemSeguirOFechoTransitivo() {
+        assertEquals(List.of(4L), grafo.bloqueadoras(5, false));
+        assertEquals(List.of(4L, 2L, 3L, 1L), ordenarNiveis(grafo.bloqueadoras(5, true)));
+        assertEquals(List.of(2L, 3L), grafo.dependentes(1, false));
+        assertEquals(4, grafo.dependentes(1, true).size());
+        assertTrue(grafo.bloqueadoras(99, true).isEmpty());
+    }
+
+    @Test
+    void ordemTopologica_DeveRespeitarTodosOsBloqueios() {
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), grafo.ordemTopologica());
+
+        grafo.adicionar(5, 0);
+        List<Long> ordem = grafo.ordemTopologica();
+        assertTrue(ordem.indexOf(5L) < ordem.indexOf(0L));
+    }
+
+    @Test
+    void caminhoCritico_DeveSomarAsHorasDaCadeiaMaisLonga() {
+        GrafoDependencias.Caminho geral = grafo.caminhoCritico(null);
+        assertEquals(List.of(1L, 3L, 4L, 5L), geral.tarefas());
+        assertEquals(11, geral.horas());
+
+        GrafoDependencias.Caminho ateDois = grafo.caminhoCritico(2L);
+        assertEquals(List.of(1L, 2L), ateDois.tarefas());
+        assertEquals(3, ateDois.horas());
+    }
+
+    @Test
+    void removerTarefa_DeveLevarAsArestasEOsPesos() {
+        grafo.removerTarefa(3);
+
+        assertEquals(List.of(2L), grafo.bloqueadoras(4, false));
+        assertEquals(3, grafo.arestas());
+        assertEquals(List.of(1L, 2L, 4L, 5L), grafo.caminhoCritico(null).tarefas());
+        assertEquals(7, grafo.caminhoCritico(null).horas());
+
+        grafo.remover(4, 5);
+        assertFalse(grafo.nos().contains(5L));
+    }
+
+    // a ordem dentro de um mesmo nível da busca em largura não é garantida
+    private static List<Long> ordenarNiveis(List<Long> ids) {
+        return List.of(ids.get(0), Math.min(ids.get(1), ids.get(2)), Math.max(ids.get(1), ids.get(2)), ids.get(3));
+    }
+}
@@ -0,0 +1,34 @@
+package com.documents.tarefas.filtro;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroBloomTest {
+
+    @Test
+    void podeConter_NaoDeveTerFalsosNegativosEDeveRespeitarTaxaDeFalsosPositivos() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("Tarefa " + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.podeConter("Tarefa " + i));
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.podeConter("Outra tarefa " + i)) {
+                falsosPositivos++;
+            }
+        }
+        assertTrue(falsosPositivos < 2_000, "taxa de falsos positivos acima do esperado: " + falsosPositivos);
+        assertEquals(7, filtro.funcoesHash());
+    }
+
+    @Test
+    void normalizar_DeveIgualarTitulosQueACollationDoBancoConsideraIguais() {
+        assertEquals(FiltroTitulos.normalizar("Revisão de Código"), FiltroTitulos.normalizar("REVISAO DE CODIGO"));
+    }
+}
@@ -0,0 +1,159 @@
+package com.documents.tarefas.importacao;
+
+import com.documents.tarefas.config.ImportacaoProperties;
+import com.documents.tarefas.dto.CriarTarefaRequest;
+import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.exception.ServicoSobrecarregadoException;
+import com.documents.tarefas.service.TarefaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class PipelineImportacaoTest {
+
+    private static final String CSV = """
+            titulo,descricao,prioridade,estimativaHoras
+            Tarefa um,Primeira,ALTA,3
+            Tarefa dois,,BAIXA,
+            ab,Título curto demais,MEDIA,1
+            Tarefa um,Repetida no arquivo,ALTA,1
+            Tarefa existente,Já está no banco,MEDIA,2
+            Tarefa três,Prioridade desconhecida,ALTISSIMA,1
+            """;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TarefaService tarefaService;
+    private ImportacaoProperties properties;
+    private ExecutorService estagios;
+    private List<String> titulosGravados;
+
+    @BeforeEach
+    void setUp() {
+        tarefaService = mock(TarefaService.class);
+        properties = new ImportacaoProperties();
+        properties.setThreadsValidacao(2);
+        properties.setCapacidadeFila(2);
+        properties.setTamanhoLote(2);
+        estagios = Executors.newCachedThreadPool();
+
+        titulosGravados = new ArrayList<>();
+        when(tarefaService.importarLote(anyList())).thenAnswer(invocacao -> {
+            List<CriarTarefaRequest> requests = invocacao.getArgument(0);
+            return requests.stream()
+                    .filter(request -> !request.getTitulo().equals("Tarefa existente"))
+                    .peek(request -> titulosGravados.add(request.getTitulo()))
+                    .map(this::criada)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        estagios.shutdownNow();
+    }
+
+    @Test
+    void executar_DeveValidarDeduplicarEGravarEmLotes() {
+        Importacao importacao = novaImportacao(FormatoImportacao.CSV, CSV);
+
+        pipeline(importacao).executar(entrada(CSV));
+
+        assertEquals(StatusImportacao.CONCLUIDA, importacao.getStatus());
+        assertEquals(6, importacao.getLinhasLidas().get());
+        assertEquals(4, importacao.getLinhasValidas().get());
+        assertEquals(2, importacao.getLinhasComErro().get());
+        assertEquals(2, importacao.getLinhasDuplicadas().get());
+        assertEquals(2, importacao.getLinhasInseridas().get());
+        assertEquals(100.0, importacao.percentualLido());
+
+        assertEquals(2, titulosGravados.size());
+        assertTrue(titulosGravados.containsAll(List.of("Tarefa um", "Tarefa dois")));
+
+        List<ErroLinha> erros = importacao.errosOrdenados();
+        assertEquals(4, erros.size());
+        assertTrue(erros.stream().anyMatch(erro -> erro.linha() == 3 && erro.mensagem().startsWith("titulo:")));
+        assertTrue(erros.stream().anyMatch(erro -> erro.linha() == 5 && erro.mensagem().startsWith("Já existe")));
+        assertTrue(erros.stream().anyMatch(erro -> erro.linha() == 6 && erro.mensagem().startsWith("Registro inválido")));
+        assertTrue(erros.stream().anyMatch(erro -> erro.mensagem().startsWith("Título repetido no arquivo")));
+    }
+
+    @Test
+    void executar_DeveTratarComoRepetidoTituloQueSoDifereEmCaixaOuAcento() {
+        String csv = """
+                titulo,prioridade
+                Relatório mensal,ALTA
+                RELATORIO MENSAL,BAIXA
+                """;
+        Importacao importacao = novaImportacao(FormatoImportacao.CSV, csv);
+
+        pipeline(importacao).executar(entrada(csv));
+
+        assertEquals(StatusImportacao.CONCLUIDA, importacao.getStatus());
+        assertEquals(1, importacao.getLinhasInseridas().get());
+        assertEquals(1, importacao.getLinhasDuplicadas().get());
+        assertEquals(1, titulosGravados.size());
+    }
+
+    @Test
+    void executar_DeveAguardarVagaQuandoCompartimentoEstaCheio() {
+        String json = "[{\"titulo\": \"Tarefa JSON\", \"prioridade\": \"URGENTE\"}]";
+        when(tarefaService.importarLote(anyList()))
+                .thenThrow(new ServicoSobrecarregadoException("cheio", Duration.ofMillis(1)))
+                .thenReturn(List.of(criada(new CriarTarefaRequest("Tarefa JSON", null, null, null, null, null, null, null))));
+        Importacao importacao = novaImportacao(FormatoImportacao.JSON, json);
+
+        pipeline(importacao).executar(entrada(json));
+
+        assertEquals(StatusImportacao.CONCLUIDA, importacao.getStatus());
+        assertEquals(1, importacao.getLinhasInseridas().get());
+        verify(tarefaService, times(2)).importarLote(anyList());
+    }
+
+    @Test
+    void executar_DeveFalharQuandoArquivoNaoEhLegivel() {
+        String json = "{\"titulo\": \"Não é um array\"}";
+        Importacao importacao = novaImportacao(FormatoImportacao.JSON, json);
+
+        pipeline(importacao).executar(entrada(json));
+
+        assertEquals(StatusImportacao.FALHOU, importacao.getStatus());
+        assertNotNull(importacao.getMensagem());
+        verify(tarefaService, never()).importarLote(anyList());
+    }
+
+    private PipelineImportacao pipeline(Importacao importacao) {
+        return new PipelineImportacao(importacao, tarefaService, validator, objectMapper, properties, estagios);
+    }
+
+    private Importacao novaImportacao(FormatoImportacao formato, String conteudo) {
+        return new Importacao("id", "arquivo", formato, conteudo.getBytes(StandardCharsets.UTF_8).length, 100);
+    }
+
+    private ByteArrayInputStream entrada(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private TarefaDTO criada(CriarTarefaRequest request) {
+        TarefaDTO dto = new TarefaDTO();
+        dto.setTitulo(request.getTitulo());
+        return dto;
+    }
+}
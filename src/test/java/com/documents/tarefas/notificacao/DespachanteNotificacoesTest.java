@@ -0,0 +1,174 @@
+package com.documents.tarefas.notificacao;
+
+import com.documents.tarefas.config.NotificacoesProperties;
+import com.documents.tarefas.model.StatusTarefa;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import feign.Feign;
+import feign.Retryer;
+import feign.hc5.ApacheHttp5Client;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DespachanteNotificacoesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private WireMockServer wireMock;
+    private NotificacoesProperties properties;
+    private DespachanteNotificacoes despachante;
+
+    @BeforeEach
+    void setUp() {
+        wireMock = new WireMockServer(options().dynamicPort());
+        wireMock.start();
+
+        properties = new NotificacoesProperties();
+        properties.setTamanhoLote(3);
+        properties.setEsperaLote(Duration.ofMillis(100));
+        properties.setBackoffInicial(Duration.ofMillis(10));
+        properties.setBackoffMaximo(Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (despachante != null) {
+            despachante.encerrar();
+        }
+        wireMock.stop();
+    }
+
+    @Test
+    void enfileirar_DeveAgruparPorDestinoEmLotes() throws Exception {
+        wireMock.stubFor(post(anyUrl()).willReturn(aResponse().withStatus(204)));
+        despachante = despachante();
+
+        for (long id = 1; id <= 4; id++) {
+            assertTrue(despachante.enfileirar(destino("/a"), notificacao(id)));
+        }
+        assertTrue(despachante.enfileirar(destino("/b"), notificacao(5L)));
+
+        aguardar(() -> despachante.getEntregues() == 5);
+        List<LoggedRequest> lotesA = wireMock.findAll(postRequestedFor(urlEqualTo("/a")));
+        assertEquals(2, lotesA.size());
+        assertEquals(3, objectMapper.readTree(lotesA.get(0).getBodyAsString()).size());
+        assertEquals(1, objectMapper.readTree(lotesA.get(1).getBodyAsString()).size());
+        wireMock.verify(1, postRequestedFor(urlEqualTo("/b"))
+                .withHeader("Content-Type", containing("application/json"))
+                .withRequestBody(matchingJsonPath("$[0].tipo", equalTo("TAREFA_CONCLUIDA"))));
+        assertEquals(0, despachante.getPendentes());
+    }
+
+    @Test
+    void enfileirar_DeveRetentarAteDestinoResponder() {
+        wireMock.stubFor(post(urlEqualTo("/a")).inScenario("instavel").whenScenarioStateIs(STARTED)
+                .willReturn(aResponse().withStatus(503)).willSetStateTo("falhou uma vez"));
+        wireMock.stubFor(post(urlEqualTo("/a")).inScenario("instavel").whenScenarioStateIs("falhou uma vez")
+                .willReturn(aResponse().withStatus(500)).willSetStateTo("recuperado"));
+        wireMock.stubFor(post(urlEqualTo("/a")).inScenario("instavel").whenScenarioStateIs("recuperado")
+                .willReturn(aResponse().withStatus(200)));
+        despachante = despachante();
+
+        despachante.enfileirar(destino("/a"), notificacao(1L));
+
+        aguardar(() -> despachante.getEntregues() == 1);
+        wireMock.verify(3, postRequestedFor(urlEqualTo("/a")));
+        assertEquals(0, despachante.getDescartadas());
+    }
+
+    @Test
+    void enfileirar_DeveAbrirCircuitoDoDestinoQueNaoResponde() throws InterruptedException {
+        wireMock.stubFor(post(urlEqualTo("/a")).willReturn(aResponse().withStatus(500)));
+        wireMock.stubFor(post(urlEqualTo("/b")).willReturn(aResponse().withStatus(200)));
+        properties.setTamanhoLote(1);
+        properties.setMaximoTentativas(10);
+        properties.getDisjuntor().setFalhasParaAbrir(2);
+        properties.getDisjuntor().setTempoAberto(Duration.ofHours(1));
+        despachante = despachante();
+
+        despachante.enfileirar(destino("/a"), notificacao(1L));
+        despachante.enfileirar(destino("/b"), notificacao(2L));
+
+        aguardar(() -> wireMock.findAll(postRequestedFor(urlEqualTo("/a"))).size() >= 2
+                && despachante.getEntregues() == 1);
+        Thread.sleep(300);
+        // com o circuito aberto o lote fica aguardando, sem novas chamadas nem descarte
+        wireMock.verify(2, postRequestedFor(urlEqualTo("/a")));
+        assertEquals(1, despachante.getPendentes());
+        assertEquals(0, despachante.getDescartadas());
+    }
+
+    @Test
+    void enfileirar_DeveDescartarLoteRejeitadoPeloDestino() {
+        wireMock.stubFor(post(urlEqualTo("/a")).willReturn(aResponse().withStatus(400)));
+        despachante = despachante();
+
+        despachante.enfileirar(destino("/a"), notificacao(1L));
+
+        aguardar(() -> despachante.getDescartadas() == 1);
+        wireMock.verify(1, postRequestedFor(urlEqualTo("/a")));
+        assertEquals(0, despachante.getPendentes());
+    }
+
+    @Test
+    void enfileirar_DeveDescartarSemBloquearQuandoFilaEstaCheia() {
+        wireMock.stubFor(post(urlEqualTo("/a")).willReturn(aResponse().withStatus(200)));
+        properties.setCapacidadeFila(1);
+        properties.setEsperaLote(Duration.ofSeconds(1));
+        despachante = despachante();
+
+        assertTrue(despachante.enfileirar(destino("/a"), notificacao(1L)));
+        assertFalse(despachante.enfileirar(destino("/a"), notificacao(2L)));
+
+        assertEquals(1, despachante.getDescartadas());
+        aguardar(() -> despachante.getEntregues() == 1);
+    }
+
+    private DespachanteNotificacoes despachante() {
+        WebhookNotificacoesClient cliente = Feign.builder()
+                .client(new ApacheHttp5Client())
+                .contract(new SpringMvcContract())
+                .encoder(new SpringEncoder(() -> new HttpMessageConverters(
+                        new MappingJackson2HttpMessageConverter(objectMapper))))
+                .retryer(Retryer.NEVER_RETRY)
+                .target(WebhookNotificacoesClient.class, "http://localhost");
+        return new DespachanteNotificacoes(cliente, properties);
+    }
+
+    private URI destino(String caminho) {
+        return URI.create(wireMock.baseUrl() + caminho);
+    }
+
+    private NotificacaoTarefa notificacao(Long id) {
+        return new NotificacaoTarefa(TipoNotificacao.TAREFA_CONCLUIDA, id, "Tarefa " + id, StatusTarefa.CONCLUIDA,
+                "ana", null, LocalDateTime.now());
+    }
+
+    private static void aguardar(BooleanSupplier condicao) {
+        long limite = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condicao.getAsBoolean()) {
+            if (System.nanoTime() - limite > 0) {
+                fail("Condição não atingida em 10s");
+            }
+            LockSupport.parkNanos(1_000_000);
+        }
+    }
+}
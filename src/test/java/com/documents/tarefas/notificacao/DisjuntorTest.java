@@ -0,0 +1,61 @@
+package com.documents.tarefas.notificacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisjuntorTest {
+
+    private final AtomicLong agora = new AtomicLong();
+    private final Disjuntor disjuntor = new Disjuntor(3, Duration.ofNanos(1_000), agora::get);
+
+    @Test
+    void registrarFalha_DeveAbrirDepoisDeFalhasConsecutivas() {
+        disjuntor.registrarFalha();
+        disjuntor.registrarFalha();
+        disjuntor.registrarSucesso();
+        disjuntor.registrarFalha();
+        disjuntor.registrarFalha();
+        assertTrue(disjuntor.permite());
+
+        disjuntor.registrarFalha();
+
+        assertEquals(Disjuntor.Estado.ABERTO, disjuntor.estado());
+        assertFalse(disjuntor.permite());
+        assertEquals(1_000, disjuntor.nanosAteLiberar());
+    }
+
+    @Test
+    void permite_DeveLiberarUmUnicoTesteDepoisDoTempoAberto() {
+        abrir();
+        agora.addAndGet(1_000);
+
+        assertTrue(disjuntor.permite());
+        assertFalse(disjuntor.permite());
+        assertEquals(Disjuntor.Estado.MEIO_ABERTO, disjuntor.estado());
+
+        disjuntor.registrarSucesso();
+        assertTrue(disjuntor.permite());
+    }
+
+    @Test
+    void registrarFalha_DeveReabrirQuandoTesteFalha() {
+        abrir();
+        agora.addAndGet(1_000);
+        assertTrue(disjuntor.permite());
+
+        disjuntor.registrarFalha();
+
+        assertEquals(Disjuntor.Estado.ABERTO, disjuntor.estado());
+        assertFalse(disjuntor.permite());
+    }
+
+    private void abrir() {
+        for (int i = 0; i < 3; i++) {
+            disjuntor.registrarFalha();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.documents.tarefas.rastreamento;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportadorSpansArquivoTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void export_DeveGravarUmaLinhaJsonPorSpanComOPai() throws IOException {
+        Path arquivo = diretorio.resolve("spans.jsonl");
+        try (SdkTracerProvider provedor = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new ExportadorSpansArquivo(arquivo)))
+                .build()) {
+            Tracer tracer = provedor.get("teste");
+            Span servico = tracer.spanBuilder("TarefaService#buscarPorStatus").startSpan();
+            try (Scope ignorado = servico.makeCurrent()) {
+                tracer.spanBuilder("TarefaRepository#findByStatus").startSpan()
+                        .setAttribute("db.linhas", "2")
+                        .end();
+            } finally {
+                servico.end();
+            }
+        }
+
+        ObjectMapper json = new ObjectMapper();
+        List<JsonNode> linhas = Files.readAllLines(arquivo).stream().map(linha -> {
+            try {
+                return json.readTree(linha);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        }).toList();
+
+        assertEquals(2, linhas.size());
+        JsonNode consulta = linhas.get(0);
+        JsonNode servico = linhas.get(1);
+        assertEquals("TarefaRepository#findByStatus", consulta.get("nome").asText());
+        assertEquals("2", consulta.get("atributos").get("db.linhas").asText());
+        assertEquals(servico.get("spanId").asText(), consulta.get("parentSpanId").asText());
+        assertEquals(servico.get("traceId").asText(), consulta.get("traceId").asText());
+        assertFalse(servico.has("parentSpanId"));
+    }
+}
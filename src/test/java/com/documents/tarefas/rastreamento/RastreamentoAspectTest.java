@@ -0,0 +1,123 @@
+package com.documents.tarefas.rastreamento;
+
+import com.documents.tarefas.exception.TarefaNaoEncontradaException;
+import com.documents.tarefas.filtro.FiltroTitulos;
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.model.Tarefa;
+import com.documents.tarefas.repository.TarefaArquivadaRepository;
+import com.documents.tarefas.repository.TarefaRepository;
+import com.documents.tarefas.service.TarefaService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RastreamentoAspectTest {
+
+    private final List<Observation.Context> iniciadas = new CopyOnWriteArrayList<>();
+    private final List<Observation.Context> comErro = new CopyOnWriteArrayList<>();
+
+    private TarefaRepository repositorioMock;
+    private TarefaService tarefaService;
+
+    @BeforeEach
+    void setUp() {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStart(Observation.Context context) {
+                iniciadas.add(context);
+            }
+
+            @Override
+            public void onError(Observation.Context context) {
+                comErro.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        RastreamentoAspect aspecto = new RastreamentoAspect(registry);
+
+        repositorioMock = mock(TarefaRepository.class);
+        AspectJProxyFactory fabricaRepositorio = new AspectJProxyFactory(repositorioMock);
+        fabricaRepositorio.addAspect(aspecto);
+        TarefaRepository repositorio = fabricaRepositorio.getProxy();
+
+        TarefaService alvo = new TarefaService(repositorio, mock(TarefaArquivadaRepository.class),
+                mock(ApplicationEventPublisher.class), mock(FiltroTitulos.class));
+        alvo.setObservationRegistry(registry);
+        AspectJProxyFactory fabricaServico = new AspectJProxyFactory(alvo);
+        fabricaServico.setProxyTargetClass(true);
+        fabricaServico.addAspect(aspecto);
+        tarefaService = fabricaServico.getProxy();
+    }
+
+    @Test
+    void buscarPorStatus_DeveAninharConsultaEConversaoNoSpanDoServico() {
+        when(repositorioMock.findByStatusOrderByPrioridadeAndDataCriacao(StatusTarefa.PENDENTE))
+                .thenReturn(List.of(criarTarefa(1L), criarTarefa(2L)));
+
+        tarefaService.buscarPorStatus(StatusTarefa.PENDENTE);
+
+        assertEquals(List.of(RastreamentoAspect.OBSERVACAO_SERVICO, RastreamentoAspect.OBSERVACAO_REPOSITORIO,
+                "tarefas.conversao"), iniciadas.stream().map(Observation.Context::getName).toList());
+
+        Observation.Context servico = iniciadas.get(0);
+        assertEquals("TarefaService#buscarPorStatus", servico.getContextualName());
+        assertNull(servico.getParentObservation());
+
+        Observation.Context consulta = iniciadas.get(1);
+        assertEquals("TarefaRepository#findByStatusOrderByPrioridadeAndDataCriacao", consulta.getContextualName());
+        assertEquals("findByStatusOrderByPrioridadeAndDataCriacao", consulta.getLowCardinalityKeyValue("db.consulta").getValue());
+        assertEquals("2", consulta.getHighCardinalityKeyValue("db.linhas").getValue());
+        assertEquals("2", iniciadas.get(2).getHighCardinalityKeyValue("linhas").getValue());
+        for (Observation.Context filho : iniciadas.subList(1, 3)) {
+            assertSame(servico, filho.getParentObservation().getContextView());
+        }
+    }
+
+    @Test
+    void buscarPorId_DeveRegistrarErroNoSpanDoServico() {
+        when(repositorioMock.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(TarefaNaoEncontradaException.class, () -> tarefaService.buscarPorId(99L));
+
+        assertEquals("0", iniciadas.get(1).getHighCardinalityKeyValue("db.linhas").getValue());
+        assertEquals(List.of(iniciadas.get(0)), comErro);
+        assertInstanceOf(TarefaNaoEncontradaException.class, iniciadas.get(0).getError());
+    }
+
+    @Test
+    void linhas_DeveContarPaginasColecoesEOpcionais() {
+        assertEquals(3, RastreamentoAspect.linhas(new PageImpl<>(List.of(1, 2, 3))));
+        assertEquals(1, RastreamentoAspect.linhas(Optional.of(criarTarefa(1L))));
+        assertNull(RastreamentoAspect.linhas(10L));
+        assertNull(RastreamentoAspect.linhas(null));
+    }
+
+    private Tarefa criarTarefa(Long id) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setId(id);
+        tarefa.setTitulo("Tarefa " + id);
+        tarefa.setStatus(StatusTarefa.PENDENTE);
+        tarefa.setPrioridade(PrioridadeTarefa.MEDIA);
+        tarefa.setDataCriacao(LocalDateTime.now());
+        return tarefa;
+    }
+}
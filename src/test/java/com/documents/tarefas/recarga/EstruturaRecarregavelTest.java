@@ -0,0 +1,152 @@
+package com.documents.tarefas.recarga;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EstruturaRecarregavelTest {
+
+    private final EstruturaRecarregavel<List<String>> estrutura = new EstruturaRecarregavel<>();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void obter_DeveCarregarSoNaPrimeiraChamada() {
+        AtomicInteger cargas = new AtomicInteger();
+        Runnable carregar = () -> {
+            cargas.incrementAndGet();
+            estrutura.recarregar(new ArrayList<>(List.of("a")), nova -> true);
+        };
+
+        List<String> primeira = estrutura.obter(carregar);
+
+        assertSame(primeira, estrutura.obter(carregar));
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    void recarregar_DeveLevarAsAlteracoesFeitasDuranteACarga() {
+        estrutura.recarregar(new ArrayList<>(), nova -> true);
+        List<String> antiga = estrutura.atual();
+
+        estrutura.recarregar(new ArrayList<>(), nova -> {
+            nova.add("do banco");
+            estrutura.aplicar(alvo -> alvo.add("durante a carga"));
+            return true;
+        });
+
+        assertEquals(List.of("durante a carga"), antiga);
+        assertEquals(List.of("do banco", "durante a carga"), estrutura.atual());
+    }
+
+    @Test
+    void aplicar_ConcorrenteComATroca_NaoDevePerderAAlteracao() throws Exception {
+        estrutura.recarregar(new ArrayList<>(), nova -> true);
+        List<String> antiga = estrutura.atual();
+        CountDownLatch emCarga = new CountDownLatch(1);
+        CountDownLatch aplicadaNaAntiga = new CountDownLatch(1);
+        CountDownLatch trocada = new CountDownLatch(1);
+
+        CompletableFuture<Void> recarga = CompletableFuture.runAsync(() -> {
+            estrutura.recarregar(new ArrayList<>(), nova -> {
+                emCarga.countDown();
+                aguardar(aplicadaNaAntiga, 5);
+                return true;
+            });
+            trocada.countDown();
+        });
+
+        assertTrue(emCarga.await(5, TimeUnit.SECONDS));
+        // entre a estrutura em uso e a em construção, dá à troca a chance de acontecer
+        estrutura.aplicar(alvo -> {
+            alvo.add("concorrente");
+            if (alvo == antiga) {
+                aplicadaNaAntiga.countDown();
+                aguardar(trocada, 1);
+            }
+        });
+        recarga.get(5, TimeUnit.SECONDS);
+
+        assertNotSame(antiga, estrutura.atual());
+        assertEquals(List.of("concorrente"), estrutura.atual());
+    }
+
+    @Test
+    void carregarLote_DevePularAsChavesAlteradasDuranteARecarga() {
+        EstruturaRecarregavel<Map<String, String>> mapas = new EstruturaRecarregavel<>();
+        mapas.recarregar(new HashMap<>(Map.of("a", "antigo", "b", "antigo")), novo -> true);
+
+        mapas.recarregar(new HashMap<>(), novo -> {
+            // lido do banco antes do commit da remoção de "a"
+            Map<String, String> lido = Map.of("a", "antigo", "b", "do banco");
+            mapas.aplicar("a", alvo -> alvo.remove("a"));
+            mapas.carregarLote(alterada -> lido.forEach((chave, valor) -> {
+                if (!alterada.test(chave)) {
+                    novo.put(chave, valor);
+                }
+            }));
+            return true;
+        });
+
+        assertEquals(Map.of("b", "do banco"), mapas.atual());
+    }
+
+    @Test
+    void recarregar_RecusadaOuComFalha_DeveManterAEstruturaAtual() {
+        estrutura.recarregar(new ArrayList<>(List.of("atual")), nova -> true);
+
+        assertFalse(estrutura.recarregar(new ArrayList<>(), nova -> false));
+        assertThrows(IllegalStateException.class, () -> estrutura.recarregar(new ArrayList<>(), nova -> {
+            throw new IllegalStateException("banco fora");
+        }));
+
+        assertEquals(List.of("atual"), estrutura.atual());
+        estrutura.aplicarNaRecarga(alvo -> alvo.add("sem recarga em andamento"));
+        assertEquals(List.of("atual"), estrutura.atual());
+    }
+
+    @Test
+    void alteracoesNaTransacao_DevemValerSoNoCommitESerDesfeitasNoRollback() {
+        estrutura.recarregar(new ArrayList<>(), nova -> true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        estrutura.aplicarAposConfirmar(alvo -> alvo.add("confirmada"));
+        estrutura.atual().add("reservada");
+        estrutura.desfazerSeNaoConfirmar(alvo -> alvo.remove("reservada"));
+        assertEquals(List.of("reservada"), estrutura.atual());
+
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        sincronizacoes.forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(List.of(), estrutura.atual());
+
+        estrutura.aplicarAposConfirmar(alvo -> alvo.add("sem transação"));
+        assertEquals(List.of("sem transação"), estrutura.atual());
+    }
+
+    private static void aguardar(CountDownLatch sinal, long segundos) {
+        try {
+            sinal.await(segundos, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.documents.tarefas.repository.memoria;
+
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.model.Tarefa;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TarefaRepositoryMemoriaTest {
+
+    @TempDir
+    Path diretorio;
+
+    private TarefaRepositoryMemoria repositorio;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repositorio = abrir(1000);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repositorio.destroy();
+    }
+
+    @Test
+    void save_DeveAtribuirIdDatasEDevolverCopiaIndependente() {
+        Tarefa tarefa = repositorio.save(novaTarefa("Tarefa um", "ana", StatusTarefa.PENDENTE));
+
+        assertEquals(1L, tarefa.getId());
+        assertNotNull(tarefa.getDataCriacao());
+        assertNotNull(tarefa.getDataAtualizacao());
+
+        Tarefa lida = repositorio.findById(1L).orElseThrow();
+        lida.setTitulo("Alterada sem salvar");
+        assertEquals("Tarefa um", repositorio.findById(1L).orElseThrow().getTitulo());
+        assertTrue(repositorio.findById(99L).isEmpty());
+    }
+
+    @Test
+    void save_DeveManterDataCriacaoEAtualizarIndices() {
+        Tarefa tarefa = repositorio.save(novaTarefa("Tarefa um", "ana", StatusTarefa.PENDENTE));
+        LocalDateTime criacao = tarefa.getDataCriacao();
+
+        tarefa.setStatus(StatusTarefa.CONCLUIDA);
+        tarefa.setUsuarioResponsavel("bruno");
+        tarefa.setDataCriacao(null);
+        repositorio.save(tarefa);
+
+        assertEquals(criacao, repositorio.findById(tarefa.getId()).orElseThrow().getDataCriacao());
+        assertTrue(repositorio.findByStatus(StatusTarefa.PENDENTE).isEmpty());
+        assertTrue(repositorio.findByUsuarioResponsavel("ana").isEmpty());
+        assertEquals(1, repositorio.findByUsuarioResponsavel("bruno").size());
+        assertEquals(1, repositorio.count());
+    }
+
+    @Test
+    void save_DeveRejeitarTituloDuplicadoComoAConstraintDoBanco() {
+        repositorio.save(novaTarefa("Repetido", "ana", StatusTarefa.PENDENTE));
+
+        DataIntegrityViolationException erro = assertThrows(DataIntegrityViolationException.class,
+                () -> repositorio.save(novaTarefa("Repetido", "bruno", StatusTarefa.PENDENTE)));
+        assertEquals(Tarefa.UK_TITULO, ((ConstraintViolationException) erro.getCause()).getConstraintName());
+
+        assertThrows(DataIntegrityViolationException.class, () -> repositorio.saveAll(List.of(
+                novaTarefa("Novo", "ana", StatusTarefa.PENDENTE),
+                novaTarefa("Novo", "bruno", StatusTarefa.PENDENTE))));
+        assertFalse(repositorio.existsByTitulo("Novo"));
+        assertEquals(1, repositorio.count());
+    }
+
+    @Test
+    void save_DeveIgnorarCaixaEAcentosNoTituloComoACollationDoBanco() {
+        Tarefa tarefa = repositorio.save(novaTarefa("Revisão do contrato", "ana", StatusTarefa.PENDENTE));
+
+        assertTrue(repositorio.existsByTitulo("REVISAO DO CONTRATO"));
+        assertEquals(List.of("revisao do contrato"), repositorio.findTitulosExistentes(List.of("revisao do contrato", "Outra")));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> repositorio.save(novaTarefa("revisão do Contrato", "bruno", StatusTarefa.PENDENTE)));
+
+        tarefa.setTitulo("REVISÃO DO CONTRATO");
+        repositorio.save(tarefa);
+        assertEquals(List.of("REVISÃO DO CONTRATO"), repositorio.findTitulosApos("", PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void findByFiltros_DeveCombinarIndicesOrdenarEPaginar() {
+        for (int i = 0; i < 10; i++) {
+            Tarefa tarefa = novaTarefa(String.format("Tarefa %02d", i), i % 2 == 0 ? "ana" : "bruno", StatusTarefa.PENDENTE);
+            tarefa.setCategoria("trabalho");
+            repositorio.save(tarefa);
+        }
+        repositorio.save(novaTarefa("Tarefa concluída", "ana", StatusTarefa.CONCLUIDA));
+
+        Page<Tarefa> pagina = repositorio.findByFiltros(StatusTarefa.PENDENTE, null, "ana", "trabalho",
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "titulo")));
+
+        assertEquals(5, pagina.getTotalElements());
+        assertEquals(List.of("Tarefa 04", "Tarefa 02"), pagina.getContent().stream().map(Tarefa::getTitulo).toList());
+
+        Page<Map<String, Object>> campos = repositorio.findCamposByTexto(Set.of("titulo"), "CONCLU", PageRequest.of(0, 10));
+        assertEquals(List.of(Map.of("titulo", "Tarefa concluída")), campos.getContent());
+    }
+
+    @Test
+    void consultasAuxiliares_DevemSeguirAsConsultasDoBanco() {
+        Tarefa baixa = novaTarefa("Baixa", "ana", StatusTarefa.PENDENTE);
+        baixa.setPrioridade(PrioridadeTarefa.BAIXA);
+        Tarefa urgente = novaTarefa("Urgente", "ana", StatusTarefa.PENDENTE);
+        urgente.setPrioridade(PrioridadeTarefa.URGENTE);
+        repositorio.saveAll(List.of(baixa, urgente, novaTarefa("Concluída", "ana", StatusTarefa.CONCLUIDA)));
+
+        assertEquals(List.of("Urgente", "Baixa"), repositorio.findByStatusOrderByPrioridadeAndDataCriacao(StatusTarefa.PENDENTE)
+                .stream().map(Tarefa::getTitulo).toList());
+        assertEquals(List.of("Concluída", "Urgente"), repositorio.findTitulosApos("Baixa", PageRequest.of(0, 2)));
+        assertEquals(List.of("Urgente"), repositorio.findTitulosExistentes(List.of("Urgente", "Inexistente")));
+        assertEquals(1, repositorio.findArquivaveis(List.of(StatusTarefa.CONCLUIDA), LocalDateTime.now().plusDays(1),
+                PageRequest.of(0, 10)).size());
+        assertEquals(2, repositorio.findTarefasVencidas(LocalDateTime.now().plusDays(1)).size());
+        assertEquals(List.of("Urgente"), repositorio.findTarefasApos(List.of(StatusTarefa.PENDENTE), baixa.getId(),
+                PageRequest.of(0, 10)).stream().map(Tarefa::getTitulo).toList());
+    }
+
+    @Test
+    void findByTituloStartingWith_DeveSeguirACollationEOrdenarPorTitulo() {
+        repositorio.saveAll(List.of(novaTarefa("Relatório mensal", "ana", StatusTarefa.PENDENTE),
+                novaTarefa("reunião de equipe", "ana", StatusTarefa.PENDENTE),
+                novaTarefa("Revisão do contrato", "ana", StatusTarefa.PENDENTE),
+                novaTarefa("Preparar relatório", "ana", StatusTarefa.PENDENTE)));
+
+        assertEquals(List.of("Relatório mensal", "reunião de equipe"), repositorio.findByTituloStartingWithOrderByTitulo("RE",
+                PageRequest.of(0, 2)).stream().map(Tarefa::getTitulo).toList());
+        assertEquals(List.of("Relatório mensal"), repositorio.findByTituloStartingWithOrderByTitulo("relato",
+                PageRequest.of(0, 10)).stream().map(Tarefa::getTitulo).toList());
+    }
+
+    @Test
+    void recuperar_DeveReconstruirEstadoPeloDiarioESnapshot() throws IOException {
+        Tarefa um = repositorio.save(novaTarefa("Tarefa um", "ana", StatusTarefa.PENDENTE));
+        repositorio.save(novaTarefa("Tarefa dois", "bruno", StatusTarefa.PENDENTE));
+        repositorio.gravarSnapshot();
+        repositorio.save(novaTarefa("Tarefa três", "ana", StatusTarefa.EM_ANDAMENTO));
+        repositorio.deleteById(um.getId());
+        repositorio.diario().close();
+
+        repositorio = abrir(1000);
+
+        assertEquals(2, repositorio.count());
+        assertTrue(repositorio.findById(um.getId()).isEmpty());
+        assertEquals(List.of("Tarefa três"), repositorio.findByUsuarioResponsavel("ana").stream().map(Tarefa::getTitulo).toList());
+        assertEquals(4L, repositorio.save(novaTarefa("Tarefa quatro", "ana", StatusTarefa.PENDENTE)).getId());
+    }
+
+    @Test
+    void save_DeveRejeitarCopiaDesatualizadaComoOVersionDoJpa() throws IOException {
+        Long id = repositorio.save(novaTarefa("Tarefa um", "ana", StatusTarefa.PENDENTE)).getId();
+        Tarefa primeira = repositorio.findById(id).orElseThrow();
+        Tarefa segunda = repositorio.findById(id).orElseThrow();
+
+        primeira.setStatus(StatusTarefa.EM_ANDAMENTO);
+        repositorio.save(primeira);
+        assertEquals(1L, primeira.getVersao());
+
+        segunda.setStatus(StatusTarefa.CONCLUIDA);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> repositorio.save(segunda));
+        assertEquals(StatusTarefa.EM_ANDAMENTO, repositorio.findById(id).orElseThrow().getStatus());
+
+        repositorio.gravarSnapshot();
+        primeira.setStatus(StatusTarefa.CONCLUIDA);
+        repositorio.save(primeira);
+        repositorio.diario().close();
+        repositorio = abrir(1000);
+
+        assertEquals(2L, repositorio.findById(id).orElseThrow().getVersao());
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> repositorio.save(segunda));
+    }
+
+    @Test
+    void deleteAllByIdInBatch_EmTransacao_DeveValerSoAposOCommit() {
+        Long um = repositorio.save(novaTarefa("Tarefa um", "ana", StatusTarefa.CONCLUIDA)).getId();
+        Long dois = repositorio.save(novaTarefa("Tarefa dois", "bruno", StatusTarefa.CONCLUIDA)).getId();
+        TransactionTemplate transacao = new TransactionTemplate(new DataSourceTransactionManager(
+                new DriverManagerDataSource("jdbc:h2:mem:memoria_transacao", "sa", "")));
+
+        transacao.executeWithoutResult(status -> {
+            repositorio.deleteAllByIdInBatch(List.of(um, dois));
+            assertEquals(2, repositorio.count());
+            status.setRollbackOnly();
+        });
+        assertEquals(2, repositorio.count());
+
+        transacao.executeWithoutResult(status -> repositorio.deleteAllByIdInBatch(List.of(um)));
+        assertTrue(repositorio.findById(um).isEmpty());
+        assertTrue(repositorio.existsById(dois));
+    }
+
+    @Test
+    void recuperar_DeveDescartarUltimaLinhaIncompletaDoDiario() throws IOException {
+        repositorio.save(novaTarefa("Tarefa um", "ana", StatusTarefa.PENDENTE));
+        repositorio.diario().close();
+        Files.write(diretorio.resolve(DiarioTarefas.ARQUIVO_DIARIO), "{\"seq\":2,\"op\":\"GRA".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        repositorio = abrir(1000);
+
+        assertEquals(1, repositorio.count());
+        repositorio.save(novaTarefa("Tarefa dois", "ana", StatusTarefa.PENDENTE));
+        repositorio.diario().close();
+        repositorio = abrir(1000);
+        assertEquals(2, repositorio.count());
+    }
+
+    @Test
+    void save_DeveGravarSnapshotAoAtingirLimiteDeEntradas() throws IOException {
+        repositorio.destroy();
+        repositorio = abrir(3);
+
+        for (int i = 0; i < 4; i++) {
+            repositorio.save(novaTarefa("Tarefa " + i, "ana", StatusTarefa.PENDENTE));
+        }
+
+        assertTrue(Files.exists(diretorio.resolve(DiarioTarefas.ARQUIVO_SNAPSHOT)));
+        assertEquals(1, Files.readAllLines(diretorio.resolve(DiarioTarefas.ARQUIVO_DIARIO)).size());
+    }
+
+    private TarefaRepositoryMemoria abrir(long entradasPorSnapshot) throws IOException {
+        return new TarefaRepositoryMemoria(diretorio, false, entradasPorSnapshot, 16);
+    }
+
+    private Tarefa novaTarefa(String titulo, String usuario, StatusTarefa status) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo(titulo);
+        tarefa.setUsuarioResponsavel(usuario);
+        tarefa.setStatus(status);
+        tarefa.setEstimativaHoras(2);
+        return tarefa;
+    }
+}
@@ -0,0 +1,309 @@
+package com.documents.tarefas.repository.shard;
+
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.model.Tarefa;
+import com.documents.tarefas.repository.TarefaRepositoryJpa;
+import com.documents.tarefas.repository.TarefaRepositoryCustomImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercita o repositório particionado contra três bancos H2 em memória.
+ */
+class TarefaRepositoryShardeadoTest {
+
+    private static final int TOTAL_SHARDS = 3;
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private ExecutorService executor;
+    private List<JdbcTemplate> bancos;
+    private TarefaRepositoryShardeado repositorio;
+    private TransactionTemplate transacao;
+
+    @BeforeEach
+    void setUp() {
+        String execucao = UUID.randomUUID().toString().replace("-", "");
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(
+                new ClassPathResource("db_migration/tarefas_shard.sql"));
+
+        List<DataSource> shards = new ArrayList<>();
+        bancos = new ArrayList<>();
+        for (int i = 0; i < TOTAL_SHARDS; i++) {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:shard" + i + "_" + execucao + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+            schema.execute(dataSource);
+            shards.add(dataSource);
+            bancos.add(new JdbcTemplate(dataSource));
+        }
+        ShardRoutingDataSource roteamento = new ShardRoutingDataSource(shards);
+        roteamento.afterPropertiesSet();
+
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(new LazyConnectionDataSourceProxy(roteamento));
+        entityManagerFactory.setPackagesToScan("com.documents.tarefas.model");
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // como o customizador do ShardingConfig: ids locais se repetem entre shards
+        entityManagerFactory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "none",
+                "hibernate.cache.use_second_level_cache", "false",
+                "hibernate.cache.use_query_cache", "false"));
+        entityManagerFactory.afterPropertiesSet();
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory.getObject());
+        TarefaRepositoryCustomImpl consultasCampos = new TarefaRepositoryCustomImpl();
+        ReflectionTestUtils.setField(consultasCampos, "entityManager", entityManager);
+        TarefaRepositoryJpa delegado = new JpaRepositoryFactory(entityManager).getRepository(TarefaRepositoryJpa.class,
+                RepositoryComposition.RepositoryFragments.just(consultasCampos));
+
+        executor = Executors.newFixedThreadPool(TOTAL_SHARDS);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory.getObject());
+        repositorio = new TarefaRepositoryShardeado(delegado, transactionManager, entityManagerFactory.getObject(),
+                executor, TOTAL_SHARDS);
+        transacao = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        entityManagerFactory.destroy();
+    }
+
+    @Test
+    void save_DeveGravarNoShardDoUsuarioEBuscarPorIdDireto() {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 12; i++) {
+            Tarefa tarefa = repositorio.save(novaTarefa("Tarefa " + i, "usuario" + i, StatusTarefa.PENDENTE));
+            ids.add(tarefa.getId());
+
+            int shardEsperado = repositorio.shardDoUsuario("usuario" + i);
+            assertEquals(shardEsperado, repositorio.shardDoId(tarefa.getId()));
+            assertEquals(1, bancos.get(shardEsperado).queryForObject(
+                    "SELECT COUNT(*) FROM tarefas_tb WHERE titulo = ?", Integer.class, "Tarefa " + i));
+            assertEquals("Tarefa " + i, repositorio.findById(tarefa.getId()).orElseThrow().getTitulo());
+        }
+
+        assertEquals(12, ids.size());
+        assertEquals(12, repositorio.count());
+    }
+
+    @Test
+    void save_DeveManterShardQuandoResponsavelMuda() {
+        Tarefa tarefa = repositorio.save(novaTarefa("Tarefa movida", "ana", StatusTarefa.PENDENTE));
+        Long id = tarefa.getId();
+
+        tarefa.setUsuarioResponsavel("bruno");
+        Tarefa atualizada = repositorio.save(tarefa);
+
+        assertEquals(id, atualizada.getId());
+        assertEquals(id, tarefa.getId());
+        assertEquals("bruno", repositorio.findById(id).orElseThrow().getUsuarioResponsavel());
+        assertEquals(1, repositorio.count());
+    }
+
+    @Test
+    void findByFiltros_DeveMesclarPaginasOrdenadasDeTodosOsShards() {
+        for (int i = 0; i < 10; i++) {
+            repositorio.save(novaTarefa(String.format("Tarefa %02d", i), "usuario" + i, StatusTarefa.PENDENTE));
+        }
+        repositorio.save(novaTarefa("Tarefa concluída", "usuario1", StatusTarefa.CONCLUIDA));
+
+        Page<Tarefa> pagina = repositorio.findByFiltros(StatusTarefa.PENDENTE, null, null, null,
+                PageRequest.of(1, 3, Sort.by("titulo")));
+
+        assertEquals(10, pagina.getTotalElements());
+        assertEquals(List.of("Tarefa 03", "Tarefa 04", "Tarefa 05"),
+                pagina.getContent().stream().map(Tarefa::getTitulo).toList());
+    }
+
+    @Test
+    void findByTexto_DevePaginarPorIdQuandoNaoHaOrdenacao() {
+        for (int i = 0; i < 7; i++) {
+            repositorio.save(novaTarefa("Relatório " + i, "usuario" + i, StatusTarefa.PENDENTE));
+        }
+
+        Page<Tarefa> primeira = repositorio.findByTexto("relatório", PageRequest.of(0, 4));
+        Page<Tarefa> segunda = repositorio.findByTexto("relatório", PageRequest.of(1, 4));
+
+        assertEquals(7, primeira.getTotalElements());
+        assertEquals(4, primeira.getNumberOfElements());
+        assertEquals(3, segunda.getNumberOfElements());
+        assertTrue(primeira.getContent().get(3).getId() < segunda.getContent().get(0).getId());
+    }
+
+    @Test
+    void findTarefasApos_DevePercorrerTodosOsShardsPorId() {
+        List<Long> pendentes = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            Tarefa tarefa = repositorio.save(novaTarefa("Tarefa " + i, "usuario" + i,
+                    i % 3 == 0 ? StatusTarefa.CONCLUIDA : StatusTarefa.PENDENTE));
+            if (i % 3 != 0) {
+                pendentes.add(tarefa.getId());
+            }
+        }
+        pendentes.sort(null);
+
+        List<Long> percorridos = new ArrayList<>();
+        long ultimo = 0;
+        List<Tarefa> lote;
+        do {
+            lote = repositorio.findTarefasApos(List.of(StatusTarefa.PENDENTE), ultimo, PageRequest.of(0, 4));
+            lote.forEach(tarefa -> percorridos.add(tarefa.getId()));
+            if (!lote.isEmpty()) {
+                ultimo = lote.get(lote.size() - 1).getId();
+            }
+        } while (lote.size() == 4);
+
+        assertEquals(pendentes, percorridos);
+    }
+
+    @Test
+    void countByStatus_DeveSomarContagensDosShards() {
+        for (int i = 0; i < 6; i++) {
+            repositorio.save(novaTarefa("Tarefa " + i, "usuario" + i,
+                    i % 2 == 0 ? StatusTarefa.PENDENTE : StatusTarefa.CONCLUIDA));
+        }
+
+        Map<Object, Long> contagens = new HashMap<>();
+        for (Object[] linha : repositorio.countByStatus()) {
+            contagens.put(linha[0], (Long) linha[1]);
+        }
+
+        assertEquals(3L, contagens.get(StatusTarefa.PENDENTE));
+        assertEquals(3L, contagens.get(StatusTarefa.CONCLUIDA));
+        assertTrue(repositorio.existsByTitulo("Tarefa 5"));
+        assertFalse(repositorio.existsByTitulo("Inexistente"));
+    }
+
+    @Test
+    void save_DeveSerDesfeitoJuntoComATransacaoDoChamador() {
+        transacao.executeWithoutResult(status -> {
+            repositorio.save(novaTarefa("Tarefa A", "ana", StatusTarefa.PENDENTE));
+            repositorio.save(novaTarefa("Tarefa B", "bruno", StatusTarefa.PENDENTE));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, repositorio.count());
+    }
+
+    @Test
+    void deleteAllByIdInBatch_DeveSerConfirmadoComATransacaoDoChamador() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(repositorio.save(novaTarefa("Tarefa " + i, "usuario" + i, StatusTarefa.CONCLUIDA)).getId());
+        }
+
+        transacao.executeWithoutResult(status -> {
+            repositorio.deleteAllByIdInBatch(ids.subList(0, 3));
+            repositorio.flush();
+            // leituras rodam fora da transação e ainda não enxergam a exclusão
+            assertEquals(4, repositorio.count());
+        });
+
+        assertEquals(1, repositorio.count());
+        assertTrue(repositorio.existsById(ids.get(3)));
+    }
+
+    @Test
+    void save_TituloDuplicadoNaTransacao_DeveDesfazerAsEscritasAnteriores() {
+        assertThrows(DataIntegrityViolationException.class, () -> transacao.executeWithoutResult(status -> {
+            repositorio.save(novaTarefa("Tarefa repetida", "ana", StatusTarefa.PENDENTE));
+            repositorio.save(novaTarefa("Outra tarefa", "bruno", StatusTarefa.PENDENTE));
+            repositorio.save(novaTarefa("Tarefa repetida", "ana", StatusTarefa.PENDENTE));
+        }));
+
+        assertEquals(0, repositorio.count());
+    }
+
+    @Test
+    void save_TituloRepetidoEmOutroShard_DeveFalharNaReservaGlobal() {
+        String outroUsuario = usuarioDeOutroShard("ana");
+        repositorio.save(novaTarefa("Tarefa global", "ana", StatusTarefa.PENDENTE));
+
+        DataIntegrityViolationException erro = assertThrows(DataIntegrityViolationException.class,
+                () -> repositorio.save(novaTarefa("Tarefa global", outroUsuario, StatusTarefa.PENDENTE)));
+        assertTrue(erro.getMostSpecificCause().getMessage().toLowerCase().contains(Tarefa.UK_TITULO));
+        assertEquals(1, repositorio.count());
+    }
+
+    @Test
+    void save_RenomeacaoParaTituloDeOutroShard_DeveFalharEExclusaoDeveLiberarOTitulo() {
+        String outroUsuario = usuarioDeOutroShard("ana");
+        Long id = repositorio.save(novaTarefa("Tarefa da ana", "ana", StatusTarefa.PENDENTE)).getId();
+        Tarefa outra = repositorio.save(novaTarefa("Tarefa do outro", outroUsuario, StatusTarefa.PENDENTE));
+
+        outra.setTitulo("Tarefa da ana");
+        assertThrows(DataIntegrityViolationException.class, () -> repositorio.save(outra));
+        assertTrue(repositorio.existsByTitulo("Tarefa do outro"));
+
+        repositorio.deleteById(id);
+        assertFalse(repositorio.existsByTitulo("Tarefa da ana"));
+        repositorio.save(outra);
+        assertEquals(List.of("Tarefa da ana"), repositorio.findTitulosExistentes(List.of("Tarefa da ana", "Tarefa do outro")));
+    }
+
+    @Test
+    void save_CopiaDesatualizada_DeveFalharPeloControleOtimista() {
+        Long id = repositorio.save(novaTarefa("Tarefa disputada", "ana", StatusTarefa.PENDENTE)).getId();
+        Tarefa copiaA = repositorio.findById(id).orElseThrow();
+        Tarefa copiaB = repositorio.findById(id).orElseThrow();
+
+        copiaA.setDescricao("Alterada por A");
+        repositorio.save(copiaA);
+
+        copiaB.setDescricao("Alterada por B");
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> transacao.executeWithoutResult(status -> repositorio.save(copiaB)));
+        assertEquals("Alterada por A", repositorio.findById(id).orElseThrow().getDescricao());
+    }
+
+    private String usuarioDeOutroShard(String usuario) {
+        for (int i = 0; ; i++) {
+            if (repositorio.shardDoUsuario("usuario" + i) != repositorio.shardDoUsuario(usuario)) {
+                return "usuario" + i;
+            }
+        }
+    }
+
+    private Tarefa novaTarefa(String titulo, String usuario, StatusTarefa status) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo(titulo);
+        tarefa.setUsuarioResponsavel(usuario);
+        tarefa.setStatus(status);
+        tarefa.setPrioridade(PrioridadeTarefa.MEDIA);
+        return tarefa;
+    }
+}
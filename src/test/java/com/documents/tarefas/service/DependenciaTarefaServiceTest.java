@@ -0,0 +1,109 @@
+package com.documents.tarefas.service;
+
+import com.documents.tarefas.config.DependenciasProperties;
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import com.documents.tarefas.event.TipoAlteracao;
+import com.documents.tarefas.model.DependenciaTarefa;
+import com.documents.tarefas.model.Tarefa;
+import com.documents.tarefas.repository.DependenciaTarefaRepository;
+import com.documents.tarefas.repository.TarefaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DependenciaTarefaServiceTest {
+
+    @Mock
+    private DependenciaTarefaRepository dependenciaRepository;
+
+    @Mock
+    private TarefaRepository tarefaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DependenciaTarefaService dependenciaService;
+
+    @BeforeEach
+    void setUp() {
+        dependenciaService = new DependenciaTarefaService(dependenciaRepository, tarefaRepository, new DependenciasProperties(),
+                transactionManager);
+        when(tarefaRepository.findById(any())).thenAnswer(invocacao -> Optional.of(tarefa(invocacao.getArgument(0))));
+        when(tarefaRepository.existsById(any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void adicionarBloqueadora_RollbackDeArestaJaNoGrafo_NaoDeveRemoverADaOutraRequisicao() {
+        // a primeira requisição já aplicou a aresta ao grafo; a segunda não a vê no banco e perde na constraint
+        dependenciaService.adicionarBloqueadora(2L, 1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        dependenciaService.adicionarBloqueadora(2L, 1L);
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        sincronizacoes.forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(List.of(1L), dependenciaService.listarBloqueadoras(2L, false).getTarefas());
+    }
+
+    @Test
+    void aoAlterarTarefa_Arquivamento_DeveRemoverAsArestasDaTarefa() {
+        dependenciaService.adicionarBloqueadora(2L, 1L);
+        dependenciaService.adicionarBloqueadora(3L, 2L);
+        when(dependenciaRepository.deleteAllByTarefa(2L)).thenReturn(2);
+
+        dependenciaService.aoAlterarTarefa(new TarefaAlteradaEvent(TipoAlteracao.ARQUIVAMENTO, 2L, null, null));
+
+        verify(dependenciaRepository).deleteAllByTarefa(2L);
+        assertTrue(dependenciaService.listarDependentes(1L, true).getTarefas().isEmpty());
+        assertTrue(dependenciaService.listarBloqueadoras(3L, true).getTarefas().isEmpty());
+        assertTrue(dependenciaService.ordemTopologica().isEmpty());
+    }
+
+    @Test
+    void recarregar_ArestaRemovidaDuranteACarga_NaoDeveVoltarComALeituraAntiga() {
+        dependenciaService.adicionarBloqueadora(2L, 1L);
+        DependenciaTarefa aresta = new DependenciaTarefa(10L, 2L, 1L);
+        when(dependenciaRepository.findByTarefaIdAndBloqueadoraId(2L, 1L)).thenReturn(Optional.of(aresta));
+        when(dependenciaRepository.findByIdGreaterThanOrderById(anyLong(), any())).thenAnswer(invocacao -> {
+            // a leitura ainda vê a aresta; a remoção é aplicada antes de o lote ser gravado
+            dependenciaService.removerBloqueadora(2L, 1L);
+            return List.of(aresta);
+        });
+
+        dependenciaService.recarregar();
+
+        assertTrue(dependenciaService.listarBloqueadoras(2L, false).getTarefas().isEmpty());
+        assertTrue(dependenciaService.ordemTopologica().isEmpty());
+    }
+
+    private static Tarefa tarefa(Long id) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setId(id);
+        tarefa.setTitulo("Tarefa " + id);
+        tarefa.setEstimativaHoras(1);
+        return tarefa;
+    }
+}
@@ -0,0 +1,141 @@
+package com.documents.tarefas.service;
+
+import com.documents.tarefas.config.HistoricoProperties;
+import com.documents.tarefas.dto.PaginaHistoricoDTO;
+import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import com.documents.tarefas.event.TipoAlteracao;
+import com.documents.tarefas.exception.TarefaNaoEncontradaException;
+import com.documents.tarefas.model.HistoricoTarefa;
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.repository.HistoricoTarefaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HistoricoTarefaServiceTest {
+
+    private static final LocalDateTime INSTANTE = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Mock
+    private HistoricoTarefaRepository historicoRepository;
+
+    private HistoricoProperties properties;
+    private HistoricoTarefaService historicoService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HistoricoProperties();
+        properties.setIntervaloSnapshot(3);
+        historicoService = new HistoricoTarefaService(historicoRepository, properties);
+    }
+
+    @Test
+    void aoAlterarTarefa_DeveGravarSnapshotNaCriacao() {
+        historicoService.aoAlterarTarefa(new TarefaAlteradaEvent(TipoAlteracao.CRIACAO, 1L, null, tarefa(StatusTarefa.PENDENTE)));
+
+        HistoricoTarefa gravada = gravada();
+        assertEquals(TipoAlteracao.CRIACAO, gravada.getTipo());
+        assertNotNull(gravada.getEstado());
+        assertEquals(0, gravada.getDeltasDesdeSnapshot());
+        verify(historicoRepository, never()).findUltimas(any(), any());
+    }
+
+    @Test
+    void aoAlterarTarefa_DeveGravarSoOsCamposAlterados() {
+        when(historicoRepository.findUltimas(eq(1L), any())).thenReturn(List.of(entrada(5L, null, "{}", 1)));
+        TarefaDTO concluida = tarefa(StatusTarefa.CONCLUIDA);
+        concluida.setDataConclusao("01/05/2024");
+
+        historicoService.aoAlterarTarefa(new TarefaAlteradaEvent(TipoAlteracao.ATUALIZACAO, 1L,
+                tarefa(StatusTarefa.PENDENTE), concluida));
+
+        HistoricoTarefa gravada = gravada();
+        assertEquals("{\"status\":\"CONCLUIDA\",\"dataConclusao\":\"01/05/2024\"}", gravada.getAlteracoes());
+        assertNull(gravada.getEstado());
+        assertEquals(2, gravada.getDeltasDesdeSnapshot());
+        verify(historicoRepository).flush();
+    }
+
+    @Test
+    void aoAlterarTarefa_DeveGravarSnapshotAoAtingirIntervalo() {
+        when(historicoRepository.findUltimas(eq(1L), any())).thenReturn(List.of(entrada(5L, null, "{}", 2)));
+
+        historicoService.aoAlterarTarefa(new TarefaAlteradaEvent(TipoAlteracao.ATUALIZACAO, 1L,
+                tarefa(StatusTarefa.PENDENTE), tarefa(StatusTarefa.EM_ANDAMENTO)));
+
+        HistoricoTarefa gravada = gravada();
+        assertTrue(gravada.getEstado().contains("\"status\":\"EM_ANDAMENTO\""));
+        assertEquals(0, gravada.getDeltasDesdeSnapshot());
+    }
+
+    @Test
+    void buscarEstadoEm_DeveAplicarDeltasSobreSnapshot() {
+        HistoricoTarefa snapshot = entrada(10L, "{\"id\":1,\"titulo\":\"Tarefa\",\"status\":\"PENDENTE\",\"usuarioResponsavel\":\"ana\"}", "{}", 0);
+        when(historicoRepository.findSnapshotsAte(eq(1L), eq(INSTANTE), any())).thenReturn(List.of(snapshot));
+        when(historicoRepository.findEntradasApos(1L, 10L, INSTANTE)).thenReturn(List.of(
+                entrada(11L, null, "{\"status\":\"EM_ANDAMENTO\"}", 1),
+                entrada(12L, null, "{\"usuarioResponsavel\":null,\"titulo\":\"Tarefa renomeada\"}", 2)));
+
+        TarefaDTO estado = historicoService.buscarEstadoEm(1L, INSTANTE);
+
+        assertEquals("Tarefa renomeada", estado.getTitulo());
+        assertEquals(StatusTarefa.EM_ANDAMENTO, estado.getStatus());
+        assertNull(estado.getUsuarioResponsavel());
+    }
+
+    @Test
+    void buscarEstadoEm_DeveLancarExcecaoQuandoTarefaJaEstavaExcluida() {
+        when(historicoRepository.findSnapshotsAte(eq(1L), eq(INSTANTE), any()))
+                .thenReturn(List.of(entrada(10L, "{\"id\":1}", "{}", 0)));
+        HistoricoTarefa exclusao = entrada(11L, null, "{}", 0);
+        exclusao.setTipo(TipoAlteracao.EXCLUSAO);
+        when(historicoRepository.findEntradasApos(1L, 10L, INSTANTE)).thenReturn(List.of(exclusao));
+
+        assertThrows(TarefaNaoEncontradaException.class, () -> historicoService.buscarEstadoEm(1L, INSTANTE));
+    }
+
+    @Test
+    void listarHistorico_DeveDevolverCursorDaProximaPagina() {
+        when(historicoRepository.findPagina(eq(1L), eq(30L), any())).thenReturn(List.of(
+                entrada(29L, null, "{}", 0), entrada(28L, null, "{}", 0), entrada(27L, null, "{}", 0)));
+
+        PaginaHistoricoDTO pagina = historicoService.listarHistorico(1L, 30L, 2);
+
+        assertEquals(2, pagina.getItens().size());
+        assertEquals(28L, pagina.getProximoCursor());
+    }
+
+    private HistoricoTarefa gravada() {
+        ArgumentCaptor<HistoricoTarefa> captor = ArgumentCaptor.forClass(HistoricoTarefa.class);
+        verify(historicoRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private TarefaDTO tarefa(StatusTarefa status) {
+        TarefaDTO dto = new TarefaDTO();
+        dto.setId(1L);
+        dto.setTitulo("Tarefa");
+        dto.setStatus(status);
+        dto.setPrioridade(PrioridadeTarefa.MEDIA);
+        return dto;
+    }
+
+    private HistoricoTarefa entrada(Long id, String estado, String alteracoes, int deltas) {
+        return new HistoricoTarefa(id, 1L, TipoAlteracao.ATUALIZACAO, INSTANTE.minusDays(1), "cliente",
+                alteracoes, estado, deltas);
+    }
+}
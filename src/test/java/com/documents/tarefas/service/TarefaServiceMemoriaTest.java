@@ -0,0 +1,354 @@
+package com.documents.tarefas.service;
+
+import com.documents.tarefas.dto.AtualizarTarefaRequest;
+import com.documents.tarefas.dto.CriarTarefaRequest;
+import com.documents.tarefas.dto.LoteTarefasDTO;
+import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import com.documents.tarefas.event.TipoAlteracao;
+import com.documents.tarefas.exception.ParametroInvalidoException;
+import com.documents.tarefas.exception.TarefaJaExisteException;
+import com.documents.tarefas.exception.TarefaNaoEncontradaException;
+import com.documents.tarefas.filtro.FiltroTitulos;
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.model.Tarefa;
+import com.documents.tarefas.model.TarefaArquivada;
+import com.documents.tarefas.repository.TarefaArquivadaRepository;
+import com.documents.tarefas.repository.memoria.TarefaRepositoryMemoria;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Os casos do {@link TarefaServiceTest} rodando sobre o armazenamento em memória (perfil
+ * {@code memoria}) em vez do repositório mockado: o estado vem do motor, e o espião sobre ele
+ * mantém as verificações de chamadas. Arquivo, eventos e filtro de títulos continuam mockados.
+ */
+class TarefaServiceMemoriaTest {
+
+    @TempDir
+    Path diretorio;
+
+    private TarefaRepositoryMemoria tarefaRepository;
+    private TarefaArquivadaRepository tarefaArquivadaRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private FiltroTitulos filtroTitulos;
+    private TarefaService tarefaService;
+
+    private CriarTarefaRequest criarRequest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tarefaRepository = spy(new TarefaRepositoryMemoria(diretorio, false, 1000, 16));
+        tarefaArquivadaRepository = mock(TarefaArquivadaRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        filtroTitulos = mock(FiltroTitulos.class);
+        when(filtroTitulos.podeExistir(anyString())).thenReturn(true);
+        tarefaService = new TarefaService(tarefaRepository, tarefaArquivadaRepository, eventPublisher, filtroTitulos);
+
+        criarRequest = request("Nova Tarefa", PrioridadeTarefa.ALTA);
+        criarRequest.setUsuarioResponsavel("Maria Santos");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        tarefaRepository.destroy();
+    }
+
+    @Test
+    void criarTarefa_DeveCriarTarefaComSucesso() {
+
+        TarefaDTO resultado = tarefaService.criarTarefa(criarRequest);
+
+        assertNotNull(resultado.getId());
+        assertEquals(criarRequest.getTitulo(), resultado.getTitulo());
+        assertEquals(criarRequest.getDescricao(), resultado.getDescricao());
+        assertEquals(criarRequest.getPrioridade(), resultado.getPrioridade());
+        assertEquals(criarRequest.getUsuarioResponsavel(), resultado.getUsuarioResponsavel());
+        assertEquals(StatusTarefa.PENDENTE, resultado.getStatus());
+        assertTrue(tarefaRepository.existsById(resultado.getId()));
+
+        verify(tarefaRepository).existsByTitulo(criarRequest.getTitulo());
+    }
+
+    @Test
+    void criarTarefa_DeveLancarExcecaoQuandoTituloJaExiste() {
+
+        tarefaService.criarTarefa(request("NOVA TAREFÁ", PrioridadeTarefa.MEDIA));
+        clearInvocations(tarefaRepository);
+
+        assertThrows(TarefaJaExisteException.class, () -> {
+            tarefaService.criarTarefa(criarRequest);
+        });
+
+        verify(tarefaRepository).existsByTitulo(criarRequest.getTitulo());
+        verify(tarefaRepository, never()).save(any(Tarefa.class));
+        assertEquals(1, tarefaRepository.count());
+    }
+
+    @Test
+    void criarTarefa_NaoDeveConsultarTituloQuandoFiltroGaranteQueENovo() {
+
+        when(filtroTitulos.podeExistir(anyString())).thenReturn(false);
+
+        assertNotNull(tarefaService.criarTarefa(criarRequest));
+
+        verify(tarefaRepository, never()).existsByTitulo(anyString());
+        verify(tarefaRepository).save(any(Tarefa.class));
+    }
+
+    @Test
+    void criarTarefa_DeveTraduzirViolacaoDaConstraintDeTitulo() {
+
+        tarefaService.criarTarefa(criarRequest);
+        when(filtroTitulos.podeExistir(anyString())).thenReturn(false);
+        clearInvocations(eventPublisher);
+
+        assertThrows(TarefaJaExisteException.class, () -> tarefaService.criarTarefa(request("nova tarefa", PrioridadeTarefa.BAIXA)));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void buscarPorId_DeveRetornarTarefaQuandoExiste() {
+
+        TarefaDTO criada = tarefaService.criarTarefa(criarRequest);
+
+        TarefaDTO resultado = tarefaService.buscarPorId(criada.getId());
+
+        assertEquals(criada.getId(), resultado.getId());
+        assertEquals(criada.getTitulo(), resultado.getTitulo());
+    }
+
+    @Test
+    void buscarPorId_DeveLancarExcecaoQuandoTarefaNaoExiste() {
+
+        assertThrows(TarefaNaoEncontradaException.class, () -> {
+            tarefaService.buscarPorId(999L);
+        });
+    }
+
+    @Test
+    void buscarPorIdIncluindoArquivadas_DeveBuscarNoArquivoQuandoNaoEstaAtiva() {
+
+        Tarefa arquivada = new Tarefa();
+        arquivada.setId(999L);
+        arquivada.setTitulo("Arquivada");
+        arquivada.setStatus(StatusTarefa.CONCLUIDA);
+        arquivada.setPrioridade(PrioridadeTarefa.MEDIA);
+        arquivada.setDataCriacao(LocalDateTime.now());
+        when(tarefaArquivadaRepository.findById(999L))
+                .thenReturn(Optional.of(TarefaArquivada.de(arquivada, LocalDateTime.now())));
+
+        TarefaDTO resultado = tarefaService.buscarPorIdIncluindoArquivadas(999L);
+
+        assertEquals(999L, resultado.getId());
+        assertEquals("Arquivada", resultado.getTitulo());
+        verify(tarefaArquivadaRepository).findById(999L);
+    }
+
+    @Test
+    void buscarPorIds_DeveUsarOCacheManterAOrdemEListarOsNaoEncontrados() {
+
+        TarefaDTO primeira = tarefaService.criarTarefa(criarRequest);
+        TarefaDTO emCache = tarefaService.criarTarefa(request("Em cache", PrioridadeTarefa.BAIXA));
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("tarefas");
+        cacheManager.getCache("tarefas").put(emCache.getId(), emCache);
+        tarefaService.setCacheManager(cacheManager);
+
+        LoteTarefasDTO resultado = tarefaService.buscarPorIds(
+                Arrays.asList(primeira.getId(), emCache.getId(), 999L, primeira.getId()));
+
+        assertEquals(List.of(primeira.getId(), emCache.getId()),
+                resultado.getTarefas().stream().map(TarefaDTO::getId).toList());
+        assertSame(emCache, resultado.getTarefas().get(1));
+        assertEquals(List.of(999L), resultado.getNaoEncontradas());
+        verify(tarefaRepository, never()).findById(any());
+    }
+
+    @Test
+    void buscarPorIds_DeveRecusarIdsVazios() {
+
+        assertThrows(ParametroInvalidoException.class, () -> tarefaService.buscarPorIds(List.of()));
+        assertThrows(ParametroInvalidoException.class, () -> tarefaService.buscarPorIds(Arrays.asList(1L, null)));
+        verifyNoInteractions(tarefaRepository);
+    }
+
+    @Test
+    void listarTarefas_DeveRetornarPaginaDeTarefas() {
+
+        tarefaService.criarTarefa(criarRequest);
+        Pageable pageable = PageRequest.of(0, 10);
+
+        Page<TarefaDTO> resultado = tarefaService.listarTarefas(pageable);
+
+        assertEquals(1, resultado.getTotalElements());
+        assertEquals(criarRequest.getTitulo(), resultado.getContent().get(0).getTitulo());
+    }
+
+    @Test
+    void listarCamposTarefas_DeveSelecionarApenasCamposPedidos() {
+
+        TarefaDTO criada = tarefaService.criarTarefa(criarRequest);
+        Pageable pageable = PageRequest.of(0, 10);
+
+        Page<Map<String, Object>> resultado = tarefaService.listarCamposTarefas(
+                "id, dataCriacao", StatusTarefa.PENDENTE, null, null, null, pageable);
+
+        assertEquals(Map.of("id", criada.getId(), "dataCriacao", criada.getDataCriacao()),
+                resultado.getContent().get(0));
+    }
+
+    @Test
+    void listarCamposTarefas_DeveLancarExcecaoQuandoCampoInvalido() {
+
+        Pageable pageable = PageRequest.of(0, 10);
+
+        assertThrows(ParametroInvalidoException.class, () -> {
+            tarefaService.listarCamposTarefas("id,senha", null, null, null, null, pageable);
+        });
+
+        verifyNoInteractions(tarefaRepository);
+    }
+
+    @Test
+    void buscarPorStatus_DeveRetornarTarefasDoStatus() {
+
+        tarefaService.criarTarefa(criarRequest);
+        TarefaDTO concluida = tarefaService.criarTarefa(request("Concluída", PrioridadeTarefa.BAIXA));
+        tarefaService.marcarComoConcluida(concluida.getId());
+
+        List<TarefaDTO> resultado = tarefaService.buscarPorStatus(StatusTarefa.PENDENTE);
+
+        assertEquals(1, resultado.size());
+        assertEquals(StatusTarefa.PENDENTE, resultado.get(0).getStatus());
+        assertEquals(criarRequest.getTitulo(), resultado.get(0).getTitulo());
+    }
+
+    @Test
+    void marcarComoConcluida_DeveMarcarTarefaComoConcluida() {
+
+        TarefaDTO criada = tarefaService.criarTarefa(criarRequest);
+
+        TarefaDTO resultado = tarefaService.marcarComoConcluida(criada.getId());
+
+        assertEquals(StatusTarefa.CONCLUIDA, resultado.getStatus());
+        Tarefa gravada = tarefaRepository.findById(criada.getId()).orElseThrow();
+        assertEquals(StatusTarefa.CONCLUIDA, gravada.getStatus());
+        assertNotNull(gravada.getDataConclusao());
+    }
+
+    @Test
+    void marcarComoConcluida_DevePublicarEventoComEstadoAnteriorEAtual() {
+
+        TarefaDTO criada = tarefaService.criarTarefa(criarRequest);
+        clearInvocations(eventPublisher);
+
+        tarefaService.marcarComoConcluida(criada.getId());
+
+        ArgumentCaptor<TarefaAlteradaEvent> evento = ArgumentCaptor.forClass(TarefaAlteradaEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(TipoAlteracao.ATUALIZACAO, evento.getValue().tipo());
+        assertEquals(criada.getId(), evento.getValue().id());
+        assertEquals(StatusTarefa.PENDENTE, evento.getValue().anterior().getStatus());
+        assertEquals(StatusTarefa.CONCLUIDA, evento.getValue().atual().getStatus());
+    }
+
+    @Test
+    void marcarComoConcluida_DeveLancarExcecaoQuandoTarefaNaoExiste() {
+
+        assertThrows(TarefaNaoEncontradaException.class, () -> {
+            tarefaService.marcarComoConcluida(999L);
+        });
+
+        verify(tarefaRepository, never()).save(any(Tarefa.class));
+    }
+
+    @Test
+    void excluirTarefa_DeveExcluirTarefaComSucesso() {
+
+        TarefaDTO criada = tarefaService.criarTarefa(criarRequest);
+
+        assertDoesNotThrow(() -> tarefaService.excluirTarefa(criada.getId()));
+
+        assertFalse(tarefaRepository.existsById(criada.getId()));
+        assertFalse(tarefaRepository.existsByTitulo(criarRequest.getTitulo()));
+        assertThrows(TarefaNaoEncontradaException.class, () -> tarefaService.buscarPorId(criada.getId()));
+    }
+
+    @Test
+    void excluirTarefa_DeveLancarExcecaoQuandoTarefaNaoExiste() {
+
+        assertThrows(TarefaNaoEncontradaException.class, () -> {
+            tarefaService.excluirTarefa(999L);
+        });
+
+        verify(tarefaRepository, never()).deleteById(anyLong());
+    }
+
+    // Fluxos que só o motor exercita: renomeação, lote e índices secundários
+
+    @Test
+    void atualizarTarefa_DeveLancarConflitoAoRenomearParaTituloExistente() {
+
+        tarefaService.criarTarefa(request("Repetida", PrioridadeTarefa.MEDIA));
+        TarefaDTO outra = tarefaService.criarTarefa(request("Outra", PrioridadeTarefa.MEDIA));
+
+        AtualizarTarefaRequest renomeacao = new AtualizarTarefaRequest();
+        renomeacao.setTitulo("repetida");
+        assertThrows(TarefaJaExisteException.class, () -> tarefaService.atualizarTarefa(outra.getId(), renomeacao));
+        assertEquals("Outra", tarefaService.buscarPorId(outra.getId()).getTitulo());
+    }
+
+    @Test
+    void importarLoteEListagens_DevemUsarOsIndices() {
+
+        tarefaService.criarTarefa(request("Existente", PrioridadeTarefa.MEDIA));
+
+        List<TarefaDTO> criadas = tarefaService.importarLote(List.of(
+                request("Existente", PrioridadeTarefa.MEDIA),
+                request("Importada urgente", PrioridadeTarefa.URGENTE),
+                request("Importada baixa", PrioridadeTarefa.BAIXA)));
+
+        assertEquals(2, criadas.size());
+        assertEquals(List.of("Importada urgente"), tarefaService.buscarPorPrioridade(PrioridadeTarefa.URGENTE).stream()
+                .map(TarefaDTO::getTitulo).toList());
+        assertEquals(3, tarefaService.listarTarefasComFiltros(StatusTarefa.PENDENTE, null, null, null,
+                PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(2, tarefaService.buscarPorTexto("importada", PageRequest.of(0, 10)).getTotalElements());
+
+        Map<String, Object> estatisticas = tarefaService.obterEstatisticas();
+        assertEquals(3L, estatisticas.get("total"));
+    }
+
+    private CriarTarefaRequest request(String titulo, PrioridadeTarefa prioridade) {
+        CriarTarefaRequest request = new CriarTarefaRequest();
+        request.setTitulo(titulo);
+        request.setDescricao("Descrição de " + titulo);
+        request.setPrioridade(prioridade);
+        request.setUsuarioResponsavel("João Silva");
+        return request;
+    }
+}
@@ -0,0 +1,133 @@
+package com.documents.tarefas.service;
+
+import com.documents.tarefas.dto.CriarTarefaRequest;
+import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.filtro.FiltroTitulos;
+import com.documents.tarefas.model.PrioridadeTarefa;
+import com.documents.tarefas.model.StatusTarefa;
+import com.documents.tarefas.repository.TarefaArquivadaRepository;
+import com.documents.tarefas.repository.TarefaRepositoryJpa;
+import com.documents.tarefas.repository.TarefaRepositoryCustomImpl;
+import com.documents.tarefas.sql.ContadorEntidadesCarregadas;
+import com.documents.tarefas.sql.ContagemSql;
+import com.documents.tarefas.sql.EstatisticasSql;
+import com.documents.tarefas.sql.InspetorComandosSql;
+import com.documents.tarefas.sql.OuvinteSessaoSql;
+import jakarta.persistence.EntityManager;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.documents.tarefas.sql.ContagemSql.assertComandosSql;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Fixa quantos comandos SQL cada operação do {@link TarefaService} executa, contra um H2 em
+ * memória com a mesma instrumentação do orçamento de SQL. Uma mudança que multiplique consultas
+ * (N+1, recarga de entidades) quebra estes testes.
+ */
+class TarefaServiceSqlTest {
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private TarefaService tarefaService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:sql_" + UUID.randomUUID().toString().replace("-", "") + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db_migration/tarefas_shard.sql")).execute(dataSource);
+
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setPackagesToScan("com.documents.tarefas.model");
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaPropertyMap(Map.of(
+                AvailableSettings.HBM2DDL_AUTO, "none",
+                AvailableSettings.STATEMENT_INSPECTOR, new InspetorComandosSql(),
+                AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, OuvinteSessaoSql.class.getName()));
+        entityManagerFactory.afterPropertiesSet();
+        ContadorEntidadesCarregadas.registrar(entityManagerFactory.getObject());
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory.getObject());
+        TarefaRepositoryCustomImpl consultasCampos = new TarefaRepositoryCustomImpl();
+        ReflectionTestUtils.setField(consultasCampos, "entityManager", entityManager);
+        TarefaRepositoryJpa tarefaRepository = new JpaRepositoryFactory(entityManager).getRepository(TarefaRepositoryJpa.class,
+                RepositoryComposition.RepositoryFragments.just(consultasCampos));
+
+        ProxyFactory fabrica = new ProxyFactory(new TarefaService(tarefaRepository, mock(TarefaArquivadaRepository.class),
+                mock(ApplicationEventPublisher.class), mock(FiltroTitulos.class)));
+        fabrica.setProxyTargetClass(true);
+        TransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory.getObject());
+        fabrica.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        tarefaService = (TarefaService) fabrica.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.destroy();
+    }
+
+    @Test
+    void criarEBuscarPorId_DevemExecutarUmComandoCada() {
+        // o filtro de títulos (mock) descarta o existsByTitulo: só o INSERT
+        TarefaDTO criada = assertComandosSql(1, () -> tarefaService.criarTarefa(request("Nova Tarefa")));
+
+        assertComandosSql(1, () -> tarefaService.buscarPorId(criada.getId()));
+        assertEquals(1, ContagemSql.medir(() -> tarefaService.buscarPorId(criada.getId())).getEntidadesCarregadas());
+    }
+
+    @Test
+    void excluirTarefa_DeveVerificarCarregarEExcluir() {
+        TarefaDTO criada = tarefaService.criarTarefa(request("Para excluir"));
+
+        // existsById + SELECT do deleteById + DELETE
+        EstatisticasSql estatisticas = ContagemSql.medir(() -> tarefaService.excluirTarefa(criada.getId()));
+        assertEquals(3, estatisticas.getComandos());
+        assertEquals(1, estatisticas.getEntidadesCarregadas());
+    }
+
+    @Test
+    void buscarPorStatus_DeveCarregarAListaNumaUnicaConsulta() {
+        for (int i = 0; i < 5; i++) {
+            tarefaService.criarTarefa(request("Tarefa " + i));
+        }
+
+        List<TarefaDTO> pendentes = assertComandosSql(1, () -> tarefaService.buscarPorStatus(StatusTarefa.PENDENTE));
+        assertEquals(5, pendentes.size());
+
+        EstatisticasSql estatisticas = ContagemSql.medir(() -> tarefaService.buscarPorStatus(StatusTarefa.PENDENTE));
+        assertEquals(5, estatisticas.getEntidadesCarregadas());
+        assertEquals(1L, estatisticas.getComandoMaisRepetido().orElseThrow().getValue());
+    }
+
+    private CriarTarefaRequest request(String titulo) {
+        CriarTarefaRequest request = new CriarTarefaRequest();
+        request.setTitulo(titulo);
+        request.setDescricao("Descrição de " + titulo);
+        request.setPrioridade(PrioridadeTarefa.MEDIA);
+        request.setUsuarioResponsavel("João Silva");
+        return request;
+    }
+}
@@ -1,28 +1,44 @@
 package com.documents.tarefas.service;
 
 import com.documents.tarefas.dto.CriarTarefaRequest;
+import com.documents.tarefas.dto.LoteTarefasDTO;
 import com.documents.tarefas.dto.TarefaDTO;
+import com.documents.tarefas.event.TarefaAlteradaEvent;
+import com.documents.tarefas.event.TipoAlteracao;
+import com.documents.tarefas.exception.ParametroInvalidoException;
 import com.documents.tarefas.exception.TarefaJaExisteException;
 import com.documents.tarefas.exception.TarefaNaoEncontradaException;
+import com.documents.tarefas.filtro.FiltroTitulos;
 import com.documents.tarefas.model.PrioridadeTarefa;
 import com.documents.tarefas.model.StatusTarefa;
 import com.documents.tarefas.model.Tarefa;
+import com.documents.tarefas.model.TarefaArquivada;
+import com.documents.tarefas.repository.TarefaArquivadaRepository;
 import com.documents.tarefas.repository.TarefaRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +50,15 @@ class TarefaServiceTest {
     @Mock
     private TarefaRepository tarefaRepository;
     
+    @Mock
+    private TarefaArquivadaRepository tarefaArquivadaRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FiltroTitulos filtroTitulos;
+
     @InjectMocks
     private TarefaService tarefaService;
     
@@ -71,6 +96,7 @@ class TarefaServiceTest {
     @Test
     void criarTarefa_DeveCriarTarefaComSucesso() {
 
+        when(filtroTitulos.podeExistir(anyString())).thenReturn(true);
         when(tarefaRepository.existsByTitulo(anyString())).thenReturn(false);
         when(tarefaRepository.save(any(Tarefa.class))).thenReturn(tarefa);
 
@@ -89,6 +115,7 @@ class TarefaServiceTest {
     @Test
     void criarTarefa_DeveLancarExcecaoQuandoTituloJaExiste() {
 
+        when(filtroTitulos.podeExistir(anyString())).thenReturn(true);
         when(tarefaRepository.existsByTitulo(anyString())).thenReturn(true);
 
         assertThrows(TarefaJaExisteException.class, () -> {
@@ -99,6 +126,48 @@ class TarefaServiceTest {
         verify(tarefaRepository, never()).save(any(Tarefa.class));
     }
     
+    @Test
+    void criarTarefa_NaoDeveConsultarTituloQuandoFiltroGaranteQueENovo() {
+
+        when(filtroTitulos.podeExistir(anyString())).thenReturn(false);
+        when(tarefaRepository.save(any(Tarefa.class))).thenReturn(tarefa);
+
+        assertNotNull(tarefaService.criarTarefa(criarRequest));
+
+        verify(tarefaRepository, never()).existsByTitulo(anyString());
+        verify(tarefaRepository).save(any(Tarefa.class));
+    }
+
+    @Test
+    void criarTarefa_DeveTraduzirViolacaoDaConstraintDeTitulo() {
+
+        when(filtroTitulos.podeExistir(anyString())).thenReturn(false);
+        when(tarefaRepository.save(any(Tarefa.class))).thenThrow(new DataIntegrityViolationException("duplicado",
+                new ConstraintViolationException("Duplicate entry", new SQLException(), "tarefas_tb.uk_tarefas_titulo")));
+
+        assertThrows(TarefaJaExisteException.class, () -> tarefaService.criarTarefa(criarRequest));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importarLote_DeveIgnorarTitulosIguaisParaAConstraintMesmoComOutraGrafia() {
+
+        when(filtroTitulos.podeExistir(anyString())).thenReturn(true);
+        // o banco devolve a grafia gravada, não a do lote
+        when(tarefaRepository.findTitulosExistentes(anyList())).thenReturn(List.of("Relatório mensal"));
+        when(tarefaRepository.saveAll(anyList())).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        List<TarefaDTO> criadas = tarefaService.importarLote(List.of(
+                request("RELATORIO MENSAL"), request("Nova tarefa"), request("NOVA TAREFA")));
+
+        assertEquals(List.of("Nova tarefa"), criadas.stream().map(TarefaDTO::getTitulo).toList());
+        ArgumentCaptor<List<Tarefa>> gravadas = ArgumentCaptor.forClass(List.class);
+        verify(tarefaRepository).saveAll(gravadas.capture());
+        assertEquals(1, gravadas.getValue().size());
+    }
+
     @Test
     void buscarPorId_DeveRetornarTarefaQuandoExiste() {
 
@@ -125,6 +194,44 @@ class TarefaServiceTest {
         verify(tarefaRepository).findById(999L);
     }
     
+    @Test
+    void buscarPorIdIncluindoArquivadas_DeveBuscarNoArquivoQuandoNaoEstaAtiva() {
+
+        when(tarefaRepository.findById(1L)).thenReturn(Optional.empty());
+        when(tarefaArquivadaRepository.findById(1L))
+                .thenReturn(Optional.of(TarefaArquivada.de(tarefa, LocalDateTime.now())));
+
+        TarefaDTO resultado = tarefaService.buscarPorIdIncluindoArquivadas(1L);
+
+        assertEquals(tarefa.getId(), resultado.getId());
+        assertEquals(tarefa.getTitulo(), resultado.getTitulo());
+        verify(tarefaArquivadaRepository).findById(1L);
+    }
+
+    @Test
+    void buscarPorIds_DeveUsarOCacheManterAOrdemEListarOsNaoEncontrados() {
+
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("tarefas");
+        cacheManager.getCache("tarefas").put(2L, tarefaDTO);
+        tarefaService.setCacheManager(cacheManager);
+        when(tarefaRepository.findAllById(List.of(1L, 9L))).thenReturn(List.of(tarefa));
+
+        LoteTarefasDTO resultado = tarefaService.buscarPorIds(Arrays.asList(1L, 2L, 9L, 1L));
+
+        assertEquals(List.of(1L, 1L), resultado.getTarefas().stream().map(TarefaDTO::getId).toList());
+        assertSame(tarefaDTO, resultado.getTarefas().get(1));
+        assertEquals(List.of(9L), resultado.getNaoEncontradas());
+        verify(tarefaRepository, never()).findById(any());
+    }
+
+    @Test
+    void buscarPorIds_DeveRecusarIdsVazios() {
+
+        assertThrows(ParametroInvalidoException.class, () -> tarefaService.buscarPorIds(List.of()));
+        assertThrows(ParametroInvalidoException.class, () -> tarefaService.buscarPorIds(Arrays.asList(1L, null)));
+        verifyNoInteractions(tarefaRepository);
+    }
+
     @Test
     void listarTarefas_DeveRetornarPaginaDeTarefas() {
 
@@ -141,6 +248,35 @@ class TarefaServiceTest {
         verify(tarefaRepository).findAll(pageable);
     }
     
+    @Test
+    void listarCamposTarefas_DeveSelecionarApenasCamposPedidos() {
+
+        Pageable pageable = PageRequest.of(0, 10);
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("id", 1L);
+        linha.put("dataCriacao", LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(tarefaRepository.findCamposByFiltros(Set.of("id", "dataCriacao"), StatusTarefa.PENDENTE, null, null, null, pageable))
+                .thenReturn(new PageImpl<>(List.of(linha)));
+
+        Page<Map<String, Object>> resultado = tarefaService.listarCamposTarefas(
+                "id, dataCriacao", StatusTarefa.PENDENTE, null, null, null, pageable);
+
+        assertEquals(1L, resultado.getContent().get(0).get("id"));
+        assertEquals("01/01/2024", resultado.getContent().get(0).get("dataCriacao"));
+    }
+
+    @Test
+    void listarCamposTarefas_DeveLancarExcecaoQuandoCampoInvalido() {
+
+        Pageable pageable = PageRequest.of(0, 10);
+
+        assertThrows(ParametroInvalidoException.class, () -> {
+            tarefaService.listarCamposTarefas("id,senha", null, null, null, null, pageable);
+        });
+
+        verifyNoInteractions(tarefaRepository);
+    }
+    
     @Test
     void buscarPorStatus_DeveRetornarTarefasDoStatus() {
 
@@ -173,6 +309,22 @@ class TarefaServiceTest {
         verify(tarefaRepository).save(tarefa);
     }
     
+    @Test
+    void marcarComoConcluida_DevePublicarEventoComEstadoAnteriorEAtual() {
+
+        when(tarefaRepository.findById(1L)).thenReturn(Optional.of(tarefa));
+        when(tarefaRepository.save(any(Tarefa.class))).thenReturn(tarefa);
+
+        tarefaService.marcarComoConcluida(1L);
+
+        ArgumentCaptor<TarefaAlteradaEvent> evento = ArgumentCaptor.forClass(TarefaAlteradaEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(TipoAlteracao.ATUALIZACAO, evento.getValue().tipo());
+        assertEquals(1L, evento.getValue().id());
+        assertEquals(StatusTarefa.PENDENTE, evento.getValue().anterior().getStatus());
+        assertEquals(StatusTarefa.CONCLUIDA, evento.getValue().atual().getStatus());
+    }
+    
     @Test
     void marcarComoConcluida_DeveLancarExcecaoQuandoTarefaNaoExiste() {
 
@@ -210,4 +362,11 @@ class TarefaServiceTest {
         verify(tarefaRepository).existsById(999L);
         verify(tarefaRepository, never()).deleteById(anyLong());
     }
+
+    private CriarTarefaRequest request(String titulo) {
+        CriarTarefaRequest request = new CriarTarefaRequest();
+        request.setTitulo(titulo);
+        request.setPrioridade(PrioridadeTarefa.MEDIA);
+        return request;
+    }
 }
@@ -0,0 +1,43 @@
+package com.documents.tarefas.sql;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Utilitário de testes: executa uma operação com {@link EstatisticasSql} abertas, como o
+ * {@link OrcamentoSqlFilter} faz em cada requisição, para fixar quantos comandos ela executa.
+ * Exige o Hibernate configurado com o {@link InspetorComandosSql} (e, para entidades e tempo,
+ * com o {@link OuvinteSessaoSql} e o {@link ContadorEntidadesCarregadas}).
+ */
+public final class ContagemSql {
+
+    private ContagemSql() {
+    }
+
+    public static EstatisticasSql medir(Runnable operacao) {
+        EstatisticasSql estatisticas = ContextoSql.iniciar();
+        try {
+            operacao.run();
+            return estatisticas;
+        } finally {
+            ContextoSql.encerrar();
+        }
+    }
+
+    public static void assertComandosSql(long esperados, Runnable operacao) {
+        EstatisticasSql estatisticas = medir(operacao);
+        assertEquals(esperados, estatisticas.getComandos(), () -> "Comandos SQL executados (" + estatisticas + ")");
+    }
+
+    /**
+     * Como {@link #assertComandosSql(long, Runnable)}, devolvendo o resultado da operação.
+     */
+    public static <T> T assertComandosSql(long esperados, Supplier<T> operacao) {
+        Object[] resultado = new Object[1];
+        assertComandosSql(esperados, (Runnable) () -> resultado[0] = operacao.get());
+        @SuppressWarnings("unchecked")
+        T tipado = (T) resultado[0];
+        return tipado;
+    }
+}
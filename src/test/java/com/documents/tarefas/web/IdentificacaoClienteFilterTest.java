@@ -0,0 +1,78 @@
+package com.documents.tarefas.web;
+
+import com.documents.tarefas.config.IdentificacaoClienteProperties;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentificacaoClienteFilterTest {
+
+    private IdentificacaoClienteFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        IdentificacaoClienteProperties properties = new IdentificacaoClienteProperties();
+        properties.setProxiesConfiaveis(List.of("10.0.0.0/8", "2001:db8::1"));
+        filtro = new IdentificacaoClienteFilter(properties);
+    }
+
+    @Test
+    void identificar_ConexaoDireta_DeveIgnorarOsCabecalhos() {
+        MockHttpServletRequest request = requisicao("203.0.113.7");
+        request.addHeader(IdentificacaoClienteFilter.CABECALHO_CLIENTE, "outro-cliente");
+        request.addHeader(IdentificacaoClienteFilter.CABECALHO_ENCAMINHADO, "198.51.100.1");
+
+        assertEquals("203.0.113.7", filtro.identificar(request));
+    }
+
+    @Test
+    void identificar_ViaProxyConfiavel_DeveUsarOPrimeiroEnderecoNaoConfiavelDaDireita() {
+        MockHttpServletRequest request = requisicao("10.1.2.3");
+        // o cliente forjou o primeiro salto; os dois últimos foram acrescentados pelos proxies
+        request.addHeader(IdentificacaoClienteFilter.CABECALHO_ENCAMINHADO, "198.51.100.1, 203.0.113.7, 10.9.9.9");
+
+        assertEquals("203.0.113.7", filtro.identificar(request));
+    }
+
+    @Test
+    void identificar_ViaProxyConfiavel_DeveAceitarOIdentificadorRepassado() {
+        MockHttpServletRequest request = requisicao("2001:db8:0:0:0:0:0:1");
+        request.addHeader(IdentificacaoClienteFilter.CABECALHO_CLIENTE, "cliente-1");
+
+        assertEquals("cliente-1", filtro.identificar(request));
+    }
+
+    @Test
+    void identificar_SaltoInvalido_DeveFicarNoUltimoEnderecoConhecido() {
+        MockHttpServletRequest request = requisicao("10.1.2.3");
+        request.addHeader(IdentificacaoClienteFilter.CABECALHO_ENCAMINHADO, "exemplo.com, 10.4.4.4");
+
+        assertEquals("10.4.4.4", filtro.identificar(request));
+    }
+
+    @Test
+    void doFilter_ProxySemClienteOriginal_DeveMarcarOIdentificadorComoCompartilhado() throws Exception {
+        AtomicReference<String> individual = new AtomicReference<>("não chamado");
+        FilterChain cadeia = (request, response) -> individual.set(ContextoCliente.individual());
+
+        filtro.doFilter(requisicao("10.1.2.3"), new MockHttpServletResponse(), cadeia);
+        assertNull(individual.get());
+
+        filtro.doFilter(requisicao("203.0.113.7"), new MockHttpServletResponse(), cadeia);
+        assertEquals("203.0.113.7", individual.get());
+        assertNull(ContextoCliente.atual());
+    }
+
+    private MockHttpServletRequest requisicao(String endereco) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(endereco);
+        return request;
+    }
+}
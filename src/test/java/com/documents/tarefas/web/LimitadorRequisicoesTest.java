@@ -0,0 +1,150 @@
+package com.documents.tarefas.web;
+
+import com.documents.tarefas.config.LimiteRequisicoesProperties;
+import com.documents.tarefas.config.LimiteRequisicoesProperties.Limite;
+import com.documents.tarefas.exception.LimiteRequisicoesExcedidoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimitadorRequisicoesTest {
+
+    private final AtomicLong relogio = new AtomicLong(1_000_000_000L);
+
+    private LimiteRequisicoesProperties properties;
+    private LimitadorRequisicoes limitador;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LimiteRequisicoesProperties();
+        properties.setPorCliente(new Limite(10, 5));
+        properties.setPorEndpoint(new Limite(1000, 1000));
+        limitador = new LimitadorRequisicoes(properties, relogio::get);
+    }
+
+    @Test
+    void adquirir_DevePermitirRajadaAteCapacidadeERecusarComRetryAfter() {
+        for (int i = 0; i < 5; i++) {
+            limitador.adquirir("cliente", "buscarPorTexto");
+        }
+
+        LimiteRequisicoesExcedidoException ex = assertThrows(LimiteRequisicoesExcedidoException.class,
+                () -> limitador.adquirir("cliente", "buscarPorTexto"));
+        assertEquals(100, ex.getRetryAfter().toMillis());
+
+        // outros clientes e endpoints têm baldes próprios
+        limitador.adquirir("outro", "buscarPorTexto");
+        limitador.adquirir("cliente", "listarTarefas");
+
+        relogio.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        limitador.adquirir("cliente", "buscarPorTexto");
+    }
+
+    @Test
+    void adquirir_DeveUsarLimiteDoEndpointQuandoConfigurado() {
+        properties.getEndpoints().put("buscarPorTexto", new Limite(1, 1));
+
+        limitador.adquirir("cliente", "buscarPorTexto");
+
+        assertThrows(LimiteRequisicoesExcedidoException.class,
+                () -> limitador.adquirir("cliente", "buscarPorTexto"));
+        limitador.adquirir("cliente", "listarTarefas");
+    }
+
+    @Test
+    void adquirir_NaoDeveConcederMaisTokensQueACapacidadeSobConcorrencia() throws Exception {
+        properties.setPorCliente(new Limite(1, 1000));
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> resultados = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    int concedidos = 0;
+                    for (int i = 0; i < 500; i++) {
+                        try {
+                            limitador.adquirir("cliente", "buscarPorTexto");
+                            concedidos++;
+                        } catch (LimiteRequisicoesExcedidoException e) {
+                            // esperado depois que o balde esvazia
+                        }
+                    }
+                    return concedidos;
+                }));
+            }
+            largada.countDown();
+
+            int total = 0;
+            for (Future<Integer> resultado : resultados) {
+                total += resultado.get();
+            }
+            assertEquals(1000, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void adquirir_SemLimitePorEndpoint_DeveAplicarSoOLimiteDoCliente() {
+        properties.setPorEndpoint(null);
+
+        for (int i = 0; i < 50; i++) {
+            limitador.adquirir("cliente" + i, "autocompletar");
+        }
+
+        assertEquals(50, limitador.totalBaldes());
+    }
+
+    @Test
+    void adquirir_LimiteAgregadoDoEndpoint_DeveValerMesmoSemLimitePorEndpoint() {
+        properties.setPorEndpoint(null);
+        properties.getEndpointsAgregados().put("buscarPorTexto", new Limite(1, 3));
+
+        for (int i = 0; i < 3; i++) {
+            limitador.adquirir("cliente" + i, "buscarPorTexto");
+        }
+
+        assertThrows(LimiteRequisicoesExcedidoException.class, () -> limitador.adquirir("cliente3", "buscarPorTexto"));
+        limitador.adquirir("cliente3", "listarTarefas");
+    }
+
+    @Test
+    void adquirir_AcimaDoMaximoDeBaldes_ClientesNovosDevemDividirUmBalde() {
+        properties.setPorEndpoint(null);
+        properties.setMaximoBaldes(2);
+        limitador.adquirir("cliente0", "buscarPorTexto");
+        limitador.adquirir("cliente1", "buscarPorTexto");
+
+        // identidades trocadas a cada requisição caem todas no mesmo balde
+        for (int i = 2; i < 7; i++) {
+            limitador.adquirir("cliente" + i, "buscarPorTexto");
+        }
+        assertThrows(LimiteRequisicoesExcedidoException.class, () -> limitador.adquirir("cliente7", "buscarPorTexto"));
+        assertEquals(3, limitador.totalBaldes());
+
+        limitador.adquirir("cliente0", "buscarPorTexto");
+    }
+
+    @Test
+    void removerBaldesOciosos_DeveDescartarBaldesCheios() {
+        limitador.adquirir("cliente", "buscarPorTexto");
+        assertEquals(2, limitador.totalBaldes());
+
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limitador.removerBaldesOciosos();
+
+        assertEquals(0, limitador.totalBaldes());
+    }
+}
@@ -0,0 +1,66 @@
+package com.documents.tarefas.web;
+
+import com.documents.tarefas.config.LimiteRequisicoesProperties.Descarte;
+import com.documents.tarefas.datasource.RoteamentoDataSource;
+import com.documents.tarefas.exception.ServicoSobrecarregadoException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MonitorPoolConexoesTest {
+
+    private HikariDataSource primario;
+    private HikariDataSource replica;
+    private HikariPoolMXBean poolReplica;
+    private MonitorPoolConexoes monitor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        primario = pool("tarefas", mock(HikariPoolMXBean.class));
+        poolReplica = mock(HikariPoolMXBean.class);
+        replica = pool("tarefas-replica-0", poolReplica);
+
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primario, Map.of("replica-0", replica),
+                Duration.ofSeconds(5));
+        roteamento.afterPropertiesSet();
+        ObjectProvider<DataSource> dataSource = mock(ObjectProvider.class);
+        when(dataSource.getIfAvailable()).thenReturn(roteamento);
+
+        Descarte descarte = new Descarte();
+        descarte.setLimiarEspera(2);
+        monitor = new MonitorPoolConexoes(dataSource, descarte);
+    }
+
+    @Test
+    void verificar_DeveRecusarQuandoUmaReplicaEstaSaturadaMesmoComOPrimarioLivre() {
+        when(poolReplica.getThreadsAwaitingConnection()).thenReturn(4);
+
+        assertThrows(ServicoSobrecarregadoException.class, () -> monitor.verificar());
+    }
+
+    @Test
+    void verificar_DevePermitirQuandoNenhumPoolAtingeOLimiar() {
+        when(poolReplica.getThreadsAwaitingConnection()).thenReturn(1);
+
+        assertDoesNotThrow(() -> monitor.verificar());
+        verify(replica, atLeastOnce()).getHikariPoolMXBean();
+        verify(primario, atLeastOnce()).getHikariPoolMXBean();
+    }
+
+    private static HikariDataSource pool(String nome, HikariPoolMXBean mxBean) {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        when(pool.getPoolName()).thenReturn(nome);
+        when(pool.getHikariPoolMXBean()).thenReturn(mxBean);
+        return pool;
+    }
+}